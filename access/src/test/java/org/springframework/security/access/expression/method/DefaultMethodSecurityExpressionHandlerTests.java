@@ -16,11 +16,16 @@
 
 package org.springframework.security.access.expression.method;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.aopalliance.intercept.MethodInvocation;
@@ -32,20 +37,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.TypedValue;
 import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.RememberMeAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.ExpressionAuthorizationDecision;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatException;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -161,6 +176,80 @@ public class DefaultMethodSecurityExpressionHandlerTests {
 		assertThat(list).containsExactly("1", "3");
 	}
 
+	@Test
+	public void filterWhenModifiableCollectionThenFiltersInPlace() {
+		setupMocks();
+		List<String> list = new ArrayList<>(List.of("1", "2", "3"));
+		Expression expression = this.handler.getExpressionParser().parseExpression("filterObject ne '2'");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		Object filtered = this.handler.filter(list, expression, context);
+		assertThat(filtered).isSameAs(list);
+		assertThat(list).containsExactly("1", "3");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenUnmodifiableCollectionThenReturnsNewInstance() {
+		setupMocks();
+		List<String> list = List.of("1", "2", "3");
+		Expression expression = this.handler.getExpressionParser().parseExpression("filterObject ne '2'");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		Object filtered = this.handler.filter(list, expression, context);
+		assertThat(filtered).isNotSameAs(list);
+		assertThat((List<String>) filtered).containsExactly("1", "3");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenFixedSizeCollectionThenEvaluatesEachElementOnce() {
+		setupMocks();
+		List<String> list = Arrays.asList("1", "2", "3");
+		AtomicInteger evaluations = new AtomicInteger();
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("#evaluations.incrementAndGet() > 0 and filterObject ne '2'");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		context.setVariable("evaluations", evaluations);
+		Object filtered = this.handler.filter(list, expression, context);
+		assertThat((List<String>) filtered).containsExactly("1", "3");
+		assertThat(list).containsExactly("1", "2", "3");
+		assertThat(evaluations).hasValue(3);
+	}
+
+	@Test
+	public void filterWhenEvaluationFailsThenCollectionUnchanged() {
+		setupMocks();
+		List<String> list = new ArrayList<>(List.of("3", "1", "x"));
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("T(java.lang.Integer).parseInt(filterObject) < 3");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		assertThatException().isThrownBy(() -> this.handler.filter(list, expression, context));
+		assertThat(list).containsExactly("3", "1", "x");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenUnmodifiableMapThenReturnsNewInstance() {
+		setupMocks();
+		Map<String, String> map = Map.of("key1", "value1", "key2", "value2");
+		Expression expression = this.handler.getExpressionParser().parseExpression("filterObject.key eq 'key2'");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		Object filtered = this.handler.filter(map, expression, context);
+		assertThat(filtered).isNotSameAs(map);
+		assertThat((Map<String, String>) filtered).containsOnlyKeys("key2");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenUsingParallelStreamThenEvaluatesEachElement() {
+		setupMocks();
+		Stream<Integer> stream = IntStream.range(0, 1000).boxed().parallel();
+		Expression expression = this.handler.getExpressionParser().parseExpression("filterObject % 2 == 0");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		Object filtered = this.handler.filter(stream, expression, context);
+		List<Integer> list = ((Stream<Integer>) filtered).toList();
+		assertThat(list).hasSize(500).allMatch((element) -> element % 2 == 0);
+	}
+
 	@Test
 	public void filterStreamWhenClosedThenUpstreamGetsClosed() {
 		setupMocks();
@@ -187,11 +276,93 @@ public class DefaultMethodSecurityExpressionHandlerTests {
 		verify(mockAuthenticationSupplier).get();
 	}
 
+	@Test
+	public void createAuthorizationManagerWhenSimpleExpressionThenSameDecisionAsEvaluation() {
+		List<String> expressions = List.of("hasRole('ADMIN')", "hasRole('ROLE_ADMIN')", "hasAnyRole('USER', 'ADMIN')",
+				"hasAuthority('read')", "hasAnyAuthority('read', 'write')", "isAuthenticated()", "isAnonymous()",
+				"isRememberMe()", "isFullyAuthenticated()", "permitAll", "denyAll", "permitAll()", "denyAll()", "true",
+				"hasRole('USER') and hasAuthority('read')", "hasRole('ADMIN') or hasAuthority('read')",
+				"!hasRole('ADMIN')", "not (isAnonymous() or hasRole('USER')) and false");
+		List<Authentication> authentications = List.of(
+				new TestingAuthenticationToken("user", "password", "ROLE_USER", "read"),
+				new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN"),
+				new AnonymousAuthenticationToken("key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANON")),
+				new RememberMeAuthenticationToken("key", "user", AuthorityUtils.createAuthorityList("ROLE_USER")));
+		for (String value : expressions) {
+			Expression expression = this.handler.getExpressionParser().parseExpression(value);
+			AuthorizationManager<MethodInvocation> manager = this.handler.createAuthorizationManager(expression);
+			assertThat(manager).as(value).isNotNull();
+			for (Authentication authentication : authentications) {
+				EvaluationContext context = this.handler.createEvaluationContext(() -> authentication,
+						this.methodInvocation);
+				boolean expected = expression.getValue(context, Boolean.class);
+				AuthorizationResult result = manager.authorize(() -> authentication, this.methodInvocation);
+				assertThat(result).isInstanceOf(ExpressionAuthorizationDecision.class);
+				assertThat(result.isGranted()).as("%s with %s", value, authentication).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	public void createAuthorizationManagerWhenExpressionNeedsEvaluationThenNull() {
+		List<String> expressions = List.of("#id == 1", "hasRole('ADMIN') and #id == 1", "principal.name == 'user'",
+				"hasPermission(#id, 'read')", "hasRole(#role)", "hasAnyRole()", "hasRole('A', 'B')",
+				"@bean.check()", "authentication?.hasRole('ADMIN')");
+		for (String value : expressions) {
+			Expression expression = this.handler.getExpressionParser().parseExpression(value);
+			assertThat(this.handler.createAuthorizationManager(expression)).as(value).isNull();
+		}
+	}
+
+	@Test
+	public void createAuthorizationManagerWhenSubclassThenNull() {
+		DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler() {
+		};
+		Expression expression = handler.getExpressionParser().parseExpression("hasRole('ADMIN')");
+		assertThat(handler.createAuthorizationManager(expression)).isNull();
+	}
+
+	@Test
+	public void createEvaluationContextWhenArgumentReferencedTwiceThenParameterNamesDiscoveredOnce() throws Exception {
+		Method method = Foo.class.getDeclaredMethod("baz", String.class);
+		given(this.methodInvocation.getThis()).willReturn(new Foo());
+		given(this.methodInvocation.getMethod()).willReturn(method);
+		given(this.methodInvocation.getArguments()).willReturn(new Object[] { "value" });
+		ParameterNameDiscoverer parameterNameDiscoverer = mock(ParameterNameDiscoverer.class);
+		given(parameterNameDiscoverer.getParameterNames(method)).willReturn(new String[] { "argument" });
+		this.handler.setParameterNameDiscoverer(parameterNameDiscoverer);
+		Expression expression = this.handler.getExpressionParser().parseExpression("#argument == 'value'");
+		for (int i = 0; i < 2; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(() -> this.authentication,
+					this.methodInvocation);
+			assertThat(expression.getValue(context, Boolean.class)).isTrue();
+		}
+		verify(parameterNameDiscoverer, times(1)).getParameterNames(method);
+	}
+
+	@Test
+	public void createEvaluationContextWhenParameterNamesNotFoundThenIndexedVariablesOnly() throws Exception {
+		Method method = Foo.class.getDeclaredMethod("baz", String.class);
+		given(this.methodInvocation.getThis()).willReturn(new Foo());
+		given(this.methodInvocation.getMethod()).willReturn(method);
+		given(this.methodInvocation.getArguments()).willReturn(new Object[] { "value" });
+		this.handler.setParameterNameDiscoverer(mock(ParameterNameDiscoverer.class));
+		Expression expression = this.handler.getExpressionParser().parseExpression("#p0 == 'value'");
+		for (int i = 0; i < 2; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(() -> this.authentication,
+					this.methodInvocation);
+			assertThat(expression.getValue(context, Boolean.class)).isTrue();
+		}
+	}
+
 	static class Foo {
 
 		void bar() {
 		}
 
+		void baz(String argument) {
+		}
+
 	}
 
 }
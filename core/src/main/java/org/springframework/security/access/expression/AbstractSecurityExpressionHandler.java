@@ -24,6 +24,8 @@ import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.expression.BeanResolver;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.security.access.PermissionEvaluator;
@@ -32,6 +34,7 @@ import org.springframework.security.authorization.AuthorizationManagerFactory;
 import org.springframework.security.authorization.DefaultAuthorizationManagerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * Base implementation of the facade which isolates Spring Security's requirements for
@@ -66,6 +69,26 @@ public abstract class AbstractSecurityExpressionHandler<T>
 		this.expressionParser = expressionParser;
 	}
 
+	/**
+	 * Uses a {@link SpelExpressionParser} configured with the provided
+	 * {@link SpelCompilerMode}, so that frequently evaluated expressions can be compiled
+	 * to bytecode. With {@link SpelCompilerMode#MIXED}, an expression that cannot be
+	 * compiled, or whose compiled form fails because the types it evaluates against
+	 * change, is evaluated interpretively instead. With {@link SpelCompilerMode#IMMEDIATE},
+	 * such a failure is thrown to the caller.
+	 *
+	 * <p>
+	 * This replaces any {@link #setExpressionParser(ExpressionParser) expression parser}
+	 * previously set and must be invoked before the expressions are parsed.
+	 * @param compilerMode the {@link SpelCompilerMode} to use
+	 * @since 7.0
+	 */
+	public final void setExpressionCompilerMode(SpelCompilerMode compilerMode) {
+		Assert.notNull(compilerMode, "compilerMode cannot be null");
+		this.expressionParser = new SpelExpressionParser(
+				new SpelParserConfiguration(compilerMode, ClassUtils.getDefaultClassLoader()));
+	}
+
 	/**
 	 * Invokes the internal template methods to create {@code StandardEvaluationContext}
 	 * and {@code SecurityExpressionRoot} objects.
@@ -40,4 +40,29 @@ public final class ExpressionUtils {
 		}
 	}
 
+	/**
+	 * Evaluates the expression against the provided root object rather than the root
+	 * object of the {@link EvaluationContext}, so that the context can be shared by
+	 * concurrent evaluations.
+	 * @param expr the expression
+	 * @param ctx the evaluation context
+	 * @param rootObject the root object
+	 * @return the boolean result of the expression
+	 * @since 7.0
+	 */
+	public static boolean evaluateAsBoolean(Expression expr, EvaluationContext ctx, Object rootObject) {
+		try {
+			Boolean result = expr.getValue(ctx, rootObject, Boolean.class);
+			if (result == null) {
+				throw new IllegalArgumentException(
+						"Expression was null but expected boolean result '" + expr.getExpressionString() + "'");
+			}
+			return result;
+		}
+		catch (EvaluationException ex) {
+			throw new IllegalArgumentException("Failed to evaluate expression '" + expr.getExpressionString() + "'",
+					ex);
+		}
+	}
+
 }
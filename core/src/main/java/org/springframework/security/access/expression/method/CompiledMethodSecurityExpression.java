@@ -0,0 +1,215 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.access.expression.method;
+
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.BooleanLiteral;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpOr;
+import org.springframework.expression.spel.ast.OperatorNot;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.StringLiteral;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagerFactory;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.DefaultAuthorizationManagerFactory;
+import org.springframework.security.authorization.ExpressionAuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.Assert;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * An {@link AuthorizationManager} that decides the same as a method security
+ * {@link Expression} made only of {@code hasRole}, {@code hasAnyRole},
+ * {@code hasAuthority}, {@code hasAnyAuthority}, {@code permitAll}, {@code denyAll},
+ * {@code isAnonymous}, {@code isAuthenticated}, {@code isRememberMe},
+ * {@code isFullyAuthenticated} and boolean literals, combined with {@code and},
+ * {@code or} and {@code not}. The {@link AuthorizationManager}s produced by the
+ * {@link AuthorizationManagerFactory} are invoked directly, without creating an
+ * {@code EvaluationContext} or evaluating the expression.
+ *
+ * @since 7.0
+ * @see DefaultMethodSecurityExpressionHandler#createAuthorizationManager(Expression)
+ */
+final class CompiledMethodSecurityExpression implements AuthorizationManager<MethodInvocation> {
+
+	private final Expression expression;
+
+	private final BiPredicate<Supplier<Authentication>, MethodInvocation> condition;
+
+	private CompiledMethodSecurityExpression(Expression expression,
+			BiPredicate<Supplier<Authentication>, MethodInvocation> condition) {
+		this.expression = expression;
+		this.condition = condition;
+	}
+
+	/**
+	 * Compiles the provided {@link Expression}, or returns {@code null} if it is not made
+	 * only of the supported operations.
+	 * @param expression the expression to compile
+	 * @param authorizationManagerFactory the factory the expression root object would use
+	 * @param rolePrefix the role prefix the expression root object would strip from roles
+	 * @return the compiled expression, or {@code null}
+	 */
+	static @Nullable CompiledMethodSecurityExpression compile(Expression expression,
+			AuthorizationManagerFactory<MethodInvocation> authorizationManagerFactory, String rolePrefix) {
+		if (!(expression instanceof SpelExpression spelExpression)) {
+			return null;
+		}
+		Compiler compiler = new Compiler(authorizationManagerFactory, rolePrefix);
+		BiPredicate<Supplier<Authentication>, MethodInvocation> condition = compiler.compile(spelExpression.getAST());
+		return (condition != null) ? new CompiledMethodSecurityExpression(expression, condition) : null;
+	}
+
+	@Override
+	@SuppressWarnings("NullAway")
+	public AuthorizationResult authorize(Supplier<? extends @Nullable Authentication> authentication,
+			MethodInvocation invocation) {
+		Supplier<Authentication> value = SingletonSupplier.of(() -> {
+			Authentication current = authentication.get();
+			Assert.notNull(current, "Authentication object cannot be null");
+			return current;
+		});
+		return new ExpressionAuthorizationDecision(this.condition.test(value, invocation), this.expression);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [Expression=" + this.expression.getExpressionString() + "]";
+	}
+
+	private static final class Compiler {
+
+		private final AuthorizationManagerFactory<MethodInvocation> authorizationManagerFactory;
+
+		private final String rolePrefix;
+
+		private Compiler(AuthorizationManagerFactory<MethodInvocation> authorizationManagerFactory,
+				String rolePrefix) {
+			this.authorizationManagerFactory = authorizationManagerFactory;
+			this.rolePrefix = rolePrefix;
+		}
+
+		private @Nullable BiPredicate<Supplier<Authentication>, MethodInvocation> compile(SpelNode node) {
+			if (node instanceof OpAnd || node instanceof OpOr) {
+				BiPredicate<Supplier<Authentication>, MethodInvocation> left = compile(node.getChild(0));
+				BiPredicate<Supplier<Authentication>, MethodInvocation> right = compile(node.getChild(1));
+				if (left == null || right == null) {
+					return null;
+				}
+				return (node instanceof OpAnd) ? left.and(right) : left.or(right);
+			}
+			if (node instanceof OperatorNot) {
+				BiPredicate<Supplier<Authentication>, MethodInvocation> operand = compile(node.getChild(0));
+				return (operand != null) ? operand.negate() : null;
+			}
+			if (node instanceof BooleanLiteral literal) {
+				boolean value = Boolean.TRUE.equals(literal.getLiteralValue().getValue());
+				return (authentication, invocation) -> value;
+			}
+			if (node instanceof PropertyOrFieldReference reference) {
+				return switch (reference.getName()) {
+					case "permitAll" -> (authentication, invocation) -> true;
+					case "denyAll" -> (authentication, invocation) -> false;
+					default -> null;
+				};
+			}
+			if (node instanceof MethodReference reference) {
+				String[] arguments = arguments(reference);
+				return (arguments != null) ? compile(reference.getName(), arguments) : null;
+			}
+			return null;
+		}
+
+		private @Nullable BiPredicate<Supplier<Authentication>, MethodInvocation> compile(String name,
+				String[] arguments) {
+			AuthorizationManagerFactory<MethodInvocation> factory = this.authorizationManagerFactory;
+			if (arguments.length == 0) {
+				return switch (name) {
+					case "permitAll" -> granted(factory.permitAll());
+					case "denyAll" -> granted(factory.denyAll());
+					case "isAnonymous" -> granted(factory.anonymous());
+					case "isAuthenticated" -> granted(factory.authenticated());
+					case "isRememberMe" -> granted(factory.rememberMe());
+					case "isFullyAuthenticated" -> granted(factory.fullyAuthenticated());
+					default -> null;
+				};
+			}
+			if (arguments.length == 1) {
+				if (name.equals("hasAuthority")) {
+					return granted(factory.hasAnyAuthority(arguments[0]));
+				}
+				if (name.equals("hasRole")) {
+					return granted(factory.hasRole(stripRolePrefix(arguments)[0]));
+				}
+			}
+			return switch (name) {
+				case "hasAnyAuthority" -> granted(factory.hasAnyAuthority(arguments));
+				case "hasAnyRole" -> granted(factory.hasAnyRole(stripRolePrefix(arguments)));
+				default -> null;
+			};
+		}
+
+		/**
+		 * Strips the role prefix the same way that {@code SecurityExpressionRoot} does.
+		 */
+		private String[] stripRolePrefix(String[] roles) {
+			if (!(this.authorizationManagerFactory instanceof DefaultAuthorizationManagerFactory<MethodInvocation>)) {
+				return roles;
+			}
+			for (int index = 0; index < roles.length; index++) {
+				if (roles[index].startsWith(this.rolePrefix)) {
+					roles[index] = roles[index].substring(this.rolePrefix.length());
+				}
+			}
+			return roles;
+		}
+
+		private static String @Nullable [] arguments(MethodReference reference) {
+			if (reference.isNullSafe()) {
+				return null;
+			}
+			String[] arguments = new String[reference.getChildCount()];
+			for (int index = 0; index < arguments.length; index++) {
+				if (!(reference.getChild(index) instanceof StringLiteral literal)) {
+					return null;
+				}
+				arguments[index] = (String) literal.getLiteralValue().getValue();
+			}
+			return arguments;
+		}
+
+		private static BiPredicate<Supplier<Authentication>, MethodInvocation> granted(
+				AuthorizationManager<MethodInvocation> authorizationManager) {
+			return (authentication, invocation) -> {
+				AuthorizationResult result = authorizationManager.authorize(authentication, invocation);
+				return result != null && result.isGranted();
+			};
+		}
+
+	}
+
+}
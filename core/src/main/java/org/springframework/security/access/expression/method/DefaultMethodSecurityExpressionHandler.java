@@ -17,13 +17,18 @@
 package org.springframework.security.access.expression.method;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -32,8 +37,12 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jspecify.annotations.Nullable;
 
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.log.LogMessage;
+import org.springframework.expression.BeanResolver;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.TypedValue;
@@ -43,6 +52,7 @@ import org.springframework.security.access.expression.AbstractSecurityExpression
 import org.springframework.security.access.expression.ExpressionUtils;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
 import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationManagerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.parameters.DefaultSecurityParameterNameDiscoverer;
@@ -75,6 +85,10 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 
 	private String defaultRolePrefix = DEFAULT_ROLE_PREFIX;
 
+	private final CachingParameterNameDiscoverer cachingParameterNameDiscoverer = new CachingParameterNameDiscoverer();
+
+	private final Map<MethodClassKey, Method> specificMethods = new ConcurrentHashMap<>();
+
 	public DefaultMethodSecurityExpressionHandler() {
 	}
 
@@ -85,7 +99,7 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 	@Override
 	public StandardEvaluationContext createEvaluationContextInternal(@Nullable Authentication auth,
 			MethodInvocation mi) {
-		return new MethodSecurityEvaluationContext(auth, mi, getParameterNameDiscoverer());
+		return new MethodSecurityEvaluationContext(auth, mi, this.cachingParameterNameDiscoverer);
 	}
 
 	@Override
@@ -93,12 +107,27 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 	public EvaluationContext createEvaluationContext(Supplier<? extends @Nullable Authentication> authentication,
 			MethodInvocation mi) {
 		MethodSecurityExpressionOperations root = createSecurityExpressionRoot(authentication, mi);
-		MethodSecurityEvaluationContext ctx = new MethodSecurityEvaluationContext(root, mi,
-				getParameterNameDiscoverer());
-		Optional.ofNullable(getBeanResolver()).ifPresent(ctx::setBeanResolver);
+		MethodSecurityEvaluationContext ctx = new MethodSecurityEvaluationContext(root, getSpecificMethod(mi),
+				mi.getArguments(), this.cachingParameterNameDiscoverer);
+		BeanResolver beanResolver = getBeanResolver();
+		if (beanResolver != null) {
+			ctx.setBeanResolver(beanResolver);
+		}
 		return ctx;
 	}
 
+	private Method getSpecificMethod(MethodInvocation mi) {
+		Object target = mi.getThis();
+		Class<?> targetClass = (target != null) ? AopProxyUtils.ultimateTargetClass(target) : null;
+		MethodClassKey cacheKey = new MethodClassKey(mi.getMethod(), targetClass);
+		Method specificMethod = this.specificMethods.get(cacheKey);
+		if (specificMethod == null) {
+			specificMethod = AopUtils.getMostSpecificMethod(mi.getMethod(), targetClass);
+			this.specificMethods.put(cacheKey, specificMethod);
+		}
+		return specificMethod;
+	}
+
 	/**
 	 * Creates the root object for expression evaluation.
 	 */
@@ -121,6 +150,31 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		return root;
 	}
 
+	/**
+	 * Returns an {@link AuthorizationManager} that decides the same as evaluating the
+	 * provided {@link Expression}, without creating an {@link EvaluationContext}. This is
+	 * only possible for expressions made of {@code hasRole}, {@code hasAnyRole},
+	 * {@code hasAuthority}, {@code hasAnyAuthority}, {@code permitAll}, {@code denyAll},
+	 * {@code isAnonymous}, {@code isAuthenticated}, {@code isRememberMe},
+	 * {@code isFullyAuthenticated} and boolean literals, combined with {@code and},
+	 * {@code or} and {@code not}.
+	 * <p>
+	 * Since a subclass may customize the expression root object, this method returns
+	 * {@code null} when invoked on a subclass.
+	 * @param expression the expression to analyze
+	 * @return an equivalent {@link AuthorizationManager}, or {@code null} if the
+	 * expression needs to be evaluated
+	 * @since 7.0
+	 */
+	public @Nullable AuthorizationManager<MethodInvocation> createAuthorizationManager(Expression expression) {
+		Assert.notNull(expression, "expression cannot be null");
+		if (getClass() != DefaultMethodSecurityExpressionHandler.class) {
+			return null;
+		}
+		return CompiledMethodSecurityExpression.compile(expression, getAuthorizationManagerFactory(),
+				this.defaultRolePrefix);
+	}
+
 	/**
 	 * Filters the {@code filterTarget} object (which must be either a {@link Collection},
 	 * {@code Array}, {@link Map} or {@link Stream}), by evaluating the supplied
@@ -152,31 +206,40 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 				"Filter target must be a collection, array, map or stream type, but was " + filterTarget);
 	}
 
+	/**
+	 * Evaluates every element before mutating the collection, so that no element is
+	 * evaluated twice and the collection is left untouched if an evaluation fails.
+	 */
 	private <T> Object filterCollection(Collection<T> filterTarget, Expression filterExpression, EvaluationContext ctx,
 			MethodSecurityExpressionOperations rootObject) {
 		this.logger.debug(LogMessage.format("Filtering collection with %s elements", filterTarget.size()));
-		List<T> retain = new ArrayList<>(filterTarget.size());
 		if (this.permissionCacheOptimizer != null) {
 			this.permissionCacheOptimizer.cachePermissionsFor(rootObject.getAuthentication(), filterTarget);
 		}
+		List<T> retain = new ArrayList<>(filterTarget.size());
+		Set<T> remove = Collections.newSetFromMap(new IdentityHashMap<>());
 		for (T filterObject : filterTarget) {
-			rootObject.setFilterObject(filterObject);
-			if (ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)) {
+			if (isRetained(filterObject, filterExpression, ctx, rootObject)) {
 				retain.add(filterObject);
 			}
+			else {
+				remove.add(filterObject);
+			}
 		}
 		this.logger.debug(LogMessage.format("Retaining elements: %s", retain));
+		if (remove.isEmpty()) {
+			return filterTarget;
+		}
 		try {
-			filterTarget.clear();
-			filterTarget.addAll(retain);
+			filterTarget.removeIf(remove::contains);
 			return filterTarget;
 		}
 		catch (UnsupportedOperationException readonly) {
 			this.logger.trace(LogMessage.format(
 					"Collection threw exception: %s. Will return a new instance instead of mutating its state.",
 					readonly.getMessage()));
-			return retain;
 		}
+		return retain;
 	}
 
 	private Object filterArray(Object[] filterTarget, Expression filterExpression, EvaluationContext ctx,
@@ -188,8 +251,7 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 					Arrays.asList(filterTarget));
 		}
 		for (Object filterObject : filterTarget) {
-			rootObject.setFilterObject(filterObject);
-			if (ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)) {
+			if (isRetained(filterObject, filterExpression, ctx, rootObject)) {
 				retain.add(filterObject);
 			}
 		}
@@ -203,34 +265,70 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 
 	private <K, V> Object filterMap(Map<K, V> filterTarget, Expression filterExpression, EvaluationContext ctx,
 			MethodSecurityExpressionOperations rootObject) {
-		Map<K, V> retain = new LinkedHashMap<>(filterTarget.size());
 		this.logger.debug(LogMessage.format("Filtering map with %s elements", filterTarget.size()));
+		Map<K, V> retain = new LinkedHashMap<>(filterTarget.size());
+		List<K> remove = new ArrayList<>();
 		for (Map.Entry<K, V> filterObject : filterTarget.entrySet()) {
-			rootObject.setFilterObject(filterObject);
-			if (ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)) {
+			if (isRetained(filterObject, filterExpression, ctx, rootObject)) {
 				retain.put(filterObject.getKey(), filterObject.getValue());
 			}
+			else {
+				remove.add(filterObject.getKey());
+			}
 		}
 		this.logger.debug(LogMessage.format("Retaining elements: %s", retain));
+		if (remove.isEmpty()) {
+			return filterTarget;
+		}
 		try {
-			filterTarget.clear();
-			filterTarget.putAll(retain);
+			for (K key : remove) {
+				filterTarget.remove(key);
+			}
 			return filterTarget;
 		}
 		catch (UnsupportedOperationException readonly) {
 			this.logger.trace(LogMessage.format(
 					"Map threw exception: %s. Will return a new instance instead of mutating its state.",
 					readonly.getMessage()));
-			return retain;
 		}
+		return retain;
 	}
 
+	/**
+	 * Filters the stream lazily. Elements of a parallel stream are evaluated against
+	 * their own copy of the root object, so that they can be evaluated concurrently.
+	 */
 	private Object filterStream(final Stream<?> filterTarget, Expression filterExpression, EvaluationContext ctx,
 			MethodSecurityExpressionOperations rootObject) {
-		return filterTarget.filter((filterObject) -> {
-			rootObject.setFilterObject(filterObject);
-			return ExpressionUtils.evaluateAsBoolean(filterExpression, ctx);
-		}).onClose(filterTarget::close);
+		if (filterTarget.isParallel() && rootObject instanceof MethodSecurityExpressionRoot root) {
+			return filterTarget.filter((filterObject) -> {
+				MethodSecurityExpressionRoot elementRoot = copyOf(root);
+				elementRoot.setFilterObject(filterObject);
+				return ExpressionUtils.evaluateAsBoolean(filterExpression, ctx, elementRoot);
+			}).onClose(filterTarget::close);
+		}
+		if (filterTarget.isParallel()) {
+			return filterTarget.filter((filterObject) -> {
+				synchronized (rootObject) {
+					return isRetained(filterObject, filterExpression, ctx, rootObject);
+				}
+			}).onClose(filterTarget::close);
+		}
+		return filterTarget.filter((filterObject) -> isRetained(filterObject, filterExpression, ctx, rootObject))
+			.onClose(filterTarget::close);
+	}
+
+	private static boolean isRetained(Object filterObject, Expression filterExpression, EvaluationContext ctx,
+			MethodSecurityExpressionOperations rootObject) {
+		rootObject.setFilterObject(filterObject);
+		return ExpressionUtils.evaluateAsBoolean(filterExpression, ctx);
+	}
+
+	private MethodSecurityExpressionRoot copyOf(MethodSecurityExpressionRoot root) {
+		MethodSecurityExpressionRoot copy = (MethodSecurityExpressionRoot) createSecurityExpressionRoot(
+				root::getAuthentication, root.getMethodInvocation());
+		copy.setReturnObject(root.getReturnObject());
+		return copy;
 	}
 
 	/**
@@ -265,6 +363,7 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 	 */
 	public void setParameterNameDiscoverer(ParameterNameDiscoverer parameterNameDiscoverer) {
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
+		this.cachingParameterNameDiscoverer.clear();
 	}
 
 	/**
@@ -324,4 +423,37 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		return this.defaultRolePrefix;
 	}
 
+	/**
+	 * Caches the parameter names discovered by {@link #getParameterNameDiscoverer()} for
+	 * each {@link Method}, since they are needed each time an expression references a
+	 * method argument.
+	 */
+	private final class CachingParameterNameDiscoverer implements ParameterNameDiscoverer {
+
+		private static final String[] NO_PARAMETER_NAMES = new String[0];
+
+		private final Map<Method, String[]> parameterNames = new ConcurrentHashMap<>();
+
+		@Override
+		public String @Nullable [] getParameterNames(Method method) {
+			String[] parameterNames = this.parameterNames.get(method);
+			if (parameterNames == null) {
+				parameterNames = getParameterNameDiscoverer().getParameterNames(method);
+				this.parameterNames.put(method, (parameterNames != null) ? parameterNames : NO_PARAMETER_NAMES);
+				return parameterNames;
+			}
+			return (parameterNames != NO_PARAMETER_NAMES) ? parameterNames : null;
+		}
+
+		@Override
+		public String @Nullable [] getParameterNames(Constructor<?> ctor) {
+			return getParameterNameDiscoverer().getParameterNames(ctor);
+		}
+
+		void clear() {
+			this.parameterNames.clear();
+		}
+
+	}
+
 }
@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -61,6 +62,11 @@ class MethodSecurityEvaluationContext extends MethodBasedEvaluationContext {
 		super(root, getSpecificMethod(mi), mi.getArguments(), parameterNameDiscoverer);
 	}
 
+	MethodSecurityEvaluationContext(MethodSecurityExpressionOperations root, Method specificMethod,
+			@Nullable Object[] arguments, ParameterNameDiscoverer parameterNameDiscoverer) {
+		super(root, specificMethod, arguments, parameterNameDiscoverer);
+	}
+
 	private static Method getSpecificMethod(MethodInvocation mi) {
 		Class<?> targetClass = (mi.getThis() != null) ? AopProxyUtils.ultimateTargetClass(mi.getThis()) : null;
 		return AopUtils.getMostSpecificMethod(mi.getMethod(), targetClass);
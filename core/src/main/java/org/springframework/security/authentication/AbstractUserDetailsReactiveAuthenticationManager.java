@@ -29,6 +29,7 @@ import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordVerificationExecutor;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.SpringSecurityMessageSource;
@@ -71,6 +72,8 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 
 	private @Nullable ReactiveCompromisedPasswordChecker compromisedPasswordChecker;
 
+	private @Nullable PasswordVerificationExecutor passwordVerificationExecutor;
+
 	private void defaultPreAuthenticationChecks(UserDetails user) {
 		if (!user.isAccountNonLocked()) {
 			this.logger.debug("User account is locked");
@@ -105,8 +108,7 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 		// @formatter:off
 		return retrieveUser(username)
 				.doOnNext(this.preAuthenticationChecks::check)
-				.publishOn(this.scheduler)
-				.filter((userDetails) -> this.passwordEncoder.matches(presentedPassword, userDetails.getPassword()))
+				.transform((userDetails) -> verifyPassword(authentication, presentedPassword, userDetails))
 				.switchIfEmpty(Mono.defer(() -> Mono.error(new BadCredentialsException("Invalid Credentials"))))
 				.flatMap((userDetails) -> checkCompromisedPassword(presentedPassword).thenReturn(userDetails))
 				.flatMap((userDetails) -> upgradeEncodingIfNecessary(userDetails, presentedPassword))
@@ -115,6 +117,20 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 		// @formatter:on
 	}
 
+	private Mono<UserDetails> verifyPassword(Authentication authentication, @Nullable String presentedPassword,
+			Mono<UserDetails> userDetails) {
+		PasswordVerificationExecutor passwordVerificationExecutor = this.passwordVerificationExecutor;
+		if (passwordVerificationExecutor == null) {
+			return userDetails.publishOn(this.scheduler)
+				.filter((user) -> this.passwordEncoder.matches(presentedPassword, user.getPassword()));
+		}
+		// continue on the scheduler so the verification threads are not used downstream
+		return userDetails
+			.filterWhen((user) -> Mono.fromFuture(() -> passwordVerificationExecutor
+				.submit(authentication, () -> this.passwordEncoder.matches(presentedPassword, user.getPassword()))))
+			.publishOn(this.scheduler);
+	}
+
 	private Mono<Void> checkCompromisedPassword(@Nullable String password) {
 		if (this.compromisedPasswordChecker == null) {
 			return Mono.empty();
@@ -207,6 +223,19 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 		this.compromisedPasswordChecker = compromisedPasswordChecker;
 	}
 
+	/**
+	 * Sets the {@link PasswordVerificationExecutor} used to verify the presented
+	 * password instead of the {@link #setScheduler(Scheduler) scheduler}, so that
+	 * password verifications are bounded and rejected with an
+	 * {@link AuthenticationServiceException} under overload. Defaults to {@code null}.
+	 * @param passwordVerificationExecutor the {@link PasswordVerificationExecutor} to use
+	 * @since 7.0
+	 */
+	public void setPasswordVerificationExecutor(PasswordVerificationExecutor passwordVerificationExecutor) {
+		Assert.notNull(passwordVerificationExecutor, "passwordVerificationExecutor cannot be null");
+		this.passwordVerificationExecutor = passwordVerificationExecutor;
+	}
+
 	/**
 	 * Allows subclasses to retrieve the <code>UserDetails</code> from an
 	 * implementation-specific location.
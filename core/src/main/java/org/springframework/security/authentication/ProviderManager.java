@@ -16,9 +16,12 @@
 
 package org.springframework.security.authentication;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -102,6 +105,8 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 
 	private boolean eraseCredentialsAfterAuthentication = true;
 
+	private final Map<Class<? extends Authentication>, SupportingProviders> providersByType = new ConcurrentHashMap<>();
+
 	/**
 	 * Construct a {@link ProviderManager} using the given {@link AuthenticationProvider}s
 	 * @param providers the {@link AuthenticationProvider}s to use
@@ -158,6 +163,11 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 	 * subsequent <code>AuthenticationProvider</code>s will be tried. If authentication
 	 * was not successful by any supporting <code>AuthenticationProvider</code> the last
 	 * thrown <code>AuthenticationException</code> will be rethrown.
+	 * <p>
+	 * The <code>AuthenticationProvider</code>s that support each type of
+	 * <code>Authentication</code> are only determined once, so
+	 * {@link AuthenticationProvider#supports(Class)} is expected to always return the same
+	 * answer for a given type.
 	 * @param authentication the authentication request object.
 	 * @return a fully authenticated object including credentials.
 	 * @throws AuthenticationException if authentication fails.
@@ -171,10 +181,7 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 		Authentication parentResult = null;
 		int currentPosition = 0;
 		int size = this.providers.size();
-		for (AuthenticationProvider provider : getProviders()) {
-			if (!provider.supports(toTest)) {
-				continue;
-			}
+		for (AuthenticationProvider provider : getSupportingProviders(toTest)) {
 			if (logger.isTraceEnabled()) {
 				logger.trace(LogMessage.format("Authenticating request with %s (%d/%d)",
 						provider.getClass().getSimpleName(), ++currentPosition, size));
@@ -265,6 +272,21 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 		throw lastException;
 	}
 
+	/**
+	 * Returns the providers that support the given {@link Authentication} type, in
+	 * order. They are resolved once per type and resolved again only if the list
+	 * returned by {@link #getProviders()} is replaced or changes size.
+	 */
+	private List<AuthenticationProvider> getSupportingProviders(Class<? extends Authentication> toTest) {
+		List<AuthenticationProvider> providers = getProviders();
+		SupportingProviders supporting = this.providersByType.get(toTest);
+		if (supporting == null || !supporting.isResolvedFrom(providers)) {
+			supporting = new SupportingProviders(providers, toTest);
+			this.providersByType.put(toTest, supporting);
+		}
+		return supporting.providers;
+	}
+
 	@SuppressWarnings("deprecation")
 	private void prepareException(AuthenticationException ex, Authentication auth) {
 		ex.setAuthenticationRequest(auth);
@@ -317,6 +339,41 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 		return this.eraseCredentialsAfterAuthentication;
 	}
 
+	private static final class SupportingProviders {
+
+		private final List<AuthenticationProvider> source;
+
+		private final AuthenticationProvider[] snapshot;
+
+		private final List<AuthenticationProvider> providers;
+
+		private SupportingProviders(List<AuthenticationProvider> source, Class<? extends Authentication> toTest) {
+			this.source = source;
+			this.snapshot = source.toArray(new AuthenticationProvider[0]);
+			List<AuthenticationProvider> providers = new ArrayList<>(this.snapshot.length);
+			for (AuthenticationProvider provider : this.snapshot) {
+				if (provider.supports(toTest)) {
+					providers.add(provider);
+				}
+			}
+			this.providers = providers;
+		}
+
+		// Compares the contents as well, since the list may have been modified in place
+		private boolean isResolvedFrom(List<AuthenticationProvider> providers) {
+			if (this.source != providers || this.snapshot.length != providers.size()) {
+				return false;
+			}
+			for (int i = 0; i < this.snapshot.length; i++) {
+				if (this.snapshot[i] != providers.get(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
 	private static final class NullEventPublisher implements AuthenticationEventPublisher {
 
 		@Override
@@ -26,6 +26,7 @@ import org.springframework.security.authentication.InternalAuthenticationService
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordVerificationExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -70,6 +71,8 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 
 	private @Nullable CompromisedPasswordChecker compromisedPasswordChecker;
 
+	private @Nullable PasswordVerificationExecutor passwordVerificationExecutor;
+
 	public DaoAuthenticationProvider(UserDetailsService userDetailsService) {
 		Assert.notNull(userDetailsService, "userDetailsService cannot be null");
 		this.userDetailsService = userDetailsService;
@@ -84,7 +87,7 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 				.getMessage("AbstractUserDetailsAuthenticationProvider.badCredentials", "Bad credentials"));
 		}
 		String presentedPassword = authentication.getCredentials().toString();
-		if (!this.passwordEncoder.get().matches(presentedPassword, userDetails.getPassword())) {
+		if (!matches(authentication, presentedPassword, userDetails.getPassword())) {
 			this.logger.debug("Failed to authenticate since password does not match stored value");
 			throw new BadCredentialsException(this.messages
 				.getMessage("AbstractUserDetailsAuthenticationProvider.badCredentials", "Bad credentials"));
@@ -150,8 +153,18 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 		if (authentication.getCredentials() != null) {
 			Assert.notNull(this.userNotFoundEncodedPassword, "userNotFoundEncodedPassword cannot be null");
 			String presentedPassword = authentication.getCredentials().toString();
-			this.passwordEncoder.get().matches(presentedPassword, this.userNotFoundEncodedPassword);
+			matches(authentication, presentedPassword, this.userNotFoundEncodedPassword);
+		}
+	}
+
+	private boolean matches(Authentication authentication, String presentedPassword,
+			@Nullable String encodedPassword) {
+		PasswordEncoder passwordEncoder = this.passwordEncoder.get();
+		if (this.passwordVerificationExecutor == null) {
+			return passwordEncoder.matches(presentedPassword, encodedPassword);
 		}
+		return this.passwordVerificationExecutor.verify(authentication,
+				() -> passwordEncoder.matches(presentedPassword, encodedPassword));
 	}
 
 	/**
@@ -191,4 +204,18 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 		this.compromisedPasswordChecker = compromisedPasswordChecker;
 	}
 
+	/**
+	 * Sets the {@link PasswordVerificationExecutor} used to verify the presented
+	 * password, so that password verifications run on a bounded pool of threads and are
+	 * rejected with an {@link org.springframework.security.authentication.AuthenticationServiceException}
+	 * under overload. Defaults to {@code null}, meaning that the password is verified on
+	 * the calling thread.
+	 * @param passwordVerificationExecutor the {@link PasswordVerificationExecutor} to use
+	 * @since 7.0
+	 */
+	public void setPasswordVerificationExecutor(PasswordVerificationExecutor passwordVerificationExecutor) {
+		Assert.notNull(passwordVerificationExecutor, "passwordVerificationExecutor cannot be null");
+		this.passwordVerificationExecutor = passwordVerificationExecutor;
+	}
+
 }
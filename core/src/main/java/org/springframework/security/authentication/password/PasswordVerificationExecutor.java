@@ -0,0 +1,224 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.Assert;
+
+/**
+ * Runs password verifications on a dedicated, bounded pool of threads so that a burst
+ * of login attempts cannot exhaust the threads that serve the rest of the application.
+ *
+ * <p>
+ * At most {@code maxConcurrentVerifications} verifications run at the same time and at
+ * most {@code maxQueuedVerifications} wait for a thread. Any further verification is
+ * rejected immediately with an {@link AuthenticationServiceException} instead of
+ * waiting. Optionally, the number of pending verifications per source, as resolved by
+ * {@link #setSourceResolver(Function)}, can be limited so that a single source cannot
+ * take the whole queue.
+ *
+ * <p>
+ * The latency of each verification is recorded as an {@link Observation} named
+ * {@code spring.security.password.verifications}, and the queue depth is available
+ * through {@link #getQueueSize()} and {@link #getActiveCount()}.
+ *
+ * @since 7.0
+ * @see org.springframework.security.authentication.dao.DaoAuthenticationProvider
+ * @see org.springframework.security.authentication.AbstractUserDetailsReactiveAuthenticationManager
+ */
+public final class PasswordVerificationExecutor implements DisposableBean {
+
+	private static final String OBSERVATION_NAME = "spring.security.password.verifications";
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final ThreadPoolTaskExecutor taskExecutor;
+
+	private final Map<Object, Integer> pendingPerSource = new ConcurrentHashMap<>();
+
+	private int maxPendingPerSource = Integer.MAX_VALUE;
+
+	private Function<Authentication, Object> sourceResolver = Authentication::getName;
+
+	private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+	/**
+	 * Constructs a {@code PasswordVerificationExecutor} using the provided parameters.
+	 * @param maxConcurrentVerifications the maximum number of verifications that run at
+	 * the same time
+	 * @param maxQueuedVerifications the maximum number of verifications that wait for a
+	 * thread before further verifications are rejected
+	 */
+	public PasswordVerificationExecutor(int maxConcurrentVerifications, int maxQueuedVerifications) {
+		Assert.isTrue(maxConcurrentVerifications > 0, "maxConcurrentVerifications must be greater than zero");
+		Assert.isTrue(maxQueuedVerifications >= 0, "maxQueuedVerifications cannot be negative");
+		this.taskExecutor = new ThreadPoolTaskExecutor();
+		this.taskExecutor.setCorePoolSize(maxConcurrentVerifications);
+		this.taskExecutor.setMaxPoolSize(maxConcurrentVerifications);
+		this.taskExecutor.setQueueCapacity(maxQueuedVerifications);
+		this.taskExecutor.setAllowCoreThreadTimeOut(true);
+		this.taskExecutor.setDaemon(true);
+		this.taskExecutor.setThreadNamePrefix("spring-password-verification-");
+		this.taskExecutor.initialize();
+	}
+
+	/**
+	 * Submits the provided password verification on behalf of the provided
+	 * {@link Authentication}.
+	 * @param authentication the {@link Authentication} being verified
+	 * @param verification the password verification, typically a call to
+	 * {@link org.springframework.security.crypto.password.PasswordEncoder#matches(CharSequence, String)}
+	 * @return the result of the verification, completed exceptionally with an
+	 * {@link AuthenticationServiceException} if the verification was rejected
+	 */
+	public CompletableFuture<Boolean> submit(Authentication authentication, BooleanSupplier verification) {
+		Assert.notNull(authentication, "authentication cannot be null");
+		Assert.notNull(verification, "verification cannot be null");
+		Object source = this.sourceResolver.apply(authentication);
+		if (!acquire(source)) {
+			String message = "Rejected password verification since too many verifications are pending for its source";
+			this.logger.debug(message);
+			return CompletableFuture.failedFuture(new AuthenticationServiceException(message));
+		}
+		try {
+			return CompletableFuture.supplyAsync(() -> observe(verification), this.taskExecutor)
+				.whenComplete((matches, ex) -> release(source));
+		}
+		catch (TaskRejectedException ex) {
+			release(source);
+			String message = "Rejected password verification since too many verifications are pending";
+			this.logger.debug(message);
+			return CompletableFuture.failedFuture(new AuthenticationServiceException(message, ex));
+		}
+	}
+
+	/**
+	 * Submits the provided password verification on behalf of the provided
+	 * {@link Authentication} and waits for its result.
+	 * @param authentication the {@link Authentication} being verified
+	 * @param verification the password verification
+	 * @return the result of the verification
+	 * @throws AuthenticationServiceException if the verification was rejected
+	 */
+	public boolean verify(Authentication authentication, BooleanSupplier verification) {
+		try {
+			return submit(authentication, verification).join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (ex.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	private boolean observe(BooleanSupplier verification) {
+		Boolean matches = Observation.createNotStarted(OBSERVATION_NAME, this.observationRegistry)
+			.observe(verification::getAsBoolean);
+		return Boolean.TRUE.equals(matches);
+	}
+
+	private boolean acquire(Object source) {
+		if (this.maxPendingPerSource == Integer.MAX_VALUE) {
+			return true;
+		}
+		boolean[] acquired = new boolean[1];
+		this.pendingPerSource.compute(source, (key, pending) -> {
+			int count = (pending != null) ? pending : 0;
+			acquired[0] = count < this.maxPendingPerSource;
+			return acquired[0] ? count + 1 : pending;
+		});
+		return acquired[0];
+	}
+
+	private void release(Object source) {
+		this.pendingPerSource.computeIfPresent(source, (key, pending) -> (pending > 1) ? pending - 1 : null);
+	}
+
+	/**
+	 * Sets the maximum number of verifications that can be pending, either queued or
+	 * running, for the same source. The default is no limit.
+	 * @param maxPendingPerSource the maximum number of pending verifications per source
+	 */
+	public void setMaxPendingPerSource(int maxPendingPerSource) {
+		Assert.isTrue(maxPendingPerSource > 0, "maxPendingPerSource must be greater than zero");
+		this.maxPendingPerSource = maxPendingPerSource;
+	}
+
+	/**
+	 * Sets the strategy for resolving the source of an {@link Authentication}, which is
+	 * used to limit the {@link #setMaxPendingPerSource(int) pending verifications per
+	 * source}. The default is {@link Authentication#getName()}; for example, the remote
+	 * address found in {@link Authentication#getDetails()} can be used instead.
+	 * @param sourceResolver the strategy for resolving the source
+	 */
+	public void setSourceResolver(Function<Authentication, Object> sourceResolver) {
+		Assert.notNull(sourceResolver, "sourceResolver cannot be null");
+		this.sourceResolver = sourceResolver;
+	}
+
+	/**
+	 * Sets the {@link ObservationRegistry} used to record the latency of each password
+	 * verification. The default is {@link ObservationRegistry#NOOP}.
+	 * @param observationRegistry the {@link ObservationRegistry} to use
+	 */
+	public void setObservationRegistry(ObservationRegistry observationRegistry) {
+		Assert.notNull(observationRegistry, "observationRegistry cannot be null");
+		this.observationRegistry = observationRegistry;
+	}
+
+	/**
+	 * Returns the number of verifications waiting for a thread.
+	 * @return the number of queued verifications
+	 */
+	public int getQueueSize() {
+		return this.taskExecutor.getQueueSize();
+	}
+
+	/**
+	 * Returns the number of verifications currently running.
+	 * @return the number of running verifications
+	 */
+	public int getActiveCount() {
+		return this.taskExecutor.getActiveCount();
+	}
+
+	@Override
+	public void destroy() {
+		this.taskExecutor.shutdown();
+	}
+
+}
@@ -16,25 +16,35 @@
 
 package org.springframework.security.authorization.method;
 
+import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -46,13 +56,18 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.aop.Advisor;
 import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AdvisorChainFactory;
 import org.springframework.aop.framework.AopInfrastructureBean;
+import org.springframework.aop.framework.DefaultAdvisorChainFactory;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.security.authorization.AuthorizationProxyFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * A proxy factory for applying authorization advice to an arbitrary object.
@@ -94,8 +109,12 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 
 	private final AuthorizationProxyMethodInterceptor authorizationProxy = new AuthorizationProxyMethodInterceptor();
 
+	private final Map<Class<?>, Class<?>[]> interfaces = new ConcurrentReferenceHashMap<>();
+
 	private List<AuthorizationAdvisor> advisors;
 
+	private volatile @Nullable ProxyConfiguration proxyConfiguration;
+
 	private TargetVisitor visitor = DEFAULT_VISITOR;
 
 	/**
@@ -151,6 +170,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Override
 	public void afterSingletonsInstantiated() {
 		AnnotationAwareOrderComparator.sort(this.advisors);
+		this.proxyConfiguration = null;
 	}
 
 	/**
@@ -168,6 +188,15 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	 * <p>
 	 * If {@code target} is a {@link Class}, then {@link ProxyFactory#getProxyClass} is
 	 * invoked instead.
+	 *
+	 * <p>
+	 * The sorted advisors and the interceptor chain of each proxied method are resolved
+	 * once and shared by all the proxies that this factory creates. {@link List},
+	 * {@link Set} and {@link Map} targets are copied with their elements proxied, and
+	 * updated in place when they are modifiable, so that the result remains assignable
+	 * to the concrete type that was returned. Only targets that are neither
+	 * {@link RandomAccess} nor {@link Serializable} are instead wrapped in views that
+	 * proxy the elements as they are accessed.
 	 * @param target the instance to proxy
 	 * @return the proxied instance
 	 */
@@ -183,17 +212,35 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 		if (proxied != null) {
 			return (T) proxied;
 		}
-		ProxyFactory factory = new ProxyFactory(target);
-		factory.addAdvisors(this.authorizationProxy);
-		List<Advisor> advisors = new ArrayList<>(this.advisors);
-		AnnotationAwareOrderComparator.sort(advisors);
-		factory.addAdvisors(advisors);
+		Class<?> targetClass = target.getClass();
+		ProxyConfiguration configuration = getProxyConfiguration();
+		ProxyFactory factory = new ProxyFactory();
+		factory.setTarget(target);
+		factory.setInterfaces(getInterfaces(targetClass));
+		factory.setAdvisorChainFactory(configuration.advisorChainFactory);
+		factory.addAdvisors(configuration.advisors);
 		factory.addInterface(AuthorizationProxy.class);
 		factory.setOpaque(true);
-		factory.setProxyTargetClass(!Modifier.isFinal(target.getClass().getModifiers()));
+		factory.setProxyTargetClass(!Modifier.isFinal(targetClass.getModifiers()));
 		return (T) factory.getProxy();
 	}
 
+	private Class<?>[] getInterfaces(Class<?> targetClass) {
+		return this.interfaces.computeIfAbsent(targetClass, ClassUtils::getAllInterfacesForClass);
+	}
+
+	private ProxyConfiguration getProxyConfiguration() {
+		ProxyConfiguration configuration = this.proxyConfiguration;
+		if (configuration == null) {
+			List<Advisor> advisors = new ArrayList<>(this.advisors);
+			AnnotationAwareOrderComparator.sort(advisors);
+			advisors.add(0, this.authorizationProxy);
+			configuration = new ProxyConfiguration(advisors);
+			this.proxyConfiguration = configuration;
+		}
+		return configuration;
+	}
+
 	/**
 	 * Add advisors that should be included to each proxy created.
 	 *
@@ -205,6 +252,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Deprecated
 	public void setAdvisors(AuthorizationAdvisor... advisors) {
 		this.advisors = new ArrayList<>(List.of(advisors));
+		this.proxyConfiguration = null;
 	}
 
 	/**
@@ -218,6 +266,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Deprecated
 	public void setAdvisors(Collection<AuthorizationAdvisor> advisors) {
 		this.advisors = new ArrayList<>(advisors);
+		this.proxyConfiguration = null;
 	}
 
 	/**
@@ -235,6 +284,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Deprecated
 	public void addAdvisor(AuthorizationAdvisor advisor) {
 		this.advisors.add(advisor);
+		this.proxyConfiguration = null;
 	}
 
 	/**
@@ -478,6 +528,9 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 		}
 
 		private <T> Set<T> proxySet(AuthorizationProxyFactory proxyFactory, Set<T> set) {
+			if (!copyEagerly(set)) {
+				return new ProxiedSet<>(proxyFactory, set);
+			}
 			Set<T> proxies = new LinkedHashSet<>(set.size());
 			for (T toProxy : set) {
 				proxies.add(proxyCast(proxyFactory, toProxy));
@@ -503,6 +556,9 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 		}
 
 		private <T> List<T> proxyList(AuthorizationProxyFactory proxyFactory, List<T> list) {
+			if (!copyEagerly(list)) {
+				return new ProxiedList<>(proxyFactory, list);
+			}
 			List<T> proxies = new ArrayList<>(list.size());
 			for (T toProxy : list) {
 				proxies.add(proxyCast(proxyFactory, toProxy));
@@ -545,6 +601,9 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 		}
 
 		private <K, V> Map<K, V> proxyMap(AuthorizationProxyFactory proxyFactory, Map<K, V> entries) {
+			if (!copyEagerly(entries)) {
+				return new ProxiedMap<>(proxyFactory, entries);
+			}
 			Map<K, V> proxies = new LinkedHashMap<>(entries.size());
 			for (Map.Entry<K, V> entry : entries.entrySet()) {
 				proxies.put(entry.getKey(), proxyCast(proxyFactory, entry.getValue()));
@@ -559,6 +618,12 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 			}
 		}
 
+		// a view would not be an instance of the concrete type that the method declares,
+		// and would lose the RandomAccess and Serializable markers of the target
+		private static boolean copyEagerly(Object container) {
+			return container instanceof RandomAccess || container instanceof Serializable;
+		}
+
 		private Stream<?> proxyStream(AuthorizationProxyFactory proxyFactory, Stream<?> stream) {
 			return stream.map(proxyFactory::proxy).onClose(stream::close);
 		}
@@ -574,6 +639,390 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 
 	}
 
+	private static final class ProxiedList<T> extends AbstractList<T> {
+
+		private final ElementProxies proxies;
+
+		private final List<T> delegate;
+
+		private ProxiedList(AuthorizationProxyFactory proxyFactory, List<T> delegate) {
+			this.proxies = new ElementProxies(proxyFactory);
+			this.delegate = delegate;
+		}
+
+		@Override
+		public @Nullable T get(int index) {
+			return this.proxies.get(this.delegate.get(index));
+		}
+
+		@Override
+		public @Nullable T set(int index, T element) {
+			return this.proxies.getAndEvict(this.delegate.set(index, element));
+		}
+
+		@Override
+		public void add(int index, T element) {
+			this.delegate.add(index, element);
+		}
+
+		@Override
+		public @Nullable T remove(int index) {
+			return this.proxies.getAndEvict(this.delegate.remove(index));
+		}
+
+		@Override
+		public void clear() {
+			this.delegate.clear();
+			this.proxies.clear();
+		}
+
+		@Override
+		public int size() {
+			return this.delegate.size();
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return listIterator();
+		}
+
+		@Override
+		public ListIterator<T> listIterator(int index) {
+			ListIterator<T> iterator = this.delegate.listIterator(index);
+			return new ListIterator<>() {
+
+				private @Nullable T last;
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public @Nullable T next() {
+					this.last = iterator.next();
+					return ProxiedList.this.proxies.get(this.last);
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return iterator.hasPrevious();
+				}
+
+				@Override
+				public @Nullable T previous() {
+					this.last = iterator.previous();
+					return ProxiedList.this.proxies.get(this.last);
+				}
+
+				@Override
+				public int nextIndex() {
+					return iterator.nextIndex();
+				}
+
+				@Override
+				public int previousIndex() {
+					return iterator.previousIndex();
+				}
+
+				@Override
+				public void remove() {
+					iterator.remove();
+					ProxiedList.this.proxies.evict(this.last);
+				}
+
+				@Override
+				public void set(T element) {
+					iterator.set(element);
+					ProxiedList.this.proxies.evict(this.last);
+				}
+
+				@Override
+				public void add(T element) {
+					iterator.add(element);
+				}
+
+			};
+		}
+
+	}
+
+	private static final class ProxiedSet<T> extends AbstractSet<T> {
+
+		private final ElementProxies proxies;
+
+		private final Set<T> delegate;
+
+		private ProxiedSet(AuthorizationProxyFactory proxyFactory, Set<T> delegate) {
+			this.proxies = new ElementProxies(proxyFactory);
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean contains(Object object) {
+			return this.delegate.contains(toAuthorizedTarget(object));
+		}
+
+		@Override
+		public boolean add(T element) {
+			return this.delegate.add(element);
+		}
+
+		@Override
+		public boolean remove(Object object) {
+			Object target = toAuthorizedTarget(object);
+			this.proxies.evict(target);
+			return this.delegate.remove(target);
+		}
+
+		@Override
+		public void clear() {
+			this.delegate.clear();
+			this.proxies.clear();
+		}
+
+		@Override
+		public int size() {
+			return this.delegate.size();
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			Iterator<T> iterator = this.delegate.iterator();
+			return new Iterator<>() {
+
+				private @Nullable T last;
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public @Nullable T next() {
+					this.last = iterator.next();
+					return ProxiedSet.this.proxies.get(this.last);
+				}
+
+				@Override
+				public void remove() {
+					iterator.remove();
+					ProxiedSet.this.proxies.evict(this.last);
+				}
+
+			};
+		}
+
+		private static Object toAuthorizedTarget(Object object) {
+			return (object instanceof AuthorizationProxy proxy) ? proxy.toAuthorizedTarget() : object;
+		}
+
+	}
+
+	private static final class ProxiedMap<K, V> extends AbstractMap<K, V> {
+
+		private final ElementProxies proxies;
+
+		private final Map<K, V> delegate;
+
+		private ProxiedMap(AuthorizationProxyFactory proxyFactory, Map<K, V> delegate) {
+			this.proxies = new ElementProxies(proxyFactory);
+			this.delegate = delegate;
+		}
+
+		@Override
+		public @Nullable V get(Object key) {
+			return this.proxies.get(this.delegate.get(key));
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return this.delegate.containsKey(key);
+		}
+
+		@Override
+		public @Nullable V put(K key, V value) {
+			return this.proxies.getAndEvict(this.delegate.put(key, value));
+		}
+
+		@Override
+		public @Nullable V remove(Object key) {
+			return this.proxies.getAndEvict(this.delegate.remove(key));
+		}
+
+		@Override
+		public void clear() {
+			this.delegate.clear();
+			this.proxies.clear();
+		}
+
+		@Override
+		public int size() {
+			return this.delegate.size();
+		}
+
+		@Override
+		public Set<Entry<K, V>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<K, V>> iterator() {
+					Iterator<Entry<K, V>> iterator = ProxiedMap.this.delegate.entrySet().iterator();
+					return new Iterator<>() {
+
+						private @Nullable V last;
+
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public Entry<K, V> next() {
+							Entry<K, V> entry = iterator.next();
+							this.last = entry.getValue();
+							return new ProxiedEntry(entry);
+						}
+
+						@Override
+						public void remove() {
+							iterator.remove();
+							ProxiedMap.this.proxies.evict(this.last);
+						}
+
+					};
+				}
+
+				@Override
+				public void clear() {
+					ProxiedMap.this.clear();
+				}
+
+				@Override
+				public int size() {
+					return ProxiedMap.this.delegate.size();
+				}
+			};
+		}
+
+		private final class ProxiedEntry implements Entry<K, V> {
+
+			private final Entry<K, V> delegate;
+
+			private ProxiedEntry(Entry<K, V> delegate) {
+				this.delegate = delegate;
+			}
+
+			@Override
+			public K getKey() {
+				return this.delegate.getKey();
+			}
+
+			@Override
+			public @Nullable V getValue() {
+				return ProxiedMap.this.proxies.get(this.delegate.getValue());
+			}
+
+			@Override
+			public @Nullable V setValue(V value) {
+				return ProxiedMap.this.proxies.getAndEvict(this.delegate.setValue(value));
+			}
+
+			@Override
+			public boolean equals(Object object) {
+				if (!(object instanceof Entry<?, ?> that)) {
+					return false;
+				}
+				return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+			}
+
+		}
+
+	}
+
+	/**
+	 * Memoizes the proxy of each element of a proxied container, so that reading the same
+	 * element twice returns the same proxy. Elements are compared by identity, and
+	 * removed elements are evicted.
+	 */
+	private static final class ElementProxies {
+
+		private final Lock lock = new ReentrantLock();
+
+		private final Map<Object, Object> proxies = new IdentityHashMap<>();
+
+		private final AuthorizationProxyFactory proxyFactory;
+
+		private ElementProxies(AuthorizationProxyFactory proxyFactory) {
+			this.proxyFactory = proxyFactory;
+		}
+
+		@SuppressWarnings("unchecked")
+		private <T> @Nullable T get(@Nullable T element) {
+			if (element == null) {
+				return null;
+			}
+			this.lock.lock();
+			try {
+				Object proxy = this.proxies.get(element);
+				if (proxy != null) {
+					return (T) proxy;
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+			T proxy = this.proxyFactory.proxy(element);
+			if (proxy == null) {
+				return null;
+			}
+			this.lock.lock();
+			try {
+				return (T) this.proxies.computeIfAbsent(element, (key) -> proxy);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private <T> @Nullable T getAndEvict(@Nullable T element) {
+			if (element == null) {
+				return null;
+			}
+			Object proxy = evict(element);
+			return (proxy != null) ? (T) proxy : this.proxyFactory.proxy(element);
+		}
+
+		private @Nullable Object evict(@Nullable Object element) {
+			if (element == null) {
+				return null;
+			}
+			this.lock.lock();
+			try {
+				return this.proxies.remove(element);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private void clear() {
+			this.lock.lock();
+			try {
+				this.proxies.clear();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+	}
+
 	private static class ReactiveTypeVisitor implements TargetVisitor {
 
 		@Override
@@ -628,4 +1077,35 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 
 	}
 
+	private static final class ProxyConfiguration {
+
+		private final List<Advisor> advisors;
+
+		private final AdvisorChainFactory advisorChainFactory = new CachingAdvisorChainFactory();
+
+		private ProxyConfiguration(List<Advisor> advisors) {
+			this.advisors = advisors;
+		}
+
+	}
+
+	/**
+	 * Resolves the interceptor chain of each method once for all the proxies that share
+	 * the same advisors, instead of once per proxy instance.
+	 */
+	private static final class CachingAdvisorChainFactory implements AdvisorChainFactory {
+
+		private final AdvisorChainFactory delegate = new DefaultAdvisorChainFactory();
+
+		private final Map<MethodClassKey, List<Object>> chains = new ConcurrentReferenceHashMap<>();
+
+		@Override
+		public List<Object> getInterceptorsAndDynamicInterceptionAdvice(Advised config, Method method,
+				@Nullable Class<?> targetClass) {
+			return this.chains.computeIfAbsent(new MethodClassKey(method, targetClass),
+					(key) -> this.delegate.getInterceptorsAndDynamicInterceptionAdvice(config, method, targetClass));
+		}
+
+	}
+
 }
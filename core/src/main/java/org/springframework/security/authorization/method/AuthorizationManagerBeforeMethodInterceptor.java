@@ -16,6 +16,8 @@
 
 package org.springframework.security.authorization.method;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import jakarta.annotation.security.DenyAll;
@@ -67,6 +69,10 @@ public final class AuthorizationManagerBeforeMethodInterceptor implements Author
 
 	private AuthorizationEventPublisher eventPublisher = new NoOpAuthorizationEventPublisher();
 
+	private final ThreadLocal<AuthorizationResults> authorizationResults = new ThreadLocal<>();
+
+	private boolean cacheAuthorizationResults;
+
 	/**
 	 * Creates an instance.
 	 * @param pointcut the {@link Pointcut} to use
@@ -194,7 +200,16 @@ public final class AuthorizationManagerBeforeMethodInterceptor implements Author
 	 */
 	@Override
 	public @Nullable Object invoke(MethodInvocation mi) throws Throwable {
-		return attemptAuthorization(mi);
+		if (!this.cacheAuthorizationResults || this.authorizationResults.get() != null) {
+			return attemptAuthorization(mi);
+		}
+		this.authorizationResults.set(new AuthorizationResults());
+		try {
+			return attemptAuthorization(mi);
+		}
+		finally {
+			this.authorizationResults.remove();
+		}
 	}
 
 	@Override
@@ -217,6 +232,37 @@ public final class AuthorizationManagerBeforeMethodInterceptor implements Author
 		this.eventPublisher = eventPublisher;
 	}
 
+	/**
+	 * Whether to reuse the {@link AuthorizationResult} of a method invocation for the
+	 * invocations nested in it on the same thread with the same {@link Authentication}.
+	 * This avoids repeating identical checks, for example when a secured method invokes
+	 * another secured method in a loop. The cached results are discarded when the
+	 * outermost secured invocation returns.
+	 *
+	 * <p>
+	 * Only results that depend solely on the {@link Authentication} are cached, which is
+	 * the case for {@link Secured}, JSR-250 and {@link PreAuthorize} expressions like
+	 * {@code hasRole('ADMIN')}. Expressions that reference the method arguments or any
+	 * bean are always evaluated. The cached results are also discarded as soon as a
+	 * different {@link Authentication} is used, so the {@link Authentication} should not
+	 * be mutated once it is in the {@link SecurityContextHolder}.
+	 *
+	 * <p>
+	 * Results are only cached when the {@link AuthorizationManager} of this interceptor
+	 * is one of the {@link Secured}, JSR-250 or {@link PreAuthorize} managers itself.
+	 * When it is decorated, for example by an
+	 * {@link org.springframework.security.authorization.ObservationAuthorizationManager}
+	 * so that each authorization is observed, every invocation is authorized.
+	 *
+	 * <p>
+	 * Defaults to {@code false}.
+	 * @param cacheAuthorizationResults whether to cache authorization results
+	 * @since 7.0
+	 */
+	public void setCacheAuthorizationResults(boolean cacheAuthorizationResults) {
+		this.cacheAuthorizationResults = cacheAuthorizationResults;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -249,7 +295,7 @@ public final class AuthorizationManagerBeforeMethodInterceptor implements Author
 		this.logger.debug(LogMessage.of(() -> "Authorizing method invocation " + mi));
 		AuthorizationResult result;
 		try {
-			result = this.authorizationManager.authorize(this::getAuthentication, mi);
+			result = authorize(mi);
 		}
 		catch (AuthorizationDeniedException denied) {
 			return handle(mi, denied);
@@ -266,6 +312,31 @@ public final class AuthorizationManagerBeforeMethodInterceptor implements Author
 		return proceed(mi);
 	}
 
+	private @Nullable AuthorizationResult authorize(MethodInvocation mi) {
+		if (!this.cacheAuthorizationResults
+				|| !(this.authorizationManager instanceof AuthorizationResultCacheKeyResolver resolver)) {
+			return this.authorizationManager.authorize(this::getAuthentication, mi);
+		}
+		Authentication authentication = this.securityContextHolderStrategy.get().getContext().getAuthentication();
+		Object key = resolver.resolveCacheKey(mi);
+		if (authentication == null || key == null) {
+			return this.authorizationManager.authorize(this::getAuthentication, mi);
+		}
+		AuthorizationResults results = this.authorizationResults.get();
+		if (results == null) {
+			return this.authorizationManager.authorize(this::getAuthentication, mi);
+		}
+		Map<Object, AuthorizationResult> resultsByKey = results.getResults(authentication);
+		AuthorizationResult result = resultsByKey.get(key);
+		if (result == null) {
+			result = this.authorizationManager.authorize(() -> authentication, mi);
+			if (result != null) {
+				resultsByKey.put(key, result);
+			}
+		}
+		return result;
+	}
+
 	private @Nullable Object proceed(MethodInvocation mi) throws Throwable {
 		try {
 			return mi.proceed();
@@ -301,4 +372,20 @@ public final class AuthorizationManagerBeforeMethodInterceptor implements Author
 		return authentication;
 	}
 
+	private static final class AuthorizationResults {
+
+		private @Nullable Authentication authentication;
+
+		private final Map<Object, AuthorizationResult> resultsByKey = new HashMap<>();
+
+		private Map<Object, AuthorizationResult> getResults(Authentication authentication) {
+			if (this.authentication != authentication) {
+				this.resultsByKey.clear();
+				this.authentication = authentication;
+			}
+			return this.resultsByKey;
+		}
+
+	}
+
 }
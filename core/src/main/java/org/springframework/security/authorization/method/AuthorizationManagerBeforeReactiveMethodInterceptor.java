@@ -17,6 +17,8 @@
 package org.springframework.security.authorization.method;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import kotlinx.coroutines.reactive.ReactiveFlowKt;
 import org.aopalliance.aop.Advice;
@@ -35,6 +37,7 @@ import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.ReactiveAuthorizationManager;
 import org.springframework.security.core.Authentication;
@@ -63,6 +66,8 @@ public final class AuthorizationManagerBeforeReactiveMethodInterceptor implement
 
 	private final MethodAuthorizationDeniedHandler defaultHandler = new ThrowingMethodAuthorizationDeniedHandler();
 
+	private final Map<Method, ReturnType> returnTypes = new ConcurrentHashMap<>();
+
 	/**
 	 * Creates an instance for the {@link PreAuthorize} annotation.
 	 * @return the {@link AuthorizationManagerBeforeReactiveMethodInterceptor} to use
@@ -106,32 +111,21 @@ public final class AuthorizationManagerBeforeReactiveMethodInterceptor implement
 	 */
 	@Override
 	public Object invoke(MethodInvocation mi) throws Throwable {
-		Method method = mi.getMethod();
-		Class<?> type = method.getReturnType();
-		boolean isSuspendingFunction = KotlinDetector.isSuspendingFunction(method);
-		boolean hasFlowReturnType = COROUTINES_FLOW_CLASS_NAME
-			.equals(new MethodParameter(method, RETURN_TYPE_METHOD_PARAMETER_INDEX).getParameterType().getName());
-		boolean hasReactiveReturnType = Publisher.class.isAssignableFrom(type) || isSuspendingFunction
-				|| hasFlowReturnType;
-		Assert.state(hasReactiveReturnType,
-				() -> "The returnType " + type + " on " + method
-						+ " must return an instance of org.reactivestreams.Publisher "
-						+ "(for example, a Mono or Flux) or the function must be a Kotlin coroutine "
-						+ "in order to support Reactor Context");
-		ReactiveAdapter adapter = ReactiveAdapterRegistry.getSharedInstance().getAdapter(type);
-		if (hasFlowReturnType) {
-			if (isSuspendingFunction) {
+		ReturnType returnType = this.returnTypes.computeIfAbsent(mi.getMethod(), ReturnType::new);
+		ReactiveAdapter adapter = returnType.adapter;
+		if (returnType.hasFlowReturnType) {
+			if (returnType.isSuspendingFunction) {
 				return preAuthorized(mi, Flux.defer(() -> ReactiveMethodInvocationUtils.proceed(mi)));
 			}
 			else {
-				Assert.state(adapter != null, () -> "The returnType " + type + " on " + method
-						+ " must have a org.springframework.core.ReactiveAdapter registered");
+				Assert.state(adapter != null, () -> "The returnType " + mi.getMethod().getReturnType() + " on "
+						+ mi.getMethod() + " must have a org.springframework.core.ReactiveAdapter registered");
 				Flux<Object> response = preAuthorized(mi,
 						Flux.defer(() -> adapter.toPublisher(ReactiveMethodInvocationUtils.proceed(mi))));
 				return KotlinDelegate.asFlow(response);
 			}
 		}
-		if (isMultiValue(type, adapter)) {
+		if (returnType.isMultiValue) {
 			Flux<?> result = preAuthorized(mi, Flux.defer(() -> ReactiveMethodInvocationUtils.proceed(mi)));
 			return (adapter != null) ? adapter.fromPublisher(result) : result;
 		}
@@ -141,28 +135,54 @@ public final class AuthorizationManagerBeforeReactiveMethodInterceptor implement
 
 	private Flux<Object> preAuthorized(MethodInvocation mi, Flux<Object> mapping) {
 		Mono<Authentication> authentication = ReactiveAuthenticationUtils.getAuthentication();
+		AuthorizationManager<MethodInvocation> synchronous = getSynchronousAuthorizationManager(mi);
+		if (synchronous != null) {
+			return authentication.flatMapMany(
+					(auth) -> preAuthorized(mi, mapping, synchronous.authorize(() -> auth, mi)));
+		}
 		return this.authorizationManager.authorize(authentication, mi)
 			.switchIfEmpty(Mono.just(new AuthorizationDecision(false)))
-			.flatMapMany((decision) -> {
-				if (decision.isGranted()) {
-					return mapping.onErrorResume(AuthorizationDeniedException.class,
-							(deniedEx) -> postProcess(deniedEx, mi));
-				}
-				return postProcess(decision, mi);
-			});
+			.flatMapMany((decision) -> preAuthorized(mi, mapping, decision));
+	}
+
+	private Flux<Object> preAuthorized(MethodInvocation mi, Flux<Object> mapping,
+			@Nullable AuthorizationResult decision) {
+		if (decision != null && decision.isGranted()) {
+			return mapping.onErrorResume(AuthorizationDeniedException.class, (deniedEx) -> postProcess(deniedEx, mi));
+		}
+		return Flux.from(postProcess((decision != null) ? decision : new AuthorizationDecision(false), mi));
 	}
 
 	private Mono<Object> preAuthorized(MethodInvocation mi, Mono<Object> mapping) {
 		Mono<Authentication> authentication = ReactiveAuthenticationUtils.getAuthentication();
+		AuthorizationManager<MethodInvocation> synchronous = getSynchronousAuthorizationManager(mi);
+		if (synchronous != null) {
+			return authentication.flatMap((auth) -> preAuthorized(mi, mapping, synchronous.authorize(() -> auth, mi)));
+		}
 		return this.authorizationManager.authorize(authentication, mi)
 			.switchIfEmpty(Mono.just(new AuthorizationDecision(false)))
-			.flatMap((decision) -> {
-				if (decision.isGranted()) {
-					return mapping.onErrorResume(AuthorizationDeniedException.class,
-							(deniedEx) -> postProcess(deniedEx, mi));
-				}
-				return postProcess(decision, mi);
-			});
+			.flatMap((decision) -> preAuthorized(mi, mapping, decision));
+	}
+
+	private Mono<Object> preAuthorized(MethodInvocation mi, Mono<Object> mapping,
+			@Nullable AuthorizationResult decision) {
+		if (decision != null && decision.isGranted()) {
+			return mapping.onErrorResume(AuthorizationDeniedException.class, (deniedEx) -> postProcess(deniedEx, mi));
+		}
+		return postProcess((decision != null) ? decision : new AuthorizationDecision(false), mi);
+	}
+
+	/**
+	 * Returns an {@link AuthorizationManager} that decides the {@link MethodInvocation}
+	 * without any reactive type, so that no intermediate publisher needs to be assembled
+	 * for the authorization itself.
+	 */
+	private @Nullable AuthorizationManager<MethodInvocation> getSynchronousAuthorizationManager(
+			MethodInvocation mi) {
+		if (this.authorizationManager instanceof PreAuthorizeReactiveAuthorizationManager preAuthorize) {
+			return preAuthorize.getSynchronousAuthorizationManager(mi);
+		}
+		return null;
 	}
 
 	private Mono<Object> postProcess(AuthorizationResult decision, MethodInvocation mi) {
@@ -179,13 +199,6 @@ public final class AuthorizationManagerBeforeReactiveMethodInterceptor implement
 		});
 	}
 
-	private boolean isMultiValue(Class<?> returnType, @Nullable ReactiveAdapter adapter) {
-		if (Flux.class.isAssignableFrom(returnType)) {
-			return true;
-		}
-		return adapter != null && adapter.isMultiValue();
-	}
-
 	@Override
 	public Pointcut getPointcut() {
 		return this.pointcut;
@@ -210,6 +223,38 @@ public final class AuthorizationManagerBeforeReactiveMethodInterceptor implement
 		this.order = order;
 	}
 
+	/**
+	 * The reactive characteristics of a method's return type, resolved once per method.
+	 */
+	private static final class ReturnType {
+
+		private final boolean isSuspendingFunction;
+
+		private final boolean hasFlowReturnType;
+
+		private final boolean isMultiValue;
+
+		private final @Nullable ReactiveAdapter adapter;
+
+		private ReturnType(Method method) {
+			Class<?> type = method.getReturnType();
+			this.isSuspendingFunction = KotlinDetector.isSuspendingFunction(method);
+			this.hasFlowReturnType = COROUTINES_FLOW_CLASS_NAME
+				.equals(new MethodParameter(method, RETURN_TYPE_METHOD_PARAMETER_INDEX).getParameterType().getName());
+			boolean hasReactiveReturnType = Publisher.class.isAssignableFrom(type) || this.isSuspendingFunction
+					|| this.hasFlowReturnType;
+			Assert.state(hasReactiveReturnType,
+					() -> "The returnType " + type + " on " + method
+							+ " must return an instance of org.reactivestreams.Publisher "
+							+ "(for example, a Mono or Flux) or the function must be a Kotlin coroutine "
+							+ "in order to support Reactor Context");
+			this.adapter = ReactiveAdapterRegistry.getSharedInstance().getAdapter(type);
+			this.isMultiValue = Flux.class.isAssignableFrom(type)
+					|| (this.adapter != null && this.adapter.isMultiValue());
+		}
+
+	}
+
 	/**
 	 * Inner class to avoid a hard dependency on Kotlin at runtime.
 	 */
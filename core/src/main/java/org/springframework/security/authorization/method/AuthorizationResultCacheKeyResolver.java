@@ -0,0 +1,47 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization.method;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Implemented by method security {@link AuthorizationManager}s whose results can be
+ * reused for the same {@link Authentication}.
+ *
+ * <p>
+ * For internal use only, as this contract is likely to change
+ *
+ * @since 7.0
+ * @see AuthorizationManagerBeforeMethodInterceptor#setCacheAuthorizationResults
+ */
+interface AuthorizationResultCacheKeyResolver {
+
+	/**
+	 * Resolve the key under which the result of authorizing this
+	 * {@link MethodInvocation} can be cached.
+	 * @param methodInvocation the {@link MethodInvocation} to authorize
+	 * @return a key that, together with the {@link Authentication}, determines the
+	 * result, or {@code null} if the result also depends on the method invocation, for
+	 * example on its arguments
+	 */
+	@Nullable Object resolveCacheKey(MethodInvocation methodInvocation);
+
+}
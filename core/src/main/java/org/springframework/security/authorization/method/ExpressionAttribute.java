@@ -16,7 +16,11 @@
 
 package org.springframework.security.authorization.method;
 
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.expression.Expression;
+import org.springframework.security.authorization.AuthorizationManager;
 
 /**
  * An {@link Expression} attribute.
@@ -28,12 +32,25 @@ class ExpressionAttribute {
 
 	private final Expression expression;
 
+	private final @Nullable AuthorizationManager<MethodInvocation> authorizationManager;
+
 	/**
 	 * Creates an instance.
 	 * @param expression the {@link Expression} to use
 	 */
 	ExpressionAttribute(Expression expression) {
+		this(expression, null);
+	}
+
+	/**
+	 * Creates an instance.
+	 * @param expression the {@link Expression} to use
+	 * @param authorizationManager an {@link AuthorizationManager} equivalent to the
+	 * {@link Expression}, if any
+	 */
+	ExpressionAttribute(Expression expression, @Nullable AuthorizationManager<MethodInvocation> authorizationManager) {
 		this.expression = expression;
+		this.authorizationManager = authorizationManager;
 	}
 
 	/**
@@ -44,6 +61,16 @@ class ExpressionAttribute {
 		return this.expression;
 	}
 
+	/**
+	 * Returns an {@link AuthorizationManager} that decides the same as the
+	 * {@link Expression} without evaluating it, if any.
+	 * @return the {@link AuthorizationManager} to use, or {@code null} if the
+	 * {@link Expression} needs to be evaluated
+	 */
+	@Nullable AuthorizationManager<MethodInvocation> getAuthorizationManager() {
+		return this.authorizationManager;
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName() + " [Expression="
@@ -49,7 +49,8 @@ import org.springframework.util.Assert;
  * @author DingHao
  * @since 5.6
  */
-public final class Jsr250AuthorizationManager implements AuthorizationManager<MethodInvocation> {
+public final class Jsr250AuthorizationManager
+		implements AuthorizationManager<MethodInvocation>, AuthorizationResultCacheKeyResolver {
 
 	private final Jsr250AuthorizationManagerRegistry registry = new Jsr250AuthorizationManagerRegistry();
 
@@ -89,6 +90,18 @@ public final class Jsr250AuthorizationManager implements AuthorizationManager<Me
 		return delegate.authorize(authentication, methodInvocation);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The {@link AuthorizationManager} resolved for the method is the cache key.
+	 * @since 7.0
+	 */
+	@Override
+	public @Nullable Object resolveCacheKey(MethodInvocation methodInvocation) {
+		AuthorizationManager<MethodInvocation> delegate = this.registry.getManager(methodInvocation);
+		return (delegate != AbstractAuthorizationManagerRegistry.NULL_MANAGER) ? delegate : null;
+	}
+
 	private final class Jsr250AuthorizationManagerRegistry extends AbstractAuthorizationManagerRegistry {
 
 		private final SecurityAnnotationScanner<?> scanner = SecurityAnnotationScanners
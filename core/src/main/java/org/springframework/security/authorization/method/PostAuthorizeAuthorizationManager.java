@@ -92,6 +92,10 @@ public final class PostAuthorizeAuthorizationManager
 		if (attribute == null) {
 			return null;
 		}
+		AuthorizationManager<MethodInvocation> authorizationManager = attribute.getAuthorizationManager();
+		if (authorizationManager != null) {
+			return authorizationManager.authorize(authentication, mi.getMethodInvocation());
+		}
 		MethodSecurityExpressionHandler expressionHandler = this.registry.getExpressionHandler();
 		EvaluationContext ctx = expressionHandler.createEvaluationContext(authentication, mi.getMethodInvocation());
 		expressionHandler.setReturnObject(mi.getResult(), ctx);
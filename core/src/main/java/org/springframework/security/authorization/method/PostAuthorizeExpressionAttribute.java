@@ -16,7 +16,11 @@
 
 package org.springframework.security.authorization.method;
 
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.expression.Expression;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.util.Assert;
 
 /**
@@ -30,7 +34,13 @@ class PostAuthorizeExpressionAttribute extends ExpressionAttribute {
 	private final MethodAuthorizationDeniedHandler handler;
 
 	PostAuthorizeExpressionAttribute(Expression expression, MethodAuthorizationDeniedHandler handler) {
-		super(expression);
+		this(expression, null, handler);
+	}
+
+	PostAuthorizeExpressionAttribute(Expression expression,
+			@Nullable AuthorizationManager<MethodInvocation> authorizationManager,
+			MethodAuthorizationDeniedHandler handler) {
+		super(expression, authorizationManager);
 		Assert.notNull(handler, "handler cannot be null");
 		this.handler = handler;
 	}
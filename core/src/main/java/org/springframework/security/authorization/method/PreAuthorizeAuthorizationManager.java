@@ -39,8 +39,8 @@ import org.springframework.security.core.annotation.AnnotationTemplateExpression
  * @author Evgeniy Cheban
  * @since 5.6
  */
-public final class PreAuthorizeAuthorizationManager
-		implements AuthorizationManager<MethodInvocation>, MethodAuthorizationDeniedHandler {
+public final class PreAuthorizeAuthorizationManager implements AuthorizationManager<MethodInvocation>,
+		MethodAuthorizationDeniedHandler, AuthorizationResultCacheKeyResolver {
 
 	private PreAuthorizeExpressionAttributeRegistry registry = new PreAuthorizeExpressionAttributeRegistry();
 
@@ -84,10 +84,30 @@ public final class PreAuthorizeAuthorizationManager
 		if (attribute == null) {
 			return null;
 		}
+		AuthorizationManager<MethodInvocation> authorizationManager = attribute.getAuthorizationManager();
+		if (authorizationManager != null) {
+			return authorizationManager.authorize(authentication, mi);
+		}
 		EvaluationContext ctx = this.registry.getExpressionHandler().createEvaluationContext(authentication, mi);
 		return ExpressionUtils.evaluate(attribute.getExpression(), ctx);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Only expressions that do not need SpEL, like {@code hasRole('ADMIN')}, have a
+	 * cache key, since they can neither reference the method arguments nor any bean.
+	 * @since 7.0
+	 */
+	@Override
+	public @Nullable Object resolveCacheKey(MethodInvocation methodInvocation) {
+		ExpressionAttribute attribute = this.registry.getAttribute(methodInvocation);
+		if (attribute == null || attribute.getAuthorizationManager() == null) {
+			return null;
+		}
+		return attribute;
+	}
+
 	@Override
 	public @Nullable Object handleDeniedInvocation(MethodInvocation methodInvocation,
 			AuthorizationResult authorizationResult) {
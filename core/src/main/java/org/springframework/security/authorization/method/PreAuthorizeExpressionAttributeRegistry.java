@@ -62,7 +62,7 @@ final class PreAuthorizeExpressionAttributeRegistry extends AbstractExpressionAt
 		}
 		Expression expression = getExpressionHandler().getExpressionParser().parseExpression(preAuthorize.value());
 		MethodAuthorizationDeniedHandler handler = resolveHandler(method, targetClass);
-		return new PreAuthorizeExpressionAttribute(expression, handler);
+		return new PreAuthorizeExpressionAttribute(expression, createAuthorizationManager(expression), handler);
 	}
 
 	private MethodAuthorizationDeniedHandler resolveHandler(Method method, @Nullable Class<?> targetClass) {
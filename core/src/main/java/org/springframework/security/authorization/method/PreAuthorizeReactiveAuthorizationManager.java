@@ -24,6 +24,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.ReactiveAuthorizationManager;
 import org.springframework.security.core.Authentication;
@@ -82,6 +83,10 @@ public final class PreAuthorizeReactiveAuthorizationManager
 		if (attribute == null) {
 			return Mono.empty();
 		}
+		AuthorizationManager<MethodInvocation> authorizationManager = attribute.getAuthorizationManager();
+		if (authorizationManager != null) {
+			return authentication.mapNotNull((auth) -> authorizationManager.authorize(() -> auth, mi));
+		}
 		// @formatter:off
 		return authentication
 				.map((auth) -> this.registry.getExpressionHandler().createEvaluationContext(auth, mi))
@@ -90,6 +95,19 @@ public final class PreAuthorizeReactiveAuthorizationManager
 		// @formatter:on
 	}
 
+	/**
+	 * Returns an {@link AuthorizationManager} that decides the {@link MethodInvocation}
+	 * without any reactive type, if the {@link PreAuthorize} expression is simple enough
+	 * to not need SpEL.
+	 * @param mi the {@link MethodInvocation} to authorize
+	 * @return the {@link AuthorizationManager} to use or {@code null} if the expression
+	 * needs to be evaluated
+	 */
+	@Nullable AuthorizationManager<MethodInvocation> getSynchronousAuthorizationManager(MethodInvocation mi) {
+		ExpressionAttribute attribute = this.registry.getAttribute(mi);
+		return (attribute != null) ? attribute.getAuthorizationManager() : null;
+	}
+
 	@Override
 	public @Nullable Object handleDeniedInvocation(MethodInvocation methodInvocation,
 			AuthorizationResult authorizationResult) {
@@ -46,7 +46,8 @@ import org.springframework.util.Assert;
  * @author DingHao
  * @since 5.6
  */
-public final class SecuredAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+public final class SecuredAuthorizationManager
+		implements AuthorizationManager<MethodInvocation>, AuthorizationResultCacheKeyResolver {
 
 	private AuthorizationManager<Collection<String>> authoritiesAuthorizationManager = new AuthoritiesAuthorizationManager();
 
@@ -75,6 +76,18 @@ public final class SecuredAuthorizationManager implements AuthorizationManager<M
 				: this.authoritiesAuthorizationManager.authorize(authentication, authorities);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The {@link Secured} authorities are the cache key.
+	 * @since 7.0
+	 */
+	@Override
+	public @Nullable Object resolveCacheKey(MethodInvocation methodInvocation) {
+		Set<String> authorities = getAuthorities(methodInvocation);
+		return authorities.isEmpty() ? null : authorities;
+	}
+
 	private Set<String> getAuthorities(MethodInvocation methodInvocation) {
 		Method method = methodInvocation.getMethod();
 		Object target = methodInvocation.getThis();
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.util.Assert;
+
+/**
+ * A thread-safe cache holding at most a maximum number of entries, evicting the least
+ * recently used entries first. Entries optionally expire after a
+ * {@link #setTimeToLive(Duration) time to live}, or at an instant provided when they are
+ * {@link #put(Object, Object, Instant) put}.
+ *
+ * <p>
+ * Expired entries are removed when they are accessed or when the least recently used
+ * entries are evicted, so no background thread is needed.
+ *
+ * <p>
+ * For internal use only, as this contract is likely to change.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 7.0
+ */
+public final class ExpiringLruCache<K, V> {
+
+	// A Lock rather than synchronized, since callers may run on virtual threads
+	private final Lock lock = new ReentrantLock();
+
+	private final Map<K, Entry<V>> entries;
+
+	private @Nullable Duration timeToLive;
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Constructs an {@code ExpiringLruCache} using the provided parameters.
+	 * @param maxSize the maximum number of entries
+	 */
+	public ExpiringLruCache(int maxSize) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than zero");
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				return size() > maxSize;
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the value cached for the provided key, or {@code null} if there is none or
+	 * it has expired.
+	 * @param key the key
+	 * @return the cached value, or {@code null}
+	 */
+	public @Nullable V get(K key) {
+		Instant now = this.clock.instant();
+		this.lock.lock();
+		try {
+			Entry<V> entry = this.entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.isExpired(now)) {
+				this.entries.remove(key);
+				return null;
+			}
+			return entry.value();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the value cached for the provided key, computing and caching it first if
+	 * there is none or it has expired. The value is computed without holding the lock, so
+	 * concurrent callers may compute it more than once, in which case the first cached
+	 * value wins.
+	 * @param key the key
+	 * @param mappingFunction the function computing the value
+	 * @return the cached value
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		V value = get(key);
+		if (value != null) {
+			return value;
+		}
+		V computed = mappingFunction.apply(key);
+		Assert.notNull(computed, "mappingFunction cannot return null");
+		Entry<V> entry = new Entry<>(computed, expiresAt());
+		this.lock.lock();
+		try {
+			Entry<V> existing = this.entries.get(key);
+			if (existing != null && !existing.isExpired(this.clock.instant())) {
+				return existing.value();
+			}
+			this.entries.put(key, entry);
+			return computed;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Caches the provided value, replacing any value cached for the provided key. The
+	 * value expires after the {@link #setTimeToLive(Duration) time to live}, if any.
+	 * @param key the key
+	 * @param value the value
+	 */
+	public void put(K key, V value) {
+		put(key, value, expiresAt());
+	}
+
+	/**
+	 * Caches the provided value until the provided instant, replacing any value cached
+	 * for the provided key.
+	 * @param key the key
+	 * @param value the value
+	 * @param expiresAt the instant after which the value is no longer returned, or
+	 * {@code null} if it does not expire
+	 */
+	public void put(K key, V value, @Nullable Instant expiresAt) {
+		Assert.notNull(value, "value cannot be null");
+		this.lock.lock();
+		try {
+			this.entries.put(key, new Entry<>(value, expiresAt));
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the value cached for the provided key, if any.
+	 * @param key the key
+	 */
+	public void remove(K key) {
+		this.lock.lock();
+		try {
+			this.entries.remove(key);
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the value cached for the provided key, only if it equals the provided
+	 * value.
+	 * @param key the key
+	 * @param value the value expected to be cached
+	 */
+	public void remove(K key, V value) {
+		this.lock.lock();
+		try {
+			Entry<V> entry = this.entries.get(key);
+			if (entry != null && entry.value().equals(value)) {
+				this.entries.remove(key);
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes all the cached values.
+	 */
+	public void clear() {
+		this.lock.lock();
+		try {
+			this.entries.clear();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of cached values, including the expired values that were not
+	 * removed yet.
+	 * @return the number of cached values
+	 */
+	public int size() {
+		this.lock.lock();
+		try {
+			return this.entries.size();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Sets the amount of time a value is cached when it is {@link #put(Object, Object)
+	 * put} or {@link #computeIfAbsent(Object, Function) computed}. By default, values do
+	 * not expire.
+	 * @param timeToLive the time to live of a cached value
+	 */
+	public void setTimeToLive(Duration timeToLive) {
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be greater than zero");
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Sets the {@link Clock} used to expire the cached values. The default is
+	 * {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock}
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private @Nullable Instant expiresAt() {
+		return (this.timeToLive != null) ? this.clock.instant().plus(this.timeToLive) : null;
+	}
+
+	private record Entry<V>(V value, @Nullable Instant expiresAt) {
+
+		boolean isExpired(Instant now) {
+			return this.expiresAt != null && !this.expiresAt.isAfter(now);
+		}
+
+	}
+
+}
@@ -22,9 +22,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -70,6 +74,37 @@ public class AbstractSecurityExpressionHandlerTests {
 		assertThat(parser == this.handler.getExpressionParser()).isTrue();
 	}
 
+	@Test
+	public void setExpressionCompilerModeNull() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.handler.setExpressionCompilerMode(null));
+	}
+
+	@Test
+	public void setExpressionCompilerModeWhenImmediateThenExpressionCompiled() {
+		this.handler.setExpressionCompilerMode(SpelCompilerMode.IMMEDIATE);
+		Expression expression = this.handler.getExpressionParser().parseExpression("hasAuthority('ADMIN')");
+		Authentication authentication = new TestingAuthenticationToken("user", "password", "ADMIN");
+		EvaluationContext context = this.handler.createEvaluationContext(authentication, new Object());
+		assertThat(expression.getValue(context)).isEqualTo(true);
+		assertThat(expression.getValue(context)).isEqualTo(true);
+		assertThat(ReflectionTestUtils.getField(expression, "compiledAst")).isNotNull();
+		authentication = new TestingAuthenticationToken("user", "password", "USER");
+		context = this.handler.createEvaluationContext(authentication, new Object());
+		assertThat(expression.getValue(context)).isEqualTo(false);
+	}
+
+	@Test
+	public void setExpressionCompilerModeWhenMixedAndNotCompilableThenInterpreted() {
+		this.handler.setExpressionCompilerMode(SpelCompilerMode.MIXED);
+		this.handler.setApplicationContext(new AnnotationConfigApplicationContext(TestConfiguration.class));
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("@number10.compareTo(@number20) < 0");
+		for (int i = 0; i < 200; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(mock(Authentication.class), new Object());
+			assertThat(expression.getValue(context)).isEqualTo(true);
+		}
+	}
+
 	@Configuration
 	static class TestConfiguration {
 
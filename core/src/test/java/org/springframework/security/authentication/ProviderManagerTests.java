@@ -35,7 +35,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -313,6 +315,40 @@ public class ProviderManagerTests {
 		verifyNoMoreInteractions(publisher); // Child should not publish (duplicate event)
 	}
 
+	@Test
+	void authenticateWhenSameAuthenticationTypeThenResolvesSupportingProvidersOnce() {
+		TestingAuthenticationToken token = createAuthenticationToken();
+		AuthenticationProvider unsupporting = mock(AuthenticationProvider.class);
+		AuthenticationProvider supporting = createProviderWhichReturns(token);
+		ProviderManager mgr = new ProviderManager(unsupporting, supporting);
+		mgr.authenticate(token);
+		mgr.authenticate(token);
+		verify(unsupporting).supports(TestingAuthenticationToken.class);
+		verify(unsupporting, never()).authenticate(any(Authentication.class));
+		verify(supporting).supports(TestingAuthenticationToken.class);
+		verify(supporting, times(2)).authenticate(token);
+	}
+
+	@Test
+	void authenticateWhenProviderAddedThenResolvesSupportingProvidersAgain() {
+		TestingAuthenticationToken token = createAuthenticationToken();
+		List<AuthenticationProvider> providers = new ArrayList<>(List.of(mock(AuthenticationProvider.class)));
+		ProviderManager mgr = new ProviderManager(providers);
+		assertThatExceptionOfType(ProviderNotFoundException.class).isThrownBy(() -> mgr.authenticate(token));
+		providers.add(createProviderWhichReturns(token));
+		assertThat(mgr.authenticate(token)).isSameAs(token);
+	}
+
+	@Test
+	void authenticateWhenProviderReplacedThenResolvesSupportingProvidersAgain() {
+		TestingAuthenticationToken token = createAuthenticationToken();
+		List<AuthenticationProvider> providers = new ArrayList<>(List.of(mock(AuthenticationProvider.class)));
+		ProviderManager mgr = new ProviderManager(providers);
+		assertThatExceptionOfType(ProviderNotFoundException.class).isThrownBy(() -> mgr.authenticate(token));
+		providers.set(0, createProviderWhichReturns(token));
+		assertThat(mgr.authenticate(token)).isSameAs(token);
+	}
+
 	private AuthenticationProvider createProviderWhichThrows(final AuthenticationException ex) {
 		AuthenticationProvider provider = mock(AuthenticationProvider.class);
 		given(provider.supports(any(Class.class))).willReturn(true);
@@ -16,6 +16,10 @@
 
 package org.springframework.security.authentication;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +33,7 @@ import reactor.test.StepVerifier;
 import org.springframework.context.MessageSource;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordVerificationExecutor;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
@@ -259,6 +264,69 @@ public class UserDetailsRepositoryReactiveAuthenticationManagerTests {
 			.verifyComplete();
 	}
 
+	@Test
+	public void authenticateWhenPasswordVerificationExecutorThenVerifiesOnExecutor() {
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		given(this.encoder.matches(any(), any()))
+			.willAnswer((invocation) -> Thread.currentThread().getName().startsWith("spring-password-verification-"));
+		PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1);
+		this.manager.setPasswordEncoder(this.encoder);
+		this.manager.setPasswordVerificationExecutor(executor);
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(this.user,
+				this.user.getPassword());
+		StepVerifier.create(this.manager.authenticate(token))
+			.assertNext((authentication) -> assertThat(authentication.isAuthenticated()).isTrue())
+			.verifyComplete();
+		executor.destroy();
+	}
+
+	@Test
+	public void authenticateWhenPasswordVerificationExecutorThenContinuesOnScheduler() {
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		given(this.encoder.matches(any(), any())).willReturn(true);
+		PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1);
+		Scheduler scheduler = Schedulers.newSingle("authentication-scheduler");
+		AtomicReference<String> postAuthenticationThread = new AtomicReference<>();
+		this.manager.setPasswordEncoder(this.encoder);
+		this.manager.setPasswordVerificationExecutor(executor);
+		this.manager.setScheduler(scheduler);
+		this.manager
+			.setPostAuthenticationChecks((user) -> postAuthenticationThread.set(Thread.currentThread().getName()));
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(this.user,
+				this.user.getPassword());
+		StepVerifier.create(this.manager.authenticate(token))
+			.assertNext((authentication) -> assertThat(authentication.isAuthenticated()).isTrue())
+			.verifyComplete();
+		assertThat(postAuthenticationThread.get()).startsWith("authentication-scheduler");
+		executor.destroy();
+		scheduler.dispose();
+	}
+
+	@Test
+	public void authenticateWhenPasswordVerificationRejectedThenAuthenticationServiceException() {
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		CountDownLatch latch = new CountDownLatch(1);
+		PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1);
+		executor.setMaxPendingPerSource(1);
+		executor.submit(new TestingAuthenticationToken("user", "password"), () -> {
+			try {
+				return latch.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		});
+		this.manager.setPasswordVerificationExecutor(executor);
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated("user",
+				"password");
+		StepVerifier.create(this.manager.authenticate(token))
+			.expectError(AuthenticationServiceException.class)
+			.verify();
+		latch.countDown();
+		executor.destroy();
+	}
+
 	@Test
 	public void setMessageSourceWhenNullThenThrowsException() {
 		assertThatIllegalArgumentException().isThrownBy(() -> this.manager.setMessageSource(null));
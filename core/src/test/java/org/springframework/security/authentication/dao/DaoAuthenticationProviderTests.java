@@ -19,6 +19,8 @@ package org.springframework.security.authentication.dao;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -36,6 +38,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordVerificationExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -504,6 +507,53 @@ public class DaoAuthenticationProviderTests {
 		assertThat(authentication).isNotNull();
 	}
 
+	@Test
+	void authenticateWhenPasswordVerificationExecutorThenVerifiesOnExecutor() {
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		List<String> threads = new ArrayList<>();
+		given(encoder.matches(any(), any())).willAnswer((invocation) -> {
+			threads.add(Thread.currentThread().getName());
+			return true;
+		});
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(withUsers(PasswordEncodedUser.user()));
+		provider.setPasswordEncoder(encoder);
+		PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1);
+		provider.setPasswordVerificationExecutor(executor);
+		Authentication authentication = provider
+			.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+		assertThat(authentication.isAuthenticated()).isTrue();
+		assertThat(threads).singleElement().asString().startsWith("spring-password-verification-");
+		executor.destroy();
+	}
+
+	@Test
+	void authenticateWhenPasswordVerificationRejectedThenAuthenticationServiceException() {
+		CountDownLatch latch = new CountDownLatch(1);
+		PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1);
+		executor.setMaxPendingPerSource(1);
+		executor.submit(new TestingAuthenticationToken("user", "password"), () -> {
+			try {
+				return latch.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		});
+		DaoAuthenticationProvider provider = createProvider(withUsers(PasswordEncodedUser.user()));
+		provider.setPasswordVerificationExecutor(executor);
+		assertThatExceptionOfType(AuthenticationServiceException.class).isThrownBy(
+				() -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password")));
+		latch.countDown();
+		executor.destroy();
+	}
+
+	@Test
+	void setPasswordVerificationExecutorWhenNullThenIllegalArgumentException() {
+		DaoAuthenticationProvider provider = createProvider(withUsers(PasswordEncodedUser.user()));
+		assertThatIllegalArgumentException().isThrownBy(() -> provider.setPasswordVerificationExecutor(null));
+	}
+
 	private UserDetailsService withUsers(UserDetails... users) {
 		return new InMemoryUserDetailsManager(users);
 	}
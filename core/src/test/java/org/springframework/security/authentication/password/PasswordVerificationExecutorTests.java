@@ -0,0 +1,160 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link PasswordVerificationExecutor}.
+ */
+public class PasswordVerificationExecutorTests {
+
+	private final CountDownLatch latch = new CountDownLatch(1);
+
+	private final Authentication user = new TestingAuthenticationToken("user", "password");
+
+	private final Authentication admin = new TestingAuthenticationToken("admin", "password");
+
+	private PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1);
+
+	@AfterEach
+	public void cleanup() {
+		this.latch.countDown();
+		this.executor.destroy();
+	}
+
+	@Test
+	public void constructorWhenMaxConcurrentVerificationsZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new PasswordVerificationExecutor(0, 1))
+			.withMessage("maxConcurrentVerifications must be greater than zero");
+	}
+
+	@Test
+	public void constructorWhenMaxQueuedVerificationsNegativeThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new PasswordVerificationExecutor(1, -1))
+			.withMessage("maxQueuedVerifications cannot be negative");
+	}
+
+	@Test
+	public void setMaxPendingPerSourceWhenZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.executor.setMaxPendingPerSource(0))
+			.withMessage("maxPendingPerSource must be greater than zero");
+	}
+
+	@Test
+	public void setSourceResolverWhenNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.executor.setSourceResolver(null))
+			.withMessage("sourceResolver cannot be null");
+	}
+
+	@Test
+	public void verifyWhenMatchesThenTrue() {
+		assertThat(this.executor.verify(this.user, () -> true)).isTrue();
+		assertThat(this.executor.verify(this.user, () -> false)).isFalse();
+	}
+
+	@Test
+	public void verifyWhenVerificationThrowsThenRethrows() {
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> this.executor.verify(this.user, () -> {
+			throw new IllegalStateException("failed");
+		})).withMessage("failed");
+	}
+
+	@Test
+	public void submitWhenQueueFullThenRejected() {
+		this.executor.submit(this.user, this::await);
+		this.executor.submit(this.user, this::await);
+		assertThatExceptionOfType(AuthenticationServiceException.class)
+			.isThrownBy(() -> this.executor.verify(this.admin, () -> true));
+		assertThat(this.executor.getQueueSize()).isEqualTo(1);
+	}
+
+	@Test
+	public void submitWhenMaxPendingPerSourceReachedThenRejectedForThatSourceOnly() {
+		this.executor = new PasswordVerificationExecutor(2, 2);
+		this.executor.setMaxPendingPerSource(1);
+		this.executor.submit(this.user, this::await);
+		assertThatExceptionOfType(AuthenticationServiceException.class)
+			.isThrownBy(() -> this.executor.verify(this.user, () -> true));
+		assertThat(this.executor.verify(this.admin, () -> true)).isTrue();
+	}
+
+	@Test
+	public void submitWhenPendingVerificationCompletesThenSourceAccepted() {
+		this.executor.setMaxPendingPerSource(1);
+		CompletableFuture<Boolean> pending = this.executor.submit(this.user, this::await);
+		this.latch.countDown();
+		assertThat(pending.join()).isTrue();
+		assertThat(this.executor.verify(this.user, () -> true)).isTrue();
+	}
+
+	@Test
+	public void submitWhenSourceResolverThenUsed() {
+		this.executor = new PasswordVerificationExecutor(2, 2);
+		this.executor.setMaxPendingPerSource(1);
+		this.executor.setSourceResolver((authentication) -> "same");
+		this.executor.submit(this.user, this::await);
+		assertThatExceptionOfType(AuthenticationServiceException.class)
+			.isThrownBy(() -> this.executor.verify(this.admin, () -> true));
+	}
+
+	@Test
+	public void verifyWhenObservationRegistryThenObserved() {
+		ObservationHandler<Observation.Context> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		this.executor.setObservationRegistry(registry);
+		this.executor.verify(this.user, () -> true);
+		ArgumentCaptor<Observation.Context> captor = ArgumentCaptor.forClass(Observation.Context.class);
+		verify(handler).onStart(captor.capture());
+		assertThat(captor.getValue().getName()).isEqualTo("spring.security.password.verifications");
+		verify(handler).onStop(any());
+	}
+
+	private boolean await() {
+		try {
+			return this.latch.await(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
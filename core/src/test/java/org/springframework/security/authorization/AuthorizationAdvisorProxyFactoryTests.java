@@ -16,6 +16,11 @@
 
 package org.springframework.security.authorization;
 
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,11 +31,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -39,6 +47,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.lang.NonNull;
 import org.springframework.security.access.AccessDeniedException;
@@ -237,6 +246,111 @@ public class AuthorizationAdvisorProxyFactoryTests {
 		SecurityContextHolder.clearContext();
 	}
 
+	@Test
+	public void proxyWhenListThenProxiesOnlyAccessedElements() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AtomicInteger proxied = new AtomicInteger();
+		TargetVisitor counting = (proxyFactory, target) -> {
+			if (target instanceof Flight) {
+				proxied.incrementAndGet();
+			}
+			return null;
+		};
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		factory.setTargetVisitor(TargetVisitor.of(counting, TargetVisitor.defaults()));
+		List<Flight> flights = new ArrayList<>(List.of(new Flight(), this.flight, new Flight()));
+		List<Flight> secured = proxy(factory, new NonSerializableList<>(flights));
+		assertThat(proxied).hasValue(0);
+		assertThat(secured).hasSize(3);
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(secured.get(1)::getAltitude);
+		assertThat(proxied).hasValue(1);
+		assertThat(flights.get(1)).isSameAs(this.flight);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void proxyWhenMapThenProxiesOnlyAccessedValues() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AtomicInteger proxied = new AtomicInteger();
+		TargetVisitor counting = (proxyFactory, target) -> {
+			if (target instanceof User) {
+				proxied.incrementAndGet();
+			}
+			return null;
+		};
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		factory.setTargetVisitor(TargetVisitor.of(counting, TargetVisitor.defaults()));
+		User ada = new User("ada", "ada", "lovelace");
+		Map<String, User> users = new HashMap<>(Map.of(this.alan.getId(), this.alan, ada.getId(), ada));
+		Map<String, User> secured = proxy(factory, new NonSerializableMap<>(users));
+		assertThat(secured).containsOnlyKeys("alan", "ada");
+		assertThat(proxied).hasValue(0);
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(secured.get("ada")::getFirstName);
+		assertThat(proxied).hasValue(1);
+		assertThat(users.get("ada")).isSameAs(ada);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void proxyWhenContainerElementReadTwiceThenSameProxy() {
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		List<Flight> flights = proxy(factory, new NonSerializableList<>(new ArrayList<>(List.of(this.flight))));
+		assertThat(flights.get(0)).isSameAs(flights.get(0));
+		assertThat(flights.iterator().next()).isSameAs(flights.get(0));
+		Set<Flight> flightSet = proxy(factory, new NonSerializableSet<>(new HashSet<>(Set.of(this.flight))));
+		assertThat(flightSet.iterator().next()).isSameAs(flightSet.iterator().next());
+		Map<String, User> users = proxy(factory,
+				new NonSerializableMap<>(new HashMap<>(Map.of(this.alan.getId(), this.alan))));
+		assertThat(users.entrySet().iterator().next().getValue()).isSameAs(users.get(this.alan.getId()));
+	}
+
+	@Test
+	public void proxyWhenContainerElementReplacedThenNewProxy() {
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		List<Flight> flights = proxy(factory, new NonSerializableList<>(new ArrayList<>(List.of(this.flight))));
+		Flight proxied = flights.get(0);
+		assertThat(flights.set(0, new Flight())).isSameAs(proxied);
+		assertThat(flights.get(0)).isNotSameAs(proxied);
+	}
+
+	@Test
+	public void proxyWhenConcreteContainerTypesThenAssignable() {
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		ArrayList<Flight> flights = proxy(factory, new ArrayList<>(List.of(this.flight)));
+		assertThat(flights).isInstanceOf(RandomAccess.class).isInstanceOf(Serializable.class);
+		assertThat(flights.get(0)).isInstanceOf(AuthorizationProxy.class);
+		LinkedList<Flight> linkedFlights = proxy(factory, new LinkedList<>(List.of(this.flight)));
+		assertThat(linkedFlights.get(0)).isInstanceOf(AuthorizationProxy.class);
+		HashSet<Flight> flightSet = proxy(factory, new HashSet<>(Set.of(this.flight)));
+		assertThat(flightSet).isInstanceOf(Serializable.class);
+		assertThat(flightSet.iterator().next()).isInstanceOf(AuthorizationProxy.class);
+		HashMap<String, User> users = new HashMap<>(Map.of(this.alan.getId(), this.alan));
+		HashMap<String, User> securedUsers = proxy(factory, users);
+		assertThat(securedUsers).isSameAs(users);
+		assertThat(users.get(this.alan.getId())).isInstanceOf(AuthorizationProxy.class);
+	}
+
+	@Test
+	public void proxyWhenSameTargetTypeThenResolvesInterceptorChainOnce() {
+		Map<String, Integer> matches = new ConcurrentHashMap<>();
+		Pointcut pointcut = new StaticMethodMatcherPointcut() {
+			@Override
+			public boolean matches(Method method, Class<?> targetClass) {
+				matches.merge(method.getName(), 1, Integer::sum);
+				return true;
+			}
+		};
+		AuthorizationAdvisor advisor = mock(AuthorizationAdvisor.class);
+		given(advisor.getAdvice()).willReturn(advisor);
+		given(advisor.getPointcut()).willReturn(pointcut);
+		AuthorizationAdvisorProxyFactory factory = new AuthorizationAdvisorProxyFactory(List.of(advisor));
+		Flight first = proxy(factory, new Flight());
+		Flight second = proxy(factory, new Flight());
+		first.getAltitude();
+		second.getAltitude();
+		assertThat(matches).containsEntry("getAltitude", 1);
+	}
+
 	@Test
 	public void proxyWhenPreAuthorizeForOptionalThenHonors() {
 		SecurityContextHolder.getContext().setAuthentication(this.user);
@@ -470,4 +584,66 @@ public class AuthorizationAdvisorProxyFactoryTests {
 	record Repository(@PreAuthorize("hasRole('ADMIN')") String secret) implements HasSecret {
 	}
 
+	static final class NonSerializableList<T> extends AbstractList<T> {
+
+		private final List<T> delegate;
+
+		NonSerializableList(List<T> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public T get(int index) {
+			return this.delegate.get(index);
+		}
+
+		@Override
+		public T set(int index, T element) {
+			return this.delegate.set(index, element);
+		}
+
+		@Override
+		public int size() {
+			return this.delegate.size();
+		}
+
+	}
+
+	static final class NonSerializableSet<T> extends AbstractSet<T> {
+
+		private final Set<T> delegate;
+
+		NonSerializableSet(Set<T> delegate) {
+			this.delegate = delegate;
+		}
+
+		@NonNull
+		@Override
+		public Iterator<T> iterator() {
+			return this.delegate.iterator();
+		}
+
+		@Override
+		public int size() {
+			return this.delegate.size();
+		}
+
+	}
+
+	static final class NonSerializableMap<K, V> extends AbstractMap<K, V> {
+
+		private final Map<K, V> delegate;
+
+		NonSerializableMap(Map<K, V> delegate) {
+			this.delegate = delegate;
+		}
+
+		@NonNull
+		@Override
+		public Set<Entry<K, V>> entrySet() {
+			return this.delegate.entrySet();
+		}
+
+	}
+
 }
@@ -16,12 +16,16 @@
 
 package org.springframework.security.authorization.method;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.aop.Pointcut;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
 import org.springframework.security.authorization.AuthorizationDecision;
@@ -36,7 +40,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContextImpl;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -148,6 +154,124 @@ public class AuthorizationManagerBeforeMethodInterceptorTests {
 		assertThatExceptionOfType(MyAuthzDeniedException.class).isThrownBy(() -> advice.invoke(null));
 	}
 
+	@Test
+	public void invokeWhenCacheAuthorizationResultsThenAuthorizesOncePerAuthentication() throws Throwable {
+		AtomicInteger authorizations = new AtomicInteger();
+		SecuredAuthorizationManager manager = new SecuredAuthorizationManager();
+		manager.setAuthoritiesAuthorizationManager((authentication, authorities) -> {
+			authorizations.incrementAndGet();
+			return new AuthorizationDecision(true);
+		});
+		AuthorizationManagerBeforeMethodInterceptor advice = AuthorizationManagerBeforeMethodInterceptor
+			.secured(manager);
+		advice.setCacheAuthorizationResults(true);
+		MethodInvocation invocation = new MockMethodInvocation(new CachedResultsService(),
+				CachedResultsService.class, "secured");
+		MethodInvocation outer = mock(MethodInvocation.class);
+		given(outer.getThis()).willReturn(invocation.getThis());
+		given(outer.getMethod()).willReturn(invocation.getMethod());
+		given(outer.proceed()).willAnswer((answer) -> {
+			advice.invoke(invocation);
+			advice.invoke(invocation);
+			SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+			advice.invoke(invocation);
+			return null;
+		});
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+		advice.invoke(outer);
+		assertThat(authorizations).hasValue(2);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void invokeWhenCacheAuthorizationResultsAndOutermostInvocationReturnedThenAuthorizesAgain()
+			throws Throwable {
+		AtomicInteger authorizations = new AtomicInteger();
+		SecuredAuthorizationManager manager = new SecuredAuthorizationManager();
+		manager.setAuthoritiesAuthorizationManager((authentication, authorities) -> {
+			authorizations.incrementAndGet();
+			return new AuthorizationDecision(true);
+		});
+		AuthorizationManagerBeforeMethodInterceptor advice = AuthorizationManagerBeforeMethodInterceptor
+			.secured(manager);
+		advice.setCacheAuthorizationResults(true);
+		MethodInvocation invocation = new MockMethodInvocation(new CachedResultsService(),
+				CachedResultsService.class, "secured");
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+		advice.invoke(invocation);
+		advice.invoke(invocation);
+		assertThat(authorizations).hasValue(2);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void invokeWhenNotCacheAuthorizationResultsThenAuthorizesEachTime() throws Throwable {
+		AtomicInteger authorizations = new AtomicInteger();
+		SecuredAuthorizationManager manager = new SecuredAuthorizationManager();
+		manager.setAuthoritiesAuthorizationManager((authentication, authorities) -> {
+			authorizations.incrementAndGet();
+			return new AuthorizationDecision(true);
+		});
+		AuthorizationManagerBeforeMethodInterceptor advice = AuthorizationManagerBeforeMethodInterceptor
+			.secured(manager);
+		MethodInvocation invocation = new MockMethodInvocation(new CachedResultsService(),
+				CachedResultsService.class, "secured");
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+		advice.invoke(invocation);
+		advice.invoke(invocation);
+		assertThat(authorizations).hasValue(2);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void invokeWhenCacheAuthorizationResultsAndAuthenticationChangesThenAuthorizesAgain() throws Throwable {
+		AuthorizationManagerBeforeMethodInterceptor advice = AuthorizationManagerBeforeMethodInterceptor
+			.preAuthorize();
+		advice.setCacheAuthorizationResults(true);
+		MethodInvocation invocation = new MockMethodInvocation(new CachedResultsService(),
+				CachedResultsService.class, "admin");
+		SecurityContextHolder.getContext()
+			.setAuthentication(new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN"));
+		assertThatNoException().isThrownBy(() -> advice.invoke(invocation));
+		SecurityContextHolder.getContext()
+			.setAuthentication(new TestingAuthenticationToken("user", "password", "ROLE_USER"));
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(() -> advice.invoke(invocation));
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void invokeWhenCacheAuthorizationResultsAndExpressionReferencesArgumentsThenEvaluatesEachTime()
+			throws Throwable {
+		AuthorizationManagerBeforeMethodInterceptor advice = AuthorizationManagerBeforeMethodInterceptor
+			.preAuthorize();
+		advice.setCacheAuthorizationResults(true);
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+		MethodInvocation granted = new MockMethodInvocation(new CachedResultsService(), CachedResultsService.class,
+				"named", new Class[] { String.class }, new Object[] { "user" });
+		MethodInvocation denied = new MockMethodInvocation(new CachedResultsService(), CachedResultsService.class,
+				"named", new Class[] { String.class }, new Object[] { "other" });
+		assertThatNoException().isThrownBy(() -> advice.invoke(granted));
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(() -> advice.invoke(denied));
+		assertThatNoException().isThrownBy(() -> advice.invoke(granted));
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void invokeWhenCacheAuthorizationResultsAndExpressionReferencesThisThenEvaluatesEachTime()
+			throws Throwable {
+		AuthorizationManagerBeforeMethodInterceptor advice = AuthorizationManagerBeforeMethodInterceptor
+			.preAuthorize();
+		advice.setCacheAuthorizationResults(true);
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+		MethodInvocation granted = new MockMethodInvocation(new CachedResultsService("user"),
+				CachedResultsService.class, "owned");
+		MethodInvocation denied = new MockMethodInvocation(new CachedResultsService("other"),
+				CachedResultsService.class, "owned");
+		assertThatNoException().isThrownBy(() -> advice.invoke(granted));
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(() -> advice.invoke(denied));
+		SecurityContextHolder.clearContext();
+	}
+
 	private SecurityContextHolderStrategy mockSecurityContextHolderStrategy(SecurityContextImpl securityContextImpl) {
 
 		SecurityContextHolderStrategy strategy = mock(SecurityContextHolderStrategy.class);
@@ -155,6 +279,40 @@ public class AuthorizationManagerBeforeMethodInterceptorTests {
 		return strategy;
 	}
 
+	public static class CachedResultsService {
+
+		private final String owner;
+
+		CachedResultsService() {
+			this("user");
+		}
+
+		CachedResultsService(String owner) {
+			this.owner = owner;
+		}
+
+		public String getOwner() {
+			return this.owner;
+		}
+
+		@Secured("ROLE_USER")
+		public void secured() {
+		}
+
+		@PreAuthorize("hasRole('ADMIN')")
+		public void admin() {
+		}
+
+		@PreAuthorize("#name == authentication.name")
+		public void named(String name) {
+		}
+
+		@PreAuthorize("this.owner == authentication.name")
+		public void owned() {
+		}
+
+	}
+
 	static class MyAuthzDeniedException extends AuthorizationDeniedException {
 
 		MyAuthzDeniedException(String msg, AuthorizationResult authorizationResult) {
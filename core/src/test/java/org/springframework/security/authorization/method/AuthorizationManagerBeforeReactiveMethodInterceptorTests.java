@@ -21,13 +21,18 @@ import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import org.springframework.aop.Pointcut;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -225,6 +230,40 @@ public class AuthorizationManagerBeforeReactiveMethodInterceptorTests {
 			.isThrownBy(() -> ((Mono<?>) advice.invoke(mockMethodInvocation)).block());
 	}
 
+	@Test
+	public void invokeMonoWhenPreAuthorizeSimpleExpressionThenAuthorizes() throws Throwable {
+		MethodInvocation invocation = new MockMethodInvocation(new Sample(),
+				Sample.class.getDeclaredMethod("adminMono"));
+		AuthorizationManagerBeforeReactiveMethodInterceptor interceptor = AuthorizationManagerBeforeReactiveMethodInterceptor
+			.preAuthorize();
+		Authentication admin = new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN");
+		Authentication user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		Mono<?> granted = (Mono<?>) interceptor.invoke(invocation);
+		StepVerifier.create(granted.contextWrite(ReactiveSecurityContextHolder.withAuthentication(admin)))
+			.expectNext("john")
+			.verifyComplete();
+		Mono<?> denied = (Mono<?>) interceptor.invoke(invocation);
+		StepVerifier.create(denied.contextWrite(ReactiveSecurityContextHolder.withAuthentication(user)))
+			.verifyError(AccessDeniedException.class);
+	}
+
+	@Test
+	public void invokeFluxWhenPreAuthorizeSimpleExpressionThenAuthorizes() throws Throwable {
+		MethodInvocation invocation = new MockMethodInvocation(new Sample(),
+				Sample.class.getDeclaredMethod("adminFlux"));
+		AuthorizationManagerBeforeReactiveMethodInterceptor interceptor = AuthorizationManagerBeforeReactiveMethodInterceptor
+			.preAuthorize();
+		Authentication admin = new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN");
+		Authentication user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		Flux<?> granted = (Flux<?>) interceptor.invoke(invocation);
+		StepVerifier.create(granted.contextWrite(ReactiveSecurityContextHolder.withAuthentication(admin)))
+			.expectNext("john", "bob")
+			.verifyComplete();
+		Flux<?> denied = (Flux<?>) interceptor.invoke(invocation);
+		StepVerifier.create(denied.contextWrite(ReactiveSecurityContextHolder.withAuthentication(user)))
+			.verifyError(AccessDeniedException.class);
+	}
+
 	interface HandlingReactiveAuthorizationManager
 			extends ReactiveAuthorizationManager<MethodInvocation>, MethodAuthorizationDeniedHandler {
 
@@ -240,6 +279,16 @@ public class AuthorizationManagerBeforeReactiveMethodInterceptorTests {
 			return Flux.just("john", "bob");
 		}
 
+		@PreAuthorize("hasRole('ADMIN')")
+		Mono<String> adminMono() {
+			return Mono.just("john");
+		}
+
+		@PreAuthorize("hasRole('ADMIN')")
+		Flux<String> adminFlux() {
+			return Flux.just("john", "bob");
+		}
+
 	}
 
 	static class MyAuthzDeniedException extends AuthorizationDeniedException {
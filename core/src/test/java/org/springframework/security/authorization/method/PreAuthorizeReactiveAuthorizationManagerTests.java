@@ -106,6 +106,22 @@ public class PreAuthorizeReactiveAuthorizationManagerTests {
 		assertThat(decision.isGranted()).isTrue();
 	}
 
+	@Test
+	public void getSynchronousAuthorizationManagerWhenSimpleExpressionThenReturnsManager() throws Exception {
+		MockMethodInvocation methodInvocation = new MockMethodInvocation(new ClassLevelAnnotations(),
+				ClassLevelAnnotations.class, "securedAdmin");
+		PreAuthorizeReactiveAuthorizationManager manager = new PreAuthorizeReactiveAuthorizationManager();
+		assertThat(manager.getSynchronousAuthorizationManager(methodInvocation)).isNotNull();
+	}
+
+	@Test
+	public void getSynchronousAuthorizationManagerWhenExpressionReferencesArgumentsThenNull() throws Exception {
+		MockMethodInvocation methodInvocation = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingString", new Class[] { String.class }, new Object[] { "grant" });
+		PreAuthorizeReactiveAuthorizationManager manager = new PreAuthorizeReactiveAuthorizationManager();
+		assertThat(manager.getSynchronousAuthorizationManager(methodInvocation)).isNull();
+	}
+
 	@Test
 	public void checkRequiresUserWhenClassAnnotationsThenApplies() throws Exception {
 		Mono<Authentication> authentication = Mono
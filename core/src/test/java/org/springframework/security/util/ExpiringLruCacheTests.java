@@ -0,0 +1,101 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link ExpiringLruCache}.
+ */
+public class ExpiringLruCacheTests {
+
+	private final Instant now = Instant.now();
+
+	private final ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2);
+
+	@Test
+	public void constructorWhenMaxSizeZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new ExpiringLruCache<>(0))
+			.withMessage("maxSize must be greater than zero");
+	}
+
+	@Test
+	public void setTimeToLiveWhenZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.cache.setTimeToLive(Duration.ZERO))
+			.withMessage("timeToLive must be greater than zero");
+	}
+
+	@Test
+	public void putWhenMaxSizeReachedThenLeastRecentlyUsedEvicted() {
+		this.cache.put("a", "1");
+		this.cache.put("b", "2");
+		this.cache.get("a");
+		this.cache.put("c", "3");
+		assertThat(this.cache.get("a")).isEqualTo("1");
+		assertThat(this.cache.get("b")).isNull();
+		assertThat(this.cache.get("c")).isEqualTo("3");
+		assertThat(this.cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void getWhenTimeToLiveElapsedThenNull() {
+		this.cache.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+		this.cache.setTimeToLive(Duration.ofMinutes(1));
+		this.cache.put("a", "1");
+		this.cache.setClock(Clock.fixed(this.now.plusSeconds(59), ZoneOffset.UTC));
+		assertThat(this.cache.get("a")).isEqualTo("1");
+		this.cache.setClock(Clock.fixed(this.now.plusSeconds(60), ZoneOffset.UTC));
+		assertThat(this.cache.get("a")).isNull();
+		assertThat(this.cache.size()).isZero();
+	}
+
+	@Test
+	public void getWhenExpiresAtElapsedThenNull() {
+		this.cache.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+		this.cache.put("a", "1", this.now.plusSeconds(10));
+		assertThat(this.cache.get("a")).isEqualTo("1");
+		this.cache.setClock(Clock.fixed(this.now.plusSeconds(10), ZoneOffset.UTC));
+		assertThat(this.cache.get("a")).isNull();
+	}
+
+	@Test
+	public void computeIfAbsentWhenCachedThenNotComputedAgain() {
+		AtomicInteger computations = new AtomicInteger();
+		assertThat(this.cache.computeIfAbsent("a", (key) -> key + computations.incrementAndGet())).isEqualTo("a1");
+		assertThat(this.cache.computeIfAbsent("a", (key) -> key + computations.incrementAndGet())).isEqualTo("a1");
+		assertThat(computations).hasValue(1);
+	}
+
+	@Test
+	public void removeWhenOtherValueThenNotRemoved() {
+		this.cache.put("a", "1");
+		this.cache.remove("a", "2");
+		assertThat(this.cache.get("a")).isEqualTo("1");
+		this.cache.remove("a");
+		assertThat(this.cache.get("a")).isNull();
+	}
+
+}
@@ -17,11 +17,12 @@
 package org.springframework.security.oauth2.server.authorization;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.lang.Nullable;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
@@ -54,9 +55,14 @@ public final class InMemoryOAuth2AuthorizationService implements OAuth2Authoriza
 	 * yet been granted. This state occurs with the authorization_code grant flow during
 	 * the user consent step OR when the code is returned in the authorization response
 	 * but the access token request is not yet initiated.
+	 *
+	 * Guarded by initializedAuthorizationsLock rather than a synchronized wrapper, so
+	 * that callers running on virtual threads are not pinned to their carrier thread.
 	 */
-	private Map<String, OAuth2Authorization> initializedAuthorizations = Collections
-		.synchronizedMap(new MaxSizeHashMap<>(this.maxInitializedAuthorizations));
+	private Map<String, OAuth2Authorization> initializedAuthorizations = new MaxSizeHashMap<>(
+			this.maxInitializedAuthorizations);
+
+	private final Lock initializedAuthorizationsLock = new ReentrantLock();
 
 	/*
 	 * Stores "completed" authorizations, where an access token has been granted.
@@ -68,8 +74,7 @@ public final class InMemoryOAuth2AuthorizationService implements OAuth2Authoriza
 	 */
 	InMemoryOAuth2AuthorizationService(int maxInitializedAuthorizations) {
 		this.maxInitializedAuthorizations = maxInitializedAuthorizations;
-		this.initializedAuthorizations = Collections
-			.synchronizedMap(new MaxSizeHashMap<>(this.maxInitializedAuthorizations));
+		this.initializedAuthorizations = new MaxSizeHashMap<>(this.maxInitializedAuthorizations);
 	}
 
 	/**
@@ -110,7 +115,13 @@ public final class InMemoryOAuth2AuthorizationService implements OAuth2Authoriza
 			this.authorizations.put(authorization.getId(), authorization);
 		}
 		else {
-			this.initializedAuthorizations.put(authorization.getId(), authorization);
+			this.initializedAuthorizationsLock.lock();
+			try {
+				this.initializedAuthorizations.put(authorization.getId(), authorization);
+			}
+			finally {
+				this.initializedAuthorizationsLock.unlock();
+			}
 		}
 	}
 
@@ -121,7 +132,13 @@ public final class InMemoryOAuth2AuthorizationService implements OAuth2Authoriza
 			this.authorizations.remove(authorization.getId(), authorization);
 		}
 		else {
-			this.initializedAuthorizations.remove(authorization.getId(), authorization);
+			this.initializedAuthorizationsLock.lock();
+			try {
+				this.initializedAuthorizations.remove(authorization.getId(), authorization);
+			}
+			finally {
+				this.initializedAuthorizationsLock.unlock();
+			}
 		}
 	}
 
@@ -130,7 +147,16 @@ public final class InMemoryOAuth2AuthorizationService implements OAuth2Authoriza
 	public OAuth2Authorization findById(String id) {
 		Assert.hasText(id, "id cannot be empty");
 		OAuth2Authorization authorization = this.authorizations.get(id);
-		return (authorization != null) ? authorization : this.initializedAuthorizations.get(id);
+		if (authorization != null) {
+			return authorization;
+		}
+		this.initializedAuthorizationsLock.lock();
+		try {
+			return this.initializedAuthorizations.get(id);
+		}
+		finally {
+			this.initializedAuthorizationsLock.unlock();
+		}
 	}
 
 	@Nullable
@@ -142,11 +168,17 @@ public final class InMemoryOAuth2AuthorizationService implements OAuth2Authoriza
 				return authorization;
 			}
 		}
-		for (OAuth2Authorization authorization : this.initializedAuthorizations.values()) {
-			if (hasToken(authorization, token, tokenType)) {
-				return authorization;
+		this.initializedAuthorizationsLock.lock();
+		try {
+			for (OAuth2Authorization authorization : this.initializedAuthorizations.values()) {
+				if (hasToken(authorization, token, tokenType)) {
+					return authorization;
+				}
 			}
 		}
+		finally {
+			this.initializedAuthorizationsLock.unlock();
+		}
 		return null;
 	}
 
@@ -16,6 +16,7 @@
 
 package org.springframework.security.oauth2.server.authorization.authentication;
 
+import java.time.Duration;
 import java.time.Instant;
 
 import org.apache.commons.logging.Log;
@@ -63,6 +64,8 @@ public final class ClientSecretAuthenticationProvider implements AuthenticationP
 
 	private PasswordEncoder passwordEncoder;
 
+	private VerifiedClientSecretCache verifiedClientSecretCache;
+
 	/**
 	 * Constructs a {@code ClientSecretAuthenticationProvider} using the provided
 	 * parameters.
@@ -91,6 +94,21 @@ public final class ClientSecretAuthenticationProvider implements AuthenticationP
 		this.passwordEncoder = passwordEncoder;
 	}
 
+	/**
+	 * Enables caching of successfully verified client secrets for the provided duration.
+	 * When enabled, repeated authentications of the same client with the same client
+	 * secret are verified by comparing a keyed HMAC of the presented secret instead of
+	 * invoking {@link PasswordEncoder#matches(CharSequence, String)}, which is
+	 * intentionally slow for adaptive one-way functions such as bcrypt. The presented
+	 * client secret itself is never stored, and a cached entry is ignored as soon as the
+	 * {@link RegisteredClient#getClientSecret() registered client secret} changes.
+	 * Disabled by default.
+	 * @param timeToLive the maximum amount of time a verified client secret is cached
+	 */
+	public void setVerifiedClientSecretCacheTimeToLive(Duration timeToLive) {
+		this.verifiedClientSecretCache = new VerifiedClientSecretCache(timeToLive);
+	}
+
 	@Override
 	public Authentication authenticate(Authentication authentication) throws AuthenticationException {
 		OAuth2ClientAuthenticationToken clientAuthentication = (OAuth2ClientAuthenticationToken) authentication;
@@ -122,7 +140,7 @@ public final class ClientSecretAuthenticationProvider implements AuthenticationP
 		}
 
 		String clientSecret = clientAuthentication.getCredentials().toString();
-		if (!this.passwordEncoder.matches(clientSecret, registeredClient.getClientSecret())) {
+		if (!clientSecretMatches(registeredClient, clientSecret)) {
 			if (this.logger.isDebugEnabled()) {
 				this.logger.debug(LogMessage.format(
 						"Invalid request: client_secret does not match" + " for registered client '%s'",
@@ -141,6 +159,10 @@ public final class ClientSecretAuthenticationProvider implements AuthenticationP
 				.clientSecret(this.passwordEncoder.encode(clientSecret))
 				.build();
 			this.registeredClientRepository.save(registeredClient);
+			if (this.verifiedClientSecretCache != null) {
+				this.verifiedClientSecretCache.put(registeredClient.getClientId(), registeredClient.getClientSecret(),
+						clientSecret);
+			}
 		}
 
 		if (this.logger.isTraceEnabled()) {
@@ -167,6 +189,22 @@ public final class ClientSecretAuthenticationProvider implements AuthenticationP
 		return OAuth2ClientAuthenticationToken.class.isAssignableFrom(authentication);
 	}
 
+	private boolean clientSecretMatches(RegisteredClient registeredClient, String clientSecret) {
+		if (this.verifiedClientSecretCache == null) {
+			return this.passwordEncoder.matches(clientSecret, registeredClient.getClientSecret());
+		}
+		if (this.verifiedClientSecretCache.matches(registeredClient.getClientId(), registeredClient.getClientSecret(),
+				clientSecret)) {
+			return true;
+		}
+		if (!this.passwordEncoder.matches(clientSecret, registeredClient.getClientSecret())) {
+			return false;
+		}
+		this.verifiedClientSecretCache.put(registeredClient.getClientId(), registeredClient.getClientSecret(),
+				clientSecret);
+		return true;
+	}
+
 	private static void throwInvalidClient(String parameterName) {
 		OAuth2Error error = new OAuth2Error(OAuth2ErrorCodes.INVALID_CLIENT,
 				"Client authentication failed: " + parameterName, ERROR_URI);
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.authorization.authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.util.Assert;
+
+/**
+ * A cache of client secrets that were successfully verified by the configured
+ * {@code PasswordEncoder}, used by {@link ClientSecretAuthenticationProvider}.
+ *
+ * <p>
+ * The presented client secret is never stored. Instead, an HMAC-SHA256 of the secret,
+ * keyed with a random per-instance key, is stored per client identifier together with
+ * the encoded client secret that it was verified against. An entry is only honored while
+ * it has not expired and while the registered client secret is unchanged, so rotating
+ * the client secret invalidates the entry.
+ *
+ * @since 7.0
+ * @see ClientSecretAuthenticationProvider
+ */
+final class VerifiedClientSecretCache {
+
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+	private final Map<String, VerifiedClientSecret> verifiedClientSecrets = new ConcurrentHashMap<>();
+
+	private final SecretKeySpec key;
+
+	private final Duration timeToLive;
+
+	private Clock clock = Clock.systemUTC();
+
+	VerifiedClientSecretCache(Duration timeToLive) {
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be greater than zero");
+		byte[] keyBytes = new byte[32];
+		new SecureRandom().nextBytes(keyBytes);
+		this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Returns {@code true} if the provided client secret was previously verified against
+	 * the provided encoded client secret and the entry has not expired.
+	 * @param clientId the client identifier
+	 * @param encodedClientSecret the registered (encoded) client secret
+	 * @param clientSecret the presented client secret
+	 * @return {@code true} if the client secret was previously verified
+	 */
+	boolean matches(String clientId, String encodedClientSecret, String clientSecret) {
+		VerifiedClientSecret verifiedClientSecret = this.verifiedClientSecrets.get(clientId);
+		if (verifiedClientSecret == null) {
+			return false;
+		}
+		if (!verifiedClientSecret.expiresAt.isAfter(this.clock.instant())
+				|| !verifiedClientSecret.encodedClientSecret.equals(encodedClientSecret)) {
+			this.verifiedClientSecrets.remove(clientId, verifiedClientSecret);
+			return false;
+		}
+		return MessageDigest.isEqual(verifiedClientSecret.mac, mac(clientSecret));
+	}
+
+	/**
+	 * Records that the provided client secret was verified against the provided encoded
+	 * client secret.
+	 * @param clientId the client identifier
+	 * @param encodedClientSecret the registered (encoded) client secret
+	 * @param clientSecret the presented client secret
+	 */
+	void put(String clientId, String encodedClientSecret, String clientSecret) {
+		this.verifiedClientSecrets.put(clientId, new VerifiedClientSecret(encodedClientSecret, mac(clientSecret),
+				this.clock.instant().plus(this.timeToLive)));
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private byte[] mac(String clientSecret) {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(this.key);
+			return mac.doFinal(clientSecret.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static final class VerifiedClientSecret {
+
+		private final String encodedClientSecret;
+
+		private final byte[] mac;
+
+		private final Instant expiresAt;
+
+		private VerifiedClientSecret(String encodedClientSecret, byte[] mac, Instant expiresAt) {
+			this.encodedClientSecret = encodedClientSecret;
+			this.mac = mac;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.authorization.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link RegisteredClientRepository} that caches the {@link RegisteredClient}(s)
+ * returned by a delegate {@link RegisteredClientRepository}, for example,
+ * {@link JdbcRegisteredClientRepository}.
+ *
+ * <p>
+ * Since {@link RegisteredClient} is immutable, cached instances are returned as-is for
+ * the configured {@link #setTimeToLive(Duration) time-to-live}. Entries are invalidated
+ * when the {@link RegisteredClient} is {@link #save(RegisteredClient) saved} through this
+ * repository, and may be invalidated explicitly via {@link #evict(String)} or
+ * {@link #evictAll()}.
+ *
+ * <p>
+ * When multiple nodes share the same persistent store, a
+ * {@link #setVersionSupplier(Supplier) version supplier} may be configured to detect
+ * changes made by other nodes. The supplier is polled at most once per
+ * {@link #setVersionCheckInterval(Duration) version check interval} and the cache is
+ * cleared whenever the returned version changes. For example, when the
+ * {@code oauth2_registered_client} table is extended with a {@code version} column:
+ *
+ * <pre>
+ * repository.setVersionSupplier(() -&gt;
+ *     jdbcOperations.queryForObject("SELECT MAX(version) FROM oauth2_registered_client", Long.class));
+ * </pre>
+ *
+ * @since 7.0
+ * @see RegisteredClientRepository
+ * @see RegisteredClient
+ */
+public final class CachingRegisteredClientRepository implements RegisteredClientRepository {
+
+	private final RegisteredClientRepository delegate;
+
+	private final Map<String, CachedRegisteredClient> idRegistrationCache = new ConcurrentHashMap<>();
+
+	private final Map<String, CachedRegisteredClient> clientIdRegistrationCache = new ConcurrentHashMap<>();
+
+	private final Lock versionCheckLock = new ReentrantLock();
+
+	/**
+	 * Incremented whenever entries are evicted, so that a {@link RegisteredClient}
+	 * loaded concurrently with a {@link #save(RegisteredClient)} is not cached.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	private Duration timeToLive = Duration.ofMinutes(5);
+
+	private Duration versionCheckInterval = Duration.ofSeconds(30);
+
+	private Supplier<?> versionSupplier;
+
+	private Clock clock = Clock.systemUTC();
+
+	private volatile Object version;
+
+	private volatile Instant nextVersionCheck = Instant.MIN;
+
+	/**
+	 * Constructs a {@code CachingRegisteredClientRepository} using the provided
+	 * parameters.
+	 * @param delegate the {@link RegisteredClientRepository} to delegate to
+	 */
+	public CachingRegisteredClientRepository(RegisteredClientRepository delegate) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void save(RegisteredClient registeredClient) {
+		Assert.notNull(registeredClient, "registeredClient cannot be null");
+		RegisteredClient existingRegisteredClient = getCached(this.idRegistrationCache, registeredClient.getId());
+		this.generation.incrementAndGet();
+		try {
+			this.delegate.save(registeredClient);
+		}
+		finally {
+			evict(registeredClient);
+			if (existingRegisteredClient != null) {
+				evict(existingRegisteredClient);
+			}
+			this.generation.incrementAndGet();
+		}
+	}
+
+	@Nullable
+	@Override
+	public RegisteredClient findById(String id) {
+		Assert.hasText(id, "id cannot be empty");
+		checkVersion();
+		RegisteredClient registeredClient = getCached(this.idRegistrationCache, id);
+		if (registeredClient != null) {
+			return registeredClient;
+		}
+		long generation = this.generation.get();
+		registeredClient = this.delegate.findById(id);
+		cache(registeredClient, generation);
+		return registeredClient;
+	}
+
+	@Nullable
+	@Override
+	public RegisteredClient findByClientId(String clientId) {
+		Assert.hasText(clientId, "clientId cannot be empty");
+		checkVersion();
+		RegisteredClient registeredClient = getCached(this.clientIdRegistrationCache, clientId);
+		if (registeredClient != null) {
+			return registeredClient;
+		}
+		long generation = this.generation.get();
+		registeredClient = this.delegate.findByClientId(clientId);
+		cache(registeredClient, generation);
+		return registeredClient;
+	}
+
+	/**
+	 * Removes the cached {@link RegisteredClient} identified by the provided {@code id},
+	 * if present.
+	 * @param id the registration identifier
+	 */
+	public void evict(String id) {
+		Assert.hasText(id, "id cannot be empty");
+		this.generation.incrementAndGet();
+		CachedRegisteredClient cached = this.idRegistrationCache.remove(id);
+		if (cached != null) {
+			this.clientIdRegistrationCache.remove(cached.registeredClient.getClientId(), cached);
+		}
+	}
+
+	/**
+	 * Removes all cached {@link RegisteredClient}(s).
+	 */
+	public void evictAll() {
+		this.generation.incrementAndGet();
+		this.idRegistrationCache.clear();
+		this.clientIdRegistrationCache.clear();
+	}
+
+	/**
+	 * Sets the maximum amount of time a {@link RegisteredClient} is cached. The default
+	 * is 5 minutes.
+	 * @param timeToLive the time-to-live of a cached {@link RegisteredClient}
+	 */
+	public void setTimeToLive(Duration timeToLive) {
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be greater than zero");
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Sets the {@code Supplier} that provides the current version of the underlying
+	 * store. When the supplied version differs from the previously observed version, all
+	 * cached {@link RegisteredClient}(s) are evicted.
+	 * @param versionSupplier the {@code Supplier} of the current version
+	 */
+	public void setVersionSupplier(Supplier<?> versionSupplier) {
+		Assert.notNull(versionSupplier, "versionSupplier cannot be null");
+		this.versionSupplier = versionSupplier;
+	}
+
+	/**
+	 * Sets the minimum amount of time between two invocations of the
+	 * {@link #setVersionSupplier(Supplier) version supplier}. The default is 30 seconds.
+	 * @param versionCheckInterval the interval between version checks
+	 */
+	public void setVersionCheckInterval(Duration versionCheckInterval) {
+		Assert.notNull(versionCheckInterval, "versionCheckInterval cannot be null");
+		Assert.isTrue(!versionCheckInterval.isNegative(), "versionCheckInterval cannot be negative");
+		this.versionCheckInterval = versionCheckInterval;
+	}
+
+	/**
+	 * Sets the {@link Clock} used when computing the expiry of cached entries. The
+	 * default is {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock}
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private RegisteredClient getCached(Map<String, CachedRegisteredClient> cache, String key) {
+		CachedRegisteredClient cached = cache.get(key);
+		if (cached == null) {
+			return null;
+		}
+		if (cached.expiresAt.isAfter(this.clock.instant())) {
+			return cached.registeredClient;
+		}
+		evict(cached.registeredClient);
+		return null;
+	}
+
+	private void cache(RegisteredClient registeredClient, long generation) {
+		if (registeredClient == null || this.generation.get() != generation) {
+			return;
+		}
+		CachedRegisteredClient cached = new CachedRegisteredClient(registeredClient,
+				this.clock.instant().plus(this.timeToLive));
+		this.idRegistrationCache.put(registeredClient.getId(), cached);
+		this.clientIdRegistrationCache.put(registeredClient.getClientId(), cached);
+		if (this.generation.get() != generation) {
+			// evicted while caching, the loaded RegisteredClient may be stale
+			this.idRegistrationCache.remove(registeredClient.getId(), cached);
+			this.clientIdRegistrationCache.remove(registeredClient.getClientId(), cached);
+		}
+	}
+
+	private void evict(RegisteredClient registeredClient) {
+		this.idRegistrationCache.remove(registeredClient.getId());
+		this.clientIdRegistrationCache.remove(registeredClient.getClientId());
+	}
+
+	private void checkVersion() {
+		if (this.versionSupplier == null) {
+			return;
+		}
+		Instant now = this.clock.instant();
+		if (now.isBefore(this.nextVersionCheck)) {
+			return;
+		}
+		// A Lock rather than synchronized, since the version supplier typically performs
+		// blocking I/O that would otherwise pin a virtual thread to its carrier thread
+		this.versionCheckLock.lock();
+		try {
+			if (now.isBefore(this.nextVersionCheck)) {
+				return;
+			}
+			Object currentVersion = this.versionSupplier.get();
+			if (!Objects.equals(this.version, currentVersion)) {
+				evictAll();
+				this.version = currentVersion;
+			}
+			this.nextVersionCheck = now.plus(this.versionCheckInterval);
+		}
+		finally {
+			this.versionCheckLock.unlock();
+		}
+	}
+
+	private static final class CachedRegisteredClient {
+
+		private final RegisteredClient registeredClient;
+
+		private final Instant expiresAt;
+
+		private CachedRegisteredClient(RegisteredClient registeredClient, Instant expiresAt) {
+			this.registeredClient = registeredClient;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
@@ -25,9 +25,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationResponseType;
@@ -39,6 +38,8 @@ import org.springframework.security.oauth2.server.authorization.context.Authoriz
 import org.springframework.security.oauth2.server.authorization.oidc.OidcProviderConfiguration;
 import org.springframework.security.oauth2.server.authorization.oidc.http.converter.OidcProviderConfigurationHttpMessageConverter;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
+import org.springframework.security.oauth2.server.authorization.web.CachedResponseBody;
+import org.springframework.security.util.ExpiringLruCache;
 import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.Assert;
@@ -48,6 +49,13 @@ import org.springframework.web.util.UriComponentsBuilder;
 /**
  * A {@code Filter} that processes OpenID Provider Configuration Requests.
  *
+ * <p>
+ * The OpenID Provider Configuration is built and serialized once per issuer and
+ * {@link AuthorizationServerSettings}, and is rebuilt when either changes. Responses
+ * carry a strong {@code ETag} and a {@code Cache-Control} header, and conditional
+ * requests with a matching {@code If-None-Match} header are answered with
+ * {@code 304 Not Modified}.
+ *
  * @author Daniel Garnier-Moiroux
  * @author Joe Grandja
  * @since 7.0
@@ -64,6 +72,8 @@ public final class OidcProviderConfigurationEndpointFilter extends OncePerReques
 	 */
 	private static final String DEFAULT_OIDC_PROVIDER_CONFIGURATION_ENDPOINT_URI = "/.well-known/openid-configuration";
 
+	private static final int MAX_CACHED_RESPONSE_BODIES = 32;
+
 	private final RequestMatcher requestMatcher = createRequestMatcher();
 
 	private final OidcProviderConfigurationHttpMessageConverter providerConfigurationHttpMessageConverter = new OidcProviderConfigurationHttpMessageConverter();
@@ -71,10 +81,17 @@ public final class OidcProviderConfigurationEndpointFilter extends OncePerReques
 	private Consumer<OidcProviderConfiguration.Builder> providerConfigurationCustomizer = (providerConfiguration) -> {
 	};
 
+	// Bounded, since the issuer may be derived from the request path
+	private final ExpiringLruCache<CacheKey, CachedResponseBody> cachedResponseBodies = new ExpiringLruCache<>(
+			MAX_CACHED_RESPONSE_BODIES);
+
+	private CacheControl cacheControl = CacheControl.noCache();
+
 	/**
 	 * Sets the {@code Consumer} providing access to the
 	 * {@link OidcProviderConfiguration.Builder} allowing the ability to customize the
-	 * claims of the OpenID Provider's configuration.
+	 * claims of the OpenID Provider's configuration. The customizer is applied when the
+	 * claims are built for an issuer, rather than on every request.
 	 * @param providerConfigurationCustomizer the {@code Consumer} providing access to the
 	 * {@link OidcProviderConfiguration.Builder}
 	 */
@@ -82,6 +99,18 @@ public final class OidcProviderConfigurationEndpointFilter extends OncePerReques
 			Consumer<OidcProviderConfiguration.Builder> providerConfigurationCustomizer) {
 		Assert.notNull(providerConfigurationCustomizer, "providerConfigurationCustomizer cannot be null");
 		this.providerConfigurationCustomizer = providerConfigurationCustomizer;
+		this.cachedResponseBodies.clear();
+	}
+
+	/**
+	 * Sets the {@link CacheControl} used for the {@code Cache-Control} response header.
+	 * The default is {@link CacheControl#noCache()}, which requires clients to revalidate
+	 * the (cached) OpenID Provider Configuration using the {@code ETag}.
+	 * @param cacheControl the {@link CacheControl}
+	 */
+	public void setCacheControl(CacheControl cacheControl) {
+		Assert.notNull(cacheControl, "cacheControl cannot be null");
+		this.cacheControl = cacheControl;
 	}
 
 	@Override
@@ -94,10 +123,21 @@ public final class OidcProviderConfigurationEndpointFilter extends OncePerReques
 		}
 
 		AuthorizationServerContext authorizationServerContext = AuthorizationServerContextHolder.getContext();
-		String issuer = authorizationServerContext.getIssuer();
-		AuthorizationServerSettings authorizationServerSettings = authorizationServerContext
-			.getAuthorizationServerSettings();
+		CacheKey cacheKey = new CacheKey(authorizationServerContext.getIssuer(),
+				authorizationServerContext.getAuthorizationServerSettings());
+		CachedResponseBody responseBody = this.cachedResponseBodies.get(cacheKey);
+		if (responseBody == null) {
+			OidcProviderConfiguration configuration = buildProviderConfiguration(cacheKey.issuer(),
+					cacheKey.authorizationServerSettings());
+			responseBody = CachedResponseBody.from(cacheKey, configuration,
+					this.providerConfigurationHttpMessageConverter);
+			this.cachedResponseBodies.put(cacheKey, responseBody);
+		}
+		responseBody.writeTo(request, response, this.cacheControl);
+	}
 
+	private OidcProviderConfiguration buildProviderConfiguration(String issuer,
+			AuthorizationServerSettings authorizationServerSettings) {
 		OidcProviderConfiguration.Builder providerConfiguration = OidcProviderConfiguration.builder()
 			.issuer(issuer)
 			.authorizationEndpoint(asUrl(issuer, authorizationServerSettings.getAuthorizationEndpoint()))
@@ -127,10 +167,7 @@ public final class OidcProviderConfigurationEndpointFilter extends OncePerReques
 			.scope(OidcScopes.OPENID);
 
 		this.providerConfigurationCustomizer.accept(providerConfiguration);
-
-		ServletServerHttpResponse httpResponse = new ServletServerHttpResponse(response);
-		this.providerConfigurationHttpMessageConverter.write(providerConfiguration.build(), MediaType.APPLICATION_JSON,
-				httpResponse);
+		return providerConfiguration.build();
 	}
 
 	private static RequestMatcher createRequestMatcher() {
@@ -173,4 +210,8 @@ public final class OidcProviderConfigurationEndpointFilter extends OncePerReques
 		return UriComponentsBuilder.fromUriString(issuer).path(endpoint).build().toUriString();
 	}
 
+	private record CacheKey(String issuer, AuthorizationServerSettings authorizationServerSettings) {
+
+	}
+
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.authorization.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * A serialized JSON response body, together with its strong entity tag, that is reused
+ * for as long as the source it was generated from is unchanged.
+ *
+ * <p>
+ * For internal use only, as this contract is likely to change.
+ *
+ * @since 7.0
+ */
+public final class CachedResponseBody {
+
+	private final Object source;
+
+	private final byte[] body;
+
+	private final String eTag;
+
+	private CachedResponseBody(Object source, byte[] body) {
+		this.source = source;
+		this.body = body;
+		this.eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+	}
+
+	/**
+	 * Returns a {@code CachedResponseBody} holding the provided JSON body.
+	 * @param source the source the body was generated from
+	 * @param body the JSON body
+	 * @return the {@code CachedResponseBody}
+	 */
+	public static CachedResponseBody from(Object source, String body) {
+		return new CachedResponseBody(source, body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns a {@code CachedResponseBody} holding the provided value, written as JSON by
+	 * the provided {@link HttpMessageConverter}.
+	 * @param source the source the value was generated from
+	 * @param value the value
+	 * @param converter the {@link HttpMessageConverter} writing the value
+	 * @param <T> the type of the value
+	 * @return the {@code CachedResponseBody}
+	 * @throws IOException if the value could not be written
+	 */
+	public static <T> CachedResponseBody from(Object source, T value, HttpMessageConverter<T> converter)
+			throws IOException {
+		ByteArrayHttpOutputMessage outputMessage = new ByteArrayHttpOutputMessage();
+		converter.write(value, MediaType.APPLICATION_JSON, outputMessage);
+		return new CachedResponseBody(source, outputMessage.body.toByteArray());
+	}
+
+	/**
+	 * Returns {@code true} if the body was generated from the provided source.
+	 * @param source the source
+	 * @return {@code true} if the body was generated from the provided source
+	 */
+	public boolean isFrom(Object source) {
+		return this.source.equals(source);
+	}
+
+	/**
+	 * Writes the body to the response, or responds with {@code 304 Not Modified} if the
+	 * request carries a matching {@code If-None-Match} header.
+	 * @param request the request
+	 * @param response the response
+	 * @param cacheControl the {@link CacheControl} of the response
+	 * @throws IOException if the body could not be written
+	 */
+	public void writeTo(HttpServletRequest request, HttpServletResponse response, CacheControl cacheControl)
+			throws IOException {
+		String cacheControlValue = cacheControl.getHeaderValue();
+		if (cacheControlValue != null) {
+			response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControlValue);
+		}
+		if (new ServletWebRequest(request, response).checkNotModified(this.eTag)) {
+			return;
+		}
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setContentLength(this.body.length);
+		try (OutputStream outputStream = response.getOutputStream()) {
+			outputStream.write(this.body);
+		}
+	}
+
+	private static final class ByteArrayHttpOutputMessage implements HttpOutputMessage {
+
+		private final HttpHeaders headers = new HttpHeaders();
+
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		@Override
+		public OutputStream getBody() {
+			return this.body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+	}
+
+}
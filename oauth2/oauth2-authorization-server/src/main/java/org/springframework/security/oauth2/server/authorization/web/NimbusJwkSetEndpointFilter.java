@@ -17,11 +17,13 @@
 package org.springframework.security.oauth2.server.authorization.web;
 
 import java.io.IOException;
-import java.io.Writer;
+import java.util.List;
 
+import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKMatcher;
 import com.nimbusds.jose.jwk.JWKSelector;
 import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 import jakarta.servlet.FilterChain;
@@ -29,8 +31,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
 import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.Assert;
@@ -39,6 +41,14 @@ import org.springframework.web.filter.OncePerRequestFilter;
 /**
  * A {@code Filter} that processes JWK Set requests.
  *
+ * <p>
+ * The serialized JWK Set is reused until the {@code JWKSource} returns a different set of
+ * keys. The {@code JWKSource} is consulted on every request so that rotated keys are
+ * published, unless it is an {@code ImmutableJWKSet}, whose keys are serialized only
+ * once. Responses carry a strong {@code ETag} and a {@code Cache-Control} header, and
+ * conditional requests with a matching {@code If-None-Match} header are answered with
+ * {@code 304 Not Modified}.
+ *
  * @author Joe Grandja
  * @since 7.0
  * @see com.nimbusds.jose.jwk.source.JWKSource
@@ -60,6 +70,10 @@ public final class NimbusJwkSetEndpointFilter extends OncePerRequestFilter {
 
 	private final RequestMatcher requestMatcher;
 
+	private CacheControl cacheControl = CacheControl.noCache();
+
+	private volatile CachedResponseBody cachedJwkSet;
+
 	/**
 	 * Constructs a {@code NimbusJwkSetEndpointFilter} using the provided parameters.
 	 * @param jwkSource the {@code com.nimbusds.jose.jwk.source.JWKSource}
@@ -81,6 +95,17 @@ public final class NimbusJwkSetEndpointFilter extends OncePerRequestFilter {
 		this.requestMatcher = PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, jwkSetEndpointUri);
 	}
 
+	/**
+	 * Sets the {@link CacheControl} used for the {@code Cache-Control} response header.
+	 * The default is {@link CacheControl#noCache()}, which requires clients to revalidate
+	 * the (cached) JWK Set using the {@code ETag}.
+	 * @param cacheControl the {@link CacheControl}
+	 */
+	public void setCacheControl(CacheControl cacheControl) {
+		Assert.notNull(cacheControl, "cacheControl cannot be null");
+		this.cacheControl = cacheControl;
+	}
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
@@ -90,18 +115,26 @@ public final class NimbusJwkSetEndpointFilter extends OncePerRequestFilter {
 			return;
 		}
 
-		JWKSet jwkSet;
+		CachedResponseBody jwkSet = this.cachedJwkSet;
+		// The keys of an ImmutableJWKSet never change, so they are selected only once
+		if (jwkSet == null || !(this.jwkSource instanceof ImmutableJWKSet)) {
+			List<JWK> jwks = selectJwks();
+			if (jwkSet == null || !jwkSet.isFrom(jwks)) {
+				// toString() excludes private keys
+				jwkSet = CachedResponseBody.from(List.copyOf(jwks), new JWKSet(jwks).toString());
+				this.cachedJwkSet = jwkSet;
+			}
+		}
+		jwkSet.writeTo(request, response, this.cacheControl);
+	}
+
+	private List<JWK> selectJwks() {
 		try {
-			jwkSet = new JWKSet(this.jwkSource.get(this.jwkSelector, null));
+			return this.jwkSource.get(this.jwkSelector, null);
 		}
 		catch (Exception ex) {
 			throw new IllegalStateException("Failed to select the JWK(s) -> " + ex.getMessage(), ex);
 		}
-
-		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-		try (Writer writer = response.getWriter()) {
-			writer.write(jwkSet.toString()); // toString() excludes private keys
-		}
 	}
 
 }
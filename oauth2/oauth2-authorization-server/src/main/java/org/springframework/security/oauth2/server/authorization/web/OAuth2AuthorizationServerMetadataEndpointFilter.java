@@ -25,9 +25,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationResponseType;
@@ -37,6 +36,7 @@ import org.springframework.security.oauth2.server.authorization.context.Authoriz
 import org.springframework.security.oauth2.server.authorization.context.AuthorizationServerContextHolder;
 import org.springframework.security.oauth2.server.authorization.http.converter.OAuth2AuthorizationServerMetadataHttpMessageConverter;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
+import org.springframework.security.util.ExpiringLruCache;
 import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.Assert;
@@ -46,6 +46,13 @@ import org.springframework.web.util.UriComponentsBuilder;
 /**
  * A {@code Filter} that processes OAuth 2.0 Authorization Server Metadata Requests.
  *
+ * <p>
+ * The Authorization Server Metadata is built and serialized once per issuer and
+ * {@link AuthorizationServerSettings}, and is rebuilt when either changes. Responses
+ * carry a strong {@code ETag} and a {@code Cache-Control} header, and conditional
+ * requests with a matching {@code If-None-Match} header are answered with
+ * {@code 304 Not Modified}.
+ *
  * @author Daniel Garnier-Moiroux
  * @author Joe Grandja
  * @since 7.0
@@ -62,6 +69,8 @@ public final class OAuth2AuthorizationServerMetadataEndpointFilter extends OnceP
 	 */
 	private static final String DEFAULT_OAUTH2_AUTHORIZATION_SERVER_METADATA_ENDPOINT_URI = "/.well-known/oauth-authorization-server";
 
+	private static final int MAX_CACHED_RESPONSE_BODIES = 32;
+
 	private final RequestMatcher requestMatcher = createRequestMatcher();
 
 	private final OAuth2AuthorizationServerMetadataHttpMessageConverter authorizationServerMetadataHttpMessageConverter = new OAuth2AuthorizationServerMetadataHttpMessageConverter();
@@ -70,10 +79,17 @@ public final class OAuth2AuthorizationServerMetadataEndpointFilter extends OnceP
 			authorizationServerMetadata) -> {
 	};
 
+	// Bounded, since the issuer may be derived from the request path
+	private final ExpiringLruCache<CacheKey, CachedResponseBody> cachedResponseBodies = new ExpiringLruCache<>(
+			MAX_CACHED_RESPONSE_BODIES);
+
+	private CacheControl cacheControl = CacheControl.noCache();
+
 	/**
 	 * Sets the {@code Consumer} providing access to the
 	 * {@link OAuth2AuthorizationServerMetadata.Builder} allowing the ability to customize
-	 * the claims of the Authorization Server's configuration.
+	 * the claims of the Authorization Server's configuration. The customizer is applied
+	 * when the claims are built for an issuer, rather than on every request.
 	 * @param authorizationServerMetadataCustomizer the {@code Consumer} providing access
 	 * to the {@link OAuth2AuthorizationServerMetadata.Builder}
 	 */
@@ -81,6 +97,18 @@ public final class OAuth2AuthorizationServerMetadataEndpointFilter extends OnceP
 			Consumer<OAuth2AuthorizationServerMetadata.Builder> authorizationServerMetadataCustomizer) {
 		Assert.notNull(authorizationServerMetadataCustomizer, "authorizationServerMetadataCustomizer cannot be null");
 		this.authorizationServerMetadataCustomizer = authorizationServerMetadataCustomizer;
+		this.cachedResponseBodies.clear();
+	}
+
+	/**
+	 * Sets the {@link CacheControl} used for the {@code Cache-Control} response header.
+	 * The default is {@link CacheControl#noCache()}, which requires clients to revalidate
+	 * the (cached) authorization server metadata using the {@code ETag}.
+	 * @param cacheControl the {@link CacheControl}
+	 */
+	public void setCacheControl(CacheControl cacheControl) {
+		Assert.notNull(cacheControl, "cacheControl cannot be null");
+		this.cacheControl = cacheControl;
 	}
 
 	@Override
@@ -93,10 +121,21 @@ public final class OAuth2AuthorizationServerMetadataEndpointFilter extends OnceP
 		}
 
 		AuthorizationServerContext authorizationServerContext = AuthorizationServerContextHolder.getContext();
-		String issuer = authorizationServerContext.getIssuer();
-		AuthorizationServerSettings authorizationServerSettings = authorizationServerContext
-			.getAuthorizationServerSettings();
+		CacheKey cacheKey = new CacheKey(authorizationServerContext.getIssuer(),
+				authorizationServerContext.getAuthorizationServerSettings());
+		CachedResponseBody responseBody = this.cachedResponseBodies.get(cacheKey);
+		if (responseBody == null) {
+			OAuth2AuthorizationServerMetadata metadata = buildAuthorizationServerMetadata(cacheKey.issuer(),
+					cacheKey.authorizationServerSettings());
+			responseBody = CachedResponseBody.from(cacheKey, metadata,
+					this.authorizationServerMetadataHttpMessageConverter);
+			this.cachedResponseBodies.put(cacheKey, responseBody);
+		}
+		responseBody.writeTo(request, response, this.cacheControl);
+	}
 
+	private OAuth2AuthorizationServerMetadata buildAuthorizationServerMetadata(String issuer,
+			AuthorizationServerSettings authorizationServerSettings) {
 		OAuth2AuthorizationServerMetadata.Builder authorizationServerMetadata = OAuth2AuthorizationServerMetadata
 			.builder()
 			.issuer(issuer)
@@ -122,10 +161,7 @@ public final class OAuth2AuthorizationServerMetadataEndpointFilter extends OnceP
 			.dPoPSigningAlgorithms(dPoPSigningAlgorithms());
 
 		this.authorizationServerMetadataCustomizer.accept(authorizationServerMetadata);
-
-		ServletServerHttpResponse httpResponse = new ServletServerHttpResponse(response);
-		this.authorizationServerMetadataHttpMessageConverter.write(authorizationServerMetadata.build(),
-				MediaType.APPLICATION_JSON, httpResponse);
+		return authorizationServerMetadata.build();
 	}
 
 	private static RequestMatcher createRequestMatcher() {
@@ -168,4 +204,8 @@ public final class OAuth2AuthorizationServerMetadataEndpointFilter extends OnceP
 		return UriComponentsBuilder.fromUriString(issuer).path(endpoint).toUriString();
 	}
 
+	private record CacheKey(String issuer, AuthorizationServerSettings authorizationServerSettings) {
+
+	}
+
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.authorization.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link CachingRegisteredClientRepository}.
+ */
+public class CachingRegisteredClientRepositoryTests {
+
+	private final RegisteredClient registeredClient = TestRegisteredClients.registeredClient().build();
+
+	private RegisteredClientRepository delegate;
+
+	private CachingRegisteredClientRepository repository;
+
+	@BeforeEach
+	public void setUp() {
+		this.delegate = mock(RegisteredClientRepository.class);
+		given(this.delegate.findById(this.registeredClient.getId())).willReturn(this.registeredClient);
+		given(this.delegate.findByClientId(this.registeredClient.getClientId())).willReturn(this.registeredClient);
+		this.repository = new CachingRegisteredClientRepository(this.delegate);
+	}
+
+	@Test
+	public void constructorWhenDelegateNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new CachingRegisteredClientRepository(null))
+			.withMessage("delegate cannot be null");
+	}
+
+	@Test
+	public void setTimeToLiveWhenZeroThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.setTimeToLive(Duration.ZERO))
+			.withMessage("timeToLive must be greater than zero");
+	}
+
+	@Test
+	public void setVersionSupplierWhenNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.setVersionSupplier(null))
+			.withMessage("versionSupplier cannot be null");
+	}
+
+	@Test
+	public void findByClientIdWhenCalledTwiceThenDelegateInvokedOnce() {
+		assertThat(this.repository.findByClientId(this.registeredClient.getClientId()))
+			.isSameAs(this.registeredClient);
+		assertThat(this.repository.findByClientId(this.registeredClient.getClientId()))
+			.isSameAs(this.registeredClient);
+		verify(this.delegate, times(1)).findByClientId(this.registeredClient.getClientId());
+	}
+
+	@Test
+	public void findByIdWhenCachedByClientIdThenDelegateNotInvoked() {
+		this.repository.findByClientId(this.registeredClient.getClientId());
+		assertThat(this.repository.findById(this.registeredClient.getId())).isSameAs(this.registeredClient);
+		verify(this.delegate, times(0)).findById(this.registeredClient.getId());
+	}
+
+	@Test
+	public void findByClientIdWhenNotFoundThenNotCached() {
+		assertThat(this.repository.findByClientId("unknown")).isNull();
+		assertThat(this.repository.findByClientId("unknown")).isNull();
+		verify(this.delegate, times(2)).findByClientId("unknown");
+	}
+
+	@Test
+	public void findByClientIdWhenExpiredThenDelegateInvokedAgain() {
+		Instant now = Instant.now();
+		this.repository.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.repository.setTimeToLive(Duration.ofMinutes(1));
+		this.repository.findByClientId(this.registeredClient.getClientId());
+		this.repository.setClock(Clock.fixed(now.plus(Duration.ofMinutes(2)), ZoneOffset.UTC));
+		this.repository.findByClientId(this.registeredClient.getClientId());
+		verify(this.delegate, times(2)).findByClientId(this.registeredClient.getClientId());
+	}
+
+	@Test
+	public void saveWhenCachedThenEvicted() {
+		this.repository.findByClientId(this.registeredClient.getClientId());
+		RegisteredClient updatedRegisteredClient = RegisteredClient.from(this.registeredClient)
+			.clientName("updated")
+			.build();
+		this.repository.save(updatedRegisteredClient);
+		given(this.delegate.findByClientId(this.registeredClient.getClientId())).willReturn(updatedRegisteredClient);
+		assertThat(this.repository.findByClientId(this.registeredClient.getClientId()))
+			.isSameAs(updatedRegisteredClient);
+		verify(this.delegate).save(updatedRegisteredClient);
+	}
+
+	@Test
+	public void findByClientIdWhenSavedDuringLoadThenNotCached() {
+		RegisteredClient updatedRegisteredClient = RegisteredClient.from(this.registeredClient)
+			.clientName("updated")
+			.build();
+		given(this.delegate.findByClientId(this.registeredClient.getClientId())).willAnswer((invocation) -> {
+			this.repository.save(updatedRegisteredClient);
+			return this.registeredClient;
+		}).willReturn(updatedRegisteredClient);
+		assertThat(this.repository.findByClientId(this.registeredClient.getClientId()))
+			.isSameAs(this.registeredClient);
+		assertThat(this.repository.findByClientId(this.registeredClient.getClientId()))
+			.isSameAs(updatedRegisteredClient);
+		verify(this.delegate, times(2)).findByClientId(this.registeredClient.getClientId());
+	}
+
+	@Test
+	public void evictWhenCachedThenDelegateInvokedAgain() {
+		this.repository.findByClientId(this.registeredClient.getClientId());
+		this.repository.evict(this.registeredClient.getId());
+		this.repository.findByClientId(this.registeredClient.getClientId());
+		verify(this.delegate, times(2)).findByClientId(this.registeredClient.getClientId());
+	}
+
+	@Test
+	public void findByClientIdWhenVersionChangedThenCacheCleared() {
+		AtomicLong version = new AtomicLong();
+		this.repository.setVersionSupplier(version::get);
+		this.repository.setVersionCheckInterval(Duration.ZERO);
+		this.repository.findByClientId(this.registeredClient.getClientId());
+		this.repository.findByClientId(this.registeredClient.getClientId());
+		verify(this.delegate, times(1)).findByClientId(this.registeredClient.getClientId());
+		version.incrementAndGet();
+		this.repository.findByClientId(this.registeredClient.getClientId());
+		verify(this.delegate, times(2)).findByClientId(this.registeredClient.getClientId());
+	}
+
+}
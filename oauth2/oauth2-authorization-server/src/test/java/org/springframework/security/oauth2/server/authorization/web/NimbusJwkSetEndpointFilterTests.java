@@ -16,6 +16,7 @@
 
 package org.springframework.security.oauth2.server.authorization.web;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,6 +25,7 @@ import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.OctetSequenceKey;
 import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 import jakarta.servlet.FilterChain;
@@ -32,6 +34,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -41,6 +46,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -159,4 +165,78 @@ public class NimbusJwkSetEndpointFilterTests {
 		assertThat(jwkSet.getKeys()).isEmpty();
 	}
 
+	@Test
+	public void setCacheControlWhenNullThenThrowIllegalArgumentException() {
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> this.filter.setCacheControl(null))
+			.withMessage("cacheControl cannot be null");
+	}
+
+	@Test
+	public void doFilterWhenJwkSetRequestThenETagAndCacheControlHeaders() throws Exception {
+		this.jwkList.add(TestJwks.DEFAULT_RSA_JWK);
+
+		MockHttpServletResponse response = doFilter(null);
+
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNotNull().startsWith("\"");
+		assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+	}
+
+	@Test
+	public void doFilterWhenCustomCacheControlThenUsed() throws Exception {
+		this.jwkList.add(TestJwks.DEFAULT_RSA_JWK);
+		this.filter.setCacheControl(CacheControl.maxAge(Duration.ofMinutes(5)));
+
+		MockHttpServletResponse response = doFilter(null);
+
+		assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=300");
+	}
+
+	@Test
+	public void doFilterWhenIfNoneMatchETagThenNotModified() throws Exception {
+		this.jwkList.add(TestJwks.DEFAULT_RSA_JWK);
+		String eTag = doFilter(null).getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletResponse response = doFilter(eTag);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	public void doFilterWhenKeysRotatedThenNewETag() throws Exception {
+		this.jwkList.add(TestJwks.DEFAULT_RSA_JWK);
+		String eTag = doFilter(null).getHeader(HttpHeaders.ETAG);
+		this.jwkList.add(TestJwks.DEFAULT_EC_JWK);
+
+		MockHttpServletResponse response = doFilter(eTag);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+		assertThat(JWKSet.parse(response.getContentAsString()).getKeys()).hasSize(2);
+	}
+
+	@Test
+	public void doFilterWhenImmutableJwkSetThenKeysSelectedOnce() throws Exception {
+		JWKSource<SecurityContext> jwkSource = spy(new ImmutableJWKSet<>(new JWKSet(TestJwks.DEFAULT_RSA_JWK)));
+		this.filter = new NimbusJwkSetEndpointFilter(jwkSource);
+
+		String body = doFilter(null).getContentAsString();
+		MockHttpServletResponse response = doFilter(null);
+
+		assertThat(response.getContentAsString()).isEqualTo(body);
+		verify(jwkSource).get(any(), any());
+	}
+
+	private MockHttpServletResponse doFilter(String ifNoneMatch) throws Exception {
+		String requestUri = DEFAULT_JWK_SET_ENDPOINT_URI;
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+		request.setServletPath(requestUri);
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.filter.doFilter(request, response, mock(FilterChain.class));
+		return response;
+	}
+
 }
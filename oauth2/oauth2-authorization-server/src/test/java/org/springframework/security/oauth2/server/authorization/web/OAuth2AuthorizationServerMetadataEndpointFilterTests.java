@@ -16,12 +16,16 @@
 
 package org.springframework.security.oauth2.server.authorization.web;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -172,4 +176,81 @@ public class OAuth2AuthorizationServerMetadataEndpointFilterTests {
 			.isThrownBy(() -> this.filter.doFilter(request, response, filterChain));
 	}
 
+	@Test
+	public void setCacheControlWhenNullThenThrowIllegalArgumentException() {
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> this.filter.setCacheControl(null))
+			.withMessage("cacheControl cannot be null");
+	}
+
+	@Test
+	public void doFilterWhenIfNoneMatchETagThenNotModified() throws Exception {
+		AuthorizationServerContextHolder.setContext(new TestAuthorizationServerContext(
+				AuthorizationServerSettings.builder().issuer("https://example.com").build(), null));
+		MockHttpServletResponse response = doFilter(null);
+		String eTag = response.getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotNull();
+		assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+
+		response = doFilter(eTag);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	public void doFilterWhenClaimsChangedThenNewETag() throws Exception {
+		AuthorizationServerContextHolder.setContext(new TestAuthorizationServerContext(
+				AuthorizationServerSettings.builder().issuer("https://example.com").build(), null));
+		String eTag = doFilter(null).getHeader(HttpHeaders.ETAG);
+		this.filter.setAuthorizationServerMetadataCustomizer((authorizationServerMetadata) -> authorizationServerMetadata
+			.claim("custom-claim", "custom-value"));
+
+		MockHttpServletResponse response = doFilter(eTag);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+		assertThat(response.getContentAsString()).contains("\"custom-claim\":\"custom-value\"");
+	}
+
+	@Test
+	public void doFilterWhenSameIssuerThenCustomizerAppliedOnce() throws Exception {
+		AuthorizationServerContextHolder.setContext(new TestAuthorizationServerContext(
+				AuthorizationServerSettings.builder().issuer("https://example.com").build(), null));
+		AtomicInteger customizations = new AtomicInteger();
+		this.filter.setAuthorizationServerMetadataCustomizer((authorizationServerMetadata) -> customizations.incrementAndGet());
+
+		doFilter(null);
+		doFilter(null);
+
+		assertThat(customizations).hasValue(1);
+	}
+
+	@Test
+	public void doFilterWhenIssuerChangedThenCustomizerAppliedAgain() throws Exception {
+		AtomicInteger customizations = new AtomicInteger();
+		this.filter.setAuthorizationServerMetadataCustomizer((authorizationServerMetadata) -> customizations.incrementAndGet());
+		AuthorizationServerContextHolder.setContext(new TestAuthorizationServerContext(
+				AuthorizationServerSettings.builder().issuer("https://example.com").build(), null));
+		doFilter(null);
+		AuthorizationServerContextHolder.setContext(new TestAuthorizationServerContext(
+				AuthorizationServerSettings.builder().issuer("https://other.example.com").build(), null));
+
+		MockHttpServletResponse response = doFilter(null);
+
+		assertThat(customizations).hasValue(2);
+		assertThat(response.getContentAsString()).contains("https://other.example.com");
+	}
+
+	private MockHttpServletResponse doFilter(String ifNoneMatch) throws Exception {
+		String requestUri = DEFAULT_OAUTH2_AUTHORIZATION_SERVER_METADATA_ENDPOINT_URI;
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+		request.setServletPath(requestUri);
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.filter.doFilter(request, response, mock(FilterChain.class));
+		return response;
+	}
+
 }
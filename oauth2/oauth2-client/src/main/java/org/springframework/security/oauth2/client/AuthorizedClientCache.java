@@ -0,0 +1,82 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.security.util.ExpiringLruCache;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded, in-memory cache of {@link OAuth2AuthorizedClient}(s) keyed by
+ * {@link OAuth2AuthorizedClientId}, used as a near-cache by the JDBC and R2DBC
+ * implementations of the authorized client services.
+ *
+ * <p>
+ * An entry expires after the configured time-to-live or when the
+ * {@link OAuth2AuthorizedClient#getAccessToken() access token} expires, whichever comes
+ * first. The least recently used entries are evicted once the maximum size is reached.
+ *
+ * @since 7.0
+ * @see JdbcOAuth2AuthorizedClientService
+ * @see R2dbcReactiveOAuth2AuthorizedClientService
+ */
+final class AuthorizedClientCache {
+
+	private static final int MAX_SIZE = 1024;
+
+	private final ExpiringLruCache<OAuth2AuthorizedClientId, OAuth2AuthorizedClient> authorizedClients = new ExpiringLruCache<>(
+			MAX_SIZE);
+
+	private final Duration timeToLive;
+
+	private Clock clock = Clock.systemUTC();
+
+	AuthorizedClientCache(Duration timeToLive) {
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be greater than zero");
+		this.timeToLive = timeToLive;
+	}
+
+	OAuth2AuthorizedClient get(String clientRegistrationId, String principalName) {
+		return this.authorizedClients.get(new OAuth2AuthorizedClientId(clientRegistrationId, principalName));
+	}
+
+	void put(OAuth2AuthorizedClient authorizedClient, String principalName) {
+		OAuth2AuthorizedClientId authorizedClientId = new OAuth2AuthorizedClientId(
+				authorizedClient.getClientRegistration().getRegistrationId(), principalName);
+		Instant expiresAt = this.clock.instant().plus(this.timeToLive);
+		Instant accessTokenExpiresAt = authorizedClient.getAccessToken().getExpiresAt();
+		if (accessTokenExpiresAt != null && accessTokenExpiresAt.isBefore(expiresAt)) {
+			expiresAt = accessTokenExpiresAt;
+		}
+		this.authorizedClients.put(authorizedClientId, authorizedClient, expiresAt);
+	}
+
+	void remove(String clientRegistrationId, String principalName) {
+		this.authorizedClients.remove(new OAuth2AuthorizedClientId(clientRegistrationId, principalName));
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+		this.authorizedClients.setClock(clock);
+	}
+
+}
@@ -19,6 +19,9 @@ package org.springframework.security.oauth2.client;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.springframework.lang.Nullable;
@@ -64,6 +67,15 @@ import org.springframework.util.StringUtils;
  * {@link OAuth2AuthorizationFailureHandler} via
  * {@link #setAuthorizationFailureHandler(OAuth2AuthorizationFailureHandler)}.
  *
+ * <h2>Concurrent Authorization</h2>
+ *
+ * <p>
+ * By default, every call to {@link #authorize(OAuth2AuthorizeRequest)} is processed
+ * independently, so concurrent callers that find an expired access token each request a
+ * new one. When {@link #setCoalesceConcurrentAuthorizations(boolean)} is enabled,
+ * concurrent calls for the same {@link OAuth2AuthorizedClientId} share a single in-flight
+ * authorization and all receive its result.
+ *
  * @author Joe Grandja
  * @since 5.2
  * @see OAuth2AuthorizedClientManager
@@ -91,6 +103,10 @@ public final class AuthorizedClientServiceOAuth2AuthorizedClientManager implemen
 
 	private OAuth2AuthorizationFailureHandler authorizationFailureHandler;
 
+	private final Map<OAuth2AuthorizedClientId, CompletableFuture<OAuth2AuthorizedClient>> inFlightAuthorizations = new ConcurrentHashMap<>();
+
+	private boolean coalesceConcurrentAuthorizations;
+
 	/**
 	 * Constructs an {@code AuthorizedClientServiceOAuth2AuthorizedClientManager} using
 	 * the provided parameters.
@@ -117,6 +133,47 @@ public final class AuthorizedClientServiceOAuth2AuthorizedClientManager implemen
 	@Override
 	public OAuth2AuthorizedClient authorize(OAuth2AuthorizeRequest authorizeRequest) {
 		Assert.notNull(authorizeRequest, "authorizeRequest cannot be null");
+		if (!this.coalesceConcurrentAuthorizations) {
+			return doAuthorize(authorizeRequest);
+		}
+		OAuth2AuthorizedClientId authorizedClientId = new OAuth2AuthorizedClientId(
+				authorizeRequest.getClientRegistrationId(), authorizeRequest.getPrincipal().getName());
+		CompletableFuture<OAuth2AuthorizedClient> authorization = new CompletableFuture<>();
+		CompletableFuture<OAuth2AuthorizedClient> inFlightAuthorization = this.inFlightAuthorizations
+			.putIfAbsent(authorizedClientId, authorization);
+		if (inFlightAuthorization != null) {
+			return join(inFlightAuthorization);
+		}
+		try {
+			OAuth2AuthorizedClient authorizedClient = doAuthorize(authorizeRequest);
+			authorization.complete(authorizedClient);
+			return authorizedClient;
+		}
+		catch (Throwable ex) {
+			authorization.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlightAuthorizations.remove(authorizedClientId, authorization);
+		}
+	}
+
+	private static OAuth2AuthorizedClient join(CompletableFuture<OAuth2AuthorizedClient> authorization) {
+		try {
+			return authorization.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw ex;
+		}
+	}
+
+	private OAuth2AuthorizedClient doAuthorize(OAuth2AuthorizeRequest authorizeRequest) {
 		String clientRegistrationId = authorizeRequest.getClientRegistrationId();
 		OAuth2AuthorizedClient authorizedClient = authorizeRequest.getAuthorizedClient();
 		Authentication principal = authorizeRequest.getPrincipal();
@@ -235,6 +292,21 @@ public final class AuthorizedClientServiceOAuth2AuthorizedClientManager implemen
 		this.authorizationFailureHandler = authorizationFailureHandler;
 	}
 
+	/**
+	 * Sets whether concurrent calls to {@link #authorize(OAuth2AuthorizeRequest)} for the
+	 * same {@link OAuth2AuthorizedClientId} should share a single in-flight
+	 * authorization. When enabled, only one caller performs the authorization (for
+	 * example, the access token request of an expired {@code client_credentials} grant),
+	 * while the other callers wait for and receive its result, including any exception.
+	 * The default is {@code false}.
+	 * @param coalesceConcurrentAuthorizations {@code true} to share in-flight
+	 * authorizations
+	 * @since 7.0
+	 */
+	public void setCoalesceConcurrentAuthorizations(boolean coalesceConcurrentAuthorizations) {
+		this.coalesceConcurrentAuthorizations = coalesceConcurrentAuthorizations;
+	}
+
 	/**
 	 * The default implementation of the {@link #setContextAttributesMapper(Function)
 	 * contextAttributesMapper}.
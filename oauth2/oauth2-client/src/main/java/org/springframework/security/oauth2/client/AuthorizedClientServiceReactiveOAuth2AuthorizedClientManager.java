@@ -18,6 +18,7 @@ package org.springframework.security.oauth2.client;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import reactor.core.publisher.Mono;
@@ -99,6 +100,10 @@ public final class AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager
 
 	private ReactiveOAuth2AuthorizationFailureHandler authorizationFailureHandler;
 
+	private final Map<OAuth2AuthorizedClientId, Mono<OAuth2AuthorizedClient>> inFlightAuthorizations = new ConcurrentHashMap<>();
+
+	private boolean coalesceConcurrentAuthorizations;
+
 	/**
 	 * Constructs an {@code AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager}
 	 * using the provided parameters.
@@ -122,6 +127,17 @@ public final class AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager
 	@Override
 	public Mono<OAuth2AuthorizedClient> authorize(OAuth2AuthorizeRequest authorizeRequest) {
 		Assert.notNull(authorizeRequest, "authorizeRequest cannot be null");
+		if (!this.coalesceConcurrentAuthorizations) {
+			return doAuthorize(authorizeRequest);
+		}
+		OAuth2AuthorizedClientId authorizedClientId = new OAuth2AuthorizedClientId(
+				authorizeRequest.getClientRegistrationId(), authorizeRequest.getPrincipal().getName());
+		return Mono.defer(() -> this.inFlightAuthorizations.computeIfAbsent(authorizedClientId,
+				(id) -> doAuthorize(authorizeRequest).doFinally((signalType) -> this.inFlightAuthorizations.remove(id))
+					.cache()));
+	}
+
+	private Mono<OAuth2AuthorizedClient> doAuthorize(OAuth2AuthorizeRequest authorizeRequest) {
 		return createAuthorizationContext(authorizeRequest)
 			.flatMap((authorizationContext) -> authorize(authorizationContext, authorizeRequest.getPrincipal()));
 	}
@@ -232,6 +248,21 @@ public final class AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager
 		this.authorizationFailureHandler = authorizationFailureHandler;
 	}
 
+	/**
+	 * Sets whether concurrent authorizations for the same
+	 * {@link OAuth2AuthorizedClientId} should share a single in-flight {@link Mono}. When
+	 * enabled, only the first subscription performs the authorization (for example, the
+	 * access token request of an expired {@code client_credentials} grant), while
+	 * concurrent subscriptions receive its result, including any error. The default is
+	 * {@code false}.
+	 * @param coalesceConcurrentAuthorizations {@code true} to share in-flight
+	 * authorizations
+	 * @since 7.0
+	 */
+	public void setCoalesceConcurrentAuthorizations(boolean coalesceConcurrentAuthorizations) {
+		this.coalesceConcurrentAuthorizations = coalesceConcurrentAuthorizations;
+	}
+
 	/**
 	 * The default implementation of the {@link #setContextAttributesMapper(Function)
 	 * contextAttributesMapper}.
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Provides the database-specific statement that inserts or updates a row of the
+ * {@code oauth2_authorized_client} table in a single round trip.
+ *
+ * <p>
+ * Only MySQL, MariaDB and H2 are supported. PostgreSQL is not, since its
+ * {@code ON CONFLICT DO UPDATE} clause cannot be exercised by the embedded databases
+ * used for testing, so it falls back to update then insert.
+ *
+ * @since 7.0
+ * @see JdbcOAuth2AuthorizedClientService
+ * @see R2dbcReactiveOAuth2AuthorizedClientService
+ */
+final class AuthorizedClientUpsertSql {
+
+	private static final int PK_COLUMN_COUNT = 2;
+
+	private AuthorizedClientUpsertSql() {
+	}
+
+	/**
+	 * Returns the upsert statement for the provided database, or {@code null} if the
+	 * database is not supported.
+	 * @param databaseName the database product name
+	 * @param tableName the table name
+	 * @param columnNames the comma-separated column names, starting with the primary key
+	 * columns {@code client_registration_id} and {@code principal_name}
+	 * @param values the {@code VALUES} clause placeholders, in column order
+	 * @return the upsert statement, or {@code null} if the database is not supported
+	 */
+	static String forDatabase(String databaseName, String tableName, String columnNames, String values) {
+		if (databaseName == null) {
+			return null;
+		}
+		List<String> columns = Arrays.stream(columnNames.split(",")).map(String::trim).toList();
+		List<String> pkColumns = columns.subList(0, PK_COLUMN_COUNT);
+		List<String> nonPkColumns = columns.subList(PK_COLUMN_COUNT, columns.size());
+		String insert = "INSERT INTO " + tableName + " (" + columnNames + ") VALUES (" + values + ")";
+		String name = databaseName.toLowerCase(Locale.ENGLISH);
+		if (name.contains("mysql") || name.contains("mariadb")) {
+			return insert + " ON DUPLICATE KEY UPDATE " + nonPkColumns.stream()
+				.map((column) -> column + " = VALUES(" + column + ")")
+				.collect(Collectors.joining(", "));
+		}
+		if (name.equals("h2")) {
+			return "MERGE INTO " + tableName + " (" + columnNames + ") KEY (" + String.join(", ", pkColumns)
+					+ ") VALUES (" + values + ")";
+		}
+		return null;
+	}
+
+}
@@ -22,6 +22,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -29,8 +30,11 @@ import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.PreparedStatementSetter;
 import org.springframework.jdbc.core.RowMapper;
@@ -57,6 +61,11 @@ import org.springframework.util.StringUtils;
  * "classpath:org/springframework/security/oauth2/client/oauth2-client-schema.sql" and
  * therefore MUST be defined in the database schema.
  *
+ * <p>
+ * On MySQL, MariaDB and H2, an {@link OAuth2AuthorizedClient} is saved using
+ * a single database-specific upsert statement. Other databases update the existing row
+ * first and insert a new row if none was updated.
+ *
  * @author Joe Grandja
  * @author Stav Shamir
  * @author Craig Andrews
@@ -95,6 +104,12 @@ public class JdbcOAuth2AuthorizedClientService implements OAuth2AuthorizedClient
 			+ " (" + COLUMN_NAMES + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 	// @formatter:on
 
+	// @formatter:off
+	private static final String LOAD_AUTHORIZED_CLIENTS_BY_PRINCIPAL_NAME_SQL = "SELECT " + COLUMN_NAMES
+			+ " FROM " + TABLE_NAME
+			+ " WHERE principal_name = ?";
+	// @formatter:on
+
 	private static final String REMOVE_AUTHORIZED_CLIENT_SQL = "DELETE FROM " + TABLE_NAME + " WHERE " + PK_FILTER;
 
 	// @formatter:off
@@ -113,6 +128,12 @@ public class JdbcOAuth2AuthorizedClientService implements OAuth2AuthorizedClient
 
 	protected final LobHandler lobHandler;
 
+	private AuthorizedClientCache authorizedClientCache;
+
+	private volatile String upsertAuthorizedClientSql;
+
+	private volatile boolean upsertAuthorizedClientSqlResolved;
+
 	/**
 	 * Constructs a {@code JdbcOAuth2AuthorizedClientService} using the provided
 	 * parameters.
@@ -152,22 +173,102 @@ public class JdbcOAuth2AuthorizedClientService implements OAuth2AuthorizedClient
 			String principalName) {
 		Assert.hasText(clientRegistrationId, "clientRegistrationId cannot be empty");
 		Assert.hasText(principalName, "principalName cannot be empty");
+		AuthorizedClientCache authorizedClientCache = this.authorizedClientCache;
+		if (authorizedClientCache != null) {
+			OAuth2AuthorizedClient authorizedClient = authorizedClientCache.get(clientRegistrationId, principalName);
+			if (authorizedClient != null) {
+				return (T) authorizedClient;
+			}
+		}
 		SqlParameterValue[] parameters = new SqlParameterValue[] {
 				new SqlParameterValue(Types.VARCHAR, clientRegistrationId),
 				new SqlParameterValue(Types.VARCHAR, principalName) };
 		PreparedStatementSetter pss = new ArgumentPreparedStatementSetter(parameters);
 		List<OAuth2AuthorizedClient> result = this.jdbcOperations.query(LOAD_AUTHORIZED_CLIENT_SQL, pss,
 				this.authorizedClientRowMapper);
-		return !result.isEmpty() ? (T) result.get(0) : null;
+		if (result.isEmpty()) {
+			return null;
+		}
+		if (authorizedClientCache != null) {
+			authorizedClientCache.put(result.get(0), principalName);
+		}
+		return (T) result.get(0);
+	}
+
+	/**
+	 * Returns all {@link OAuth2AuthorizedClient}(s) of the provided principal, for
+	 * example, to restore the authorized clients of an End-User session with a single
+	 * query.
+	 * @param principalName the name of the End-User {@code Principal} (Resource Owner)
+	 * @return the {@link OAuth2AuthorizedClient}(s) of the principal, or an empty
+	 * {@code List} if none exist
+	 * @since 7.0
+	 */
+	public List<OAuth2AuthorizedClient> loadAuthorizedClients(String principalName) {
+		Assert.hasText(principalName, "principalName cannot be empty");
+		SqlParameterValue[] parameters = new SqlParameterValue[] {
+				new SqlParameterValue(Types.VARCHAR, principalName) };
+		PreparedStatementSetter pss = new ArgumentPreparedStatementSetter(parameters);
+		List<OAuth2AuthorizedClient> result = this.jdbcOperations.query(LOAD_AUTHORIZED_CLIENTS_BY_PRINCIPAL_NAME_SQL,
+				pss, this.authorizedClientRowMapper);
+		AuthorizedClientCache authorizedClientCache = this.authorizedClientCache;
+		if (authorizedClientCache != null) {
+			result.forEach((authorizedClient) -> authorizedClientCache.put(authorizedClient, principalName));
+		}
+		return result;
 	}
 
 	@Override
 	public void saveAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
 		Assert.notNull(authorizedClient, "authorizedClient cannot be null");
 		Assert.notNull(principal, "principal cannot be null");
-		int rows = updateAuthorizedClient(authorizedClient, principal);
-		if (rows == 0) {
-			insertAuthorizedClient(authorizedClient, principal);
+		String upsertAuthorizedClientSql = getUpsertAuthorizedClientSql();
+		if (upsertAuthorizedClientSql != null) {
+			upsertAuthorizedClient(upsertAuthorizedClientSql, authorizedClient, principal);
+		}
+		else {
+			int rows = updateAuthorizedClient(authorizedClient, principal);
+			if (rows == 0) {
+				try {
+					insertAuthorizedClient(authorizedClient, principal);
+				}
+				catch (DuplicateKeyException ex) {
+					// Inserted concurrently since the update
+					updateAuthorizedClient(authorizedClient, principal);
+				}
+			}
+		}
+		AuthorizedClientCache authorizedClientCache = this.authorizedClientCache;
+		if (authorizedClientCache != null) {
+			authorizedClientCache.put(authorizedClient, principal.getName());
+		}
+	}
+
+	private String getUpsertAuthorizedClientSql() {
+		if (!this.upsertAuthorizedClientSqlResolved) {
+			String databaseName = null;
+			try {
+				databaseName = this.jdbcOperations.execute(
+						(ConnectionCallback<String>) (conn) -> conn.getMetaData().getDatabaseProductName());
+			}
+			catch (DataAccessException ex) {
+				// Fallback to update then insert
+			}
+			this.upsertAuthorizedClientSql = AuthorizedClientUpsertSql.forDatabase(databaseName, TABLE_NAME,
+					COLUMN_NAMES, "?, ?, ?, ?, ?, ?, ?, ?, ?");
+			this.upsertAuthorizedClientSqlResolved = true;
+		}
+		return this.upsertAuthorizedClientSql;
+	}
+
+	private void upsertAuthorizedClient(String upsertAuthorizedClientSql, OAuth2AuthorizedClient authorizedClient,
+			Authentication principal) {
+		List<SqlParameterValue> parameters = this.authorizedClientParametersMapper
+			.apply(new OAuth2AuthorizedClientHolder(authorizedClient, principal));
+		try (LobCreator lobCreator = this.lobHandler.getLobCreator()) {
+			PreparedStatementSetter pss = new LobCreatorArgumentPreparedStatementSetter(lobCreator,
+					parameters.toArray());
+			this.jdbcOperations.update(upsertAuthorizedClientSql, pss);
 		}
 	}
 
@@ -199,6 +300,10 @@ public class JdbcOAuth2AuthorizedClientService implements OAuth2AuthorizedClient
 	public void removeAuthorizedClient(String clientRegistrationId, String principalName) {
 		Assert.hasText(clientRegistrationId, "clientRegistrationId cannot be empty");
 		Assert.hasText(principalName, "principalName cannot be empty");
+		AuthorizedClientCache authorizedClientCache = this.authorizedClientCache;
+		if (authorizedClientCache != null) {
+			authorizedClientCache.remove(clientRegistrationId, principalName);
+		}
 		SqlParameterValue[] parameters = new SqlParameterValue[] {
 				new SqlParameterValue(Types.VARCHAR, clientRegistrationId),
 				new SqlParameterValue(Types.VARCHAR, principalName) };
@@ -206,6 +311,25 @@ public class JdbcOAuth2AuthorizedClientService implements OAuth2AuthorizedClient
 		this.jdbcOperations.update(REMOVE_AUTHORIZED_CLIENT_SQL, pss);
 	}
 
+	/**
+	 * Sets the maximum amount of time an {@link OAuth2AuthorizedClient} is cached
+	 * in-memory after it was loaded or saved, which avoids a database round trip for
+	 * subsequent loads. An {@link OAuth2AuthorizedClient} is never cached beyond the
+	 * expiry of its {@link OAuth2AuthorizedClient#getAccessToken() access token}. Caching
+	 * is disabled by default.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> Changes made to the database by other application instances are not
+	 * visible until the cached entry expires. Use a short time-to-live when the database
+	 * is shared.
+	 * @param timeToLive the maximum amount of time an {@link OAuth2AuthorizedClient} is
+	 * cached
+	 * @since 7.0
+	 */
+	public final void setAuthorizedClientCacheTimeToLive(Duration timeToLive) {
+		this.authorizedClientCache = new AuthorizedClientCache(timeToLive);
+	}
+
 	/**
 	 * Sets the {@link RowMapper} used for mapping the current row in
 	 * {@code java.sql.ResultSet} to {@link OAuth2AuthorizedClient}. The default is
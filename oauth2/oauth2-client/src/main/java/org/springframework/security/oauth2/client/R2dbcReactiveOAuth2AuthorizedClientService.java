@@ -18,6 +18,7 @@ package org.springframework.security.oauth2.client;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -29,11 +30,14 @@ import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
 import org.springframework.r2dbc.core.Parameter;
@@ -55,6 +59,11 @@ import org.springframework.util.StringUtils;
  * "classpath:org/springframework/security/oauth2/client/oauth2-client-schema.sql" and
  * therefore MUST be defined in the database schema.
  *
+ * <p>
+ * On MySQL, MariaDB and H2, an {@link OAuth2AuthorizedClient} is saved using
+ * a single database-specific upsert statement. Other databases update the existing row
+ * first and insert a new row if none was updated.
+ *
  * @author Ovidiu Popa
  * @since 5.5
  * @see ReactiveOAuth2AuthorizedClientService
@@ -93,6 +102,12 @@ public class R2dbcReactiveOAuth2AuthorizedClientService implements ReactiveOAuth
 				" :refreshTokenIssuedAt)";
 	// @formatter:on
 
+	// @formatter:off
+	private static final String LOAD_AUTHORIZED_CLIENTS_BY_PRINCIPAL_NAME_SQL = "SELECT " + COLUMN_NAMES
+			+ " FROM " + TABLE_NAME
+			+ " WHERE principal_name = :principalName";
+	// @formatter:on
+
 	private static final String REMOVE_AUTHORIZED_CLIENT_SQL = "DELETE FROM " + TABLE_NAME + " WHERE " + PK_FILTER;
 
 	// @formatter:off
@@ -116,6 +131,12 @@ public class R2dbcReactiveOAuth2AuthorizedClientService implements ReactiveOAuth
 
 	protected BiFunction<Row, RowMetadata, OAuth2AuthorizedClientHolder> authorizedClientRowMapper;
 
+	private volatile String upsertAuthorizedClientSql;
+
+	private volatile boolean upsertAuthorizedClientSqlResolved;
+
+	private AuthorizedClientCache authorizedClientCache;
+
 	/**
 	 * Constructs a {@code R2dbcReactiveOAuth2AuthorizedClientService} using the provided
 	 * parameters.
@@ -138,13 +159,46 @@ public class R2dbcReactiveOAuth2AuthorizedClientService implements ReactiveOAuth
 			String principalName) {
 		Assert.hasText(clientRegistrationId, "clientRegistrationId cannot be empty");
 		Assert.hasText(principalName, "principalName cannot be empty");
+		return (Mono<T>) Mono.defer(() -> {
+			AuthorizedClientCache authorizedClientCache = this.authorizedClientCache;
+			OAuth2AuthorizedClient authorizedClient = (authorizedClientCache != null)
+					? authorizedClientCache.get(clientRegistrationId, principalName) : null;
+			if (authorizedClient != null) {
+				return Mono.just(authorizedClient);
+			}
+			return this.databaseClient.sql(LOAD_AUTHORIZED_CLIENT_SQL)
+				.bind("clientRegistrationId", clientRegistrationId)
+				.bind("principalName", principalName)
+				.map(this.authorizedClientRowMapper)
+				.first()
+				.flatMap(this::getAuthorizedClient)
+				.doOnNext((loaded) -> cacheAuthorizedClient(loaded, principalName));
+		});
+	}
 
-		return (Mono<T>) this.databaseClient.sql(LOAD_AUTHORIZED_CLIENT_SQL)
-			.bind("clientRegistrationId", clientRegistrationId)
+	/**
+	 * Returns all {@link OAuth2AuthorizedClient}(s) of the provided principal, for
+	 * example, to restore the authorized clients of an End-User session with a single
+	 * query.
+	 * @param principalName the name of the End-User {@code Principal} (Resource Owner)
+	 * @return the {@link OAuth2AuthorizedClient}(s) of the principal
+	 * @since 7.0
+	 */
+	public Flux<OAuth2AuthorizedClient> loadAuthorizedClients(String principalName) {
+		Assert.hasText(principalName, "principalName cannot be empty");
+		return this.databaseClient.sql(LOAD_AUTHORIZED_CLIENTS_BY_PRINCIPAL_NAME_SQL)
 			.bind("principalName", principalName)
 			.map(this.authorizedClientRowMapper)
-			.first()
-			.flatMap(this::getAuthorizedClient);
+			.all()
+			.concatMap(this::getAuthorizedClient)
+			.doOnNext((authorizedClient) -> cacheAuthorizedClient(authorizedClient, principalName));
+	}
+
+	private void cacheAuthorizedClient(OAuth2AuthorizedClient authorizedClient, String principalName) {
+		AuthorizedClientCache authorizedClientCache = this.authorizedClientCache;
+		if (authorizedClientCache != null) {
+			authorizedClientCache.put(authorizedClient, principalName);
+		}
 	}
 
 	private Mono<OAuth2AuthorizedClient> getAuthorizedClient(OAuth2AuthorizedClientHolder authorizedClientHolder) {
@@ -164,25 +218,49 @@ public class R2dbcReactiveOAuth2AuthorizedClientService implements ReactiveOAuth
 	public Mono<Void> saveAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
 		Assert.notNull(authorizedClient, "authorizedClient cannot be null");
 		Assert.notNull(principal, "principal cannot be null");
-		return this
-			.loadAuthorizedClient(authorizedClient.getClientRegistration().getRegistrationId(), principal.getName())
-			.flatMap((dbAuthorizedClient) -> updateAuthorizedClient(authorizedClient, principal))
-			.switchIfEmpty(Mono.defer(() -> insertAuthorizedClient(authorizedClient, principal)))
+		String upsertAuthorizedClientSql = getUpsertAuthorizedClientSql();
+		Mono<Long> save;
+		if (upsertAuthorizedClientSql != null) {
+			save = executeAuthorizedClient(upsertAuthorizedClientSql, authorizedClient, principal);
+		}
+		else {
+			// @formatter:off
+			save = updateAuthorizedClient(authorizedClient, principal)
+				.flatMap((rowsUpdated) -> (rowsUpdated != 0) ? Mono.just(rowsUpdated)
+						: insertAuthorizedClient(authorizedClient, principal)
+							// Inserted concurrently since the update
+							.onErrorResume(DuplicateKeyException.class,
+									(ex) -> updateAuthorizedClient(authorizedClient, principal)));
+			// @formatter:on
+		}
+		return save.doOnSuccess((rowsUpdated) -> cacheAuthorizedClient(authorizedClient, principal.getName()))
 			.then();
 	}
 
-	private Mono<Long> updateAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
-		GenericExecuteSpec executeSpec = this.databaseClient.sql(UPDATE_AUTHORIZED_CLIENT_SQL);
-		for (Entry<String, Parameter> entry : this.authorizedClientParametersMapper
-			.apply(new OAuth2AuthorizedClientHolder(authorizedClient, principal))
-			.entrySet()) {
-			executeSpec = executeSpec.bind(entry.getKey(), entry.getValue());
+	private String getUpsertAuthorizedClientSql() {
+		if (!this.upsertAuthorizedClientSqlResolved) {
+			ConnectionFactory connectionFactory = this.databaseClient.getConnectionFactory();
+			String databaseName = (connectionFactory != null) ? connectionFactory.getMetadata().getName() : null;
+			this.upsertAuthorizedClientSql = AuthorizedClientUpsertSql.forDatabase(databaseName, TABLE_NAME,
+					COLUMN_NAMES,
+					":clientRegistrationId, :principalName, :accessTokenType, :accessTokenValue, :accessTokenIssuedAt,"
+							+ " :accessTokenExpiresAt, :accessTokenScopes, :refreshTokenValue, :refreshTokenIssuedAt");
+			this.upsertAuthorizedClientSqlResolved = true;
 		}
-		return executeSpec.fetch().rowsUpdated();
+		return this.upsertAuthorizedClientSql;
+	}
+
+	private Mono<Long> updateAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
+		return executeAuthorizedClient(UPDATE_AUTHORIZED_CLIENT_SQL, authorizedClient, principal);
 	}
 
 	private Mono<Long> insertAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
-		GenericExecuteSpec executeSpec = this.databaseClient.sql(SAVE_AUTHORIZED_CLIENT_SQL);
+		return executeAuthorizedClient(SAVE_AUTHORIZED_CLIENT_SQL, authorizedClient, principal);
+	}
+
+	private Mono<Long> executeAuthorizedClient(String sql, OAuth2AuthorizedClient authorizedClient,
+			Authentication principal) {
+		GenericExecuteSpec executeSpec = this.databaseClient.sql(sql);
 		for (Entry<String, Parameter> entry : this.authorizedClientParametersMapper
 			.apply(new OAuth2AuthorizedClientHolder(authorizedClient, principal))
 			.entrySet()) {
@@ -198,7 +276,32 @@ public class R2dbcReactiveOAuth2AuthorizedClientService implements ReactiveOAuth
 		return this.databaseClient.sql(REMOVE_AUTHORIZED_CLIENT_SQL)
 			.bind("clientRegistrationId", clientRegistrationId)
 			.bind("principalName", principalName)
-			.then();
+			.then()
+			.doFirst(() -> {
+				AuthorizedClientCache authorizedClientCache = this.authorizedClientCache;
+				if (authorizedClientCache != null) {
+					authorizedClientCache.remove(clientRegistrationId, principalName);
+				}
+			});
+	}
+
+	/**
+	 * Sets the maximum amount of time an {@link OAuth2AuthorizedClient} is cached
+	 * in-memory after it was loaded or saved, which avoids a database round trip for
+	 * subsequent loads. An {@link OAuth2AuthorizedClient} is never cached beyond the
+	 * expiry of its {@link OAuth2AuthorizedClient#getAccessToken() access token}. Caching
+	 * is disabled by default.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> Changes made to the database by other application instances are not
+	 * visible until the cached entry expires. Use a short time-to-live when the database
+	 * is shared.
+	 * @param timeToLive the maximum amount of time an {@link OAuth2AuthorizedClient} is
+	 * cached
+	 * @since 7.0
+	 */
+	public final void setAuthorizedClientCacheTimeToLive(Duration timeToLive) {
+		this.authorizedClientCache = new AuthorizedClientCache(timeToLive);
 	}
 
 	/**
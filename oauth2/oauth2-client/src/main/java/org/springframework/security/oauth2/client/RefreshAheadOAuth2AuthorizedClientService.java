@@ -0,0 +1,412 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link OAuth2AuthorizedClientService} that re-authorizes (refreshes) the
+ * {@link OAuth2AuthorizedClient Authorized Client(s)} saved through it <i>before</i> the
+ * {@link OAuth2AuthorizedClient#getAccessToken() access token} expires, so that callers
+ * of {@link #loadAuthorizedClient(String, String)} (for example,
+ * {@link AuthorizedClientServiceOAuth2AuthorizedClientManager}) find a valid access token
+ * rather than paying the latency of the Token Endpoint within the request.
+ *
+ * <p>
+ * When an {@link OAuth2AuthorizedClient} with an expiring access token is saved, a
+ * refresh is scheduled at the expiry minus the configured
+ * {@link #setRefreshAhead(Duration) refresh ahead} duration, minus a random
+ * {@link #setJitter(Duration) jitter} that spreads refreshes of tokens sharing the same
+ * expiry. The refresh loads the latest {@link OAuth2AuthorizedClient} from the delegate
+ * and re-authorizes it using the provided {@link OAuth2AuthorizedClientProvider}, for
+ * example, {@link ClientCredentialsOAuth2AuthorizedClientProvider} or
+ * {@link RefreshTokenOAuth2AuthorizedClientProvider}.
+ *
+ * <p>
+ * <b>NOTE:</b> These providers only re-authorize an access token that expires within
+ * their configured {@code clockSkew} (60 seconds by default). The sum of the refresh
+ * ahead duration and the jitter should therefore not exceed the {@code clockSkew} of the
+ * provider, otherwise the scheduled refresh is a no-op and the client is no longer
+ * tracked.
+ *
+ * <p>
+ * A failed refresh is retried after the configured {@link #setRetryDelay(Duration) retry
+ * delay}, for as long as the access token has not expired. Once it expires, or when the
+ * {@link OAuth2AuthorizedClient} was removed or not re-authorized, it is no longer
+ * tracked until it is saved again, which typically happens when it is re-authorized
+ * on-demand by the {@link OAuth2AuthorizedClientManager}.
+ *
+ * @since 7.0
+ * @see OAuth2AuthorizedClientService
+ * @see OAuth2AuthorizedClientProvider
+ */
+public final class RefreshAheadOAuth2AuthorizedClientService
+		implements OAuth2AuthorizedClientService, DisposableBean {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final OAuth2AuthorizedClientService delegate;
+
+	private final OAuth2AuthorizedClientProvider authorizedClientProvider;
+
+	private final Map<OAuth2AuthorizedClientId, ScheduledRefresh> scheduledRefreshes = new ConcurrentHashMap<>();
+
+	private final AtomicLong refreshCount = new AtomicLong();
+
+	private final AtomicLong refreshFailureCount = new AtomicLong();
+
+	private final AtomicReference<Duration> lastRefreshLag = new AtomicReference<>(Duration.ZERO);
+
+	private final Lock taskSchedulerLock = new ReentrantLock();
+
+	private ThreadPoolTaskScheduler defaultTaskScheduler;
+
+	private volatile TaskScheduler taskScheduler;
+
+	private Duration refreshAhead = Duration.ofSeconds(30);
+
+	private Duration jitter = Duration.ofSeconds(15);
+
+	private Duration retryDelay = Duration.ofSeconds(5);
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Constructs a {@code RefreshAheadOAuth2AuthorizedClientService} using the provided
+	 * parameters.
+	 * @param delegate the {@link OAuth2AuthorizedClientService} to delegate to
+	 * @param authorizedClientProvider the {@link OAuth2AuthorizedClientProvider} used for
+	 * re-authorizing an {@link OAuth2AuthorizedClient}
+	 */
+	public RefreshAheadOAuth2AuthorizedClientService(OAuth2AuthorizedClientService delegate,
+			OAuth2AuthorizedClientProvider authorizedClientProvider) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		Assert.notNull(authorizedClientProvider, "authorizedClientProvider cannot be null");
+		this.delegate = delegate;
+		this.authorizedClientProvider = authorizedClientProvider;
+	}
+
+	@Override
+	public <T extends OAuth2AuthorizedClient> T loadAuthorizedClient(String clientRegistrationId,
+			String principalName) {
+		return this.delegate.loadAuthorizedClient(clientRegistrationId, principalName);
+	}
+
+	@Override
+	public void saveAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
+		Assert.notNull(authorizedClient, "authorizedClient cannot be null");
+		Assert.notNull(principal, "principal cannot be null");
+		this.delegate.saveAuthorizedClient(authorizedClient, principal);
+		scheduleRefresh(authorizedClient, principal);
+	}
+
+	@Override
+	public void removeAuthorizedClient(String clientRegistrationId, String principalName) {
+		this.delegate.removeAuthorizedClient(clientRegistrationId, principalName);
+		cancelRefresh(new OAuth2AuthorizedClientId(clientRegistrationId, principalName));
+	}
+
+	/**
+	 * Returns the number of successful refreshes.
+	 * @return the number of successful refreshes
+	 */
+	public long getRefreshCount() {
+		return this.refreshCount.get();
+	}
+
+	/**
+	 * Returns the number of failed refreshes.
+	 * @return the number of failed refreshes
+	 */
+	public long getRefreshFailureCount() {
+		return this.refreshFailureCount.get();
+	}
+
+	/**
+	 * Returns the delay between the time the most recent refresh was scheduled at and
+	 * the time it actually started. A growing lag indicates that the
+	 * {@link #setTaskScheduler(TaskScheduler) task scheduler} cannot keep up.
+	 * @return the lag of the most recent refresh
+	 */
+	public Duration getLastRefreshLag() {
+		return this.lastRefreshLag.get();
+	}
+
+	/**
+	 * Sets the {@link TaskScheduler} used for scheduling refreshes. The default is a
+	 * {@link ThreadPoolTaskScheduler} with a single thread, which is created when the
+	 * first refresh is scheduled and shut down when this service is {@link #destroy()
+	 * destroyed}.
+	 * @param taskScheduler the {@link TaskScheduler}
+	 */
+	public void setTaskScheduler(TaskScheduler taskScheduler) {
+		Assert.notNull(taskScheduler, "taskScheduler cannot be null");
+		this.taskSchedulerLock.lock();
+		try {
+			shutdownDefaultTaskScheduler();
+			this.taskScheduler = taskScheduler;
+		}
+		finally {
+			this.taskSchedulerLock.unlock();
+		}
+	}
+
+	/**
+	 * Sets the amount of time before the access token expires at which it is refreshed.
+	 * The default is 30 seconds.
+	 * @param refreshAhead the amount of time before expiry at which to refresh
+	 */
+	public void setRefreshAhead(Duration refreshAhead) {
+		Assert.notNull(refreshAhead, "refreshAhead cannot be null");
+		Assert.isTrue(!refreshAhead.isNegative(), "refreshAhead cannot be negative");
+		this.refreshAhead = refreshAhead;
+	}
+
+	/**
+	 * Sets the maximum random amount of time subtracted from the scheduled refresh time.
+	 * The default is 15 seconds.
+	 * @param jitter the maximum jitter
+	 */
+	public void setJitter(Duration jitter) {
+		Assert.notNull(jitter, "jitter cannot be null");
+		Assert.isTrue(!jitter.isNegative(), "jitter cannot be negative");
+		this.jitter = jitter;
+	}
+
+	/**
+	 * Sets the amount of time after which a failed refresh is retried, for as long as the
+	 * access token has not expired. The default is 5 seconds.
+	 * @param retryDelay the amount of time after which a failed refresh is retried
+	 */
+	public void setRetryDelay(Duration retryDelay) {
+		Assert.notNull(retryDelay, "retryDelay cannot be null");
+		Assert.isTrue(!retryDelay.isNegative() && !retryDelay.isZero(), "retryDelay must be greater than zero");
+		this.retryDelay = retryDelay;
+	}
+
+	/**
+	 * Sets the {@link Clock} used when computing the scheduled refresh time. The default
+	 * is {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock}
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	@Override
+	public void destroy() {
+		this.scheduledRefreshes.values().forEach(ScheduledRefresh::cancel);
+		this.scheduledRefreshes.clear();
+		this.taskSchedulerLock.lock();
+		try {
+			shutdownDefaultTaskScheduler();
+		}
+		finally {
+			this.taskSchedulerLock.unlock();
+		}
+	}
+
+	private void scheduleRefresh(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
+		OAuth2AuthorizedClientId authorizedClientId = new OAuth2AuthorizedClientId(
+				authorizedClient.getClientRegistration().getRegistrationId(), principal.getName());
+		Instant expiresAt = authorizedClient.getAccessToken().getExpiresAt();
+		if (expiresAt == null) {
+			cancelRefresh(authorizedClientId);
+			return;
+		}
+		Instant refreshAt = expiresAt.minus(this.refreshAhead).minusMillis(randomJitterMillis());
+		if (!refreshAt.isAfter(this.clock.instant())) {
+			// Already within the refresh window, which also prevents a refresh loop when
+			// the re-authorized access token does not outlive the refresh ahead duration
+			cancelRefresh(authorizedClientId);
+			return;
+		}
+		schedule(new ScheduledRefresh(authorizedClientId, principal, refreshAt, expiresAt));
+	}
+
+	private void schedule(ScheduledRefresh scheduledRefresh) {
+		ScheduledRefresh previousScheduledRefresh = this.scheduledRefreshes.put(scheduledRefresh.authorizedClientId,
+				scheduledRefresh);
+		if (previousScheduledRefresh != null) {
+			previousScheduledRefresh.cancel();
+		}
+		try {
+			scheduledRefresh.setFuture(getTaskScheduler().schedule(scheduledRefresh, scheduledRefresh.refreshAt));
+		}
+		catch (RuntimeException ex) {
+			this.scheduledRefreshes.remove(scheduledRefresh.authorizedClientId, scheduledRefresh);
+			throw ex;
+		}
+	}
+
+	private void cancelRefresh(OAuth2AuthorizedClientId authorizedClientId) {
+		ScheduledRefresh scheduledRefresh = this.scheduledRefreshes.remove(authorizedClientId);
+		if (scheduledRefresh != null) {
+			scheduledRefresh.cancel();
+		}
+	}
+
+	private void refresh(ScheduledRefresh scheduledRefresh) {
+		OAuth2AuthorizedClientId authorizedClientId = scheduledRefresh.authorizedClientId;
+		Authentication principal = scheduledRefresh.principal;
+		Instant now = this.clock.instant();
+		this.lastRefreshLag.set(Duration.between(scheduledRefresh.refreshAt, now));
+		try {
+			OAuth2AuthorizedClient authorizedClient = this.delegate
+				.loadAuthorizedClient(authorizedClientId.getClientRegistrationId(), principal.getName());
+			if (authorizedClient == null) {
+				return;
+			}
+			OAuth2AuthorizationContext authorizationContext = OAuth2AuthorizationContext
+				.withAuthorizedClient(authorizedClient)
+				.principal(principal)
+				.build();
+			OAuth2AuthorizedClient refreshedAuthorizedClient = this.authorizedClientProvider
+				.authorize(authorizationContext);
+			if (refreshedAuthorizedClient == null) {
+				if (this.logger.isDebugEnabled()) {
+					this.logger.debug("Skipped refresh of authorized client "
+							+ authorizedClientId.getClientRegistrationId() + " since it was not re-authorized");
+				}
+				return;
+			}
+			saveAuthorizedClient(refreshedAuthorizedClient, principal);
+			this.refreshCount.incrementAndGet();
+		}
+		catch (RuntimeException ex) {
+			this.refreshFailureCount.incrementAndGet();
+			this.logger.warn("Failed to refresh authorized client " + authorizedClientId.getClientRegistrationId(), ex);
+			Instant retryAt = now.plus(this.retryDelay);
+			if (retryAt.isBefore(scheduledRefresh.expiresAt)
+					&& this.scheduledRefreshes.get(authorizedClientId) == scheduledRefresh) {
+				schedule(new ScheduledRefresh(authorizedClientId, principal, retryAt, scheduledRefresh.expiresAt));
+			}
+		}
+		finally {
+			// Stop tracking, unless the client was saved or the refresh rescheduled meanwhile
+			this.scheduledRefreshes.remove(authorizedClientId, scheduledRefresh);
+		}
+	}
+
+	private long randomJitterMillis() {
+		long jitterMillis = this.jitter.toMillis();
+		return (jitterMillis > 0) ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0;
+	}
+
+	private TaskScheduler getTaskScheduler() {
+		TaskScheduler taskScheduler = this.taskScheduler;
+		if (taskScheduler != null) {
+			return taskScheduler;
+		}
+		this.taskSchedulerLock.lock();
+		try {
+			if (this.taskScheduler == null) {
+				this.defaultTaskScheduler = createTaskScheduler();
+				this.taskScheduler = this.defaultTaskScheduler;
+			}
+			return this.taskScheduler;
+		}
+		finally {
+			this.taskSchedulerLock.unlock();
+		}
+	}
+
+	private void shutdownDefaultTaskScheduler() {
+		if (this.defaultTaskScheduler != null) {
+			this.defaultTaskScheduler.shutdown();
+			this.defaultTaskScheduler = null;
+			this.taskScheduler = null;
+		}
+	}
+
+	private static ThreadPoolTaskScheduler createTaskScheduler() {
+		ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+		taskScheduler.setThreadNamePrefix("spring-oauth2-client-refresh-");
+		taskScheduler.setDaemon(true);
+		taskScheduler.initialize();
+		return taskScheduler;
+	}
+
+	/**
+	 * A refresh scheduled for an {@link OAuth2AuthorizedClient}, which is tracked until it
+	 * completes, so that neither the principal nor the future are retained afterwards.
+	 */
+	private final class ScheduledRefresh implements Runnable {
+
+		private final OAuth2AuthorizedClientId authorizedClientId;
+
+		private final Authentication principal;
+
+		private final Instant refreshAt;
+
+		private final Instant expiresAt;
+
+		private volatile ScheduledFuture<?> future;
+
+		private volatile boolean cancelled;
+
+		private ScheduledRefresh(OAuth2AuthorizedClientId authorizedClientId, Authentication principal,
+				Instant refreshAt, Instant expiresAt) {
+			this.authorizedClientId = authorizedClientId;
+			this.principal = principal;
+			this.refreshAt = refreshAt;
+			this.expiresAt = expiresAt;
+		}
+
+		@Override
+		public void run() {
+			refresh(this);
+		}
+
+		private void setFuture(ScheduledFuture<?> future) {
+			this.future = future;
+			if (this.cancelled) {
+				future.cancel(false);
+			}
+		}
+
+		private void cancel() {
+			this.cancelled = true;
+			ScheduledFuture<?> future = this.future;
+			if (future != null) {
+				future.cancel(false);
+			}
+		}
+
+	}
+
+}
@@ -16,12 +16,13 @@
 
 package org.springframework.security.oauth2.client.endpoint;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -43,10 +44,12 @@ import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.util.ExpiringLruCache;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -59,6 +62,11 @@ import org.springframework.util.MultiValueMap;
  * constructor.
  *
  * <p>
+ * By default, a new JWS is signed for every request. Optionally, a signed JWS without a
+ * {@code jti} claim may be reused for a short period of time, see
+ * {@link #setClientAssertionReuseTimeToLive(Duration)}.
+ *
+ * <p>
  * <b>NOTE:</b> This implementation uses the Nimbus JOSE + JWT SDK.
  *
  * @param <T> the type of {@link AbstractOAuth2AuthorizationGrantRequest}
@@ -85,13 +93,21 @@ public final class NimbusJwtClientAuthenticationParametersConverter<T extends Ab
 
 	private static final String CLIENT_ASSERTION_TYPE_VALUE = "urn:ietf:params:oauth:client-assertion-type:jwt-bearer";
 
+	private static final int MAX_SIZE = 1024;
+
 	private final Function<ClientRegistration, JWK> jwkResolver;
 
-	private final Map<String, JwsEncoderHolder> jwsEncoders = new ConcurrentHashMap<>();
+	private final ExpiringLruCache<String, JwsEncoderHolder> jwsEncoders = new ExpiringLruCache<>(MAX_SIZE);
+
+	private final ExpiringLruCache<ClientAssertionKey, String> clientAssertions = new ExpiringLruCache<>(MAX_SIZE);
 
 	private Consumer<JwtClientAuthenticationContext<T>> jwtClientAssertionCustomizer = (context) -> {
 	};
 
+	private Duration clientAssertionReuseTimeToLive;
+
+	private Clock clock = Clock.systemUTC();
+
 	/**
 	 * Constructs a {@code NimbusJwtClientAuthenticationParametersConverter} using the
 	 * provided parameters.
@@ -132,9 +148,9 @@ public final class NimbusJwtClientAuthenticationParametersConverter<T extends Ab
 			throw new OAuth2AuthorizationException(oauth2Error);
 		}
 
+		Instant issuedAt = this.clock.instant();
 		JwsHeader.Builder headersBuilder = JwsHeader.with(jwsAlgorithm);
 
-		Instant issuedAt = Instant.now();
 		Instant expiresAt = issuedAt.plus(Duration.ofSeconds(60));
 
 		// @formatter:off
@@ -154,22 +170,54 @@ public final class NimbusJwtClientAuthenticationParametersConverter<T extends Ab
 		JwsHeader jwsHeader = headersBuilder.build();
 		JwtClaimsSet jwtClaimsSet = claimsBuilder.build();
 
-		JwsEncoderHolder jwsEncoderHolder = this.jwsEncoders.compute(clientRegistration.getRegistrationId(),
-				(clientRegistrationId, currentJwsEncoderHolder) -> {
-					if (currentJwsEncoderHolder != null && currentJwsEncoderHolder.getJwk().equals(jwk)) {
-						return currentJwsEncoderHolder;
-					}
-					JWKSource<SecurityContext> jwkSource = new ImmutableJWKSet<>(new JWKSet(jwk));
-					return new JwsEncoderHolder(new NimbusJwtEncoder(jwkSource), jwk);
-				});
+		// A JWS with a jti claim is never reused, since its jti must be unique
+		ClientAssertionKey clientAssertionKey = null;
+		if (this.clientAssertionReuseTimeToLive != null && jwtClaimsSet.getId() == null) {
+			clientAssertionKey = new ClientAssertionKey(clientRegistration.getRegistrationId(), jwk,
+					jwsHeader.getHeaders(), getReusableClaims(jwtClaimsSet));
+			String clientAssertion = this.clientAssertions.get(clientAssertionKey);
+			if (clientAssertion != null) {
+				return createParameters(clientAssertion);
+			}
+		}
+
+		JwsEncoderHolder jwsEncoderHolder = this.jwsEncoders.get(clientRegistration.getRegistrationId());
+		if (jwsEncoderHolder == null || !jwsEncoderHolder.getJwk().equals(jwk)) {
+			JWKSource<SecurityContext> jwkSource = new ImmutableJWKSet<>(new JWKSet(jwk));
+			jwsEncoderHolder = new JwsEncoderHolder(new NimbusJwtEncoder(jwkSource), jwk);
+			this.jwsEncoders.put(clientRegistration.getRegistrationId(), jwsEncoderHolder);
+		}
 
 		JwtEncoder jwsEncoder = jwsEncoderHolder.getJwsEncoder();
 		Jwt jws = jwsEncoder.encode(JwtEncoderParameters.from(jwsHeader, jwtClaimsSet));
 
+		if (clientAssertionKey != null) {
+			Instant reuseUntil = issuedAt.plus(this.clientAssertionReuseTimeToLive);
+			if (jws.getExpiresAt() != null && jws.getExpiresAt().isBefore(reuseUntil)) {
+				reuseUntil = jws.getExpiresAt();
+			}
+			this.clientAssertions.put(clientAssertionKey, jws.getTokenValue(), reuseUntil);
+		}
+
+		return createParameters(jws.getTokenValue());
+	}
+
+	/**
+	 * Returns the claims that identify a reusable JWS, which excludes the claims that
+	 * change with every request.
+	 */
+	private static Map<String, Object> getReusableClaims(JwtClaimsSet jwtClaimsSet) {
+		Map<String, Object> claims = new LinkedHashMap<>(jwtClaimsSet.getClaims());
+		claims.remove(JwtClaimNames.IAT);
+		claims.remove(JwtClaimNames.EXP);
+		claims.remove(JwtClaimNames.NBF);
+		return claims;
+	}
+
+	private static MultiValueMap<String, String> createParameters(String clientAssertion) {
 		MultiValueMap<String, String> parameters = new LinkedMultiValueMap<>();
 		parameters.set(OAuth2ParameterNames.CLIENT_ASSERTION_TYPE, CLIENT_ASSERTION_TYPE_VALUE);
-		parameters.set(OAuth2ParameterNames.CLIENT_ASSERTION, jws.getTokenValue());
-
+		parameters.set(OAuth2ParameterNames.CLIENT_ASSERTION, clientAssertion);
 		return parameters;
 	}
 
@@ -213,6 +261,50 @@ public final class NimbusJwtClientAuthenticationParametersConverter<T extends Ab
 		this.jwtClientAssertionCustomizer = jwtClientAssertionCustomizer;
 	}
 
+	/**
+	 * Sets the period of time during which a signed JSON Web Token (JWS) is reused for
+	 * subsequent requests of the same {@link ClientRegistration client}, instead of
+	 * signing a new one for every request. Reuse is disabled by default.
+	 *
+	 * <p>
+	 * Since the {@code jti} claim of a JWS must not be reused, a JWS is only reused when
+	 * the {@link #setJwtClientAssertionCustomizer(Consumer) customizer} removes its
+	 * {@code jti} claim, which should only be done for Authorization Servers that do not
+	 * require it:
+	 *
+	 * <pre>
+	 * converter.setJwtClientAssertionCustomizer((context) -&gt; context.getClaims()
+	 *     .claims((claims) -&gt; claims.remove(JwtClaimNames.JTI)));
+	 * </pre>
+	 *
+	 * <p>
+	 * The customizer is applied for every request, and a JWS is only reused when the key
+	 * of the client and the customized headers and claims, except {@code iat},
+	 * {@code exp} and {@code nbf}, are unchanged. A JWS is never reused beyond its expiry.
+	 * @param clientAssertionReuseTimeToLive the period of time during which a JWS is
+	 * reused, or {@code null} to sign a new JWS for every request
+	 * @since 7.0
+	 */
+	public void setClientAssertionReuseTimeToLive(Duration clientAssertionReuseTimeToLive) {
+		Assert.isTrue(clientAssertionReuseTimeToLive == null
+				|| (!clientAssertionReuseTimeToLive.isNegative() && !clientAssertionReuseTimeToLive.isZero()),
+				"clientAssertionReuseTimeToLive must be greater than zero");
+		this.clientAssertionReuseTimeToLive = clientAssertionReuseTimeToLive;
+		this.clientAssertions.clear();
+	}
+
+	/**
+	 * Sets the {@link Clock} used for the {@code iat} and {@code exp} claims of the JSON
+	 * Web Token (JWS).
+	 * @param clock the clock
+	 * @since 7.0
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+		this.clientAssertions.setClock(clock);
+	}
+
 	private static final class JwsEncoderHolder {
 
 		private final JwtEncoder jwsEncoder;
@@ -234,6 +326,11 @@ public final class NimbusJwtClientAuthenticationParametersConverter<T extends Ab
 
 	}
 
+	private record ClientAssertionKey(String registrationId, JWK jwk, Map<String, Object> headers,
+			Map<String, Object> claims) {
+
+	}
+
 	/**
 	 * A context that holds client authentication-specific state and is used by
 	 * {@link NimbusJwtClientAuthenticationParametersConverter} when attempting to
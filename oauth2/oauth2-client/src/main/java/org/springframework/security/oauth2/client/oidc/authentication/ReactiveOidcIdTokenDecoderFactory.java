@@ -18,16 +18,18 @@ package org.springframework.security.oauth2.client.oidc.authentication;
 
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import javax.crypto.spec.SecretKeySpec;
 
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
@@ -47,14 +49,23 @@ import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
 import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoderFactory;
+import org.springframework.security.util.ExpiringLruCache;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
 
 /**
  * A {@link ReactiveJwtDecoderFactory factory} that provides a {@link ReactiveJwtDecoder}
  * used for {@link OidcIdToken} signature verification. The provided
  * {@link ReactiveJwtDecoder} is associated to a specific {@link ClientRegistration}.
  *
+ * <p>
+ * Decoders that verify signatures with the keys of a JWK Set URI share a single cached
+ * JWK Set per URI, so that clients of the same issuer fetch the JWK Set once. The cached
+ * JWK Set is refreshed ahead of its expiry, and refreshes triggered by an unknown key ID
+ * are rate limited. Decoders of client registrations that are removed can be evicted
+ * with {@link #evict(String)}.
+ *
  * @author Joe Grandja
  * @author Rafael Dominguez
  * @author Mark Heckler
@@ -80,7 +91,15 @@ public final class ReactiveOidcIdTokenDecoderFactory implements ReactiveJwtDecod
 	private static final ClaimTypeConverter DEFAULT_CLAIM_TYPE_CONVERTER = new ClaimTypeConverter(
 			createDefaultClaimTypeConverters());
 
-	private final Map<String, ReactiveJwtDecoder> jwtDecoders = new ConcurrentHashMap<>();
+	private static final int MAX_SIZE = 1024;
+
+	private final ExpiringLruCache<String, ReactiveJwtDecoder> jwtDecoders = new ExpiringLruCache<>(MAX_SIZE);
+
+	private final ExpiringLruCache<String, ReactiveSharedJwkSource> jwkSources = new ExpiringLruCache<>(MAX_SIZE);
+
+	private Duration jwkSetCacheTimeToLive = Duration.ofMillis(JWKSourceBuilder.DEFAULT_CACHE_TIME_TO_LIVE);
+
+	private WebClient webClient = WebClient.create();
 
 	private Function<ClientRegistration, OAuth2TokenValidator<Jwt>> jwtValidatorFactory = new DefaultOidcIdTokenValidatorFactory();
 
@@ -164,8 +183,8 @@ public final class ReactiveOidcIdTokenDecoderFactory implements ReactiveJwtDecod
 						null);
 				throw new OAuth2AuthenticationException(oauth2Error, oauth2Error.toString());
 			}
-			return NimbusReactiveJwtDecoder.withJwkSetUri(jwkSetUri)
-				.jwsAlgorithm((SignatureAlgorithm) jwsAlgorithm)
+			return NimbusReactiveJwtDecoder.withJwkSource(getJwkSource(jwkSetUri))
+				.jwsAlgorithm(jwsAlgorithm)
 				.build();
 		}
 		if (jwsAlgorithm != null && MacAlgorithm.class.isAssignableFrom(jwsAlgorithm.getClass())) {
@@ -203,6 +222,24 @@ public final class ReactiveOidcIdTokenDecoderFactory implements ReactiveJwtDecod
 		throw new OAuth2AuthenticationException(oauth2Error, oauth2Error.toString());
 	}
 
+	private ReactiveSharedJwkSource getJwkSource(String jwkSetUri) {
+		return this.jwkSources.computeIfAbsent(jwkSetUri,
+				(key) -> new ReactiveSharedJwkSource(key, this.jwkSetCacheTimeToLive, this.webClient));
+	}
+
+	/**
+	 * Evicts the {@link ReactiveJwtDecoder} associated to the provided {@link ClientRegistration
+	 * client}, for example when the client registration is removed. The shared JWK Set of
+	 * its JWK Set URI is kept for the other client registrations that use it, and is
+	 * evicted once it is among the least recently used JWK Sets.
+	 * @param registrationId the registration identifier
+	 * @since 7.0
+	 */
+	public void evict(String registrationId) {
+		Assert.hasText(registrationId, "registrationId cannot be empty");
+		this.jwtDecoders.remove(registrationId);
+	}
+
 	/**
 	 * Sets the factory that provides an {@link OAuth2TokenValidator}, which is used by
 	 * the {@link ReactiveJwtDecoder}. The default composes {@link JwtTimestampValidator}
@@ -242,4 +279,30 @@ public final class ReactiveOidcIdTokenDecoderFactory implements ReactiveJwtDecod
 		this.claimTypeConverterFactory = claimTypeConverterFactory;
 	}
 
+	/**
+	 * Sets the time-to-live of the JWK Set that is shared by the decoders of the same JWK
+	 * Set URI. The JWK Set is refreshed ahead of its expiry. The default is 5 minutes.
+	 * This applies to JWK Sets that are first used after this method is called.
+	 * @param jwkSetCacheTimeToLive the time-to-live of the cached JWK Set
+	 * @since 7.0
+	 */
+	public void setJwkSetCacheTimeToLive(Duration jwkSetCacheTimeToLive) {
+		Assert.notNull(jwkSetCacheTimeToLive, "jwkSetCacheTimeToLive cannot be null");
+		Assert.isTrue(!jwkSetCacheTimeToLive.isNegative() && !jwkSetCacheTimeToLive.isZero(),
+				"jwkSetCacheTimeToLive must be greater than zero");
+		this.jwkSetCacheTimeToLive = jwkSetCacheTimeToLive;
+	}
+
+	/**
+	 * Sets the {@link WebClient} used to fetch the JWK Sets. The default is
+	 * {@link WebClient#create()}. This applies to JWK Sets that are first used after this
+	 * method is called.
+	 * @param webClient the {@link WebClient} used to fetch the JWK Sets
+	 * @since 7.0
+	 */
+	public void setWebClient(WebClient webClient) {
+		Assert.notNull(webClient, "webClient cannot be null");
+		this.webClient = webClient;
+	}
+
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.oidc.authentication;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import com.nimbusds.jose.RemoteKeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jwt.SignedJWT;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * A non-blocking JWK source for a JWK Set URI that is shared by all the ID Token decoders
+ * created by {@link ReactiveOidcIdTokenDecoderFactory} for that URI, so that clients of
+ * the same issuer fetch and cache the JWK Set once.
+ *
+ * <p>
+ * It follows the defaults of {@link JWKSourceBuilder}, which is used by
+ * {@link OidcIdTokenDecoderFactory}: the JWK Set is cached for the configured
+ * time-to-live and refreshed in the background ahead of its expiry, concurrent fetches
+ * are coalesced into a single request, a failed fetch is retried once, the expired JWK
+ * Set keeps being used during an outage of the JWK Set URI for another time-to-live,
+ * and refreshes triggered by an unknown key ID are rate limited.
+ *
+ * @since 7.0
+ * @see ReactiveOidcIdTokenDecoderFactory
+ */
+final class ReactiveSharedJwkSource implements Function<SignedJWT, Flux<JWK>> {
+
+	private static final MediaType APPLICATION_JWK_SET_JSON = new MediaType("application", "jwk-set+json");
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final AtomicReference<Mono<CachedJwkSet>> inFlight = new AtomicReference<>();
+
+	private final Clock clock = Clock.systemUTC();
+
+	private final String jwkSetUri;
+
+	private final Duration timeToLive;
+
+	private final Duration refreshAheadTime;
+
+	private final Duration rateLimitMinInterval;
+
+	private final WebClient webClient;
+
+	private volatile CachedJwkSet cached;
+
+	ReactiveSharedJwkSource(String jwkSetUri, Duration timeToLive, WebClient webClient) {
+		this.jwkSetUri = jwkSetUri;
+		this.timeToLive = timeToLive;
+		// Keep the defaults of JWKSourceBuilder, unless they do not fit the time-to-live
+		this.refreshAheadTime = min(JWKSourceBuilder.DEFAULT_REFRESH_AHEAD_TIME, timeToLive.dividedBy(2));
+		this.rateLimitMinInterval = min(JWKSourceBuilder.DEFAULT_RATE_LIMIT_MIN_INTERVAL, timeToLive.dividedBy(2));
+		this.webClient = webClient;
+	}
+
+	@Override
+	public Flux<JWK> apply(SignedJWT jwt) {
+		JWKSelector jwkSelector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+		// @formatter:off
+		return getJwkSet()
+				.flatMap((cached) -> {
+					List<JWK> matches = jwkSelector.select(cached.jwkSet);
+					if (matches.isEmpty() && isUnknownKeyId(jwkSelector, cached.jwkSet)) {
+						return refreshForUnknownKeyId(cached).map((refreshed) -> jwkSelector.select(refreshed.jwkSet));
+					}
+					return Mono.just(matches);
+				})
+				.flatMapMany(Flux::fromIterable);
+		// @formatter:on
+	}
+
+	private Mono<CachedJwkSet> getJwkSet() {
+		return Mono.defer(() -> {
+			CachedJwkSet cached = this.cached;
+			Instant now = this.clock.instant();
+			if (cached == null) {
+				return refresh(null);
+			}
+			if (cached.isExpired(now)) {
+				return refresh(cached).onErrorResume((ex) -> cached.isUsableDuringOutage(now), (ex) -> {
+					this.logger.debug("Failed to refresh the expired JWK Set, using the expired JWK Set", ex);
+					return Mono.just(cached);
+				});
+			}
+			if (cached.isRefreshDue(now) && this.inFlight.get() == null) {
+				// @formatter:off
+				refresh(cached).subscribe(
+						(refreshed) -> {
+						},
+						(ex) -> this.logger.debug(
+								"Failed to refresh the JWK Set ahead of expiry, using the cached JWK Set", ex));
+				// @formatter:on
+			}
+			return Mono.just(cached);
+		});
+	}
+
+	private Mono<CachedJwkSet> refreshForUnknownKeyId(CachedJwkSet cached) {
+		if (cached.fetchedAt.plus(this.rateLimitMinInterval).isAfter(this.clock.instant())) {
+			return Mono.just(cached);
+		}
+		return refresh(cached);
+	}
+
+	/**
+	 * Fetches the JWK Set, unless another caller has already replaced the provided
+	 * (stale) JWK Set in the meantime. Callers that refresh while a fetch is in flight
+	 * share its result.
+	 */
+	private Mono<CachedJwkSet> refresh(CachedJwkSet stale) {
+		CachedJwkSet cached = this.cached;
+		if (cached != stale) {
+			return Mono.just(cached);
+		}
+		Mono<CachedJwkSet> inFlight = this.inFlight.get();
+		if (inFlight != null) {
+			return inFlight;
+		}
+		// @formatter:off
+		Mono<CachedJwkSet> fetch = fetch()
+				.retry(1)
+				.doOnNext((fetched) -> this.cached = fetched)
+				.doFinally((signalType) -> this.inFlight.set(null))
+				.cache();
+		// @formatter:on
+		return this.inFlight.compareAndSet(null, fetch) ? fetch : refresh(stale);
+	}
+
+	private Mono<CachedJwkSet> fetch() {
+		// @formatter:off
+		return this.webClient.get()
+				.uri(this.jwkSetUri)
+				.accept(MediaType.APPLICATION_JSON, APPLICATION_JWK_SET_JSON)
+				.retrieve()
+				.bodyToMono(String.class)
+				.flatMap(this::parse)
+				.onErrorMap((ex) -> !(ex instanceof RemoteKeySourceException), this::fetchFailed);
+		// @formatter:on
+	}
+
+	private RemoteKeySourceException fetchFailed(Throwable ex) {
+		return new RemoteKeySourceException("Failed to fetch the JWK Set from " + this.jwkSetUri, ex);
+	}
+
+	private Mono<CachedJwkSet> parse(String body) {
+		try {
+			return Mono.just(new CachedJwkSet(JWKSet.parse(body), this.clock.instant(), this.timeToLive,
+					this.refreshAheadTime));
+		}
+		catch (ParseException ex) {
+			return Mono.error(new RemoteKeySourceException("Failed to parse the JWK Set from " + this.jwkSetUri, ex));
+		}
+	}
+
+	private static boolean isUnknownKeyId(JWKSelector jwkSelector, JWKSet jwkSet) {
+		Set<String> keyIds = jwkSelector.getMatcher().getKeyIDs();
+		if (keyIds == null) {
+			return false;
+		}
+		for (String keyId : keyIds) {
+			if (keyId != null && jwkSet.getKeyByKeyId(keyId) == null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Duration min(long millis, Duration duration) {
+		Duration other = Duration.ofMillis(millis);
+		return (other.compareTo(duration) < 0) ? other : duration;
+	}
+
+	private static final class CachedJwkSet {
+
+		private final JWKSet jwkSet;
+
+		private final Instant fetchedAt;
+
+		private final Instant refreshAt;
+
+		private final Instant expiresAt;
+
+		private final Instant outageExpiresAt;
+
+		private CachedJwkSet(JWKSet jwkSet, Instant fetchedAt, Duration timeToLive, Duration refreshAheadTime) {
+			this.jwkSet = jwkSet;
+			this.fetchedAt = fetchedAt;
+			this.expiresAt = fetchedAt.plus(timeToLive);
+			this.refreshAt = this.expiresAt.minus(refreshAheadTime);
+			this.outageExpiresAt = this.expiresAt.plus(timeToLive);
+		}
+
+		private boolean isRefreshDue(Instant now) {
+			return !this.refreshAt.isAfter(now);
+		}
+
+		private boolean isExpired(Instant now) {
+			return !this.expiresAt.isAfter(now);
+		}
+
+		private boolean isUsableDuringOutage(Instant now) {
+			return this.outageExpiresAt.isAfter(now);
+		}
+
+	}
+
+}
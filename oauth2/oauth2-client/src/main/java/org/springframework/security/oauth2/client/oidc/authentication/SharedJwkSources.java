@@ -0,0 +1,117 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.oidc.authentication;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Arrays;
+
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestOperations;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Creates the {@link JWKSource} of a JWK Set URI that is shared by all the ID Token
+ * decoders created by {@link OidcIdTokenDecoderFactory} for that URI, so that clients of
+ * the same issuer fetch and cache the JWK Set once.
+ *
+ * <p>
+ * The {@link JWKSource} is built with {@link JWKSourceBuilder}: the JWK Set is cached
+ * for the configured time-to-live and refreshed ahead of its expiry, failed fetches are
+ * retried once, the cached JWK Set keeps being used during an outage of the JWK Set URI,
+ * and refreshes, including those triggered by an unknown key ID, are rate limited.
+ *
+ * @since 7.0
+ * @see OidcIdTokenDecoderFactory
+ * @see ReactiveSharedJwkSource
+ */
+final class SharedJwkSources {
+
+	private static final MediaType APPLICATION_JWK_SET_JSON = new MediaType("application", "jwk-set+json");
+
+	private SharedJwkSources() {
+	}
+
+	static JWKSource<SecurityContext> create(String jwkSetUri, Duration timeToLive,
+			ResourceRetriever resourceRetriever) {
+		long timeToLiveMillis = timeToLive.toMillis();
+		// Keep the defaults of JWKSourceBuilder, unless they do not fit the time-to-live
+		long refreshAheadTime = Math.min(JWKSourceBuilder.DEFAULT_REFRESH_AHEAD_TIME, timeToLiveMillis / 2);
+		long cacheRefreshTimeout = Math.min(JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT, timeToLiveMillis / 4);
+		long rateLimitMinInterval = Math.min(JWKSourceBuilder.DEFAULT_RATE_LIMIT_MIN_INTERVAL, timeToLiveMillis / 2);
+		// @formatter:off
+		return JWKSourceBuilder.<SecurityContext>create(toUrl(jwkSetUri), resourceRetriever)
+				.cache(timeToLiveMillis, cacheRefreshTimeout)
+				.refreshAheadCache(refreshAheadTime, false)
+				.rateLimited(rateLimitMinInterval)
+				.retrying(true)
+				.outageTolerant(true)
+				.build();
+		// @formatter:on
+	}
+
+	static RestOperations createRestOperations() {
+		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		requestFactory.setConnectTimeout(JWKSourceBuilder.DEFAULT_HTTP_CONNECT_TIMEOUT);
+		requestFactory.setReadTimeout(JWKSourceBuilder.DEFAULT_HTTP_READ_TIMEOUT);
+		return new RestTemplate(requestFactory);
+	}
+
+	static ResourceRetriever resourceRetriever(RestOperations restOperations) {
+		return (url) -> {
+			try {
+				HttpHeaders headers = new HttpHeaders();
+				headers.setAccept(Arrays.asList(MediaType.APPLICATION_JSON, APPLICATION_JWK_SET_JSON));
+				RequestEntity<Void> request = new RequestEntity<>(headers, HttpMethod.GET, url.toURI());
+				return toResource(restOperations.exchange(request, String.class));
+			}
+			catch (URISyntaxException | RuntimeException ex) {
+				throw new IOException("Failed to fetch the JWK Set from " + url, ex);
+			}
+		};
+	}
+
+	private static Resource toResource(ResponseEntity<String> response) {
+		MediaType contentType = response.getHeaders().getContentType();
+		return new Resource(response.getBody(), (contentType != null) ? contentType.toString() : null);
+	}
+
+	private static URL toUrl(String jwkSetUri) {
+		try {
+			return URI.create(jwkSetUri).toURL();
+		}
+		catch (IllegalArgumentException | MalformedURLException ex) {
+			throw new IllegalArgumentException("Invalid JWK Set URI " + jwkSetUri, ex);
+		}
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.security.oauth2.client.oidc.server.session;
 
+import java.time.Duration;
+
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -50,4 +52,27 @@ public final class InMemoryReactiveOidcSessionRegistry implements ReactiveOidcSe
 		return Flux.fromIterable(this.delegate.removeSessionInformation(token));
 	}
 
+	/**
+	 * Returns the number of sessions currently held by this registry, including expired
+	 * sessions that have not been evicted yet.
+	 * @return the number of registered sessions
+	 * @since 7.0
+	 * @see InMemoryOidcSessionRegistry#getSessionCount()
+	 */
+	public int getSessionCount() {
+		return this.delegate.getSessionCount();
+	}
+
+	/**
+	 * Sets the maximum amount of time a session is kept after it is saved. The default is
+	 * {@code null}, meaning that sessions are only removed explicitly.
+	 * @param sessionTimeToLive the session time-to-live, or {@code null} to disable
+	 * eviction
+	 * @since 7.0
+	 * @see InMemoryOidcSessionRegistry#setSessionTimeToLive(Duration)
+	 */
+	public void setSessionTimeToLive(Duration sessionTimeToLive) {
+		this.delegate.setSessionTimeToLive(sessionTimeToLive);
+	}
+
 }
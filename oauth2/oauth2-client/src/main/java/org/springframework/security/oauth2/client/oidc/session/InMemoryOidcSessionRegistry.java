@@ -16,44 +16,79 @@
 
 package org.springframework.security.oauth2.client.oidc.session;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Predicate;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.security.oauth2.client.oidc.authentication.logout.LogoutTokenClaimNames;
 import org.springframework.security.oauth2.client.oidc.authentication.logout.OidcLogoutToken;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.util.Assert;
 
 /**
  * An in-memory implementation of {@link OidcSessionRegistry}
  *
+ * <p>
+ * Sessions are indexed by issuer and provider session id ({@code sid}) and by issuer and
+ * subject, so that a logout token only visits the sessions it may match. When a
+ * {@link #setSessionTimeToLive(Duration) session time-to-live} is configured, sessions
+ * that were not removed by the time they expire are evicted.
+ *
  * @author Josh Cummings
  * @since 6.2
  */
 public final class InMemoryOidcSessionRegistry implements OidcSessionRegistry {
 
+	private static final Duration EVICTION_INTERVAL = Duration.ofMinutes(1);
+
 	private final Log logger = LogFactory.getLog(InMemoryOidcSessionRegistry.class);
 
-	private final Map<String, OidcSessionInformation> sessions = new ConcurrentHashMap<>();
+	private final Map<String, RegisteredSession> sessions = new ConcurrentHashMap<>();
+
+	private final Map<List<String>, Set<String>> sessionIdsByProviderSessionId = new ConcurrentHashMap<>();
+
+	private final Map<List<String>, Set<String>> sessionIdsBySubject = new ConcurrentHashMap<>();
+
+	private Duration sessionTimeToLive;
+
+	private Clock clock = Clock.systemUTC();
+
+	private volatile Instant nextEvictionAt = Instant.MIN;
 
 	@Override
 	public void saveSessionInformation(OidcSessionInformation info) {
-		this.sessions.put(info.getSessionId(), info);
+		Instant now = this.clock.instant();
+		Instant expiresAt = (this.sessionTimeToLive != null) ? now.plus(this.sessionTimeToLive) : null;
+		RegisteredSession session = new RegisteredSession(info, expiresAt);
+		// Indexed before it is registered, so that a concurrent logout cannot miss it
+		index(session);
+		RegisteredSession previous = this.sessions.put(info.getSessionId(), session);
+		if (previous != null) {
+			unindex(previous, session);
+		}
+		if (expiresAt != null) {
+			evictExpiredSessions(now);
+		}
 	}
 
 	@Override
 	public OidcSessionInformation removeSessionInformation(String clientSessionId) {
-		OidcSessionInformation information = this.sessions.remove(clientSessionId);
-		if (information != null) {
-			this.logger.trace("Removed client session");
+		RegisteredSession session = this.sessions.remove(clientSessionId);
+		if (session == null) {
+			return null;
 		}
-		return information;
+		unindex(session);
+		this.logger.trace("Removed client session");
+		return session.isExpired(this.clock.instant()) ? null : session.information;
 	}
 
 	@Override
@@ -62,62 +97,182 @@ public final class InMemoryOidcSessionRegistry implements OidcSessionRegistry {
 		String issuer = token.getIssuer().toString();
 		String subject = token.getSubject();
 		String providerSessionId = token.getSessionId();
-		Predicate<OidcSessionInformation> matcher = (providerSessionId != null)
-				? sessionIdMatcher(audience, issuer, providerSessionId) : subjectMatcher(audience, issuer, subject);
-		if (this.logger.isTraceEnabled()) {
-			String message = "Looking up sessions by issuer [%s] and %s [%s]";
-			if (providerSessionId != null) {
-				this.logger.trace(String.format(message, issuer, LogoutTokenClaimNames.SID, providerSessionId));
+		Set<String> sessionIds;
+		if (providerSessionId != null) {
+			if (this.logger.isTraceEnabled()) {
+				this.logger.trace(String.format("Looking up sessions by issuer [%s] and %s [%s]", issuer,
+						LogoutTokenClaimNames.SID, providerSessionId));
 			}
-			else {
-				this.logger.trace(String.format(message, issuer, LogoutTokenClaimNames.SUB, subject));
+			sessionIds = this.sessionIdsByProviderSessionId.get(List.of(issuer, providerSessionId));
+		}
+		else {
+			if (this.logger.isTraceEnabled()) {
+				this.logger.trace(String.format("Looking up sessions by issuer [%s] and %s [%s]", issuer,
+						LogoutTokenClaimNames.SUB, subject));
 			}
+			sessionIds = this.sessionIdsBySubject.get(List.of(issuer, subject));
 		}
-		int size = this.sessions.size();
-		Set<OidcSessionInformation> infos = new HashSet<>();
-		this.sessions.values().removeIf((info) -> {
-			boolean result = matcher.test(info);
-			if (result) {
-				infos.add(info);
+		if (sessionIds == null) {
+			this.logger.debug("Failed to remove any sessions since none matched");
+			return Collections.emptyList();
+		}
+		Instant now = this.clock.instant();
+		List<OidcSessionInformation> infos = new ArrayList<>();
+		for (String sessionId : new ArrayList<>(sessionIds)) {
+			RegisteredSession session = this.sessions.get(sessionId);
+			if (session == null || !matches(session.information, audience, issuer, providerSessionId, subject)) {
+				continue;
 			}
-			return result;
-		});
+			if (this.sessions.remove(sessionId, session)) {
+				unindex(session);
+				if (!session.isExpired(now)) {
+					infos.add(session.information);
+				}
+			}
+		}
 		if (infos.isEmpty()) {
 			this.logger.debug("Failed to remove any sessions since none matched");
 		}
 		else if (this.logger.isTraceEnabled()) {
 			String message = "Found and removed %d session(s) from mapping of %d session(s)";
-			this.logger.trace(String.format(message, infos.size(), size));
+			this.logger.trace(String.format(message, infos.size(), this.sessions.size() + infos.size()));
 		}
 		return infos;
 	}
 
-	private static Predicate<OidcSessionInformation> sessionIdMatcher(List<String> audience, String issuer,
-			String sessionId) {
-		return (session) -> {
-			List<String> thatAudience = session.getPrincipal().getAudience();
-			String thatIssuer = session.getPrincipal().getIssuer().toString();
-			String thatSessionId = session.getPrincipal().getClaimAsString(LogoutTokenClaimNames.SID);
-			if (thatAudience == null) {
-				return false;
-			}
-			return !Collections.disjoint(audience, thatAudience) && issuer.equals(thatIssuer)
-					&& sessionId.equals(thatSessionId);
-		};
+	/**
+	 * Returns the number of sessions currently held by this registry, including expired
+	 * sessions that have not been evicted yet. This is intended to be exposed as a
+	 * metric, for example as a gauge.
+	 * @return the number of registered sessions
+	 * @since 7.0
+	 */
+	public int getSessionCount() {
+		return this.sessions.size();
+	}
+
+	/**
+	 * Sets the maximum amount of time a session is kept after it is saved. Expired
+	 * sessions are no longer returned and are evicted periodically as new sessions are
+	 * saved. The time-to-live should be at least the maximum lifetime of a client session,
+	 * since a back-channel logout cannot reach a session once it is evicted. The default
+	 * is {@code null}, meaning that sessions are only removed explicitly.
+	 * @param sessionTimeToLive the session time-to-live, or {@code null} to disable
+	 * eviction
+	 * @since 7.0
+	 */
+	public void setSessionTimeToLive(Duration sessionTimeToLive) {
+		Assert.isTrue(sessionTimeToLive == null || (!sessionTimeToLive.isNegative() && !sessionTimeToLive.isZero()),
+				"sessionTimeToLive must be greater than zero");
+		this.sessionTimeToLive = sessionTimeToLive;
 	}
 
-	private static Predicate<OidcSessionInformation> subjectMatcher(List<String> audience, String issuer,
-			String subject) {
-		return (session) -> {
-			List<String> thatAudience = session.getPrincipal().getAudience();
-			String thatIssuer = session.getPrincipal().getIssuer().toString();
-			String thatSubject = session.getPrincipal().getSubject();
-			if (thatAudience == null) {
-				return false;
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private void evictExpiredSessions(Instant now) {
+		if (now.isBefore(this.nextEvictionAt)) {
+			return;
+		}
+		this.nextEvictionAt = now.plus(EVICTION_INTERVAL);
+		int evicted = 0;
+		for (Map.Entry<String, RegisteredSession> entry : this.sessions.entrySet()) {
+			RegisteredSession session = entry.getValue();
+			if (session.isExpired(now) && this.sessions.remove(entry.getKey(), session)) {
+				unindex(session);
+				evicted++;
 			}
-			return !Collections.disjoint(audience, thatAudience) && issuer.equals(thatIssuer)
-					&& subject.equals(thatSubject);
-		};
+		}
+		if (evicted > 0 && this.logger.isTraceEnabled()) {
+			this.logger.trace(String.format("Evicted %d expired session(s)", evicted));
+		}
+	}
+
+	private void index(RegisteredSession session) {
+		String sessionId = session.information.getSessionId();
+		if (session.providerSessionKey != null) {
+			this.sessionIdsByProviderSessionId.computeIfAbsent(session.providerSessionKey,
+					(key) -> ConcurrentHashMap.newKeySet())
+				.add(sessionId);
+		}
+		if (session.subjectKey != null) {
+			this.sessionIdsBySubject.computeIfAbsent(session.subjectKey, (key) -> ConcurrentHashMap.newKeySet())
+				.add(sessionId);
+		}
+	}
+
+	private void unindex(RegisteredSession session) {
+		String sessionId = session.information.getSessionId();
+		if (session.providerSessionKey != null) {
+			unindex(this.sessionIdsByProviderSessionId, session.providerSessionKey, sessionId);
+		}
+		if (session.subjectKey != null) {
+			unindex(this.sessionIdsBySubject, session.subjectKey, sessionId);
+		}
+	}
+
+	private void unindex(RegisteredSession session, RegisteredSession replacement) {
+		String sessionId = session.information.getSessionId();
+		if (session.providerSessionKey != null
+				&& !session.providerSessionKey.equals(replacement.providerSessionKey)) {
+			unindex(this.sessionIdsByProviderSessionId, session.providerSessionKey, sessionId);
+		}
+		if (session.subjectKey != null && !session.subjectKey.equals(replacement.subjectKey)) {
+			unindex(this.sessionIdsBySubject, session.subjectKey, sessionId);
+		}
+	}
+
+	private static void unindex(Map<List<String>, Set<String>> index, List<String> key, String sessionId) {
+		index.computeIfPresent(key, (k, sessionIds) -> {
+			sessionIds.remove(sessionId);
+			return sessionIds.isEmpty() ? null : sessionIds;
+		});
+	}
+
+	private static boolean matches(OidcSessionInformation session, List<String> audience, String issuer,
+			String providerSessionId, String subject) {
+		OidcUser principal = session.getPrincipal();
+		List<String> thatAudience = principal.getAudience();
+		if (thatAudience == null || Collections.disjoint(audience, thatAudience)) {
+			return false;
+		}
+		if (!issuer.equals(String.valueOf(principal.getIssuer()))) {
+			return false;
+		}
+		if (providerSessionId != null) {
+			return providerSessionId.equals(principal.getClaimAsString(LogoutTokenClaimNames.SID));
+		}
+		return subject.equals(principal.getSubject());
+	}
+
+	private static final class RegisteredSession {
+
+		private final OidcSessionInformation information;
+
+		private final Instant expiresAt;
+
+		private final List<String> providerSessionKey;
+
+		private final List<String> subjectKey;
+
+		private RegisteredSession(OidcSessionInformation information, Instant expiresAt) {
+			this.information = information;
+			this.expiresAt = expiresAt;
+			OidcUser principal = information.getPrincipal();
+			String issuer = (principal.getIssuer() != null) ? principal.getIssuer().toString() : null;
+			String providerSessionId = principal.getClaimAsString(LogoutTokenClaimNames.SID);
+			String subject = principal.getSubject();
+			this.providerSessionKey = (issuer != null && providerSessionId != null)
+					? List.of(issuer, providerSessionId) : null;
+			this.subjectKey = (issuer != null && subject != null) ? List.of(issuer, subject) : null;
+		}
+
+		private boolean isExpired(Instant now) {
+			return this.expiresAt != null && !now.isBefore(this.expiresAt);
+		}
+
 	}
 
 }
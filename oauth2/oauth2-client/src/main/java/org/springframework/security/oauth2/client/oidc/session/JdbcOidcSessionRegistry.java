@@ -0,0 +1,273 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.oidc.session;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.security.oauth2.client.oidc.authentication.logout.LogoutTokenClaimNames;
+import org.springframework.security.oauth2.client.oidc.authentication.logout.OidcLogoutToken;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.util.Assert;
+import org.springframework.util.function.ThrowingFunction;
+
+/**
+ * A JDBC implementation of {@link OidcSessionRegistry} that uses a {@link JdbcOperations}
+ * for {@link OidcSessionInformation} persistence, so that a back-channel logout received
+ * by one instance of the application can reach sessions established through another.
+ *
+ * <p>
+ * <b>NOTE:</b> This {@code OidcSessionRegistry} depends on the table definition described
+ * in "classpath:org/springframework/security/oauth2/client/oidc-session-schema.sql" and
+ * therefore MUST be defined in the database schema. The {@link OidcSessionInformation}
+ * is stored using Java serialization.
+ *
+ * @since 7.0
+ * @see OidcSessionRegistry
+ * @see InMemoryOidcSessionRegistry
+ */
+public final class JdbcOidcSessionRegistry implements OidcSessionRegistry {
+
+	private static final Duration EVICTION_INTERVAL = Duration.ofMinutes(1);
+
+	// @formatter:off
+	private static final String COLUMN_NAMES = "client_session_id, "
+			+ "issuer, "
+			+ "provider_session_id, "
+			+ "subject, "
+			+ "expires_at, "
+			+ "session_information";
+	// @formatter:on
+
+	private static final String TABLE_NAME = "oidc_session";
+
+	private static final String UNEXPIRED_FILTER = "(expires_at IS NULL OR expires_at > ?)";
+
+	// @formatter:off
+	private static final String LOAD_SESSION_SQL = "SELECT " + COLUMN_NAMES
+			+ " FROM " + TABLE_NAME
+			+ " WHERE client_session_id = ? AND " + UNEXPIRED_FILTER;
+	// @formatter:on
+
+	// @formatter:off
+	private static final String LOAD_SESSIONS_BY_PROVIDER_SESSION_ID_SQL = "SELECT " + COLUMN_NAMES
+			+ " FROM " + TABLE_NAME
+			+ " WHERE issuer = ? AND provider_session_id = ? AND " + UNEXPIRED_FILTER;
+	// @formatter:on
+
+	// @formatter:off
+	private static final String LOAD_SESSIONS_BY_SUBJECT_SQL = "SELECT " + COLUMN_NAMES
+			+ " FROM " + TABLE_NAME
+			+ " WHERE issuer = ? AND subject = ? AND " + UNEXPIRED_FILTER;
+	// @formatter:on
+
+	// @formatter:off
+	private static final String SAVE_SESSION_SQL = "INSERT INTO " + TABLE_NAME
+			+ " (" + COLUMN_NAMES + ") VALUES (?, ?, ?, ?, ?, ?)";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String UPDATE_SESSION_SQL = "UPDATE " + TABLE_NAME
+			+ " SET issuer = ?, provider_session_id = ?, subject = ?, expires_at = ?, session_information = ?"
+			+ " WHERE client_session_id = ?";
+	// @formatter:on
+
+	private static final String REMOVE_SESSION_SQL = "DELETE FROM " + TABLE_NAME + " WHERE client_session_id = ?";
+
+	private static final String REMOVE_EXPIRED_SESSIONS_SQL = "DELETE FROM " + TABLE_NAME + " WHERE expires_at <= ?";
+
+	private final Log logger = LogFactory.getLog(JdbcOidcSessionRegistry.class);
+
+	private final JdbcOperations jdbcOperations;
+
+	private final RowMapper<OidcSessionInformation> sessionRowMapper = new OidcSessionInformationRowMapper();
+
+	private final Serializer<Object> serializer = new DefaultSerializer();
+
+	private Duration sessionTimeToLive;
+
+	private Clock clock = Clock.systemUTC();
+
+	private volatile Instant nextEvictionAt = Instant.MIN;
+
+	/**
+	 * Constructs a {@code JdbcOidcSessionRegistry} using the provided parameters.
+	 * @param jdbcOperations the JDBC operations
+	 */
+	public JdbcOidcSessionRegistry(JdbcOperations jdbcOperations) {
+		Assert.notNull(jdbcOperations, "jdbcOperations cannot be null");
+		this.jdbcOperations = jdbcOperations;
+	}
+
+	@Override
+	public void saveSessionInformation(OidcSessionInformation info) {
+		Assert.notNull(info, "info cannot be null");
+		OidcUser principal = info.getPrincipal();
+		Assert.notNull(principal.getIssuer(), "info.principal.issuer cannot be null");
+		Assert.hasText(principal.getSubject(), "info.principal.subject cannot be empty");
+		Instant now = this.clock.instant();
+		Instant expiresAt = (this.sessionTimeToLive != null) ? now.plus(this.sessionTimeToLive) : null;
+		ThrowingFunction<Object, byte[]> serialize = this.serializer::serializeToByteArray;
+		SqlParameterValue sessionId = new SqlParameterValue(Types.VARCHAR, info.getSessionId());
+		SqlParameterValue issuer = new SqlParameterValue(Types.VARCHAR, principal.getIssuer().toString());
+		SqlParameterValue providerSessionId = new SqlParameterValue(Types.VARCHAR,
+				principal.getClaimAsString(LogoutTokenClaimNames.SID));
+		SqlParameterValue subject = new SqlParameterValue(Types.VARCHAR, principal.getSubject());
+		SqlParameterValue expires = new SqlParameterValue(Types.TIMESTAMP,
+				(expiresAt != null) ? Timestamp.from(expiresAt) : null);
+		SqlParameterValue information = new SqlParameterValue(Types.BLOB, serialize.apply(info));
+		int rows = this.jdbcOperations.update(UPDATE_SESSION_SQL, issuer, providerSessionId, subject, expires,
+				information, sessionId);
+		if (rows == 0) {
+			try {
+				this.jdbcOperations.update(SAVE_SESSION_SQL, sessionId, issuer, providerSessionId, subject, expires,
+						information);
+			}
+			catch (DuplicateKeyException ex) {
+				// Inserted concurrently since the update
+				this.jdbcOperations.update(UPDATE_SESSION_SQL, issuer, providerSessionId, subject, expires,
+						information, sessionId);
+			}
+		}
+		if (expiresAt != null) {
+			removeExpiredSessions(now);
+		}
+	}
+
+	@Override
+	public OidcSessionInformation removeSessionInformation(String clientSessionId) {
+		Assert.notNull(clientSessionId, "clientSessionId cannot be null");
+		List<OidcSessionInformation> result = this.jdbcOperations.query(LOAD_SESSION_SQL, this.sessionRowMapper,
+				new SqlParameterValue(Types.VARCHAR, clientSessionId), now());
+		int rows = this.jdbcOperations.update(REMOVE_SESSION_SQL,
+				new SqlParameterValue(Types.VARCHAR, clientSessionId));
+		if (result.isEmpty() || rows == 0) {
+			return null;
+		}
+		this.logger.trace("Removed client session");
+		return result.get(0);
+	}
+
+	@Override
+	public Iterable<OidcSessionInformation> removeSessionInformation(OidcLogoutToken token) {
+		Assert.notNull(token, "token cannot be null");
+		List<String> audience = token.getAudience();
+		String issuer = token.getIssuer().toString();
+		String providerSessionId = token.getSessionId();
+		String subject = token.getSubject();
+		List<OidcSessionInformation> candidates;
+		if (providerSessionId != null) {
+			candidates = this.jdbcOperations.query(LOAD_SESSIONS_BY_PROVIDER_SESSION_ID_SQL, this.sessionRowMapper,
+					new SqlParameterValue(Types.VARCHAR, issuer),
+					new SqlParameterValue(Types.VARCHAR, providerSessionId), now());
+		}
+		else {
+			candidates = this.jdbcOperations.query(LOAD_SESSIONS_BY_SUBJECT_SQL, this.sessionRowMapper,
+					new SqlParameterValue(Types.VARCHAR, issuer), new SqlParameterValue(Types.VARCHAR, subject), now());
+		}
+		List<OidcSessionInformation> infos = new ArrayList<>();
+		for (OidcSessionInformation candidate : candidates) {
+			List<String> thatAudience = candidate.getPrincipal().getAudience();
+			if (thatAudience == null || Collections.disjoint(audience, thatAudience)) {
+				continue;
+			}
+			if (this.jdbcOperations.update(REMOVE_SESSION_SQL,
+					new SqlParameterValue(Types.VARCHAR, candidate.getSessionId())) > 0) {
+				infos.add(candidate);
+			}
+		}
+		if (infos.isEmpty()) {
+			this.logger.debug("Failed to remove any sessions since none matched");
+		}
+		else if (this.logger.isTraceEnabled()) {
+			this.logger.trace(String.format("Found and removed %d session(s)", infos.size()));
+		}
+		return infos;
+	}
+
+	/**
+	 * Sets the maximum amount of time a session is kept after it is saved. Expired
+	 * sessions are no longer returned and are deleted periodically as new sessions are
+	 * saved. The time-to-live should be at least the maximum lifetime of a client session,
+	 * since a back-channel logout cannot reach a session once it is expired. The default
+	 * is {@code null}, meaning that sessions are only removed explicitly.
+	 * @param sessionTimeToLive the session time-to-live, or {@code null} to disable
+	 * expiration
+	 */
+	public void setSessionTimeToLive(Duration sessionTimeToLive) {
+		Assert.isTrue(sessionTimeToLive == null || (!sessionTimeToLive.isNegative() && !sessionTimeToLive.isZero()),
+				"sessionTimeToLive must be greater than zero");
+		this.sessionTimeToLive = sessionTimeToLive;
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private SqlParameterValue now() {
+		return new SqlParameterValue(Types.TIMESTAMP, Timestamp.from(this.clock.instant()));
+	}
+
+	private void removeExpiredSessions(Instant now) {
+		if (now.isBefore(this.nextEvictionAt)) {
+			return;
+		}
+		this.nextEvictionAt = now.plus(EVICTION_INTERVAL);
+		int rows = this.jdbcOperations.update(REMOVE_EXPIRED_SESSIONS_SQL,
+				new SqlParameterValue(Types.TIMESTAMP, Timestamp.from(now)));
+		if (rows > 0 && this.logger.isTraceEnabled()) {
+			this.logger.trace(String.format("Removed %d expired session(s)", rows));
+		}
+	}
+
+	/**
+	 * The {@link RowMapper} that maps the current row in {@code java.sql.ResultSet} to
+	 * {@link OidcSessionInformation}.
+	 */
+	private static final class OidcSessionInformationRowMapper implements RowMapper<OidcSessionInformation> {
+
+		private final Deserializer<Object> deserializer = new DefaultDeserializer();
+
+		@Override
+		public OidcSessionInformation mapRow(ResultSet rs, int rowNum) throws SQLException {
+			ThrowingFunction<byte[], Object> deserialize = this.deserializer::deserializeFromByteArray;
+			return (OidcSessionInformation) deserialize.apply(rs.getBytes("session_information"));
+		}
+
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.security.oauth2.client.oidc.userinfo;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -66,7 +67,9 @@ public class OidcReactiveOAuth2UserService implements ReactiveOAuth2UserService<
 	private static final Converter<Map<String, Object>, Map<String, Object>> DEFAULT_CLAIM_TYPE_CONVERTER = new ClaimTypeConverter(
 			createDefaultClaimTypeConverters());
 
-	private ReactiveOAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService = new DefaultReactiveOAuth2UserService();
+	private final DefaultReactiveOAuth2UserService defaultOAuth2UserService = createDefaultOAuth2UserService();
+
+	private ReactiveOAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService = this.defaultOAuth2UserService;
 
 	private Function<ClientRegistration, Converter<Map<String, Object>, Map<String, Object>>> claimTypeConverterFactory = (
 			clientRegistration) -> DEFAULT_CLAIM_TYPE_CONVERTER;
@@ -93,6 +96,12 @@ public class OidcReactiveOAuth2UserService implements ReactiveOAuth2UserService<
 		return claimTypeConverters;
 	}
 
+	private static DefaultReactiveOAuth2UserService createDefaultOAuth2UserService() {
+		DefaultReactiveOAuth2UserService oauth2UserService = new DefaultReactiveOAuth2UserService();
+		oauth2UserService.setSubjectResolver(OidcUserRequestUtils::getSubject);
+		return oauth2UserService;
+	}
+
 	private static Converter<Object, ?> getConverter(TypeDescriptor targetDescriptor) {
 		final TypeDescriptor sourceDescriptor = TypeDescriptor.valueOf(Object.class);
 		return (source) -> ClaimConversionService.getSharedInstance()
@@ -137,6 +146,25 @@ public class OidcReactiveOAuth2UserService implements ReactiveOAuth2UserService<
 		this.oauth2UserService = oauth2UserService;
 	}
 
+	/**
+	 * Sets the maximum amount of time the UserInfo response of an End-User is reused for
+	 * subsequent logins with the same client registration, keyed by the subject of the
+	 * ID Token. Caching is disabled by default. An expired response that was returned
+	 * with an {@code ETag} is revalidated with a conditional request.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> This applies to the default {@link ReactiveOAuth2UserService} only. When
+	 * a custom {@link ReactiveOAuth2UserService} is
+	 * {@link #setOauth2UserService(ReactiveOAuth2UserService) set}, configure
+	 * {@link DefaultReactiveOAuth2UserService#setUserInfoCacheTimeToLive(Duration)} and
+	 * {@link DefaultReactiveOAuth2UserService#setSubjectResolver(Converter)} on it instead.
+	 * @param timeToLive the maximum amount of time a UserInfo response is reused
+	 * @since 7.0
+	 */
+	public final void setUserInfoCacheTimeToLive(Duration timeToLive) {
+		this.defaultOAuth2UserService.setUserInfoCacheTimeToLive(timeToLive);
+	}
+
 	/**
 	 * Sets the factory that provides a {@link Converter} used for type conversion of
 	 * claim values for an {@link OidcUserInfo}. The default is {@link ClaimTypeConverter}
@@ -22,6 +22,7 @@ import java.util.Set;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
@@ -76,6 +77,18 @@ final class OidcUserRequestUtils {
 		return false;
 	}
 
+	/**
+	 * Returns the subject of the ID Token of an {@link OidcUserRequest}, used as the key
+	 * of cached UserInfo responses.
+	 * @param userRequest the user request
+	 * @return the subject of the ID Token, or {@code null} if the request is not an
+	 * {@link OidcUserRequest}
+	 */
+	static String getSubject(OAuth2UserRequest userRequest) {
+		return (userRequest instanceof OidcUserRequest oidcUserRequest) ? oidcUserRequest.getIdToken().getSubject()
+				: null;
+	}
+
 	static OidcUser getUser(OidcUserSource userMetadata) {
 		OidcUserRequest userRequest = userMetadata.getUserRequest();
 		OidcUserInfo userInfo = userMetadata.getUserInfo();
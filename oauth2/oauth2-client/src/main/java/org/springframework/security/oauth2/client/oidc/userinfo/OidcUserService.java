@@ -16,6 +16,7 @@
 
 package org.springframework.security.oauth2.client.oidc.userinfo;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -75,7 +76,9 @@ public class OidcUserService implements OAuth2UserService<OidcUserRequest, OidcU
 	private Set<String> accessibleScopes = new HashSet<>(
 			Arrays.asList(OidcScopes.PROFILE, OidcScopes.EMAIL, OidcScopes.ADDRESS, OidcScopes.PHONE));
 
-	private OAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService = new DefaultOAuth2UserService();
+	private final DefaultOAuth2UserService defaultOAuth2UserService = createDefaultOAuth2UserService();
+
+	private OAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService = this.defaultOAuth2UserService;
 
 	private Function<ClientRegistration, Converter<Map<String, Object>, Map<String, Object>>> claimTypeConverterFactory = (
 			clientRegistration) -> DEFAULT_CLAIM_TYPE_CONVERTER;
@@ -101,6 +104,12 @@ public class OidcUserService implements OAuth2UserService<OidcUserRequest, OidcU
 		return claimTypeConverters;
 	}
 
+	private static DefaultOAuth2UserService createDefaultOAuth2UserService() {
+		DefaultOAuth2UserService oauth2UserService = new DefaultOAuth2UserService();
+		oauth2UserService.setSubjectResolver(OidcUserRequestUtils::getSubject);
+		return oauth2UserService;
+	}
+
 	private static Converter<Object, ?> getConverter(TypeDescriptor targetDescriptor) {
 		TypeDescriptor sourceDescriptor = TypeDescriptor.valueOf(Object.class);
 		return (source) -> ClaimConversionService.getSharedInstance()
@@ -189,6 +198,25 @@ public class OidcUserService implements OAuth2UserService<OidcUserRequest, OidcU
 		this.oauth2UserService = oauth2UserService;
 	}
 
+	/**
+	 * Sets the maximum amount of time the UserInfo response of an End-User is reused for
+	 * subsequent logins with the same client registration, keyed by the subject of the
+	 * ID Token. Caching is disabled by default. An expired response that was returned
+	 * with an {@code ETag} is revalidated with a conditional request.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> This applies to the default {@link OAuth2UserService} only. When
+	 * a custom {@link OAuth2UserService} is
+	 * {@link #setOauth2UserService(OAuth2UserService) set}, configure
+	 * {@link DefaultOAuth2UserService#setUserInfoCacheTimeToLive(Duration)} and
+	 * {@link DefaultOAuth2UserService#setSubjectResolver(Converter)} on it instead.
+	 * @param timeToLive the maximum amount of time a UserInfo response is reused
+	 * @since 7.0
+	 */
+	public final void setUserInfoCacheTimeToLive(Duration timeToLive) {
+		this.defaultOAuth2UserService.setUserInfoCacheTimeToLive(timeToLive);
+	}
+
 	/**
 	 * Sets the factory that provides a {@link Converter} used for type conversion of
 	 * claim values for an {@link OidcUserInfo}. The default is {@link ClaimTypeConverter}
@@ -36,6 +36,7 @@ import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
 import org.springframework.util.Assert;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestOperations;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -147,7 +148,7 @@ public final class ClientRegistrations {
 	 */
 	public static ClientRegistration.Builder fromOidcIssuerLocation(String issuer) {
 		Assert.hasText(issuer, "issuer cannot be empty");
-		return getBuilder(issuer, oidc(issuer));
+		return getBuilder(issuer, oidc(issuer, rest));
 	}
 
 	/**
@@ -189,11 +190,26 @@ public final class ClientRegistrations {
 	 * described endpoints
 	 */
 	public static ClientRegistration.Builder fromIssuerLocation(String issuer) {
+		return fromIssuerLocation(issuer, rest);
+	}
+
+	/**
+	 * Creates a {@link ClientRegistration.Builder} as described by
+	 * {@link #fromIssuerLocation(String)}, using the provided {@link RestOperations} to
+	 * query the discovery endpoints.
+	 * @param issuer the <a href=
+	 * "https://openid.net/specs/openid-connect-core-1_0.html#IssuerIdentifier">Issuer</a>
+	 * @param rest the {@link RestOperations} used to query the discovery endpoints
+	 * @return a {@link ClientRegistration.Builder} that was initialized by one of the
+	 * described endpoints
+	 * @see DiscoveryClientRegistrationRepository
+	 */
+	static ClientRegistration.Builder fromIssuerLocation(String issuer, RestOperations rest) {
 		Assert.hasText(issuer, "issuer cannot be empty");
-		return getBuilder(issuer, oidc(issuer), oidcRfc8414(issuer), oauth(issuer));
+		return getBuilder(issuer, oidc(issuer, rest), oidcRfc8414(issuer, rest), oauth(issuer, rest));
 	}
 
-	static Supplier<ClientRegistration.Builder> oidc(String issuer) {
+	static Supplier<ClientRegistration.Builder> oidc(String issuer, RestOperations rest) {
 		UriComponents uri = oidcUri(issuer);
 		// @formatter:on
 		return () -> {
@@ -217,10 +233,10 @@ public final class ClientRegistrations {
 				.build();
 	}
 
-	static Supplier<ClientRegistration.Builder> oidcRfc8414(String issuer) {
+	static Supplier<ClientRegistration.Builder> oidcRfc8414(String issuer, RestOperations rest) {
 		UriComponents uri = oidcRfc8414Uri(issuer);
 		// @formatter:on
-		return getRfc8414Builder(issuer, uri);
+		return getRfc8414Builder(issuer, uri, rest);
 	}
 
 	static UriComponents oidcRfc8414Uri(String issuer) {
@@ -231,9 +247,9 @@ public final class ClientRegistrations {
 				.build();
 	}
 
-	static Supplier<ClientRegistration.Builder> oauth(String issuer) {
+	static Supplier<ClientRegistration.Builder> oauth(String issuer, RestOperations rest) {
 		UriComponents uri = oauthUri(issuer);
-		return getRfc8414Builder(issuer, uri);
+		return getRfc8414Builder(issuer, uri, rest);
 	}
 
 	static UriComponents oauthUri(String issuer) {
@@ -245,7 +261,8 @@ public final class ClientRegistrations {
 		// @formatter:on
 	}
 
-	private static Supplier<ClientRegistration.Builder> getRfc8414Builder(String issuer, UriComponents uri) {
+	private static Supplier<ClientRegistration.Builder> getRfc8414Builder(String issuer, UriComponents uri,
+			RestOperations rest) {
 		return () -> {
 			RequestEntity<Void> request = RequestEntity.get(uri.toUriString()).build();
 			Map<String, Object> configuration = rest.exchange(request, typeReference).getBody();
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.registration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestOperations;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * A {@link ClientRegistrationRepository} that resolves each {@link ClientRegistration}
+ * from the <a href=
+ * "https://openid.net/specs/openid-connect-discovery-1_0.html#ProviderConfig">OpenID
+ * Provider Configuration</a> or
+ * <a href="https://tools.ietf.org/html/rfc8414#section-3">Authorization Server
+ * Metadata</a> of its issuer, as described by
+ * {@link ClientRegistrations#fromIssuerLocation(String)}.
+ *
+ * <p>
+ * Unlike calling {@link ClientRegistrations#fromIssuerLocation(String)} for each
+ * registration at startup, discovery is performed in parallel and bounded by a
+ * {@link #setTimeout(Duration) timeout} per issuer, so that a slow or unavailable issuer
+ * neither delays nor prevents the resolution of the other registrations:
+ *
+ * <ul>
+ * <li>A {@link ClientRegistration} is resolved lazily, the first time it is
+ * {@link #findByRegistrationId(String) requested}. If discovery fails, the failure is
+ * logged, {@code null} is returned and discovery is attempted again on the next
+ * request.</li>
+ * <li>{@link #refresh()} resolves all registrations in parallel, for example, to warm up
+ * the repository at startup.</li>
+ * <li>When a {@link #setRefreshInterval(Duration) refresh interval} is configured, a
+ * resolved {@link ClientRegistration} that is older than the interval is refreshed in
+ * the background while the previously resolved {@link ClientRegistration} continues to
+ * be returned. A failed refresh keeps the previously resolved
+ * {@link ClientRegistration}.</li>
+ * </ul>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * Map&lt;String, String&gt; issuerLocations = Map.of("okta", "https://example.okta.com",
+ *     "keycloak", "https://keycloak.example.com/realms/example");
+ * DiscoveryClientRegistrationRepository repository = new DiscoveryClientRegistrationRepository(
+ *     issuerLocations, (registrationId, builder) -&gt; builder
+ *         .clientId(clientIds.get(registrationId))
+ *         .clientSecret(clientSecrets.get(registrationId))
+ *         .build());
+ * repository.refresh();
+ * </pre>
+ *
+ * @since 7.0
+ * @see ClientRegistrations
+ * @see ClientRegistrationRepository
+ */
+public final class DiscoveryClientRegistrationRepository
+		implements ClientRegistrationRepository, Iterable<ClientRegistration> {
+
+	private static final int DEFAULT_DISCOVERY_THREADS = 16;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final Map<String, String> issuerLocations;
+
+	private final BiFunction<String, ClientRegistration.Builder, ClientRegistration> clientRegistrationFactory;
+
+	private final Map<String, ResolvedClientRegistration> clientRegistrations = new ConcurrentHashMap<>();
+
+	private final Map<String, CompletableFuture<ClientRegistration>> discoveries = new ConcurrentHashMap<>();
+
+	private final Lock executorLock = new ReentrantLock();
+
+	private volatile Executor executor;
+
+	private Duration timeout = Duration.ofSeconds(30);
+
+	private RestOperations restOperations = createRestOperations(this.timeout);
+
+	private boolean customRestOperations;
+
+	private Duration refreshInterval;
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Constructs a {@code DiscoveryClientRegistrationRepository} using the provided
+	 * parameters.
+	 * @param issuerLocations the issuer location of each registration, keyed by
+	 * registration identifier
+	 * @param clientRegistrationFactory the function that completes the discovered
+	 * {@link ClientRegistration.Builder} of a registration, for example, with the client
+	 * credentials, and builds the {@link ClientRegistration}
+	 */
+	public DiscoveryClientRegistrationRepository(Map<String, String> issuerLocations,
+			BiFunction<String, ClientRegistration.Builder, ClientRegistration> clientRegistrationFactory) {
+		Assert.notEmpty(issuerLocations, "issuerLocations cannot be empty");
+		Assert.notNull(clientRegistrationFactory, "clientRegistrationFactory cannot be null");
+		issuerLocations.forEach((registrationId, issuerLocation) -> {
+			Assert.hasText(registrationId, "registrationId cannot be empty");
+			Assert.hasText(issuerLocation, "issuerLocation cannot be empty");
+		});
+		this.issuerLocations = Collections.unmodifiableMap(new LinkedHashMap<>(issuerLocations));
+		this.clientRegistrationFactory = clientRegistrationFactory;
+	}
+
+	@Override
+	public ClientRegistration findByRegistrationId(String registrationId) {
+		Assert.hasText(registrationId, "registrationId cannot be empty");
+		if (!this.issuerLocations.containsKey(registrationId)) {
+			return null;
+		}
+		ResolvedClientRegistration resolved = this.clientRegistrations.get(registrationId);
+		if (resolved == null) {
+			return await(discover(registrationId));
+		}
+		if (isRefreshDue(resolved)) {
+			discover(registrationId);
+		}
+		return resolved.clientRegistration;
+	}
+
+	/**
+	 * Returns an {@code Iterator} of the {@link ClientRegistration}(s) that could be
+	 * resolved. Registrations that are not resolved yet are discovered in parallel
+	 * first.
+	 * @return an {@code Iterator<ClientRegistration>}
+	 */
+	@Override
+	public Iterator<ClientRegistration> iterator() {
+		List<CompletableFuture<ClientRegistration>> discoveries = new ArrayList<>();
+		for (String registrationId : this.issuerLocations.keySet()) {
+			if (!this.clientRegistrations.containsKey(registrationId)) {
+				discoveries.add(discover(registrationId));
+			}
+		}
+		discoveries.forEach(this::await);
+		List<ClientRegistration> clientRegistrations = new ArrayList<>();
+		for (String registrationId : this.issuerLocations.keySet()) {
+			ResolvedClientRegistration resolved = this.clientRegistrations.get(registrationId);
+			if (resolved != null) {
+				clientRegistrations.add(resolved.clientRegistration);
+			}
+		}
+		return Collections.unmodifiableList(clientRegistrations).iterator();
+	}
+
+	/**
+	 * Discovers all registrations in parallel and waits until each discovery completed,
+	 * failed or timed out. A registration that fails to be discovered keeps its
+	 * previously resolved {@link ClientRegistration}, if any.
+	 */
+	public void refresh() {
+		List<CompletableFuture<ClientRegistration>> discoveries = new ArrayList<>();
+		for (String registrationId : this.issuerLocations.keySet()) {
+			discoveries.add(discover(registrationId));
+		}
+		discoveries.forEach(this::await);
+	}
+
+	/**
+	 * Sets the {@link Executor} used to discover the registrations. The default uses up
+	 * to 16 daemon threads, which are only created once a registration is discovered.
+	 * @param executor the {@link Executor} used to discover the registrations
+	 */
+	public void setExecutor(Executor executor) {
+		Assert.notNull(executor, "executor cannot be null");
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the maximum amount of time the discovery of a single issuer may take,
+	 * including the time it waits for a thread of the {@link #setExecutor(Executor)
+	 * executor}. The default is 30 seconds, which is also applied as the connect and read
+	 * timeout of the default {@link RestOperations}.
+	 * @param timeout the maximum amount of time the discovery of an issuer may take
+	 */
+	public void setTimeout(Duration timeout) {
+		Assert.notNull(timeout, "timeout cannot be null");
+		Assert.isTrue(!timeout.isNegative() && !timeout.isZero(), "timeout must be greater than zero");
+		this.timeout = timeout;
+		if (!this.customRestOperations) {
+			this.restOperations = createRestOperations(timeout);
+		}
+	}
+
+	/**
+	 * Sets the {@link RestOperations} used to query the discovery endpoints.
+	 * @param restOperations the {@link RestOperations} used to query the discovery
+	 * endpoints
+	 */
+	public void setRestOperations(RestOperations restOperations) {
+		Assert.notNull(restOperations, "restOperations cannot be null");
+		this.restOperations = restOperations;
+		this.customRestOperations = true;
+	}
+
+	/**
+	 * Sets the amount of time after which a resolved {@link ClientRegistration} is
+	 * refreshed from its issuer. By default, a resolved {@link ClientRegistration} is
+	 * never refreshed.
+	 * @param refreshInterval the amount of time after which a resolved
+	 * {@link ClientRegistration} is refreshed
+	 */
+	public void setRefreshInterval(Duration refreshInterval) {
+		Assert.notNull(refreshInterval, "refreshInterval cannot be null");
+		Assert.isTrue(!refreshInterval.isNegative() && !refreshInterval.isZero(),
+				"refreshInterval must be greater than zero");
+		this.refreshInterval = refreshInterval;
+	}
+
+	/**
+	 * Sets the {@link Clock} used when determining whether a resolved
+	 * {@link ClientRegistration} is due for a refresh. The default is
+	 * {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock}
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private boolean isRefreshDue(ResolvedClientRegistration resolved) {
+		return this.refreshInterval != null
+				&& !this.clock.instant().isBefore(resolved.resolvedAt.plus(this.refreshInterval));
+	}
+
+	private CompletableFuture<ClientRegistration> discover(String registrationId) {
+		CompletableFuture<ClientRegistration> discovery = new CompletableFuture<>();
+		CompletableFuture<ClientRegistration> existingDiscovery = this.discoveries.putIfAbsent(registrationId,
+				discovery);
+		if (existingDiscovery != null) {
+			return existingDiscovery;
+		}
+		String issuerLocation = this.issuerLocations.get(registrationId);
+		RestOperations restOperations = this.restOperations;
+		// The timeout applies from the submission of the discovery, so that a discovery
+		// waiting for a thread does not block the callers indefinitely. The timer is
+		// cancelled as soon as the discovery completes.
+		discovery.orTimeout(this.timeout.toMillis(), TimeUnit.MILLISECONDS)
+			.whenComplete((clientRegistration, ex) -> completeDiscovery(registrationId, discovery, ex));
+		try {
+			getExecutor().execute(() -> {
+				if (discovery.isDone()) {
+					return;
+				}
+				try {
+					ClientRegistration clientRegistration = this.clientRegistrationFactory.apply(registrationId,
+							ClientRegistrations.fromIssuerLocation(issuerLocation, restOperations)
+								.registrationId(registrationId));
+					Assert.notNull(clientRegistration, "clientRegistration cannot be null");
+					// A discovery that completes after its timeout still updates the registration
+					this.clientRegistrations.put(registrationId,
+							new ResolvedClientRegistration(clientRegistration, this.clock.instant()));
+					discovery.complete(clientRegistration);
+				}
+				catch (RuntimeException ex) {
+					discovery.completeExceptionally(ex);
+				}
+			});
+		}
+		catch (RejectedExecutionException ex) {
+			discovery.completeExceptionally(ex);
+		}
+		return discovery;
+	}
+
+	private void completeDiscovery(String registrationId, CompletableFuture<ClientRegistration> discovery,
+			Throwable ex) {
+		this.discoveries.remove(registrationId, discovery);
+		if (ex != null) {
+			this.logger.warn("Unable to discover the client registration \"" + registrationId + "\" from the issuer \""
+					+ this.issuerLocations.get(registrationId) + "\"", ex);
+		}
+	}
+
+	private ClientRegistration await(CompletableFuture<ClientRegistration> discovery) {
+		try {
+			// Bounded, since each discovery times out from its submission
+			return discovery.get();
+		}
+		catch (ExecutionException ex) {
+			return null;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	private Executor getExecutor() {
+		Executor executor = this.executor;
+		if (executor != null) {
+			return executor;
+		}
+		this.executorLock.lock();
+		try {
+			if (this.executor == null) {
+				this.executor = createDefaultExecutor();
+			}
+			return this.executor;
+		}
+		finally {
+			this.executorLock.unlock();
+		}
+	}
+
+	private static Executor createDefaultExecutor() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("spring-oauth2-client-discovery-");
+		threadFactory.setDaemon(true);
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_DISCOVERY_THREADS, DEFAULT_DISCOVERY_THREADS,
+				60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	private static RestOperations createRestOperations(Duration timeout) {
+		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		requestFactory.setConnectTimeout(timeout);
+		requestFactory.setReadTimeout(timeout);
+		RestTemplate rest = new RestTemplate();
+		rest.setRequestFactory(requestFactory);
+		return rest;
+	}
+
+	private static final class ResolvedClientRegistration {
+
+		private final ClientRegistration clientRegistration;
+
+		private final Instant resolvedAt;
+
+		private ResolvedClientRegistration(ClientRegistration clientRegistration, Instant resolvedAt) {
+			this.clientRegistration = clientRegistration;
+			this.resolvedAt = resolvedAt;
+		}
+
+	}
+
+}
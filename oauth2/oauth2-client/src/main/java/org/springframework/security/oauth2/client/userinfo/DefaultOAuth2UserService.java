@@ -16,18 +16,24 @@
 
 package org.springframework.security.oauth2.client.userinfo;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.UserInfoResponseCache.CachedUserInfoResponse;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
@@ -55,6 +61,13 @@ import org.springframework.web.client.UnknownContentTypeException;
  * <b>NOTE:</b> Attribute names are <b>not</b> standardized between providers and
  * therefore will vary. Please consult the provider's API documentation for the set of
  * supported user attribute names.
+ * <p>
+ * UserInfo responses may be cached by setting a
+ * {@link #setUserInfoCacheTimeToLive(Duration) time-to-live} and a
+ * {@link #setSubjectResolver(Converter) subject resolver}. A cached response is reused
+ * for subsequent logins of the same End-User with the same client registration until it
+ * expires. An expired response that was returned with an {@code ETag} is revalidated
+ * with a conditional request.
  *
  * @author Joe Grandja
  * @since 5.0
@@ -81,6 +94,12 @@ public class DefaultOAuth2UserService implements OAuth2UserService<OAuth2UserReq
 
 	private RestOperations restOperations;
 
+	private Converter<OAuth2UserRequest, String> subjectResolver = (userRequest) -> null;
+
+	private UserInfoResponseCache userInfoResponseCache;
+
+	private Clock clock = Clock.systemUTC();
+
 	public DefaultOAuth2UserService() {
 		RestTemplate restTemplate = new RestTemplate();
 		restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
@@ -91,10 +110,9 @@ public class DefaultOAuth2UserService implements OAuth2UserService<OAuth2UserReq
 	public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
 		Assert.notNull(userRequest, "userRequest cannot be null");
 		String userNameAttributeName = getUserNameAttributeName(userRequest);
-		RequestEntity<?> request = this.requestEntityConverter.convert(userRequest);
-		ResponseEntity<Map<String, Object>> response = getResponse(userRequest, request);
+		Map<String, Object> userInfo = getUserInfo(userRequest);
 		OAuth2AccessToken token = userRequest.getAccessToken();
-		Map<String, Object> attributes = this.attributesConverter.convert(userRequest).convert(response.getBody());
+		Map<String, Object> attributes = this.attributesConverter.convert(userRequest).convert(userInfo);
 		Collection<GrantedAuthority> authorities = getAuthorities(token, attributes, userNameAttributeName);
 		return new DefaultOAuth2User(authorities, attributes, userNameAttributeName);
 	}
@@ -125,6 +143,37 @@ public class DefaultOAuth2UserService implements OAuth2UserService<OAuth2UserReq
 		this.attributesConverter = attributesConverter;
 	}
 
+	private Map<String, Object> getUserInfo(OAuth2UserRequest userRequest) {
+		UserInfoResponseCache userInfoResponseCache = this.userInfoResponseCache;
+		List<String> cacheKey = (userInfoResponseCache != null)
+				? UserInfoResponseCache.getKey(userRequest, this.subjectResolver.convert(userRequest)) : null;
+		if (cacheKey == null) {
+			return getResponse(userRequest, this.requestEntityConverter.convert(userRequest)).getBody();
+		}
+		CachedUserInfoResponse cached = userInfoResponseCache.get(cacheKey);
+		if (cached != null && userInfoResponseCache.isFresh(cached)) {
+			return cached.getAttributes();
+		}
+		RequestEntity<?> request = this.requestEntityConverter.convert(userRequest);
+		if (cached != null) {
+			HttpHeaders headers = new HttpHeaders();
+			headers.addAll(request.getHeaders());
+			headers.setIfNoneMatch(cached.getETag());
+			request = new RequestEntity<>(request.getBody(), headers, request.getMethod(), request.getUrl());
+		}
+		ResponseEntity<Map<String, Object>> response = getResponse(userRequest, request);
+		if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+			Map<String, Object> attributes = cached.getAttributes();
+			userInfoResponseCache.put(cacheKey, attributes, cached.getETag());
+			return attributes;
+		}
+		Map<String, Object> attributes = response.getBody();
+		if (attributes != null) {
+			userInfoResponseCache.put(cacheKey, attributes, response.getHeaders().getETag());
+		}
+		return attributes;
+	}
+
 	private ResponseEntity<Map<String, Object>> getResponse(OAuth2UserRequest userRequest, RequestEntity<?> request) {
 		try {
 			return this.restOperations.exchange(request, PARAMETERIZED_RESPONSE_TYPE);
@@ -227,4 +276,56 @@ public class DefaultOAuth2UserService implements OAuth2UserService<OAuth2UserReq
 		this.restOperations = restOperations;
 	}
 
+	/**
+	 * Sets the maximum amount of time a UserInfo response is reused for the same
+	 * End-User and client registration without contacting the UserInfo Endpoint. Caching
+	 * is disabled by default, and requires a {@link #setSubjectResolver(Converter)
+	 * subject resolver}.
+	 * @param timeToLive the maximum amount of time a UserInfo response is reused
+	 * @since 7.0
+	 */
+	public final void setUserInfoCacheTimeToLive(Duration timeToLive) {
+		UserInfoResponseCache userInfoResponseCache = new UserInfoResponseCache(timeToLive);
+		userInfoResponseCache.setClock(this.clock);
+		this.userInfoResponseCache = userInfoResponseCache;
+	}
+
+	/**
+	 * Sets the {@link Clock} used when determining whether a cached UserInfo response is
+	 * still fresh. The default is {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock}
+	 * @since 7.0
+	 * @see #setUserInfoCacheTimeToLive(Duration)
+	 */
+	public final void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+		if (this.userInfoResponseCache != null) {
+			this.userInfoResponseCache.setClock(clock);
+		}
+	}
+
+	/**
+	 * Sets the {@link Converter} that resolves the subject (End-User) of an
+	 * {@link OAuth2UserRequest} before the UserInfo Request is made, which is used
+	 * together with the client registration as the key of cached UserInfo responses. A
+	 * response is not cached when the subject resolves to {@code null}, which is the
+	 * default, since the subject is generally not known before the UserInfo Response is
+	 * received.
+	 *
+	 * <p>
+	 * For example, for an OpenID Connect 1.0 request:
+	 *
+	 * <pre>
+	 * userService.setSubjectResolver((userRequest) -&gt; ((OidcUserRequest) userRequest).getIdToken().getSubject());
+	 * </pre>
+	 * @param subjectResolver the {@link Converter} that resolves the subject of an
+	 * {@link OAuth2UserRequest}
+	 * @since 7.0
+	 */
+	public final void setSubjectResolver(Converter<OAuth2UserRequest, String> subjectResolver) {
+		Assert.notNull(subjectResolver, "subjectResolver cannot be null");
+		this.subjectResolver = subjectResolver;
+	}
+
 }
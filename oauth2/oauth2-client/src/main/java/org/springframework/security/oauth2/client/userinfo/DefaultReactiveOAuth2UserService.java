@@ -16,7 +16,10 @@
 
 package org.springframework.security.oauth2.client.userinfo;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -28,10 +31,12 @@ import reactor.core.publisher.Mono;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.userinfo.UserInfoResponseCache.CachedUserInfoResponse;
 import org.springframework.security.oauth2.core.AuthenticationMethod;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
@@ -57,6 +62,13 @@ import org.springframework.web.reactive.function.client.WebClient;
  * <b>NOTE:</b> Attribute names are <b>not</b> standardized between providers and
  * therefore will vary. Please consult the provider's API documentation for the set of
  * supported user attribute names.
+ * <p>
+ * UserInfo responses may be cached by setting a
+ * {@link #setUserInfoCacheTimeToLive(Duration) time-to-live} and a
+ * {@link #setSubjectResolver(Converter) subject resolver}. A cached response is reused
+ * for subsequent logins of the same End-User with the same client registration until it
+ * expires. An expired response that was returned with an {@code ETag} is revalidated
+ * with a conditional request.
  *
  * @author Rob Winch
  * @since 5.1
@@ -84,6 +96,12 @@ public class DefaultReactiveOAuth2UserService implements ReactiveOAuth2UserServi
 
 	private WebClient webClient = WebClient.create();
 
+	private Converter<OAuth2UserRequest, String> subjectResolver = (userRequest) -> null;
+
+	private UserInfoResponseCache userInfoResponseCache;
+
+	private Clock clock = Clock.systemUTC();
+
 	@Override
 	public Mono<OAuth2User> loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
 		return Mono.defer(() -> {
@@ -114,20 +132,8 @@ public class DefaultReactiveOAuth2UserService implements ReactiveOAuth2UserServi
 				.getProviderDetails()
 				.getUserInfoEndpoint()
 				.getAuthenticationMethod();
-			WebClient.RequestHeadersSpec<?> requestHeadersSpec = getRequestHeaderSpec(userRequest, userInfoUri,
-					authenticationMethod);
 			// @formatter:off
-			Mono<Map<String, Object>> userAttributes = requestHeadersSpec.retrieve()
-					.onStatus(HttpStatusCode::isError, (response) ->
-						parse(response)
-							.map((userInfoErrorResponse) -> {
-								String description = userInfoErrorResponse.getErrorObject().getDescription();
-								OAuth2Error oauth2Error = new OAuth2Error(INVALID_USER_INFO_RESPONSE_ERROR_CODE, description,
-									null);
-								throw new OAuth2AuthenticationException(oauth2Error, oauth2Error.toString());
-							})
-					)
-					.bodyToMono(DefaultReactiveOAuth2UserService.STRING_OBJECT_MAP)
+			Mono<Map<String, Object>> userAttributes = getUserInfo(userRequest, userInfoUri, authenticationMethod)
 					.mapNotNull((attributes) -> this.attributesConverter.convert(userRequest).convert(attributes));
 			return userAttributes.map((attrs) -> {
 				GrantedAuthority authority = new OAuth2UserAuthority(attrs, userNameAttributeName);
@@ -168,6 +174,54 @@ public class DefaultReactiveOAuth2UserService implements ReactiveOAuth2UserServi
 		// @formatter:on
 	}
 
+	private Mono<Map<String, Object>> getUserInfo(OAuth2UserRequest userRequest, String userInfoUri,
+			AuthenticationMethod authenticationMethod) {
+		UserInfoResponseCache userInfoResponseCache = this.userInfoResponseCache;
+		List<String> cacheKey = (userInfoResponseCache != null)
+				? UserInfoResponseCache.getKey(userRequest, this.subjectResolver.convert(userRequest)) : null;
+		if (cacheKey == null) {
+			return retrieve(getRequestHeaderSpec(userRequest, userInfoUri, authenticationMethod))
+				.bodyToMono(DefaultReactiveOAuth2UserService.STRING_OBJECT_MAP);
+		}
+		CachedUserInfoResponse cached = userInfoResponseCache.get(cacheKey);
+		if (cached != null && userInfoResponseCache.isFresh(cached)) {
+			return Mono.just(cached.getAttributes());
+		}
+		WebClient.RequestHeadersSpec<?> requestHeadersSpec = getRequestHeaderSpec(userRequest, userInfoUri,
+				authenticationMethod);
+		if (cached != null) {
+			requestHeadersSpec = requestHeadersSpec.header(HttpHeaders.IF_NONE_MATCH, cached.getETag());
+		}
+		return retrieve(requestHeadersSpec).toEntity(DefaultReactiveOAuth2UserService.STRING_OBJECT_MAP)
+			.mapNotNull((response) -> {
+				if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+					Map<String, Object> attributes = cached.getAttributes();
+					userInfoResponseCache.put(cacheKey, attributes, cached.getETag());
+					return attributes;
+				}
+				Map<String, Object> attributes = response.getBody();
+				if (attributes != null) {
+					userInfoResponseCache.put(cacheKey, attributes, response.getHeaders().getETag());
+				}
+				return attributes;
+			});
+	}
+
+	private WebClient.ResponseSpec retrieve(WebClient.RequestHeadersSpec<?> requestHeadersSpec) {
+		// @formatter:off
+		return requestHeadersSpec.retrieve()
+				.onStatus(HttpStatusCode::isError, (response) ->
+					parse(response)
+						.map((userInfoErrorResponse) -> {
+							String description = userInfoErrorResponse.getErrorObject().getDescription();
+							OAuth2Error oauth2Error = new OAuth2Error(INVALID_USER_INFO_RESPONSE_ERROR_CODE, description,
+								null);
+							throw new OAuth2AuthenticationException(oauth2Error, oauth2Error.toString());
+						})
+				);
+		// @formatter:on
+	}
+
 	private WebClient.RequestHeadersSpec<?> getRequestHeaderSpec(OAuth2UserRequest userRequest, String userInfoUri,
 			AuthenticationMethod authenticationMethod) {
 		if (AuthenticationMethod.FORM.equals(authenticationMethod)) {
@@ -224,6 +278,51 @@ public class DefaultReactiveOAuth2UserService implements ReactiveOAuth2UserServi
 		this.webClient = webClient;
 	}
 
+	/**
+	 * Sets the maximum amount of time a UserInfo response is reused for the same
+	 * End-User and client registration without contacting the UserInfo Endpoint. Caching
+	 * is disabled by default, and requires a {@link #setSubjectResolver(Converter)
+	 * subject resolver}.
+	 * @param timeToLive the maximum amount of time a UserInfo response is reused
+	 * @since 7.0
+	 */
+	public final void setUserInfoCacheTimeToLive(Duration timeToLive) {
+		UserInfoResponseCache userInfoResponseCache = new UserInfoResponseCache(timeToLive);
+		userInfoResponseCache.setClock(this.clock);
+		this.userInfoResponseCache = userInfoResponseCache;
+	}
+
+	/**
+	 * Sets the {@link Clock} used when determining whether a cached UserInfo response is
+	 * still fresh. The default is {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock}
+	 * @since 7.0
+	 * @see #setUserInfoCacheTimeToLive(Duration)
+	 */
+	public final void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+		if (this.userInfoResponseCache != null) {
+			this.userInfoResponseCache.setClock(clock);
+		}
+	}
+
+	/**
+	 * Sets the {@link Converter} that resolves the subject (End-User) of an
+	 * {@link OAuth2UserRequest} before the UserInfo Request is made, which is used
+	 * together with the client registration as the key of cached UserInfo responses. A
+	 * response is not cached when the subject resolves to {@code null}, which is the
+	 * default, since the subject is generally not known before the UserInfo Response is
+	 * received.
+	 * @param subjectResolver the {@link Converter} that resolves the subject of an
+	 * {@link OAuth2UserRequest}
+	 * @since 7.0
+	 */
+	public final void setSubjectResolver(Converter<OAuth2UserRequest, String> subjectResolver) {
+		Assert.notNull(subjectResolver, "subjectResolver cannot be null");
+		this.subjectResolver = subjectResolver;
+	}
+
 	private static Mono<UserInfoErrorResponse> parse(ClientResponse httpResponse) {
 		String wwwAuth = httpResponse.headers().asHttpHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE);
 		if (StringUtils.hasLength(wwwAuth)) {
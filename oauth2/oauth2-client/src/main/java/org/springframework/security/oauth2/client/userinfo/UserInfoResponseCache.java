@@ -0,0 +1,145 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.userinfo;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.security.util.ExpiringLruCache;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * A bounded, in-memory cache of UserInfo responses keyed by client registration,
+ * subject and granted scopes, used by {@link DefaultOAuth2UserService} and
+ * {@link DefaultReactiveOAuth2UserService}. The scopes are part of the key since the
+ * claims that the UserInfo Endpoint returns depend on them.
+ *
+ * <p>
+ * A response is fresh for the configured time-to-live. After that, a response that was
+ * returned with an {@code ETag} is kept so that it can be revalidated with a conditional
+ * request, while any other response is discarded. The least recently used responses are
+ * evicted first.
+ *
+ * @since 7.0
+ */
+final class UserInfoResponseCache {
+
+	private static final int MAX_SIZE = 1024;
+
+	private final ExpiringLruCache<List<String>, CachedUserInfoResponse> responses = new ExpiringLruCache<>(
+			MAX_SIZE);
+
+	private final Duration timeToLive;
+
+	private Clock clock = Clock.systemUTC();
+
+	UserInfoResponseCache(Duration timeToLive) {
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be greater than zero");
+		this.timeToLive = timeToLive;
+	}
+
+	static List<String> getKey(OAuth2UserRequest userRequest, String subject) {
+		if (subject == null) {
+			return null;
+		}
+		String scopes = StringUtils
+			.collectionToDelimitedString(new TreeSet<>(userRequest.getAccessToken().getScopes()), " ");
+		return List.of(userRequest.getClientRegistration().getRegistrationId(), subject, scopes);
+	}
+
+	CachedUserInfoResponse get(List<String> key) {
+		return this.responses.get(key);
+	}
+
+	void put(List<String> key, Map<String, Object> attributes, String eTag) {
+		Instant expiresAt = this.clock.instant().plus(this.timeToLive);
+		// A response with an ETag is kept past its freshness so that it can be revalidated
+		this.responses.put(key, new CachedUserInfoResponse(copy(attributes), eTag, expiresAt),
+				(eTag != null) ? null : expiresAt);
+	}
+
+	boolean isFresh(CachedUserInfoResponse cached) {
+		return cached.isFresh(this.clock.instant());
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+		this.responses.setClock(clock);
+	}
+
+	/**
+	 * Copies the nested maps and collections too, so that neither the cached response
+	 * nor the attributes returned for it are affected by changes to the other.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T value) {
+		if (value instanceof Map<?, ?> map) {
+			Map<Object, Object> copied = new LinkedHashMap<>(map.size());
+			map.forEach((key, element) -> copied.put(key, copy(element)));
+			return (T) copied;
+		}
+		if (value instanceof Collection<?> collection) {
+			List<Object> copied = new ArrayList<>(collection.size());
+			collection.forEach((element) -> copied.add(copy(element)));
+			return (T) copied;
+		}
+		return value;
+	}
+
+	static final class CachedUserInfoResponse {
+
+		private final Map<String, Object> attributes;
+
+		private final String eTag;
+
+		private final Instant expiresAt;
+
+		private CachedUserInfoResponse(Map<String, Object> attributes, String eTag, Instant expiresAt) {
+			this.attributes = attributes;
+			this.eTag = eTag;
+			this.expiresAt = expiresAt;
+		}
+
+		/**
+		 * Returns a deep copy of the cached attributes, since the attributes converter
+		 * may modify them.
+		 */
+		Map<String, Object> getAttributes() {
+			return copy(this.attributes);
+		}
+
+		String getETag() {
+			return this.eTag;
+		}
+
+		private boolean isFresh(Instant now) {
+			return this.expiresAt.isAfter(now);
+		}
+
+	}
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.web;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import javax.crypto.SecretKey;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * An implementation of an {@link AuthorizationRequestRepository} that stores
+ * {@link OAuth2AuthorizationRequest} in an encrypted cookie, so that no
+ * {@code HttpSession} is needed during the authorization flow.
+ *
+ * <p>
+ * The authorization request is encrypted and authenticated with AES-GCM using the
+ * provided {@link SecretKey}, which must be shared by all the instances of the
+ * application. The cookie is {@code HttpOnly}, {@code SameSite=Lax} and expires after
+ * the configured {@link #setMaxAge(Duration) max age}, which is also enforced when the
+ * cookie is read.
+ *
+ * <p>
+ * <b>NOTE:</b> The additional parameters and attributes of the authorization request
+ * must have {@code String} values, and only the {@code authorization_code} grant type
+ * is supported.
+ *
+ * @since 7.0
+ * @see AuthorizationRequestRepository
+ * @see HttpSessionOAuth2AuthorizationRequestRepository
+ * @see OAuth2AuthorizationRequest
+ */
+public final class CookieOAuth2AuthorizationRequestRepository
+		implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+	private static final String DEFAULT_COOKIE_NAME = "OAUTH2_AUTHORIZATION_REQUEST";
+
+	private final AuthorizationRequestCookieCodec codec;
+
+	private String cookieName = DEFAULT_COOKIE_NAME;
+
+	private Duration maxAge = Duration.ofMinutes(5);
+
+	private Consumer<ResponseCookie.ResponseCookieBuilder> cookieCustomizer = (builder) -> {
+	};
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Constructs a {@code CookieOAuth2AuthorizationRequestRepository} using the provided
+	 * parameters.
+	 * @param secretKey the AES key used to encrypt the authorization request
+	 */
+	public CookieOAuth2AuthorizationRequestRepository(SecretKey secretKey) {
+		this.codec = new AuthorizationRequestCookieCodec(secretKey);
+	}
+
+	@Override
+	public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+		Assert.notNull(request, "request cannot be null");
+		String stateParameter = request.getParameter(OAuth2ParameterNames.STATE);
+		if (stateParameter == null) {
+			return null;
+		}
+		Cookie cookie = WebUtils.getCookie(request, this.cookieName);
+		if (cookie == null || !StringUtils.hasText(cookie.getValue())) {
+			return null;
+		}
+		OAuth2AuthorizationRequest authorizationRequest = this.codec.decode(cookie.getValue(), this.clock.instant());
+		return (authorizationRequest != null && stateParameter.equals(authorizationRequest.getState()))
+				? authorizationRequest : null;
+	}
+
+	@Override
+	public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest, HttpServletRequest request,
+			HttpServletResponse response) {
+		Assert.notNull(request, "request cannot be null");
+		Assert.notNull(response, "response cannot be null");
+		if (authorizationRequest == null) {
+			removeAuthorizationRequest(request, response);
+			return;
+		}
+		String state = authorizationRequest.getState();
+		Assert.hasText(state, "authorizationRequest.state cannot be empty");
+		String cookieValue = this.codec.encode(authorizationRequest, this.clock.instant().plus(this.maxAge));
+		addCookie(request, response, cookieValue, this.maxAge);
+	}
+
+	@Override
+	public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+			HttpServletResponse response) {
+		Assert.notNull(response, "response cannot be null");
+		OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+		if (authorizationRequest != null) {
+			addCookie(request, response, "", Duration.ZERO);
+		}
+		return authorizationRequest;
+	}
+
+	private void addCookie(HttpServletRequest request, HttpServletResponse response, String cookieValue,
+			Duration maxAge) {
+		// @formatter:off
+		ResponseCookie.ResponseCookieBuilder cookieBuilder = ResponseCookie.from(this.cookieName, cookieValue)
+				.path(StringUtils.hasLength(request.getContextPath()) ? request.getContextPath() : "/")
+				.secure(request.isSecure())
+				.httpOnly(true)
+				.sameSite("Lax")
+				.maxAge(maxAge);
+		// @formatter:on
+		this.cookieCustomizer.accept(cookieBuilder);
+		response.addHeader(HttpHeaders.SET_COOKIE, cookieBuilder.build().toString());
+	}
+
+	/**
+	 * Sets the name of the cookie. The default is {@code OAUTH2_AUTHORIZATION_REQUEST}.
+	 * @param cookieName the name of the cookie
+	 */
+	public void setCookieName(String cookieName) {
+		Assert.hasText(cookieName, "cookieName cannot be empty");
+		this.cookieName = cookieName;
+	}
+
+	/**
+	 * Sets the maximum age of a stored authorization request. The default is 5 minutes.
+	 * @param maxAge the maximum age of a stored authorization request
+	 */
+	public void setMaxAge(Duration maxAge) {
+		Assert.notNull(maxAge, "maxAge cannot be null");
+		Assert.isTrue(!maxAge.isNegative() && !maxAge.isZero(), "maxAge must be greater than zero");
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Sets a {@link Consumer} for a {@code ResponseCookieBuilder} that will be invoked
+	 * for each cookie being built, just before the call to {@code build()}. For example,
+	 * {@code SameSite=None} is needed when the authorization response is returned with
+	 * {@code response_mode=form_post}.
+	 * @param cookieCustomizer consumer for a cookie builder
+	 */
+	public void setCookieCustomizer(Consumer<ResponseCookie.ResponseCookieBuilder> cookieCustomizer) {
+		Assert.notNull(cookieCustomizer, "cookieCustomizer cannot be null");
+		this.cookieCustomizer = cookieCustomizer;
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+}
@@ -16,6 +16,9 @@
 
 package org.springframework.security.oauth2.client.web.reactive.function.client;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -45,6 +48,7 @@ import org.springframework.security.oauth2.client.ClientAuthorizationException;
 import org.springframework.security.oauth2.client.OAuth2AuthorizationFailureHandler;
 import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientId;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProvider;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProviderBuilder;
@@ -55,10 +59,12 @@ import org.springframework.security.oauth2.client.registration.ClientRegistratio
 import org.springframework.security.oauth2.client.web.ClientAttributes;
 import org.springframework.security.oauth2.client.web.DefaultOAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
 import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
 import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.util.ExpiringLruCache;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.web.context.request.RequestAttributes;
@@ -119,6 +125,16 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
  * will <em>NOT</em> be configured automatically. It is recommended that you configure one
  * via {@link #setAuthorizationFailureHandler(OAuth2AuthorizationFailureHandler)}.
  *
+ * <h3>Reusing Authorized Clients</h3>
+ *
+ * <p>
+ * By default, every request invokes the {@link OAuth2AuthorizedClientManager} on a
+ * dedicated thread, even when the {@link OAuth2AuthorizedClient} it returns is already
+ * authorized. When {@link #setCacheAuthorizedClients(boolean)} is enabled, the
+ * {@link OAuth2AuthorizedClient} returned by the {@link OAuth2AuthorizedClientManager} is
+ * reused for subsequent requests of the same principal until its access token is about
+ * to expire, bypassing the {@link OAuth2AuthorizedClientManager} altogether.
+ *
  * @author Rob Winch
  * @author Joe Grandja
  * @author Roman Matiushchenko
@@ -148,6 +164,13 @@ public final class ServletOAuth2AuthorizedClientExchangeFilterFunction implement
 	private static final Authentication ANONYMOUS_AUTHENTICATION = new AnonymousAuthenticationToken("anonymous",
 			"anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
 
+	private static final int MAX_CACHED_AUTHORIZED_CLIENTS = 1024;
+
+	private static final Duration CACHED_AUTHORIZED_CLIENT_CLOCK_SKEW = Duration.ofSeconds(60);
+
+	private final ExpiringLruCache<OAuth2AuthorizedClientId, OAuth2AuthorizedClient> cachedAuthorizedClients = new ExpiringLruCache<>(
+			MAX_CACHED_AUTHORIZED_CLIENTS);
+
 	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
 		.getContextHolderStrategy();
 
@@ -159,6 +182,8 @@ public final class ServletOAuth2AuthorizedClientExchangeFilterFunction implement
 
 	private ClientResponseHandler clientResponseHandler;
 
+	private boolean cacheAuthorizedClients;
+
 	public ServletOAuth2AuthorizedClientExchangeFilterFunction() {
 	}
 
@@ -224,6 +249,7 @@ public final class ServletOAuth2AuthorizedClientExchangeFilterFunction implement
 			String clientRegistrationId, Authentication principal, Map<String, Object> attributes) {
 		HttpServletRequest request = getRequest(attributes);
 		HttpServletResponse response = getResponse(attributes);
+		this.cachedAuthorizedClients.remove(new OAuth2AuthorizedClientId(clientRegistrationId, principal.getName()));
 		authorizedClientRepository.removeAuthorizedClient(clientRegistrationId, principal, request, response);
 	}
 
@@ -249,6 +275,52 @@ public final class ServletOAuth2AuthorizedClientExchangeFilterFunction implement
 		this.defaultClientRegistrationId = clientRegistrationId;
 	}
 
+	/**
+	 * If true, the {@link OAuth2AuthorizedClient} returned by the
+	 * {@link OAuth2AuthorizedClientManager} is cached per client registration and
+	 * principal, and reused for subsequent requests without invoking the
+	 * {@link OAuth2AuthorizedClientManager}, until its access token expires within 60
+	 * seconds. At most 1024 {@link OAuth2AuthorizedClient}(s) are cached, evicting the
+	 * least recently used first.
+	 *
+	 * <p>
+	 * A cached {@link OAuth2AuthorizedClient} is evicted, whichever constructor was used,
+	 * when the Resource Server responds with an authentication (HTTP 401) or
+	 * authorization (HTTP 403) failure, or when the request fails with an
+	 * {@link OAuth2AuthorizationException}. It is also evicted when it is removed by the
+	 * default failure handler of
+	 * {@link #ServletOAuth2AuthorizedClientExchangeFilterFunction(ClientRegistrationRepository, OAuth2AuthorizedClientRepository)}.
+	 * An {@link OAuth2AuthorizedClient} removed by other means, for example directly from
+	 * an {@link OAuth2AuthorizedClientRepository}, is still reused until one of the above
+	 * happens or its access token is about to expire. Do not enable this if authorized
+	 * clients are revoked by removing them from the repository.
+	 *
+	 * <p>
+	 * For anonymous requests, only {@link OAuth2AuthorizedClient}(s) authorized with the
+	 * {@link AuthorizationGrantType#CLIENT_CREDENTIALS client_credentials} grant are
+	 * cached.
+	 * @param cacheAuthorizedClients true if authorized clients should be cached, else
+	 * false. Default is false.
+	 * @since 7.0
+	 */
+	public void setCacheAuthorizedClients(boolean cacheAuthorizedClients) {
+		this.cacheAuthorizedClients = cacheAuthorizedClients;
+		if (!cacheAuthorizedClients) {
+			this.cachedAuthorizedClients.clear();
+		}
+	}
+
+	/**
+	 * Sets the {@link Clock} used when checking the access token expiry of a cached
+	 * {@link OAuth2AuthorizedClient}. The default is {@link Clock#systemUTC()}.
+	 * @param clock the clock
+	 * @since 7.0
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.cachedAuthorizedClients.setClock(clock);
+	}
+
 	/**
 	 * Sets the {@link SecurityContextHolderStrategy} to use. The default action is to use
 	 * the {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
@@ -376,15 +448,10 @@ public final class ServletOAuth2AuthorizedClientExchangeFilterFunction implement
 	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
 		// @formatter:off
 		return mergeRequestAttributesIfNecessary(request)
-				.filter((req) -> req.attribute(OAUTH2_AUTHORIZED_CLIENT_ATTR_NAME).isPresent())
-				.flatMap((req) -> reauthorizeClient(getOAuth2AuthorizedClient(req.attributes()), req))
-				.switchIfEmpty(
-						Mono.defer(() ->
-							mergeRequestAttributesIfNecessary(request)
-								.filter((req) -> resolveClientRegistrationId(req) != null)
-								.flatMap((req) -> authorizeClient(resolveClientRegistrationId(req), req))
-						)
-				)
+				.flatMap((req) -> req.attribute(OAUTH2_AUTHORIZED_CLIENT_ATTR_NAME).isPresent()
+						? reauthorizeClient(getOAuth2AuthorizedClient(req.attributes()), req)
+							.switchIfEmpty(Mono.defer(() -> authorizeClient(req)))
+						: authorizeClient(req))
 				.map((authorizedClient) -> bearer(request, authorizedClient))
 				.flatMap((requestWithBearer) -> exchangeAndHandleResponse(requestWithBearer, next))
 				.switchIfEmpty(Mono.defer(() -> exchangeAndHandleResponse(request, next)));
@@ -393,9 +460,42 @@ public final class ServletOAuth2AuthorizedClientExchangeFilterFunction implement
 
 	private Mono<ClientResponse> exchangeAndHandleResponse(ClientRequest request, ExchangeFunction next) {
 		return next.exchange(request)
+			.transform((responseMono) -> evictCachedAuthorizedClientOnFailure(request, responseMono))
 			.transform((responseMono) -> this.clientResponseHandler.handleResponse(request, responseMono));
 	}
 
+	private Mono<ClientResponse> evictCachedAuthorizedClientOnFailure(ClientRequest request,
+			Mono<ClientResponse> responseMono) {
+		if (!this.cacheAuthorizedClients) {
+			return responseMono;
+		}
+		// @formatter:off
+		return responseMono
+				.doOnNext((response) -> {
+					if (isAuthorizationFailure(response.statusCode())) {
+						evictCachedAuthorizedClient(request);
+					}
+				})
+				.doOnError(WebClientResponseException.class, (ex) -> {
+					if (isAuthorizationFailure(ex.getStatusCode())) {
+						evictCachedAuthorizedClient(request);
+					}
+				})
+				.doOnError(OAuth2AuthorizationException.class, (ex) -> evictCachedAuthorizedClient(request));
+		// @formatter:on
+	}
+
+	private static boolean isAuthorizationFailure(HttpStatusCode statusCode) {
+		return HttpStatus.UNAUTHORIZED.equals(statusCode) || HttpStatus.FORBIDDEN.equals(statusCode);
+	}
+
+	private void evictCachedAuthorizedClient(ClientRequest request) {
+		OAuth2AuthorizedClient authorizedClient = getOAuth2AuthorizedClient(request.attributes());
+		if (authorizedClient != null) {
+			this.cachedAuthorizedClients.remove(authorizedClientId(authorizedClient), authorizedClient);
+		}
+	}
+
 	private Mono<ClientRequest> mergeRequestAttributesIfNecessary(ClientRequest request) {
 		if (request.attribute(HTTP_SERVLET_REQUEST_ATTR_NAME).isEmpty()
 				|| request.attribute(HTTP_SERVLET_RESPONSE_ATTR_NAME).isEmpty()
@@ -467,6 +567,14 @@ public final class ServletOAuth2AuthorizedClientExchangeFilterFunction implement
 		return clientRegistrationId;
 	}
 
+	private Mono<OAuth2AuthorizedClient> authorizeClient(ClientRequest request) {
+		String clientRegistrationId = resolveClientRegistrationId(request);
+		if (clientRegistrationId == null) {
+			return Mono.empty();
+		}
+		return authorizeClient(clientRegistrationId, request);
+	}
+
 	private Mono<OAuth2AuthorizedClient> authorizeClient(String clientRegistrationId, ClientRequest request) {
 		if (this.authorizedClientManager == null) {
 			return Mono.empty();
@@ -476,6 +584,23 @@ public final class ServletOAuth2AuthorizedClientExchangeFilterFunction implement
 		if (authentication == null) {
 			authentication = ANONYMOUS_AUTHENTICATION;
 		}
+		if (!this.cacheAuthorizedClients || !StringUtils.hasText(authentication.getName())) {
+			return authorizeClient(clientRegistrationId, authentication, request);
+		}
+		OAuth2AuthorizedClientId authorizedClientId = new OAuth2AuthorizedClientId(clientRegistrationId,
+				authentication.getName());
+		OAuth2AuthorizedClient cachedAuthorizedClient = this.cachedAuthorizedClients.get(authorizedClientId);
+		if (cachedAuthorizedClient != null) {
+			return Mono.just(cachedAuthorizedClient);
+		}
+		Authentication principal = authentication;
+		return authorizeClient(clientRegistrationId, authentication, request)
+			.doOnNext((authorizedClient) -> cacheAuthorizedClient(authorizedClient, principal));
+	}
+
+	private Mono<OAuth2AuthorizedClient> authorizeClient(String clientRegistrationId, Authentication authentication,
+			ClientRequest request) {
+		Map<String, Object> attrs = request.attributes();
 		HttpServletRequest servletRequest = getRequest(attrs);
 		HttpServletResponse servletResponse = getResponse(attrs);
 		OAuth2AuthorizeRequest.Builder builder = OAuth2AuthorizeRequest.withClientRegistrationId(clientRegistrationId)
@@ -512,6 +637,21 @@ public final class ServletOAuth2AuthorizedClientExchangeFilterFunction implement
 			.subscribeOn(Schedulers.boundedElastic());
 	}
 
+	private void cacheAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
+		if (principal instanceof AnonymousAuthenticationToken && !AuthorizationGrantType.CLIENT_CREDENTIALS
+			.equals(authorizedClient.getClientRegistration().getAuthorizationGrantType())) {
+			return;
+		}
+		Instant expiresAt = authorizedClient.getAccessToken().getExpiresAt();
+		this.cachedAuthorizedClients.put(authorizedClientId(authorizedClient), authorizedClient,
+				(expiresAt != null) ? expiresAt.minus(CACHED_AUTHORIZED_CLIENT_CLOCK_SKEW) : null);
+	}
+
+	private static OAuth2AuthorizedClientId authorizedClientId(OAuth2AuthorizedClient authorizedClient) {
+		return new OAuth2AuthorizedClientId(authorizedClient.getClientRegistration().getRegistrationId(),
+				authorizedClient.getPrincipalName());
+	}
+
 	private void addToAttributes(Map<String, Object> attributes, HttpServletRequest servletRequest,
 			HttpServletResponse servletResponse) {
 		if (servletRequest != null) {
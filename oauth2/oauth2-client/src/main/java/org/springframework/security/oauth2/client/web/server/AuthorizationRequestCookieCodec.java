@@ -0,0 +1,175 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.web.server;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.security.crypto.encrypt.AesBytesEncryptor;
+import org.springframework.security.crypto.encrypt.BytesEncryptor;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Encodes an {@link OAuth2AuthorizationRequest} into a cookie value and back. The
+ * authorization request is serialized as {@code application/x-www-form-urlencoded}
+ * fields, encrypted and authenticated with AES-GCM, and encoded with Base64URL.
+ *
+ * <p>
+ * The additional parameters and attributes must have {@code String} values. The
+ * {@link OAuth2AuthorizationRequest#getAuthorizationRequestUri() authorization request
+ * URI} is only stored when it differs from the one derived from the other fields. Only
+ * {@link AuthorizationGrantType#AUTHORIZATION_CODE authorization code} requests are
+ * supported.
+ *
+ * @since 7.0
+ * @see CookieOAuth2ServerAuthorizationRequestRepository
+ */
+final class AuthorizationRequestCookieCodec {
+
+	private static final String AUTHORIZATION_URI = "authorization_uri";
+
+	private static final String AUTHORIZATION_REQUEST_URI = "authorization_request_uri";
+
+	private static final String CLIENT_ID = "client_id";
+
+	private static final String REDIRECT_URI = "redirect_uri";
+
+	private static final String SCOPE = "scope";
+
+	private static final String STATE = "state";
+
+	private static final String EXPIRES_AT = "exp";
+
+	private static final String ADDITIONAL_PARAMETER_PREFIX = "p.";
+
+	private static final String ATTRIBUTE_PREFIX = "a.";
+
+	private final BytesEncryptor encryptor;
+
+	AuthorizationRequestCookieCodec(SecretKey secretKey) {
+		Assert.notNull(secretKey, "secretKey cannot be null");
+		this.encryptor = new AesBytesEncryptor(secretKey, KeyGenerators.secureRandom(12),
+				AesBytesEncryptor.CipherAlgorithm.GCM);
+	}
+
+	String encode(OAuth2AuthorizationRequest authorizationRequest, Instant expiresAt) {
+		Assert.isTrue(AuthorizationGrantType.AUTHORIZATION_CODE.equals(authorizationRequest.getGrantType()),
+				"authorizationRequest must use the authorization_code grant type");
+		Map<String, String> fields = new LinkedHashMap<>();
+		fields.put(AUTHORIZATION_URI, authorizationRequest.getAuthorizationUri());
+		fields.put(CLIENT_ID, authorizationRequest.getClientId());
+		fields.put(REDIRECT_URI, authorizationRequest.getRedirectUri());
+		fields.put(SCOPE, StringUtils.collectionToDelimitedString(authorizationRequest.getScopes(), " "));
+		fields.put(STATE, authorizationRequest.getState());
+		fields.put(EXPIRES_AT, String.valueOf(expiresAt.getEpochSecond()));
+		putAll(fields, ADDITIONAL_PARAMETER_PREFIX, authorizationRequest.getAdditionalParameters());
+		putAll(fields, ATTRIBUTE_PREFIX, authorizationRequest.getAttributes());
+		String derivedAuthorizationRequestUri = OAuth2AuthorizationRequest.from(authorizationRequest)
+			.build()
+			.getAuthorizationRequestUri();
+		if (!derivedAuthorizationRequestUri.equals(authorizationRequest.getAuthorizationRequestUri())) {
+			fields.put(AUTHORIZATION_REQUEST_URI, authorizationRequest.getAuthorizationRequestUri());
+		}
+		StringJoiner form = new StringJoiner("&");
+		fields.forEach((name, value) -> {
+			if (value != null) {
+				form.add(encode(name) + "=" + encode(value));
+			}
+		});
+		byte[] encrypted = this.encryptor.encrypt(form.toString().getBytes(StandardCharsets.UTF_8));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(encrypted);
+	}
+
+	/**
+	 * Returns the {@link OAuth2AuthorizationRequest} encoded in the provided cookie value,
+	 * or {@code null} if the value cannot be decrypted or has expired.
+	 */
+	OAuth2AuthorizationRequest decode(String cookieValue, Instant now) {
+		Map<String, String> fields;
+		try {
+			byte[] decrypted = this.encryptor.decrypt(Base64.getUrlDecoder().decode(cookieValue));
+			fields = parse(new String(decrypted, StandardCharsets.UTF_8));
+		}
+		catch (RuntimeException ex) {
+			return null;
+		}
+		String expiresAt = fields.get(EXPIRES_AT);
+		if (expiresAt == null || !Instant.ofEpochSecond(Long.parseLong(expiresAt)).isAfter(now)) {
+			return null;
+		}
+		Map<String, Object> additionalParameters = new LinkedHashMap<>();
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		fields.forEach((name, value) -> {
+			if (name.startsWith(ADDITIONAL_PARAMETER_PREFIX)) {
+				additionalParameters.put(name.substring(ADDITIONAL_PARAMETER_PREFIX.length()), value);
+			}
+			else if (name.startsWith(ATTRIBUTE_PREFIX)) {
+				attributes.put(name.substring(ATTRIBUTE_PREFIX.length()), value);
+			}
+		});
+		// @formatter:off
+		return OAuth2AuthorizationRequest.authorizationCode()
+				.authorizationUri(fields.get(AUTHORIZATION_URI))
+				.clientId(fields.get(CLIENT_ID))
+				.redirectUri(fields.get(REDIRECT_URI))
+				.scope(StringUtils.delimitedListToStringArray(fields.get(SCOPE), " "))
+				.state(fields.get(STATE))
+				.additionalParameters(additionalParameters)
+				.attributes(attributes)
+				.authorizationRequestUri(fields.get(AUTHORIZATION_REQUEST_URI))
+				.build();
+		// @formatter:on
+	}
+
+	private static void putAll(Map<String, String> fields, String prefix, Map<String, Object> values) {
+		values.forEach((name, value) -> {
+			Assert.isTrue(value instanceof String,
+					"authorizationRequest additional parameters and attributes must have String values");
+			fields.put(prefix + name, (String) value);
+		});
+	}
+
+	private static Map<String, String> parse(String form) {
+		Map<String, String> fields = new LinkedHashMap<>();
+		for (String field : StringUtils.delimitedListToStringArray(form, "&")) {
+			int index = field.indexOf('=');
+			fields.put(decode(field.substring(0, index)), decode(field.substring(index + 1)));
+		}
+		return fields;
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+
+	private static String decode(String value) {
+		return URLDecoder.decode(value, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.web.server;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import javax.crypto.SecretKey;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * An implementation of an {@link ServerAuthorizationRequestRepository} that stores
+ * {@link OAuth2AuthorizationRequest} in an encrypted cookie, so that no
+ * {@code WebSession} is needed during the authorization flow.
+ *
+ * <p>
+ * The authorization request is encrypted and authenticated with AES-GCM using the
+ * provided {@link SecretKey}, which must be shared by all the instances of the
+ * application. The cookie is {@code HttpOnly}, {@code SameSite=Lax} and expires after
+ * the configured {@link #setMaxAge(Duration) max age}, which is also enforced when the
+ * cookie is read.
+ *
+ * <p>
+ * <b>NOTE:</b> The additional parameters and attributes of the authorization request
+ * must have {@code String} values, and only the {@code authorization_code} grant type
+ * is supported.
+ *
+ * @since 7.0
+ * @see ServerAuthorizationRequestRepository
+ * @see WebSessionOAuth2ServerAuthorizationRequestRepository
+ * @see OAuth2AuthorizationRequest
+ */
+public final class CookieOAuth2ServerAuthorizationRequestRepository
+		implements ServerAuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+	private static final String DEFAULT_COOKIE_NAME = "OAUTH2_AUTHORIZATION_REQUEST";
+
+	private final AuthorizationRequestCookieCodec codec;
+
+	private String cookieName = DEFAULT_COOKIE_NAME;
+
+	private Duration maxAge = Duration.ofMinutes(5);
+
+	private Consumer<ResponseCookie.ResponseCookieBuilder> cookieCustomizer = (builder) -> {
+	};
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Constructs a {@code CookieOAuth2ServerAuthorizationRequestRepository} using the
+	 * provided parameters.
+	 * @param secretKey the AES key used to encrypt the authorization request
+	 */
+	public CookieOAuth2ServerAuthorizationRequestRepository(SecretKey secretKey) {
+		this.codec = new AuthorizationRequestCookieCodec(secretKey);
+	}
+
+	@Override
+	public Mono<OAuth2AuthorizationRequest> loadAuthorizationRequest(ServerWebExchange exchange) {
+		Assert.notNull(exchange, "exchange cannot be null");
+		return Mono.fromCallable(() -> getAuthorizationRequest(exchange));
+	}
+
+	@Override
+	public Mono<Void> saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+			ServerWebExchange exchange) {
+		Assert.notNull(authorizationRequest, "authorizationRequest cannot be null");
+		Assert.notNull(exchange, "exchange cannot be null");
+		return Mono.fromRunnable(() -> {
+			Assert.hasText(authorizationRequest.getState(), "authorizationRequest.state cannot be empty");
+			String cookieValue = this.codec.encode(authorizationRequest, this.clock.instant().plus(this.maxAge));
+			addCookie(exchange, cookieValue, this.maxAge);
+		});
+	}
+
+	@Override
+	public Mono<OAuth2AuthorizationRequest> removeAuthorizationRequest(ServerWebExchange exchange) {
+		Assert.notNull(exchange, "exchange cannot be null");
+		return Mono.fromCallable(() -> {
+			OAuth2AuthorizationRequest authorizationRequest = getAuthorizationRequest(exchange);
+			if (authorizationRequest != null) {
+				addCookie(exchange, "", Duration.ZERO);
+			}
+			return authorizationRequest;
+		});
+	}
+
+	private OAuth2AuthorizationRequest getAuthorizationRequest(ServerWebExchange exchange) {
+		String state = getStateParameter(exchange);
+		if (state == null) {
+			return null;
+		}
+		HttpCookie cookie = exchange.getRequest().getCookies().getFirst(this.cookieName);
+		if (cookie == null || !StringUtils.hasText(cookie.getValue())) {
+			return null;
+		}
+		OAuth2AuthorizationRequest authorizationRequest = this.codec.decode(cookie.getValue(), this.clock.instant());
+		return (authorizationRequest != null && state.equals(authorizationRequest.getState())) ? authorizationRequest
+				: null;
+	}
+
+	/**
+	 * Gets the state parameter from the {@link ServerHttpRequest}
+	 * @param exchange the exchange to use
+	 * @return the state parameter or null if not found
+	 */
+	private String getStateParameter(ServerWebExchange exchange) {
+		return exchange.getRequest().getQueryParams().getFirst(OAuth2ParameterNames.STATE);
+	}
+
+	private void addCookie(ServerWebExchange exchange, String cookieValue, Duration maxAge) {
+		String contextPath = exchange.getRequest().getPath().contextPath().value();
+		// @formatter:off
+		ResponseCookie.ResponseCookieBuilder cookieBuilder = ResponseCookie.from(this.cookieName, cookieValue)
+				.path(StringUtils.hasLength(contextPath) ? contextPath : "/")
+				.secure(exchange.getRequest().getSslInfo() != null)
+				.httpOnly(true)
+				.sameSite("Lax")
+				.maxAge(maxAge);
+		// @formatter:on
+		this.cookieCustomizer.accept(cookieBuilder);
+		exchange.getResponse().addCookie(cookieBuilder.build());
+	}
+
+	/**
+	 * Sets the name of the cookie. The default is {@code OAUTH2_AUTHORIZATION_REQUEST}.
+	 * @param cookieName the name of the cookie
+	 */
+	public void setCookieName(String cookieName) {
+		Assert.hasText(cookieName, "cookieName cannot be empty");
+		this.cookieName = cookieName;
+	}
+
+	/**
+	 * Sets the maximum age of a stored authorization request. The default is 5 minutes.
+	 * @param maxAge the maximum age of a stored authorization request
+	 */
+	public void setMaxAge(Duration maxAge) {
+		Assert.notNull(maxAge, "maxAge cannot be null");
+		Assert.isTrue(!maxAge.isNegative() && !maxAge.isZero(), "maxAge must be greater than zero");
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Sets a {@link Consumer} for a {@code ResponseCookieBuilder} that will be invoked
+	 * for each cookie being built, just before the call to {@code build()}. For example,
+	 * {@code SameSite=None} is needed when the authorization response is returned with
+	 * {@code response_mode=form_post}.
+	 * @param cookieCustomizer consumer for a cookie builder
+	 */
+	public void setCookieCustomizer(Consumer<ResponseCookie.ResponseCookieBuilder> cookieCustomizer) {
+		Assert.notNull(cookieCustomizer, "cookieCustomizer cannot be null");
+		this.cookieCustomizer = cookieCustomizer;
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+}
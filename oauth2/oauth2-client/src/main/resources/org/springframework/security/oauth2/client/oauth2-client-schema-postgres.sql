@@ -11,3 +11,4 @@ CREATE TABLE oauth2_authorized_client (
   created_at timestamp DEFAULT CURRENT_TIMESTAMP NOT NULL,
   PRIMARY KEY (client_registration_id, principal_name)
 );
+CREATE INDEX oauth2_authorized_client_principal_name_idx ON oauth2_authorized_client (principal_name);
@@ -0,0 +1,12 @@
+CREATE TABLE oidc_session (
+  client_session_id varchar(200) NOT NULL,
+  issuer varchar(200) NOT NULL,
+  provider_session_id varchar(200) DEFAULT NULL,
+  subject varchar(200) NOT NULL,
+  expires_at timestamp DEFAULT NULL,
+  session_information blob NOT NULL,
+  PRIMARY KEY (client_session_id)
+);
+CREATE INDEX oidc_session_provider_session_id_idx ON oidc_session (issuer, provider_session_id);
+CREATE INDEX oidc_session_subject_idx ON oidc_session (issuer, subject);
+CREATE INDEX oidc_session_expires_at_idx ON oidc_session (expires_at);
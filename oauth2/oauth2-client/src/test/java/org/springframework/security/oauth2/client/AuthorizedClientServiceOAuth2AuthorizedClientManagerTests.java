@@ -16,18 +16,35 @@
 
 package org.springframework.security.oauth2.client;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
 import org.springframework.security.oauth2.client.registration.TestClientRegistrations;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
 import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
 import org.springframework.security.oauth2.core.TestOAuth2AccessTokens;
@@ -371,4 +388,119 @@ public class AuthorizedClientServiceOAuth2AuthorizedClientManagerTests {
 		verifyNoInteractions(this.authorizedClientService);
 	}
 
+	@Test
+	public void authorizeWhenCoalesceConcurrentAuthorizationsThenSingleTokenRequest() throws Exception {
+		MockWebServer server = new MockWebServer();
+		server.start();
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		try {
+			String accessTokenSuccessResponse = "{\n"
+					+ "	\"access_token\": \"access-token-1234\",\n"
+					+ "	\"token_type\": \"bearer\",\n"
+					+ "	\"expires_in\": \"3600\"\n"
+					+ "}\n";
+			CountDownLatch requested = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			server.setDispatcher(new Dispatcher() {
+				@Override
+				public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+					requested.countDown();
+					release.await(5, TimeUnit.SECONDS);
+					return new MockResponse().setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.setBody(accessTokenSuccessResponse);
+				}
+			});
+			ClientRegistration clientRegistration = TestClientRegistrations.clientCredentials()
+				.tokenUri(server.url("/oauth2/token").toString())
+				.build();
+			ClientRegistrationRepository clientRegistrationRepository = new InMemoryClientRegistrationRepository(
+					clientRegistration);
+			AuthorizedClientServiceOAuth2AuthorizedClientManager authorizedClientManager = new AuthorizedClientServiceOAuth2AuthorizedClientManager(
+					clientRegistrationRepository, new InMemoryOAuth2AuthorizedClientService(clientRegistrationRepository));
+			authorizedClientManager.setCoalesceConcurrentAuthorizations(true);
+			OAuth2AuthorizeRequest authorizeRequest = OAuth2AuthorizeRequest
+				.withClientRegistrationId(clientRegistration.getRegistrationId())
+				.principal(this.principal)
+				.build();
+
+			// The token response is held until every caller has started, and callers that
+			// start after it is released reuse the saved authorized client
+			CountDownLatch started = new CountDownLatch(10);
+			List<Future<OAuth2AuthorizedClient>> authorizedClients = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				authorizedClients.add(executor.submit(() -> {
+					started.countDown();
+					return authorizedClientManager.authorize(authorizeRequest);
+				}));
+			}
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(requested.await(5, TimeUnit.SECONDS)).isTrue();
+			release.countDown();
+
+			for (Future<OAuth2AuthorizedClient> authorizedClient : authorizedClients) {
+				assertThat(authorizedClient.get(5, TimeUnit.SECONDS).getAccessToken().getTokenValue())
+					.isEqualTo("access-token-1234");
+			}
+			assertThat(server.getRequestCount()).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public void authorizeWhenCoalesceConcurrentAuthorizationsAndFailureThenWaitingCallersReceiveException()
+			throws Exception {
+		CountDownLatch authorizing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		OAuth2AuthorizationException exception = new OAuth2AuthorizationException(
+				new OAuth2Error(OAuth2ErrorCodes.SERVER_ERROR));
+		given(this.clientRegistrationRepository.findByRegistrationId(eq(this.clientRegistration.getRegistrationId())))
+			.willReturn(this.clientRegistration);
+		given(this.authorizedClientProvider.authorize(any())).willAnswer((invocation) -> {
+			authorizing.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			throw exception;
+		});
+		this.authorizedClientManager.setCoalesceConcurrentAuthorizations(true);
+		OAuth2AuthorizeRequest authorizeRequest = OAuth2AuthorizeRequest
+			.withClientRegistrationId(this.clientRegistration.getRegistrationId())
+			.principal(this.principal)
+			.build();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<OAuth2AuthorizedClient> leader = executor
+				.submit(() -> this.authorizedClientManager.authorize(authorizeRequest));
+			authorizing.await(5, TimeUnit.SECONDS);
+			FutureTask<OAuth2AuthorizedClient> follower = new FutureTask<>(
+					() -> this.authorizedClientManager.authorize(authorizeRequest));
+			Thread followerThread = new Thread(follower);
+			followerThread.start();
+			awaitJoined(followerThread);
+			release.countDown();
+
+			assertThatExceptionOfType(ExecutionException.class)
+				.isThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+				.withCause(exception);
+			assertThatExceptionOfType(ExecutionException.class)
+				.isThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+				.withCause(exception);
+			verify(this.authorizedClientProvider).authorize(any());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// The leader waits with a timeout, while a follower joins the in-flight authorization
+	// without one
+	private static void awaitJoined(Thread follower) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (follower.getState() != Thread.State.WAITING) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.onSpinWait();
+		}
+	}
+
 }
@@ -16,19 +16,31 @@
 
 package org.springframework.security.oauth2.client;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.test.publisher.PublisherProbe;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryReactiveClientRegistrationRepository;
 import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
 import org.springframework.security.oauth2.client.registration.TestClientRegistrations;
 import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
@@ -46,6 +58,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -508,4 +521,81 @@ public class AuthorizedClientServiceReactiveOAuth2AuthorizedClientManagerTests {
 		assertThat(requestScopeAttribute).contains("read", "write");
 	}
 
+	@Test
+	public void authorizeWhenCoalesceConcurrentAuthorizationsThenSingleTokenRequest() throws Exception {
+		MockWebServer server = new MockWebServer();
+		server.start();
+		try {
+			String accessTokenSuccessResponse = "{\n"
+					+ "	\"access_token\": \"access-token-1234\",\n"
+					+ "	\"token_type\": \"bearer\",\n"
+					+ "	\"expires_in\": \"3600\"\n"
+					+ "}\n";
+			CountDownLatch requested = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			server.setDispatcher(new Dispatcher() {
+				@Override
+				public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+					requested.countDown();
+					release.await(5, TimeUnit.SECONDS);
+					return new MockResponse().setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.setBody(accessTokenSuccessResponse);
+				}
+			});
+			ClientRegistration clientRegistration = TestClientRegistrations.clientCredentials()
+				.tokenUri(server.url("/oauth2/token").toString())
+				.build();
+			ReactiveClientRegistrationRepository clientRegistrationRepository = new InMemoryReactiveClientRegistrationRepository(
+					clientRegistration);
+			AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager authorizedClientManager = new AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager(
+					clientRegistrationRepository,
+					new InMemoryReactiveOAuth2AuthorizedClientService(clientRegistrationRepository));
+			authorizedClientManager.setCoalesceConcurrentAuthorizations(true);
+			OAuth2AuthorizeRequest authorizeRequest = OAuth2AuthorizeRequest
+				.withClientRegistrationId(clientRegistration.getRegistrationId())
+				.principal(this.principal)
+				.build();
+
+			// Every authorization is subscribed to before the token response is released
+			CompletableFuture<List<OAuth2AuthorizedClient>> authorizing = Flux.range(0, 10)
+				.flatMap((i) -> authorizedClientManager.authorize(authorizeRequest))
+				.collectList()
+				.toFuture();
+			assertThat(requested.await(5, TimeUnit.SECONDS)).isTrue();
+			release.countDown();
+			List<OAuth2AuthorizedClient> authorizedClients = authorizing.get(5, TimeUnit.SECONDS);
+
+			assertThat(authorizedClients).hasSize(10)
+				.allSatisfy((authorizedClient) -> assertThat(authorizedClient.getAccessToken().getTokenValue())
+					.isEqualTo("access-token-1234"));
+			assertThat(server.getRequestCount()).isEqualTo(1);
+		}
+		finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public void authorizeWhenCoalesceConcurrentAuthorizationsAndCompletedThenNotShared() {
+		given(this.clientRegistrationRepository.findByRegistrationId(eq(this.clientRegistration.getRegistrationId())))
+			.willReturn(Mono.just(this.clientRegistration));
+		given(this.authorizedClientService.loadAuthorizedClient(any(), any())).willReturn(Mono.empty());
+		given(this.authorizedClientProvider.authorize(any()))
+			.willAnswer((invocation) -> Mono.just(this.authorizedClient));
+		this.authorizedClientManager.setCoalesceConcurrentAuthorizations(true);
+		OAuth2AuthorizeRequest authorizeRequest = OAuth2AuthorizeRequest
+			.withClientRegistrationId(this.clientRegistration.getRegistrationId())
+			.principal(this.principal)
+			.build();
+
+		StepVerifier.create(this.authorizedClientManager.authorize(authorizeRequest))
+			.expectNext(this.authorizedClient)
+			.verifyComplete();
+		StepVerifier.create(this.authorizedClientManager.authorize(authorizeRequest))
+			.expectNext(this.authorizedClient)
+			.verifyComplete();
+
+		verify(this.authorizedClientProvider, times(2)).authorize(any());
+	}
+
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AuthorizedClientUpsertSql}.
+ */
+public class AuthorizedClientUpsertSqlTests {
+
+	private static final String OAUTH2_CLIENT_SCHEMA_SQL_RESOURCE = "org/springframework/security/oauth2/client/oauth2-client-schema.sql";
+
+	private static final String TABLE_NAME = "oauth2_authorized_client";
+
+	private static final String COLUMN_NAMES = "client_registration_id, principal_name, access_token_type, "
+			+ "access_token_value, access_token_issued_at, access_token_expires_at, access_token_scopes, "
+			+ "refresh_token_value, refresh_token_issued_at";
+
+	private static final String VALUES = "?, ?, ?, ?, ?, ?, ?, ?, ?";
+
+	@Test
+	public void forDatabaseWhenNullThenNull() {
+		assertThat(AuthorizedClientUpsertSql.forDatabase(null, TABLE_NAME, COLUMN_NAMES, VALUES)).isNull();
+	}
+
+	@Test
+	public void forDatabaseWhenUnsupportedThenNull() {
+		assertThat(AuthorizedClientUpsertSql.forDatabase("PostgreSQL", TABLE_NAME, COLUMN_NAMES, VALUES)).isNull();
+		assertThat(AuthorizedClientUpsertSql.forDatabase("HSQL Database Engine", TABLE_NAME, COLUMN_NAMES, VALUES))
+			.isNull();
+	}
+
+	@Test
+	public void forDatabaseWhenCustomTableThenUsed() {
+		assertThat(AuthorizedClientUpsertSql.forDatabase("MySQL", "custom_table", COLUMN_NAMES, VALUES))
+			.startsWith("INSERT INTO custom_table (" + COLUMN_NAMES + ")")
+			.endsWith("refresh_token_issued_at = VALUES(refresh_token_issued_at)")
+			.doesNotContain("client_registration_id = VALUES");
+	}
+
+	// H2 emulates the upsert syntax of the other databases in its compatibility modes
+	@ParameterizedTest
+	@ValueSource(strings = { "H2", "MySQL", "MariaDB" })
+	public void forDatabaseWhenExecutedTwiceThenInsertedAndUpdated(String databaseName) {
+		String mode = databaseName.equals("H2") ? "REGULAR" : databaseName;
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=" + mode + ";DB_CLOSE_DELAY=-1");
+		new ResourceDatabasePopulator(new ClassPathResource(OAUTH2_CLIENT_SCHEMA_SQL_RESOURCE)).execute(dataSource);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		String sql = AuthorizedClientUpsertSql.forDatabase(databaseName, TABLE_NAME, COLUMN_NAMES, VALUES);
+		try {
+			jdbcTemplate.update(sql, parameters("access-token-1"));
+			jdbcTemplate.update(sql, parameters("access-token-2"));
+			assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE_NAME, Integer.class)).isEqualTo(1);
+			byte[] accessTokenValue = jdbcTemplate.queryForObject("SELECT access_token_value FROM " + TABLE_NAME,
+					byte[].class);
+			assertThat(new String(accessTokenValue, StandardCharsets.UTF_8)).isEqualTo("access-token-2");
+		}
+		finally {
+			jdbcTemplate.execute("SHUTDOWN");
+		}
+	}
+
+	private static Object[] parameters(String accessTokenValue) {
+		Timestamp now = Timestamp.from(Instant.now());
+		return new Object[] { "registration-id", "principal", "Bearer",
+				accessTokenValue.getBytes(StandardCharsets.UTF_8), now, now, null, null, null };
+	}
+
+}
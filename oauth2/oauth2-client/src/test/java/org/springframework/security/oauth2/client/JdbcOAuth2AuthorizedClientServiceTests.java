@@ -21,6 +21,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
@@ -340,6 +341,88 @@ public class JdbcOAuth2AuthorizedClientServiceTests {
 		assertThat(authorizedClient).isNull();
 	}
 
+	@Test
+	public void loadAuthorizedClientsWhenPrincipalHasMultipleThenReturnAll() {
+		Authentication principal = createPrincipal();
+		ClientRegistration otherClientRegistration = TestClientRegistrations.clientRegistration()
+			.registrationId("other-registration")
+			.build();
+		this.authorizedClientService.saveAuthorizedClient(createAuthorizedClient(principal, this.clientRegistration),
+				principal);
+		this.authorizedClientService.saveAuthorizedClient(createAuthorizedClient(principal, otherClientRegistration),
+				principal);
+		Authentication otherPrincipal = createPrincipal();
+		this.authorizedClientService.saveAuthorizedClient(
+				createAuthorizedClient(otherPrincipal, this.clientRegistration), otherPrincipal);
+		List<OAuth2AuthorizedClient> authorizedClients = this.authorizedClientService
+			.loadAuthorizedClients(principal.getName());
+		assertThat(authorizedClients).hasSize(2)
+			.extracting(OAuth2AuthorizedClient::getPrincipalName)
+			.containsOnly(principal.getName());
+	}
+
+	@Test
+	public void loadAuthorizedClientsWhenNoneThenReturnEmpty() {
+		assertThat(this.authorizedClientService.loadAuthorizedClients("principal-none")).isEmpty();
+	}
+
+	@Test
+	public void loadAuthorizedClientWhenCachedThenDatabaseNotQueried() {
+		this.authorizedClientService.setAuthorizedClientCacheTimeToLive(Duration.ofMinutes(5));
+		Authentication principal = createPrincipal();
+		OAuth2AuthorizedClient authorizedClient = createAuthorizedClient(principal, this.clientRegistration);
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient, principal);
+		this.jdbcOperations.update("DELETE FROM oauth2_authorized_client");
+		assertThat(this.authorizedClientService.<OAuth2AuthorizedClient>loadAuthorizedClient(
+				this.clientRegistration.getRegistrationId(), principal.getName()))
+			.isSameAs(authorizedClient);
+	}
+
+	@Test
+	public void removeAuthorizedClientWhenCachedThenEvicted() {
+		this.authorizedClientService.setAuthorizedClientCacheTimeToLive(Duration.ofMinutes(5));
+		Authentication principal = createPrincipal();
+		OAuth2AuthorizedClient authorizedClient = createAuthorizedClient(principal, this.clientRegistration);
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient, principal);
+		this.authorizedClientService.removeAuthorizedClient(this.clientRegistration.getRegistrationId(),
+				principal.getName());
+		assertThat(this.authorizedClientService.<OAuth2AuthorizedClient>loadAuthorizedClient(
+				this.clientRegistration.getRegistrationId(), principal.getName()))
+			.isNull();
+	}
+
+	@Test
+	public void setAuthorizedClientCacheTimeToLiveWhenZeroThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.authorizedClientService.setAuthorizedClientCacheTimeToLive(Duration.ZERO))
+			.withMessage("timeToLive must be greater than zero");
+	}
+
+	@Test
+	public void saveAuthorizedClientWhenUpsertSupportedThenInsertedAndUpdated() {
+		EmbeddedDatabase db = createDb(EmbeddedDatabaseType.H2, OAUTH2_CLIENT_SCHEMA_SQL_RESOURCE);
+		try {
+			JdbcOAuth2AuthorizedClientService authorizedClientService = new JdbcOAuth2AuthorizedClientService(
+					new JdbcTemplate(db), this.clientRegistrationRepository);
+			Authentication principal = createPrincipal();
+			OAuth2AuthorizedClient authorizedClient = createAuthorizedClient(principal, this.clientRegistration);
+			authorizedClientService.saveAuthorizedClient(authorizedClient, principal);
+			OAuth2AccessToken updatedAccessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+					"updated-access-token", Instant.now(), Instant.now().plus(Duration.ofMinutes(5)));
+			OAuth2AuthorizedClient updatedAuthorizedClient = new OAuth2AuthorizedClient(this.clientRegistration,
+					principal.getName(), updatedAccessToken);
+			authorizedClientService.saveAuthorizedClient(updatedAuthorizedClient, principal);
+			OAuth2AuthorizedClient savedAuthorizedClient = authorizedClientService
+				.loadAuthorizedClient(this.clientRegistration.getRegistrationId(), principal.getName());
+			assertThat(savedAuthorizedClient.getAccessToken().getTokenValue()).isEqualTo("updated-access-token");
+			assertThat(savedAuthorizedClient.getRefreshToken()).isNull();
+			assertThat(authorizedClientService.loadAuthorizedClients(principal.getName())).hasSize(1);
+		}
+		finally {
+			db.shutdown();
+		}
+	}
+
 	@Test
 	public void tableDefinitionWhenCustomThenAbleToOverride() {
 		CustomTableDefinitionJdbcOAuth2AuthorizedClientService customAuthorizedClientService = new CustomTableDefinitionJdbcOAuth2AuthorizedClientService(
@@ -362,10 +445,14 @@ public class JdbcOAuth2AuthorizedClientServiceTests {
 	}
 
 	private static EmbeddedDatabase createDb(String schema) {
+		return createDb(EmbeddedDatabaseType.HSQL, schema);
+	}
+
+	private static EmbeddedDatabase createDb(EmbeddedDatabaseType type, String schema) {
 		// @formatter:off
 		return new EmbeddedDatabaseBuilder()
 				.generateUniqueName(true)
-				.setType(EmbeddedDatabaseType.HSQL)
+				.setType(type)
 				.setScriptEncoding("UTF-8")
 				.addScript(schema)
 				.build();
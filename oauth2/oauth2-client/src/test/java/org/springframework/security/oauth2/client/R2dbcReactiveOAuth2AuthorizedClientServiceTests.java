@@ -335,6 +335,63 @@ public class R2dbcReactiveOAuth2AuthorizedClientServiceTests {
 			.verifyComplete();
 	}
 
+	@Test
+	public void loadAuthorizedClientsWhenPrincipalHasMultipleThenReturnAll() {
+		Authentication principal = createPrincipal();
+		ClientRegistration otherClientRegistration = TestClientRegistrations.clientRegistration()
+			.registrationId("other-registration")
+			.build();
+		Authentication otherPrincipal = createPrincipal();
+
+		this.authorizedClientService
+			.saveAuthorizedClient(createAuthorizedClient(principal, this.clientRegistration), principal)
+			.then(this.authorizedClientService
+				.saveAuthorizedClient(createAuthorizedClient(principal, otherClientRegistration), principal))
+			.then(this.authorizedClientService.saveAuthorizedClient(
+					createAuthorizedClient(otherPrincipal, this.clientRegistration), otherPrincipal))
+			.as(StepVerifier::create)
+			.verifyComplete();
+
+		this.authorizedClientService.loadAuthorizedClients(principal.getName())
+			.map(OAuth2AuthorizedClient::getPrincipalName)
+			.as(StepVerifier::create)
+			.expectNext(principal.getName(), principal.getName())
+			.verifyComplete();
+	}
+
+	@Test
+	public void loadAuthorizedClientWhenCachedThenDatabaseNotQueried() {
+		this.authorizedClientService.setAuthorizedClientCacheTimeToLive(Duration.ofMinutes(5));
+		Authentication principal = createPrincipal();
+		OAuth2AuthorizedClient authorizedClient = createAuthorizedClient(principal, this.clientRegistration);
+
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient, principal)
+			.then(this.databaseClient.sql("DELETE FROM oauth2_authorized_client").then())
+			.as(StepVerifier::create)
+			.verifyComplete();
+
+		this.authorizedClientService
+			.loadAuthorizedClient(this.clientRegistration.getRegistrationId(), principal.getName())
+			.as(StepVerifier::create)
+			.expectNext(authorizedClient)
+			.verifyComplete();
+
+		this.authorizedClientService
+			.removeAuthorizedClient(this.clientRegistration.getRegistrationId(), principal.getName())
+			.then(this.authorizedClientService.loadAuthorizedClient(this.clientRegistration.getRegistrationId(),
+					principal.getName()))
+			.as(StepVerifier::create)
+			.expectNextCount(0)
+			.verifyComplete();
+	}
+
+	@Test
+	public void setAuthorizedClientCacheTimeToLiveWhenZeroThenThrowIllegalArgumentException() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> this.authorizedClientService.setAuthorizedClientCacheTimeToLive(Duration.ZERO))
+			.withMessage("timeToLive must be greater than zero");
+	}
+
 	@Test
 	public void setAuthorizedClientRowMapperWhenNullThenThrowIllegalArgumentException() {
 		assertThatExceptionOfType(IllegalArgumentException.class)
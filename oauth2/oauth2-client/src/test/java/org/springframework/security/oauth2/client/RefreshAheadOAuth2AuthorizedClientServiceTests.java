@@ -0,0 +1,288 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.TestClientRegistrations;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.TestOAuth2AccessTokens;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for {@link RefreshAheadOAuth2AuthorizedClientService}.
+ */
+public class RefreshAheadOAuth2AuthorizedClientServiceTests {
+
+	private final Instant now = Instant.now();
+
+	private final ClientRegistration clientRegistration = TestClientRegistrations.clientCredentials().build();
+
+	private final Authentication principal = new TestingAuthenticationToken("principal", "password");
+
+	private OAuth2AuthorizedClientService delegate;
+
+	private OAuth2AuthorizedClientProvider authorizedClientProvider;
+
+	private TaskScheduler taskScheduler;
+
+	private ScheduledFuture<?> scheduledFuture;
+
+	private RefreshAheadOAuth2AuthorizedClientService authorizedClientService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		this.delegate = mock(OAuth2AuthorizedClientService.class);
+		this.authorizedClientProvider = mock(OAuth2AuthorizedClientProvider.class);
+		this.taskScheduler = mock(TaskScheduler.class);
+		this.scheduledFuture = mock(ScheduledFuture.class);
+		given(this.taskScheduler.schedule(any(Runnable.class), any(Instant.class)))
+			.willAnswer((invocation) -> this.scheduledFuture);
+		this.authorizedClientService = new RefreshAheadOAuth2AuthorizedClientService(this.delegate,
+				this.authorizedClientProvider);
+		this.authorizedClientService.setTaskScheduler(this.taskScheduler);
+		this.authorizedClientService.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+		this.authorizedClientService.setRefreshAhead(Duration.ofSeconds(30));
+		this.authorizedClientService.setJitter(Duration.ZERO);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.authorizedClientService.destroy();
+	}
+
+	@Test
+	public void constructorWhenDelegateNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new RefreshAheadOAuth2AuthorizedClientService(null, this.authorizedClientProvider))
+			.withMessage("delegate cannot be null");
+	}
+
+	@Test
+	public void constructorWhenAuthorizedClientProviderNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new RefreshAheadOAuth2AuthorizedClientService(this.delegate, null))
+			.withMessage("authorizedClientProvider cannot be null");
+	}
+
+	@Test
+	public void setRefreshAheadWhenNegativeThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.authorizedClientService.setRefreshAhead(Duration.ofSeconds(-1)))
+			.withMessage("refreshAhead cannot be negative");
+	}
+
+	@Test
+	public void setJitterWhenNegativeThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.authorizedClientService.setJitter(Duration.ofSeconds(-1)))
+			.withMessage("jitter cannot be negative");
+	}
+
+	@Test
+	public void saveAuthorizedClientWhenAccessTokenExpiresThenRefreshScheduledAheadOfExpiry() {
+		OAuth2AuthorizedClient authorizedClient = authorizedClient(Duration.ofMinutes(5));
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient, this.principal);
+		verify(this.delegate).saveAuthorizedClient(authorizedClient, this.principal);
+		verify(this.taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+		assertThat(scheduledRefreshTime()).isEqualTo(this.now.plus(Duration.ofMinutes(5)).minusSeconds(30));
+	}
+
+	@Test
+	public void saveAuthorizedClientWhenJitterThenRefreshScheduledWithinJitter() {
+		this.authorizedClientService.setJitter(Duration.ofSeconds(10));
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient(Duration.ofMinutes(5)), this.principal);
+		Instant latest = this.now.plus(Duration.ofMinutes(5)).minusSeconds(30);
+		assertThat(scheduledRefreshTime()).isBetween(latest.minusSeconds(10), latest);
+	}
+
+	@Test
+	public void saveAuthorizedClientWhenAccessTokenWithinRefreshAheadThenRefreshNotScheduled() {
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient(Duration.ofSeconds(20)), this.principal);
+		verifyNoInteractions(this.taskScheduler);
+	}
+
+	@Test
+	public void saveAuthorizedClientWhenRescheduledThenPreviousRefreshCancelled() {
+		ScheduledFuture<?> previousScheduledFuture = this.scheduledFuture;
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient(Duration.ofMinutes(5)), this.principal);
+		this.scheduledFuture = mock(ScheduledFuture.class);
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient(Duration.ofMinutes(5)), this.principal);
+		verify(previousScheduledFuture).cancel(false);
+	}
+
+	@Test
+	public void removeAuthorizedClientWhenScheduledThenRefreshCancelled() {
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient(Duration.ofMinutes(5)), this.principal);
+		this.authorizedClientService.removeAuthorizedClient(this.clientRegistration.getRegistrationId(),
+				this.principal.getName());
+		verify(this.delegate).removeAuthorizedClient(this.clientRegistration.getRegistrationId(),
+				this.principal.getName());
+		verify(this.scheduledFuture).cancel(false);
+	}
+
+	@Test
+	public void refreshWhenReauthorizedThenSavedAndRescheduled() {
+		OAuth2AuthorizedClient authorizedClient = authorizedClient(Duration.ofMinutes(5));
+		OAuth2AuthorizedClient refreshedAuthorizedClient = authorizedClient(Duration.ofMinutes(10));
+		given(this.delegate.loadAuthorizedClient(this.clientRegistration.getRegistrationId(),
+				this.principal.getName()))
+			.willReturn(authorizedClient);
+		given(this.authorizedClientProvider.authorize(any())).willReturn(refreshedAuthorizedClient);
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient, this.principal);
+		scheduledRefresh().run();
+		ArgumentCaptor<OAuth2AuthorizationContext> authorizationContextCaptor = ArgumentCaptor
+			.forClass(OAuth2AuthorizationContext.class);
+		verify(this.authorizedClientProvider).authorize(authorizationContextCaptor.capture());
+		assertThat(authorizationContextCaptor.getValue().getAuthorizedClient()).isSameAs(authorizedClient);
+		assertThat(authorizationContextCaptor.getValue().getPrincipal()).isSameAs(this.principal);
+		verify(this.delegate).saveAuthorizedClient(refreshedAuthorizedClient, this.principal);
+		verify(this.taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+		assertThat(scheduledRefreshTime()).isEqualTo(this.now.plus(Duration.ofMinutes(10)).minusSeconds(30));
+		assertThat(this.authorizedClientService.getRefreshCount()).isEqualTo(1);
+		assertThat(this.authorizedClientService.getRefreshFailureCount()).isZero();
+	}
+
+	@Test
+	public void refreshWhenAuthorizedClientRemovedThenNotReauthorized() {
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient(Duration.ofMinutes(5)), this.principal);
+		scheduledRefresh().run();
+		verifyNoInteractions(this.authorizedClientProvider);
+	}
+
+	@Test
+	public void setRetryDelayWhenZeroThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.authorizedClientService.setRetryDelay(Duration.ZERO))
+			.withMessage("retryDelay must be greater than zero");
+	}
+
+	@Test
+	public void refreshWhenReauthorizationFailsThenFailureRecordedAndRetried() {
+		OAuth2AuthorizedClient authorizedClient = authorizedClient(Duration.ofMinutes(5));
+		given(this.delegate.loadAuthorizedClient(this.clientRegistration.getRegistrationId(),
+				this.principal.getName()))
+			.willReturn(authorizedClient);
+		given(this.authorizedClientProvider.authorize(any()))
+			.willThrow(new OAuth2AuthorizationException(new OAuth2Error(OAuth2ErrorCodes.SERVER_ERROR)));
+		this.authorizedClientService.setRetryDelay(Duration.ofSeconds(10));
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient, this.principal);
+		Instant refreshAt = scheduledRefreshTime();
+		this.authorizedClientService.setClock(Clock.fixed(refreshAt, ZoneOffset.UTC));
+		scheduledRefresh().run();
+		verify(this.delegate, times(1)).saveAuthorizedClient(any(), any());
+		verify(this.taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+		assertThat(scheduledRefreshTime()).isEqualTo(refreshAt.plusSeconds(10));
+		assertThat(this.authorizedClientService.getRefreshCount()).isZero();
+		assertThat(this.authorizedClientService.getRefreshFailureCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void refreshWhenReauthorizationFailsAndAccessTokenExpiresBeforeRetryThenNotRetried() {
+		OAuth2AuthorizedClient authorizedClient = authorizedClient(Duration.ofMinutes(5));
+		given(this.delegate.loadAuthorizedClient(this.clientRegistration.getRegistrationId(),
+				this.principal.getName()))
+			.willReturn(authorizedClient);
+		given(this.authorizedClientProvider.authorize(any()))
+			.willThrow(new OAuth2AuthorizationException(new OAuth2Error(OAuth2ErrorCodes.SERVER_ERROR)));
+		this.authorizedClientService.setRetryDelay(Duration.ofSeconds(30));
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient, this.principal);
+		this.authorizedClientService.setClock(Clock.fixed(scheduledRefreshTime(), ZoneOffset.UTC));
+		scheduledRefresh().run();
+		verify(this.taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+		assertThat(this.authorizedClientService.getRefreshFailureCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void refreshWhenNotReauthorizedThenNotRescheduled() {
+		OAuth2AuthorizedClient authorizedClient = authorizedClient(Duration.ofMinutes(5));
+		given(this.delegate.loadAuthorizedClient(this.clientRegistration.getRegistrationId(),
+				this.principal.getName()))
+			.willReturn(authorizedClient);
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient, this.principal);
+		scheduledRefresh().run();
+		verify(this.delegate, times(1)).saveAuthorizedClient(any(), any());
+		verify(this.taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+		verify(this.delegate, never()).removeAuthorizedClient(any(), any());
+	}
+
+	@Test
+	public void refreshWhenNotReauthorizedThenNoLongerTracked() {
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient(Duration.ofMinutes(5)), this.principal);
+		scheduledRefresh().run();
+		this.authorizedClientService.removeAuthorizedClient(this.clientRegistration.getRegistrationId(),
+				this.principal.getName());
+		verify(this.scheduledFuture, never()).cancel(false);
+	}
+
+	@Test
+	public void refreshWhenRunLateThenLagRecorded() {
+		this.authorizedClientService.saveAuthorizedClient(authorizedClient(Duration.ofMinutes(5)), this.principal);
+		Instant refreshAt = scheduledRefreshTime();
+		this.authorizedClientService.setClock(Clock.fixed(refreshAt.plusSeconds(2), ZoneOffset.UTC));
+		scheduledRefresh().run();
+		assertThat(this.authorizedClientService.getLastRefreshLag()).isEqualTo(Duration.ofSeconds(2));
+	}
+
+	private OAuth2AuthorizedClient authorizedClient(Duration expiresIn) {
+		OAuth2AccessToken accessToken = TestOAuth2AccessTokens.noScopes();
+		accessToken = new OAuth2AccessToken(accessToken.getTokenType(), accessToken.getTokenValue(), this.now,
+				this.now.plus(expiresIn));
+		return new OAuth2AuthorizedClient(this.clientRegistration, this.principal.getName(), accessToken);
+	}
+
+	private Runnable scheduledRefresh() {
+		ArgumentCaptor<Runnable> refreshCaptor = ArgumentCaptor.forClass(Runnable.class);
+		verify(this.taskScheduler, times(1)).schedule(refreshCaptor.capture(), any(Instant.class));
+		return refreshCaptor.getValue();
+	}
+
+	private Instant scheduledRefreshTime() {
+		ArgumentCaptor<Instant> refreshAtCaptor = ArgumentCaptor.forClass(Instant.class);
+		verify(this.taskScheduler, atLeastOnce()).schedule(any(Runnable.class),
+				refreshAtCaptor.capture());
+		return refreshAtCaptor.getValue();
+	}
+
+}
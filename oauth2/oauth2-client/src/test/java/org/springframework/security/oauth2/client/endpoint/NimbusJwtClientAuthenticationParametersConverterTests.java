@@ -20,8 +20,13 @@ import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import com.nimbusds.jose.jwk.JWK;
@@ -260,6 +265,102 @@ public class NimbusJwtClientAuthenticationParametersConverterTests {
 		jwtDecoder.decode(encodedJws);
 	}
 
+	@Test
+	public void setClientAssertionReuseTimeToLiveWhenZeroThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.converter.setClientAssertionReuseTimeToLive(Duration.ZERO))
+			.withMessage("clientAssertionReuseTimeToLive must be greater than zero");
+	}
+
+	@Test
+	public void setClockWhenNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.converter.setClock(null))
+			.withMessage("clock cannot be null");
+	}
+
+	@Test
+	public void convertWhenClientAssertionReuseDisabledThenNewClientAssertion() {
+		given(this.jwkResolver.apply(any())).willReturn(TestJwks.DEFAULT_RSA_JWK);
+		OAuth2ClientCredentialsGrantRequest clientCredentialsGrantRequest = privateKeyJwtGrantRequest();
+		String clientAssertion = this.converter.convert(clientCredentialsGrantRequest)
+			.getFirst(OAuth2ParameterNames.CLIENT_ASSERTION);
+		assertThat(this.converter.convert(clientCredentialsGrantRequest)
+			.getFirst(OAuth2ParameterNames.CLIENT_ASSERTION)).isNotEqualTo(clientAssertion);
+	}
+
+	@Test
+	public void convertWhenClientAssertionReuseEnabledThenClientAssertionReusedUntilExpired() {
+		Instant now = Instant.now();
+		given(this.jwkResolver.apply(any())).willReturn(TestJwks.DEFAULT_RSA_JWK);
+		this.converter.setClientAssertionReuseTimeToLive(Duration.ofSeconds(30));
+		this.converter.setJwtClientAssertionCustomizer(
+				(context) -> context.getClaims().claims((claims) -> claims.remove(JwtClaimNames.JTI)));
+		this.converter.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		OAuth2ClientCredentialsGrantRequest clientCredentialsGrantRequest = privateKeyJwtGrantRequest();
+		String clientAssertion = this.converter.convert(clientCredentialsGrantRequest)
+			.getFirst(OAuth2ParameterNames.CLIENT_ASSERTION);
+		this.converter.setClock(Clock.fixed(now.plusSeconds(20), ZoneOffset.UTC));
+		assertThat(this.converter.convert(clientCredentialsGrantRequest)
+			.getFirst(OAuth2ParameterNames.CLIENT_ASSERTION)).isEqualTo(clientAssertion);
+		this.converter.setClock(Clock.fixed(now.plusSeconds(30), ZoneOffset.UTC));
+		assertThat(this.converter.convert(clientCredentialsGrantRequest)
+			.getFirst(OAuth2ParameterNames.CLIENT_ASSERTION)).isNotEqualTo(clientAssertion);
+	}
+
+	@Test
+	public void convertWhenClientAssertionReuseEnabledAndJtiThenNewClientAssertion() {
+		given(this.jwkResolver.apply(any())).willReturn(TestJwks.DEFAULT_RSA_JWK);
+		this.converter.setClientAssertionReuseTimeToLive(Duration.ofSeconds(30));
+		OAuth2ClientCredentialsGrantRequest clientCredentialsGrantRequest = privateKeyJwtGrantRequest();
+		String clientAssertion = this.converter.convert(clientCredentialsGrantRequest)
+			.getFirst(OAuth2ParameterNames.CLIENT_ASSERTION);
+		assertThat(this.converter.convert(clientCredentialsGrantRequest)
+			.getFirst(OAuth2ParameterNames.CLIENT_ASSERTION)).isNotEqualTo(clientAssertion);
+	}
+
+	@Test
+	public void convertWhenClientAssertionReuseEnabledAndCustomizedClaimChangesThenNewClientAssertion() {
+		AtomicInteger requests = new AtomicInteger();
+		given(this.jwkResolver.apply(any())).willReturn(TestJwks.DEFAULT_RSA_JWK);
+		this.converter.setClientAssertionReuseTimeToLive(Duration.ofSeconds(30));
+		this.converter.setJwtClientAssertionCustomizer((context) -> context.getClaims().claims((claims) -> {
+			claims.remove(JwtClaimNames.JTI);
+			claims.put("request", requests.incrementAndGet());
+		}));
+		OAuth2ClientCredentialsGrantRequest clientCredentialsGrantRequest = privateKeyJwtGrantRequest();
+		String clientAssertion = this.converter.convert(clientCredentialsGrantRequest)
+			.getFirst(OAuth2ParameterNames.CLIENT_ASSERTION);
+		assertThat(this.converter.convert(clientCredentialsGrantRequest)
+			.getFirst(OAuth2ParameterNames.CLIENT_ASSERTION)).isNotEqualTo(clientAssertion);
+		assertThat(requests).hasValue(2);
+	}
+
+	@Test
+	public void convertWhenClientAssertionReuseEnabledAndClientKeyChangesThenNewKeyUsed() throws Exception {
+		RSAKey rsaJwk1 = TestJwks.DEFAULT_RSA_JWK;
+		given(this.jwkResolver.apply(any())).willReturn(rsaJwk1);
+		this.converter.setClientAssertionReuseTimeToLive(Duration.ofSeconds(30));
+		this.converter.setJwtClientAssertionCustomizer(
+				(context) -> context.getClaims().claims((claims) -> claims.remove(JwtClaimNames.JTI)));
+		OAuth2ClientCredentialsGrantRequest clientCredentialsGrantRequest = privateKeyJwtGrantRequest();
+		this.converter.convert(clientCredentialsGrantRequest);
+		RSAKey rsaJwk2 = generateRsaJwk();
+		given(this.jwkResolver.apply(any())).willReturn(rsaJwk2);
+		String encodedJws = this.converter.convert(clientCredentialsGrantRequest)
+			.getFirst(OAuth2ParameterNames.CLIENT_ASSERTION);
+		NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withPublicKey(rsaJwk2.toRSAPublicKey()).build();
+		jwtDecoder.decode(encodedJws);
+	}
+
+	private static OAuth2ClientCredentialsGrantRequest privateKeyJwtGrantRequest() {
+		// @formatter:off
+		ClientRegistration clientRegistration = TestClientRegistrations.clientCredentials()
+				.clientAuthenticationMethod(ClientAuthenticationMethod.PRIVATE_KEY_JWT)
+				.build();
+		// @formatter:on
+		return new OAuth2ClientCredentialsGrantRequest(clientRegistration);
+	}
+
 	private static RSAKey generateRsaJwk() {
 		KeyPair keyPair;
 		try {
@@ -16,24 +16,42 @@
 
 package org.springframework.security.oauth2.client.oidc.authentication;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.Function;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.TestClientRegistrations;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
 import org.springframework.security.oauth2.core.converter.ClaimTypeConverter;
 import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
 import org.springframework.security.oauth2.core.oidc.StandardClaimNames;
+import org.springframework.security.oauth2.jose.TestJwks;
 import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -58,11 +76,20 @@ public class OidcIdTokenDecoderFactoryTests {
 
 	private OidcIdTokenDecoderFactory idTokenDecoderFactory;
 
+	private MockWebServer server;
+
 	@BeforeEach
 	public void setUp() {
 		this.idTokenDecoderFactory = new OidcIdTokenDecoderFactory();
 	}
 
+	@AfterEach
+	public void cleanup() throws Exception {
+		if (this.server != null) {
+			this.server.shutdown();
+		}
+	}
+
 	@Test
 	public void createDefaultClaimTypeConvertersWhenCalledThenDefaultsAreCorrect() {
 		Map<String, Converter<Object, ?>> claimTypeConverters = OidcIdTokenDecoderFactory
@@ -177,4 +204,87 @@ public class OidcIdTokenDecoderFactoryTests {
 		verify(customClaimTypeConverterFactory).apply(same(clientRegistration));
 	}
 
+	@Test
+	public void setJwkSetCacheTimeToLiveWhenZeroThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.idTokenDecoderFactory.setJwkSetCacheTimeToLive(Duration.ZERO))
+			.withMessage("jwkSetCacheTimeToLive must be greater than zero");
+	}
+
+	@Test
+	public void createDecoderWhenSameJwkSetUriThenJwkSetFetchedOnce() throws Exception {
+		String jwkSetUri = startJwkSetServer();
+		this.idTokenDecoderFactory
+			.setJwtValidatorFactory((clientRegistration) -> (jwt) -> OAuth2TokenValidatorResult.success());
+		JwtDecoder decoder1 = this.idTokenDecoderFactory
+			.createDecoder(this.registration.registrationId("client-1").jwkSetUri(jwkSetUri).build());
+		JwtDecoder decoder2 = this.idTokenDecoderFactory
+			.createDecoder(this.registration.registrationId("client-2").jwkSetUri(jwkSetUri).build());
+		assertThat(decoder1).isNotSameAs(decoder2);
+		String token = signedJwt(TestJwks.DEFAULT_RSA_JWK.getKeyID());
+		decoder1.decode(token);
+		decoder2.decode(token);
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void createDecoderWhenUnknownKeyIdThenJwkSetRefreshRateLimited() throws Exception {
+		String jwkSetUri = startJwkSetServer();
+		this.idTokenDecoderFactory
+			.setJwtValidatorFactory((clientRegistration) -> (jwt) -> OAuth2TokenValidatorResult.success());
+		JwtDecoder decoder = this.idTokenDecoderFactory
+			.createDecoder(this.registration.jwkSetUri(jwkSetUri).build());
+		String token = signedJwt("unknown-key-id");
+		for (int i = 0; i < 5; i++) {
+			assertThatExceptionOfType(JwtException.class).isThrownBy(() -> decoder.decode(token));
+		}
+		assertThat(this.server.getRequestCount()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	public void setRestOperationsWhenNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.idTokenDecoderFactory.setRestOperations(null))
+			.withMessage("restOperations cannot be null");
+	}
+
+	@Test
+	public void evictWhenDecoderCreatedThenNewDecoderCreated() {
+		ClientRegistration clientRegistration = this.registration.build();
+		JwtDecoder decoder = this.idTokenDecoderFactory.createDecoder(clientRegistration);
+		assertThat(this.idTokenDecoderFactory.createDecoder(clientRegistration)).isSameAs(decoder);
+		this.idTokenDecoderFactory.evict(clientRegistration.getRegistrationId());
+		assertThat(this.idTokenDecoderFactory.createDecoder(clientRegistration)).isNotSameAs(decoder);
+	}
+
+	@Test
+	public void evictWhenRegistrationIdEmptyThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.idTokenDecoderFactory.evict(""))
+			.withMessage("registrationId cannot be empty");
+	}
+
+	private String startJwkSetServer() throws Exception {
+		this.server = new MockWebServer();
+		this.server.setDispatcher(new Dispatcher() {
+
+			@Override
+			public MockResponse dispatch(RecordedRequest request) {
+				// @formatter:off
+				return new MockResponse()
+						.setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.setBody(new JWKSet(TestJwks.DEFAULT_RSA_JWK).toString());
+				// @formatter:on
+			}
+
+		});
+		this.server.start();
+		return this.server.url("/jwks").toString();
+	}
+
+	private String signedJwt(String keyId) throws Exception {
+		JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build();
+		SignedJWT jwt = new SignedJWT(header, new JWTClaimsSet.Builder().subject("subject").build());
+		jwt.sign(new RSASSASigner(TestJwks.DEFAULT_RSA_JWK));
+		return jwt.serialize();
+	}
+
 }
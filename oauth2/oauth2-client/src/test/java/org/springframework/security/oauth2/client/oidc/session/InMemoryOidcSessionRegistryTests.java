@@ -16,6 +16,12 @@
 
 package org.springframework.security.oauth2.client.oidc.session;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -27,6 +33,7 @@ import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
  * Tests for {@link InMemoryOidcSessionRegistry}
@@ -100,4 +107,97 @@ public class InMemoryOidcSessionRegistryTests {
 		assertThat(infos).isEmpty();
 	}
 
+	@Test
+	public void unregisterWhenSessionSavedAgainThenIndexedByLatestPrincipal() {
+		InMemoryOidcSessionRegistry sessionRegistry = new InMemoryOidcSessionRegistry();
+		OidcIdToken idToken = TestOidcIdTokens.idToken().claim("sid", "providerOne").build();
+		OidcUser user = new DefaultOidcUser(AuthorityUtils.NO_AUTHORITIES, idToken);
+		sessionRegistry.saveSessionInformation(TestOidcSessionInformations.create("client", user));
+		idToken = TestOidcIdTokens.idToken().claim("sid", "providerTwo").build();
+		user = new DefaultOidcUser(AuthorityUtils.NO_AUTHORITIES, idToken);
+		OidcSessionInformation info = TestOidcSessionInformations.create("client", user);
+		sessionRegistry.saveSessionInformation(info);
+		String issuer = idToken.getIssuer().toString();
+		OidcLogoutToken logoutToken = TestOidcLogoutTokens.withSessionId(issuer, "providerOne").build();
+		assertThat(sessionRegistry.removeSessionInformation(logoutToken)).isEmpty();
+		logoutToken = TestOidcLogoutTokens.withSessionId(issuer, "providerTwo").build();
+		assertThat(sessionRegistry.removeSessionInformation(logoutToken)).containsExactly(info);
+		assertThat(sessionRegistry.getSessionCount()).isZero();
+	}
+
+	@Test
+	public void unregisterWhenSameSessionSavedAgainThenStillIndexed() {
+		InMemoryOidcSessionRegistry sessionRegistry = new InMemoryOidcSessionRegistry();
+		OidcIdToken idToken = TestOidcIdTokens.idToken().claim("sid", "provider").build();
+		OidcUser user = new DefaultOidcUser(AuthorityUtils.NO_AUTHORITIES, idToken);
+		OidcSessionInformation info = TestOidcSessionInformations.create("client", user);
+		sessionRegistry.saveSessionInformation(info);
+		sessionRegistry.saveSessionInformation(info);
+		String issuer = idToken.getIssuer().toString();
+		OidcLogoutToken logoutToken = TestOidcLogoutTokens.withSessionId(issuer, "provider").build();
+		assertThat(sessionRegistry.removeSessionInformation(logoutToken)).containsExactly(info);
+	}
+
+	@Test
+	public void unregisterWhenAudienceDoesNotMatchThenNotRemoved() {
+		InMemoryOidcSessionRegistry sessionRegistry = new InMemoryOidcSessionRegistry();
+		OidcIdToken idToken = TestOidcIdTokens.idToken().claim("sid", "provider").audience(List.of("other")).build();
+		OidcUser user = new DefaultOidcUser(AuthorityUtils.NO_AUTHORITIES, idToken);
+		sessionRegistry.saveSessionInformation(TestOidcSessionInformations.create("client", user));
+		OidcLogoutToken logoutToken = TestOidcLogoutTokens.withSessionId(idToken.getIssuer().toString(), "provider")
+			.build();
+		assertThat(sessionRegistry.removeSessionInformation(logoutToken)).isEmpty();
+		assertThat(sessionRegistry.getSessionCount()).isOne();
+	}
+
+	@Test
+	public void removeWhenClientSessionIdThenRemovedFromIndexes() {
+		InMemoryOidcSessionRegistry sessionRegistry = new InMemoryOidcSessionRegistry();
+		OidcSessionInformation info = TestOidcSessionInformations.create("client");
+		sessionRegistry.saveSessionInformation(info);
+		assertThat(sessionRegistry.getSessionCount()).isOne();
+		assertThat(sessionRegistry.removeSessionInformation("client")).isEqualTo(info);
+		assertThat(sessionRegistry.getSessionCount()).isZero();
+		OidcLogoutToken logoutToken = TestOidcLogoutTokens.withUser(info.getPrincipal()).build();
+		assertThat(sessionRegistry.removeSessionInformation(logoutToken)).isEmpty();
+	}
+
+	@Test
+	public void unregisterWhenSessionExpiredThenNotReturned() {
+		InMemoryOidcSessionRegistry sessionRegistry = new InMemoryOidcSessionRegistry();
+		Instant now = Instant.now();
+		sessionRegistry.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		sessionRegistry.setSessionTimeToLive(Duration.ofMinutes(30));
+		OidcSessionInformation info = TestOidcSessionInformations.create("client");
+		sessionRegistry.saveSessionInformation(info);
+		sessionRegistry.setClock(Clock.fixed(now.plus(Duration.ofMinutes(30)), ZoneOffset.UTC));
+		OidcLogoutToken logoutToken = TestOidcLogoutTokens.withUser(info.getPrincipal()).build();
+		assertThat(sessionRegistry.removeSessionInformation(logoutToken)).isEmpty();
+		assertThat(sessionRegistry.getSessionCount()).isZero();
+	}
+
+	@Test
+	public void saveWhenSessionsExpiredThenEvicted() {
+		InMemoryOidcSessionRegistry sessionRegistry = new InMemoryOidcSessionRegistry();
+		Instant now = Instant.now();
+		sessionRegistry.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		sessionRegistry.setSessionTimeToLive(Duration.ofMinutes(30));
+		sessionRegistry.saveSessionInformation(TestOidcSessionInformations.create("clientOne"));
+		sessionRegistry.saveSessionInformation(TestOidcSessionInformations.create("clientTwo"));
+		assertThat(sessionRegistry.getSessionCount()).isEqualTo(2);
+		sessionRegistry.setClock(Clock.fixed(now.plus(Duration.ofMinutes(31)), ZoneOffset.UTC));
+		OidcSessionInformation info = TestOidcSessionInformations.create("clientThree");
+		sessionRegistry.saveSessionInformation(info);
+		assertThat(sessionRegistry.getSessionCount()).isOne();
+		assertThat(sessionRegistry.removeSessionInformation("clientOne")).isNull();
+		assertThat(sessionRegistry.removeSessionInformation("clientThree")).isEqualTo(info);
+	}
+
+	@Test
+	public void setSessionTimeToLiveWhenZeroThenIllegalArgumentException() {
+		InMemoryOidcSessionRegistry sessionRegistry = new InMemoryOidcSessionRegistry();
+		assertThatIllegalArgumentException().isThrownBy(() -> sessionRegistry.setSessionTimeToLive(Duration.ZERO))
+			.withMessage("sessionTimeToLive must be greater than zero");
+	}
+
 }
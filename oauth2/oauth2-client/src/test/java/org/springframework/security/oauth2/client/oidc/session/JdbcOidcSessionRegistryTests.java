@@ -0,0 +1,185 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.oidc.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.client.oidc.authentication.logout.OidcLogoutToken;
+import org.springframework.security.oauth2.client.oidc.authentication.logout.TestOidcLogoutTokens;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.TestOidcIdTokens;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Tests for {@link JdbcOidcSessionRegistry}
+ */
+public class JdbcOidcSessionRegistryTests {
+
+	private static final String OIDC_SESSION_SCHEMA_SQL_RESOURCE = "org/springframework/security/oauth2/client/oidc-session-schema.sql";
+
+	private EmbeddedDatabase db;
+
+	private JdbcOperations jdbcOperations;
+
+	private JdbcOidcSessionRegistry sessionRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		this.db = createDb();
+		this.jdbcOperations = new JdbcTemplate(this.db);
+		this.sessionRegistry = new JdbcOidcSessionRegistry(this.jdbcOperations);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.db.shutdown();
+	}
+
+	@Test
+	public void constructorWhenJdbcOperationsIsNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new JdbcOidcSessionRegistry(null))
+			.withMessage("jdbcOperations cannot be null");
+	}
+
+	@Test
+	public void unregisterWhenSubjectMatchesThenRemoved() {
+		OidcSessionInformation info = TestOidcSessionInformations.create("client");
+		this.sessionRegistry.saveSessionInformation(info);
+		OidcLogoutToken logoutToken = TestOidcLogoutTokens.withUser(info.getPrincipal()).build();
+		Iterable<OidcSessionInformation> infos = this.sessionRegistry.removeSessionInformation(logoutToken);
+		assertThat(infos).extracting(OidcSessionInformation::getSessionId).containsExactly("client");
+		assertThat(infos).extracting(OidcSessionInformation::getAuthorities).containsExactly(info.getAuthorities());
+		assertThat(this.sessionRegistry.removeSessionInformation(logoutToken)).isEmpty();
+	}
+
+	@Test
+	public void unregisterWhenProviderSessionIdMatchesThenRemoved() {
+		OidcIdToken idToken = TestOidcIdTokens.idToken().claim("sid", "provider").build();
+		OidcUser user = new DefaultOidcUser(AuthorityUtils.NO_AUTHORITIES, idToken);
+		OidcSessionInformation info = TestOidcSessionInformations.create("client", user);
+		this.sessionRegistry.saveSessionInformation(info);
+		String issuer = idToken.getIssuer().toString();
+		OidcLogoutToken logoutToken = TestOidcLogoutTokens.withSessionId(issuer, "wrong").build();
+		assertThat(this.sessionRegistry.removeSessionInformation(logoutToken)).isEmpty();
+		logoutToken = TestOidcLogoutTokens.withSessionId("https://wrong", "provider").build();
+		assertThat(this.sessionRegistry.removeSessionInformation(logoutToken)).isEmpty();
+		logoutToken = TestOidcLogoutTokens.withSessionId(issuer, "provider").build();
+		assertThat(this.sessionRegistry.removeSessionInformation(logoutToken))
+			.extracting(OidcSessionInformation::getSessionId)
+			.containsExactly("client");
+	}
+
+	@Test
+	public void removeWhenClientSessionIdThenRemoved() {
+		OidcSessionInformation info = TestOidcSessionInformations.create("client");
+		this.sessionRegistry.saveSessionInformation(info);
+		OidcSessionInformation removed = this.sessionRegistry.removeSessionInformation("client");
+		assertThat(removed.getSessionId()).isEqualTo("client");
+		assertThat(removed.getPrincipal().getSubject()).isEqualTo(info.getPrincipal().getSubject());
+		assertThat(this.sessionRegistry.removeSessionInformation("client")).isNull();
+	}
+
+	@Test
+	public void saveWhenSessionSavedAgainThenUpdated() {
+		this.sessionRegistry.saveSessionInformation(TestOidcSessionInformations.create("client"));
+		OidcIdToken idToken = TestOidcIdTokens.idToken().claim("sid", "provider").build();
+		OidcUser user = new DefaultOidcUser(AuthorityUtils.NO_AUTHORITIES, idToken);
+		OidcSessionInformation info = TestOidcSessionInformations.create("client", user);
+		this.sessionRegistry.saveSessionInformation(info);
+		OidcSessionInformation removed = this.sessionRegistry.removeSessionInformation("client");
+		assertThat(removed.getPrincipal().getIdToken().getClaimAsString("sid")).isEqualTo("provider");
+	}
+
+	@Test
+	public void unregisterWhenSessionExpiredThenNotReturned() {
+		Instant now = Instant.now();
+		this.sessionRegistry.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.sessionRegistry.setSessionTimeToLive(Duration.ofMinutes(30));
+		OidcSessionInformation info = TestOidcSessionInformations.create("client");
+		this.sessionRegistry.saveSessionInformation(info);
+		this.sessionRegistry.setClock(Clock.fixed(now.plus(Duration.ofMinutes(30)), ZoneOffset.UTC));
+		OidcLogoutToken logoutToken = TestOidcLogoutTokens.withUser(info.getPrincipal()).build();
+		assertThat(this.sessionRegistry.removeSessionInformation(logoutToken)).isEmpty();
+		assertThat(this.sessionRegistry.removeSessionInformation("client")).isNull();
+	}
+
+	@Test
+	public void saveWhenSessionsExpiredThenDeleted() {
+		Instant now = Instant.now();
+		this.sessionRegistry.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.sessionRegistry.setSessionTimeToLive(Duration.ofMinutes(30));
+		this.sessionRegistry.saveSessionInformation(TestOidcSessionInformations.create("clientOne"));
+		this.sessionRegistry.setClock(Clock.fixed(now.plus(Duration.ofMinutes(31)), ZoneOffset.UTC));
+		this.sessionRegistry.saveSessionInformation(TestOidcSessionInformations.create("clientTwo"));
+		Integer count = this.jdbcOperations.queryForObject("SELECT COUNT(*) FROM oidc_session", Integer.class);
+		assertThat(count).isOne();
+	}
+
+	@Test
+	public void saveWhenSessionInsertedConcurrentlyThenUpdated() {
+		this.sessionRegistry.saveSessionInformation(TestOidcSessionInformations.create("client"));
+		JdbcOperations jdbcOperations = spy(this.jdbcOperations);
+		// the first update misses the row that another node inserted in the meantime
+		willReturn(0).willCallRealMethod().given(jdbcOperations).update(startsWith("UPDATE"), any(Object[].class));
+		JdbcOidcSessionRegistry sessionRegistry = new JdbcOidcSessionRegistry(jdbcOperations);
+		OidcIdToken idToken = TestOidcIdTokens.idToken().claim("sid", "provider").build();
+		OidcUser user = new DefaultOidcUser(AuthorityUtils.NO_AUTHORITIES, idToken);
+		sessionRegistry.saveSessionInformation(TestOidcSessionInformations.create("client", user));
+		OidcSessionInformation removed = this.sessionRegistry.removeSessionInformation("client");
+		assertThat(removed.getPrincipal().getIdToken().getClaimAsString("sid")).isEqualTo("provider");
+	}
+
+	@Test
+	public void setSessionTimeToLiveWhenZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.sessionRegistry.setSessionTimeToLive(Duration.ZERO))
+			.withMessage("sessionTimeToLive must be greater than zero");
+	}
+
+	private static EmbeddedDatabase createDb() {
+		// @formatter:off
+		return new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.HSQL)
+				.setScriptEncoding("UTF-8")
+				.addScript(OIDC_SESSION_SCHEMA_SQL_RESOURCE)
+				.build();
+		// @formatter:on
+	}
+
+}
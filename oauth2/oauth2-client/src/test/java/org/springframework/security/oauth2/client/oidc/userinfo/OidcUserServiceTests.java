@@ -16,6 +16,7 @@
 
 package org.springframework.security.oauth2.client.oidc.userinfo;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
@@ -338,6 +339,19 @@ public class OidcUserServiceTests {
 		assertThat(metadata.getUserInfo()).isNotNull();
 	}
 
+	@Test
+	public void loadUserWhenUserInfoCachedThenUserInfoRequestedOncePerSubject() {
+		this.server.enqueue(jsonResponse("{\"sub\": \"subject1\", \"name\": \"first last\"}"));
+		String userInfoUri = this.server.url("/user").toString();
+		ClientRegistration clientRegistration = this.clientRegistrationBuilder.userInfoUri(userInfoUri).build();
+		OidcUserService userService = new OidcUserService();
+		userService.setUserInfoCacheTimeToLive(Duration.ofMinutes(5));
+		userService.loadUser(new OidcUserRequest(clientRegistration, this.accessToken, this.idToken));
+		OidcUser user = userService.loadUser(new OidcUserRequest(clientRegistration, this.accessToken, this.idToken));
+		assertThat(user.getUserInfo().getFullName()).isEqualTo("first last");
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
 	@Test
 	public void loadUserWhenUserInfoSuccessResponseThenReturnUser() {
 		// @formatter:off
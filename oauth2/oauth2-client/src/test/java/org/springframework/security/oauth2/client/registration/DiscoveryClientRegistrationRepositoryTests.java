@@ -0,0 +1,215 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.registration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link DiscoveryClientRegistrationRepository}.
+ */
+public class DiscoveryClientRegistrationRepositoryTests {
+
+	private static final String OPENID_CONFIGURATION_PATH = "/.well-known/openid-configuration";
+
+	private MockWebServer server;
+
+	private Map<String, String> issuerLocations;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		this.server = new MockWebServer();
+		this.server.setDispatcher(new DiscoveryDispatcher());
+		this.server.start();
+		this.issuerLocations = new LinkedHashMap<>();
+		this.issuerLocations.put("issuer1", issuer("issuer1"));
+		this.issuerLocations.put("issuer2", issuer("issuer2"));
+	}
+
+	@AfterEach
+	public void cleanup() throws Exception {
+		this.server.shutdown();
+	}
+
+	@Test
+	public void constructorWhenIssuerLocationsEmptyThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new DiscoveryClientRegistrationRepository(Map.of(), this::build))
+			.withMessage("issuerLocations cannot be empty");
+	}
+
+	@Test
+	public void constructorWhenClientRegistrationFactoryNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new DiscoveryClientRegistrationRepository(this.issuerLocations, null))
+			.withMessage("clientRegistrationFactory cannot be null");
+	}
+
+	@Test
+	public void setTimeoutWhenZeroThenThrowIllegalArgumentException() {
+		DiscoveryClientRegistrationRepository repository = new DiscoveryClientRegistrationRepository(
+				this.issuerLocations, this::build);
+		assertThatIllegalArgumentException().isThrownBy(() -> repository.setTimeout(Duration.ZERO))
+			.withMessage("timeout must be greater than zero");
+	}
+
+	@Test
+	public void findByRegistrationIdWhenNotResolvedThenDiscoveredOnce() {
+		DiscoveryClientRegistrationRepository repository = new DiscoveryClientRegistrationRepository(
+				this.issuerLocations, this::build);
+		assertThat(this.server.getRequestCount()).isZero();
+		ClientRegistration clientRegistration = repository.findByRegistrationId("issuer1");
+		assertThat(clientRegistration.getRegistrationId()).isEqualTo("issuer1");
+		assertThat(clientRegistration.getClientId()).isEqualTo("issuer1-client");
+		assertThat(clientRegistration.getProviderDetails().getIssuerUri()).isEqualTo(issuer("issuer1"));
+		assertThat(repository.findByRegistrationId("issuer1")).isSameAs(clientRegistration);
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void findByRegistrationIdWhenUnknownThenNull() {
+		DiscoveryClientRegistrationRepository repository = new DiscoveryClientRegistrationRepository(
+				this.issuerLocations, this::build);
+		assertThat(repository.findByRegistrationId("unknown")).isNull();
+		assertThat(this.server.getRequestCount()).isZero();
+	}
+
+	@Test
+	public void findByRegistrationIdWhenDiscoveryFailsThenNullAndRetried() {
+		this.issuerLocations.put("failing", issuer("failing"));
+		DiscoveryClientRegistrationRepository repository = new DiscoveryClientRegistrationRepository(
+				this.issuerLocations, this::build);
+		assertThat(repository.findByRegistrationId("failing")).isNull();
+		int requestCount = this.server.getRequestCount();
+		assertThat(repository.findByRegistrationId("failing")).isNull();
+		assertThat(this.server.getRequestCount()).isGreaterThan(requestCount);
+	}
+
+	@Test
+	public void refreshWhenIssuerSlowThenOtherRegistrationsResolved() {
+		this.issuerLocations.put("slow", issuer("slow"));
+		DiscoveryClientRegistrationRepository repository = new DiscoveryClientRegistrationRepository(
+				this.issuerLocations, this::build);
+		repository.setTimeout(Duration.ofMillis(500));
+		repository.refresh();
+		assertThat(repository).extracting(ClientRegistration::getRegistrationId)
+			.containsExactly("issuer1", "issuer2");
+	}
+
+	@Test
+	public void findByRegistrationIdWhenDiscoveryNeverStartsThenNullAfterTimeout() {
+		DiscoveryClientRegistrationRepository repository = new DiscoveryClientRegistrationRepository(
+				this.issuerLocations, this::build);
+		repository.setExecutor((task) -> {
+		});
+		repository.setTimeout(Duration.ofMillis(200));
+		assertThat(repository.findByRegistrationId("issuer1")).isNull();
+		assertThat(this.server.getRequestCount()).isZero();
+	}
+
+	@Test
+	public void iteratorWhenNotResolvedThenDiscoveredInParallel() {
+		DiscoveryClientRegistrationRepository repository = new DiscoveryClientRegistrationRepository(
+				this.issuerLocations, this::build);
+		assertThat(repository).extracting(ClientRegistration::getRegistrationId)
+			.containsExactly("issuer1", "issuer2");
+		assertThat(this.server.getRequestCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void findByRegistrationIdWhenRefreshDueThenPreviousReturnedAndRefreshed() {
+		Instant now = Instant.now();
+		DiscoveryClientRegistrationRepository repository = new DiscoveryClientRegistrationRepository(
+				this.issuerLocations, this::build);
+		repository.setRefreshInterval(Duration.ofMinutes(5));
+		repository.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		ClientRegistration clientRegistration = repository.findByRegistrationId("issuer1");
+		repository.setClock(Clock.fixed(now.plus(Duration.ofMinutes(4)), ZoneOffset.UTC));
+		assertThat(repository.findByRegistrationId("issuer1")).isSameAs(clientRegistration);
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+		repository.setClock(Clock.fixed(now.plus(Duration.ofMinutes(6)), ZoneOffset.UTC));
+		assertThat(repository.findByRegistrationId("issuer1")).isSameAs(clientRegistration);
+		// joins the background refresh
+		repository.refresh();
+		ClientRegistration refreshedClientRegistration = repository.findByRegistrationId("issuer1");
+		assertThat(refreshedClientRegistration).isNotSameAs(clientRegistration);
+		assertThat(refreshedClientRegistration.getRegistrationId()).isEqualTo("issuer1");
+	}
+
+	private ClientRegistration build(String registrationId, ClientRegistration.Builder builder) {
+		return builder.clientId(registrationId + "-client").clientSecret("secret").build();
+	}
+
+	private String issuer(String name) {
+		return this.server.url("/" + name).toString();
+	}
+
+	private final class DiscoveryDispatcher extends Dispatcher {
+
+		@Override
+		public MockResponse dispatch(RecordedRequest request) {
+			String path = request.getPath();
+			if (!path.endsWith(OPENID_CONFIGURATION_PATH)) {
+				return new MockResponse().setResponseCode(404);
+			}
+			String name = path.substring(1, path.length() - OPENID_CONFIGURATION_PATH.length());
+			if (name.equals("failing")) {
+				return new MockResponse().setResponseCode(500);
+			}
+			String issuer = issuer(name);
+			// @formatter:off
+			String body = "{"
+					+ "\"issuer\": \"" + issuer + "\", "
+					+ "\"authorization_endpoint\": \"" + issuer + "/authorize\", "
+					+ "\"token_endpoint\": \"" + issuer + "/token\", "
+					+ "\"jwks_uri\": \"" + issuer + "/jwks\", "
+					+ "\"response_types_supported\": [\"code\"], "
+					+ "\"subject_types_supported\": [\"public\"], "
+					+ "\"id_token_signing_alg_values_supported\": [\"RS256\"]"
+					+ "}";
+			MockResponse response = new MockResponse().setResponseCode(200)
+					.setBody(body)
+					.setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+			// @formatter:on
+			if (name.equals("slow")) {
+				response.setHeadersDelay(2, TimeUnit.SECONDS);
+			}
+			return response;
+		}
+
+	}
+
+}
@@ -16,6 +16,10 @@
 
 package org.springframework.security.oauth2.client.userinfo;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -415,6 +419,134 @@ public class DefaultOAuth2UserServiceTests {
 							+ "from '" + userInfoUri + "': response contains invalid content type 'text/plain'.");
 	}
 
+	@Test
+	public void loadUserWhenUserInfoCachedThenUserInfoRequestedOnce() {
+		this.server.enqueue(jsonResponse("{\"user-name\": \"user1\"}"));
+		this.userService.setUserInfoCacheTimeToLive(Duration.ofMinutes(5));
+		this.userService.setSubjectResolver((userRequest) -> "user1");
+		ClientRegistration clientRegistration = this.clientRegistrationBuilder
+			.userInfoUri(this.server.url("/user").toString())
+			.userNameAttributeName("user-name")
+			.build();
+		OAuth2User user = this.userService
+			.loadUser(new OAuth2UserRequest(clientRegistration, TestOAuth2AccessTokens.scopes("read")));
+		OAuth2User cachedUser = this.userService
+			.loadUser(new OAuth2UserRequest(clientRegistration, TestOAuth2AccessTokens.scopes("read")));
+		assertThat(cachedUser.getAttributes()).isEqualTo(user.getAttributes());
+		assertThat(cachedUser.getAuthorities()).extracting(GrantedAuthority::getAuthority).contains("SCOPE_read");
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void loadUserWhenUserInfoCachedAndScopesDifferThenUserInfoRequested() {
+		this.server.enqueue(jsonResponse("{\"user-name\": \"user1\"}"));
+		this.server.enqueue(jsonResponse("{\"user-name\": \"user1\", \"email\": \"user1@example.com\"}"));
+		this.userService.setUserInfoCacheTimeToLive(Duration.ofMinutes(5));
+		this.userService.setSubjectResolver((userRequest) -> "user1");
+		ClientRegistration clientRegistration = this.clientRegistrationBuilder
+			.userInfoUri(this.server.url("/user").toString())
+			.userNameAttributeName("user-name")
+			.build();
+		this.userService.loadUser(new OAuth2UserRequest(clientRegistration, TestOAuth2AccessTokens.scopes("openid")));
+		OAuth2User user = this.userService
+			.loadUser(new OAuth2UserRequest(clientRegistration, TestOAuth2AccessTokens.scopes("openid", "email")));
+		assertThat(user.getAttributes()).containsEntry("email", "user1@example.com");
+		assertThat(this.server.getRequestCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void loadUserWhenUserInfoCachedAndSubjectNotResolvedThenUserInfoRequested() {
+		this.server.enqueue(jsonResponse("{\"user-name\": \"user1\"}"));
+		this.server.enqueue(jsonResponse("{\"user-name\": \"user1\"}"));
+		this.userService.setUserInfoCacheTimeToLive(Duration.ofMinutes(5));
+		ClientRegistration clientRegistration = this.clientRegistrationBuilder
+			.userInfoUri(this.server.url("/user").toString())
+			.userNameAttributeName("user-name")
+			.build();
+		this.userService.loadUser(new OAuth2UserRequest(clientRegistration, this.accessToken));
+		this.userService.loadUser(new OAuth2UserRequest(clientRegistration, this.accessToken));
+		assertThat(this.server.getRequestCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void loadUserWhenUserInfoCacheExpiredAndETagThenConditionalRequest() throws Exception {
+		this.server.enqueue(jsonResponse("{\"user-name\": \"user1\"}").setHeader(HttpHeaders.ETAG, "\"v1\""));
+		this.server.enqueue(new MockResponse().setResponseCode(304).setHeader(HttpHeaders.ETAG, "\"v1\""));
+		this.userService.setUserInfoCacheTimeToLive(Duration.ofNanos(1));
+		this.userService.setSubjectResolver((userRequest) -> "user1");
+		ClientRegistration clientRegistration = this.clientRegistrationBuilder
+			.userInfoUri(this.server.url("/user").toString())
+			.userNameAttributeName("user-name")
+			.build();
+		this.userService.loadUser(new OAuth2UserRequest(clientRegistration, this.accessToken));
+		OAuth2User user = this.userService.loadUser(new OAuth2UserRequest(clientRegistration, this.accessToken));
+		assertThat(user.getName()).isEqualTo("user1");
+		assertThat(this.server.takeRequest(1, TimeUnit.SECONDS).getHeader(HttpHeaders.IF_NONE_MATCH)).isNull();
+		assertThat(this.server.takeRequest(1, TimeUnit.SECONDS).getHeader(HttpHeaders.IF_NONE_MATCH))
+			.isEqualTo("\"v1\"");
+	}
+
+	@Test
+	public void loadUserWhenUserInfoCacheTimeToLiveElapsedThenUserInfoRequestedAgain() {
+		Instant now = Instant.now();
+		this.server.enqueue(jsonResponse("{\"user-name\": \"user1\"}"));
+		this.server.enqueue(jsonResponse("{\"user-name\": \"user1\"}"));
+		this.userService.setUserInfoCacheTimeToLive(Duration.ofMinutes(5));
+		this.userService.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.userService.setSubjectResolver((userRequest) -> "user1");
+		ClientRegistration clientRegistration = this.clientRegistrationBuilder
+			.userInfoUri(this.server.url("/user").toString())
+			.userNameAttributeName("user-name")
+			.build();
+		this.userService.loadUser(new OAuth2UserRequest(clientRegistration, this.accessToken));
+		this.userService.setClock(Clock.fixed(now.plus(Duration.ofMinutes(4)), ZoneOffset.UTC));
+		this.userService.loadUser(new OAuth2UserRequest(clientRegistration, this.accessToken));
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+		this.userService.setClock(Clock.fixed(now.plus(Duration.ofMinutes(5)), ZoneOffset.UTC));
+		this.userService.loadUser(new OAuth2UserRequest(clientRegistration, this.accessToken));
+		assertThat(this.server.getRequestCount()).isEqualTo(2);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void loadUserWhenAttributesConverterModifiesNestedAttributesThenCachedUserInfoUnchanged() {
+		this.server.enqueue(jsonResponse("{\"user-name\": \"user1\", \"address\": {\"country\": \"FR\"}}"));
+		this.userService.setUserInfoCacheTimeToLive(Duration.ofMinutes(5));
+		this.userService.setSubjectResolver((userRequest) -> "user1");
+		this.userService.setAttributesConverter((userRequest) -> (attributes) -> {
+			((Map<String, Object>) attributes.get("address")).put("country", "US");
+			return attributes;
+		});
+		ClientRegistration clientRegistration = this.clientRegistrationBuilder
+			.userInfoUri(this.server.url("/user").toString())
+			.userNameAttributeName("user-name")
+			.build();
+		this.userService.loadUser(new OAuth2UserRequest(clientRegistration, this.accessToken));
+		this.userService.setAttributesConverter((userRequest) -> (attributes) -> attributes);
+		OAuth2User user = this.userService.loadUser(new OAuth2UserRequest(clientRegistration, this.accessToken));
+		assertThat(user.getAttributes()).containsEntry("address", Map.of("country", "FR"));
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void setClockWhenNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.userService.setClock(null))
+			.withMessage("clock cannot be null");
+	}
+
+	@Test
+	public void setUserInfoCacheTimeToLiveWhenZeroThenException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.userService.setUserInfoCacheTimeToLive(Duration.ZERO))
+			.withMessage("timeToLive must be greater than zero");
+	}
+
+	@Test
+	public void setSubjectResolverWhenNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.userService.setSubjectResolver(null))
+			.withMessage("subjectResolver cannot be null");
+	}
+
 	@Test
 	public void setAttributesConverterWhenNullThenException() {
 		assertThatExceptionOfType(IllegalArgumentException.class)
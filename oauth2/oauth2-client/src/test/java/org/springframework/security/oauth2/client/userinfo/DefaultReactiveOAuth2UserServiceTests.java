@@ -338,6 +338,32 @@ public class DefaultReactiveOAuth2UserServiceTests {
 			.isThrownBy(() -> this.userService.setAttributesConverter(null));
 	}
 
+	@Test
+	public void loadUserWhenUserInfoCachedThenUserInfoRequestedOnce() {
+		enqueueApplicationJsonBody("{\"id\": \"user1\"}");
+		this.userService.setUserInfoCacheTimeToLive(Duration.ofMinutes(5));
+		this.userService.setSubjectResolver((userRequest) -> "user1");
+		OAuth2User user = this.userService.loadUser(oauth2UserRequest()).block();
+		OAuth2User cachedUser = this.userService.loadUser(oauth2UserRequest()).block();
+		assertThat(cachedUser.getAttributes()).isEqualTo(user.getAttributes());
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void loadUserWhenUserInfoCacheExpiredAndETagThenConditionalRequest() throws Exception {
+		this.server.enqueue(new MockResponse().setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+			.setHeader(HttpHeaders.ETAG, "\"v1\"")
+			.setBody("{\"id\": \"user1\"}"));
+		this.server.enqueue(new MockResponse().setResponseCode(304).setHeader(HttpHeaders.ETAG, "\"v1\""));
+		this.userService.setUserInfoCacheTimeToLive(Duration.ofNanos(1));
+		this.userService.setSubjectResolver((userRequest) -> "user1");
+		this.userService.loadUser(oauth2UserRequest()).block();
+		OAuth2User user = this.userService.loadUser(oauth2UserRequest()).block();
+		assertThat(user.getName()).isEqualTo("user1");
+		assertThat(this.server.takeRequest().getHeader(HttpHeaders.IF_NONE_MATCH)).isNull();
+		assertThat(this.server.takeRequest().getHeader(HttpHeaders.IF_NONE_MATCH)).isEqualTo("\"v1\"");
+	}
+
 	private DefaultReactiveOAuth2UserService withMockResponse(Map<String, Object> body) {
 		WebClient real = WebClient.builder().build();
 		WebClient.RequestHeadersUriSpec spec = spy(real.post());
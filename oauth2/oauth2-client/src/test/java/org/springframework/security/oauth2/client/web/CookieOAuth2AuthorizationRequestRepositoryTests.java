@@ -0,0 +1,220 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.web;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockCookie;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.endpoint.PkceParameterNames;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CookieOAuth2AuthorizationRequestRepository}.
+ */
+public class CookieOAuth2AuthorizationRequestRepositoryTests {
+
+	private static final String COOKIE_NAME = "OAUTH2_AUTHORIZATION_REQUEST";
+
+	private final SecretKey secretKey = generateSecretKey();
+
+	private CookieOAuth2AuthorizationRequestRepository authorizationRequestRepository = new CookieOAuth2AuthorizationRequestRepository(
+			this.secretKey);
+
+	@Test
+	public void constructorWhenSecretKeyNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new CookieOAuth2AuthorizationRequestRepository(null))
+			.withMessage("secretKey cannot be null");
+	}
+
+	@Test
+	public void setMaxAgeWhenZeroThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.authorizationRequestRepository.setMaxAge(Duration.ZERO))
+			.withMessage("maxAge must be greater than zero");
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenHttpServletRequestIsNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.authorizationRequestRepository.loadAuthorizationRequest(null));
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenNotSavedThenReturnNull() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addParameter(OAuth2ParameterNames.STATE, "state-1234");
+		assertThat(this.authorizationRequestRepository.loadAuthorizationRequest(request)).isNull();
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenSavedThenReturnAuthorizationRequest() {
+		OAuth2AuthorizationRequest authorizationRequest = createAuthorizationRequest().build();
+		MockHttpServletRequest request = requestWithCookie(save(authorizationRequest));
+		request.addParameter(OAuth2ParameterNames.STATE, authorizationRequest.getState());
+		OAuth2AuthorizationRequest loadedAuthorizationRequest = this.authorizationRequestRepository
+			.loadAuthorizationRequest(request);
+		assertThat(loadedAuthorizationRequest).isEqualTo(authorizationRequest);
+		assertThat(request.getSession(false)).isNull();
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenStateParameterDoesNotMatchThenReturnNull() {
+		MockHttpServletRequest request = requestWithCookie(save(createAuthorizationRequest().build()));
+		request.addParameter(OAuth2ParameterNames.STATE, "other-state");
+		assertThat(this.authorizationRequestRepository.loadAuthorizationRequest(request)).isNull();
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenCookieTamperedThenReturnNull() {
+		OAuth2AuthorizationRequest authorizationRequest = createAuthorizationRequest().build();
+		Cookie cookie = save(authorizationRequest);
+		char[] value = cookie.getValue().toCharArray();
+		value[value.length / 2] = (value[value.length / 2] != 'A') ? 'A' : 'B';
+		MockHttpServletRequest request = requestWithCookie(new Cookie(COOKIE_NAME, new String(value)));
+		request.addParameter(OAuth2ParameterNames.STATE, authorizationRequest.getState());
+		assertThat(this.authorizationRequestRepository.loadAuthorizationRequest(request)).isNull();
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenOtherSecretKeyThenReturnNull() {
+		OAuth2AuthorizationRequest authorizationRequest = createAuthorizationRequest().build();
+		MockHttpServletRequest request = requestWithCookie(save(authorizationRequest));
+		request.addParameter(OAuth2ParameterNames.STATE, authorizationRequest.getState());
+		this.authorizationRequestRepository = new CookieOAuth2AuthorizationRequestRepository(generateSecretKey());
+		assertThat(this.authorizationRequestRepository.loadAuthorizationRequest(request)).isNull();
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenExpiredThenReturnNull() {
+		Instant now = Instant.now();
+		this.authorizationRequestRepository.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		OAuth2AuthorizationRequest authorizationRequest = createAuthorizationRequest().build();
+		MockHttpServletRequest request = requestWithCookie(save(authorizationRequest));
+		request.addParameter(OAuth2ParameterNames.STATE, authorizationRequest.getState());
+		this.authorizationRequestRepository.setClock(Clock.fixed(now.plus(Duration.ofMinutes(5)), ZoneOffset.UTC));
+		assertThat(this.authorizationRequestRepository.loadAuthorizationRequest(request)).isNull();
+	}
+
+	@Test
+	public void saveAuthorizationRequestWhenSavedThenCookieHttpOnlyAndSameSiteLax() {
+		MockCookie cookie = (MockCookie) save(createAuthorizationRequest().build());
+		assertThat(cookie.isHttpOnly()).isTrue();
+		assertThat(cookie.getSameSite()).isEqualTo("Lax");
+		assertThat(cookie.getPath()).isEqualTo("/");
+		assertThat(cookie.getMaxAge()).isEqualTo(300);
+	}
+
+	@Test
+	public void saveAuthorizationRequestWhenStateNullThenThrowIllegalArgumentException() {
+		OAuth2AuthorizationRequest authorizationRequest = createAuthorizationRequest().state(null).build();
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.authorizationRequestRepository.saveAuthorizationRequest(authorizationRequest,
+					new MockHttpServletRequest(), new MockHttpServletResponse()));
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenCustomAuthorizationRequestUriThenReturnAuthorizationRequest() {
+		OAuth2AuthorizationRequest authorizationRequest = createAuthorizationRequest()
+			.authorizationRequestUri("https://example.com/oauth2/authorize?request_uri=urn:example:1234")
+			.build();
+		MockHttpServletRequest request = requestWithCookie(save(authorizationRequest));
+		request.addParameter(OAuth2ParameterNames.STATE, authorizationRequest.getState());
+		OAuth2AuthorizationRequest loadedAuthorizationRequest = this.authorizationRequestRepository
+			.loadAuthorizationRequest(request);
+		assertThat(loadedAuthorizationRequest).isEqualTo(authorizationRequest);
+		assertThat(loadedAuthorizationRequest.getAuthorizationRequestUri())
+			.isEqualTo("https://example.com/oauth2/authorize?request_uri=urn:example:1234");
+	}
+
+	@Test
+	public void saveAuthorizationRequestWhenAttributeNotStringThenThrowIllegalArgumentException() {
+		OAuth2AuthorizationRequest authorizationRequest = createAuthorizationRequest()
+			.attributes((attributes) -> attributes.put("count", 1))
+			.build();
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.authorizationRequestRepository.saveAuthorizationRequest(authorizationRequest,
+					new MockHttpServletRequest(), new MockHttpServletResponse()));
+	}
+
+	@Test
+	public void removeAuthorizationRequestWhenSavedThenRemovedAndCookieExpired() {
+		OAuth2AuthorizationRequest authorizationRequest = createAuthorizationRequest().build();
+		MockHttpServletRequest request = requestWithCookie(save(authorizationRequest));
+		request.addParameter(OAuth2ParameterNames.STATE, authorizationRequest.getState());
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		OAuth2AuthorizationRequest removedAuthorizationRequest = this.authorizationRequestRepository
+			.removeAuthorizationRequest(request, response);
+		assertThat(removedAuthorizationRequest).isEqualTo(authorizationRequest);
+		assertThat(response.getCookie(COOKIE_NAME).getMaxAge()).isZero();
+	}
+
+	@Test
+	public void removeAuthorizationRequestWhenNotSavedThenReturnNull() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addParameter(OAuth2ParameterNames.STATE, "state-1234");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertThat(this.authorizationRequestRepository.removeAuthorizationRequest(request, response)).isNull();
+		assertThat(response.getCookie(COOKIE_NAME)).isNull();
+	}
+
+	private Cookie save(OAuth2AuthorizationRequest authorizationRequest) {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.authorizationRequestRepository.saveAuthorizationRequest(authorizationRequest,
+				new MockHttpServletRequest(), response);
+		return response.getCookie(COOKIE_NAME);
+	}
+
+	private static MockHttpServletRequest requestWithCookie(Cookie cookie) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(new Cookie(cookie.getName(), cookie.getValue()));
+		return request;
+	}
+
+	private static SecretKey generateSecretKey() {
+		return new SecretKeySpec(KeyGenerators.secureRandom(32).generateKey(), "AES");
+	}
+
+	private static OAuth2AuthorizationRequest.Builder createAuthorizationRequest() {
+		// @formatter:off
+		return OAuth2AuthorizationRequest.authorizationCode()
+				.authorizationUri("https://example.com/oauth2/authorize")
+				.clientId("client-id-1234")
+				.redirectUri("https://client.example.com/login/oauth2/code/registration-id")
+				.scope("openid", "profile")
+				.state("state-1234")
+				.additionalParameters((parameters) -> parameters.put(PkceParameterNames.CODE_CHALLENGE_METHOD, "S256"))
+				.attributes((attributes) -> attributes.put(PkceParameterNames.CODE_VERIFIER, "code-verifier+/="));
+		// @formatter:on
+	}
+
+}
@@ -18,8 +18,10 @@ package org.springframework.security.oauth2.client.web.reactive.function.client;
 
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -71,6 +73,7 @@ import org.springframework.security.oauth2.client.ClientAuthorizationException;
 import org.springframework.security.oauth2.client.JwtBearerOAuth2AuthorizedClientProvider;
 import org.springframework.security.oauth2.client.OAuth2AuthorizationFailureHandler;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProvider;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProviderBuilder;
 import org.springframework.security.oauth2.client.RefreshTokenOAuth2AuthorizedClientProvider;
@@ -118,6 +121,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
@@ -792,6 +796,107 @@ public class ServletOAuth2AuthorizedClientExchangeFilterFunctionTests {
 		verifyNoInteractions(this.authorizationFailureHandler);
 	}
 
+	@Test
+	public void filterWhenCacheAuthorizedClientsThenAuthorizedClientManagerInvokedOnce() {
+		OAuth2AuthorizedClientManager authorizedClientManager = mock(OAuth2AuthorizedClientManager.class);
+		OAuth2AuthorizedClient authorizedClient = new OAuth2AuthorizedClient(this.registration,
+				this.authentication.getName(), this.accessToken);
+		given(authorizedClientManager.authorize(any())).willReturn(authorizedClient);
+		this.function = new ServletOAuth2AuthorizedClientExchangeFilterFunction(authorizedClientManager);
+		this.function.setCacheAuthorizedClients(true);
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		verify(authorizedClientManager, times(1)).authorize(any());
+		List<ClientRequest> requests = this.exchange.getRequests();
+		assertThat(requests).hasSize(2);
+		assertThat(requests.get(0).headers().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer token-0");
+		assertThat(requests.get(1).headers().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer token-0");
+	}
+
+	@Test
+	public void filterWhenCacheAuthorizedClientsDisabledThenAuthorizedClientManagerInvokedPerRequest() {
+		OAuth2AuthorizedClientManager authorizedClientManager = mock(OAuth2AuthorizedClientManager.class);
+		OAuth2AuthorizedClient authorizedClient = new OAuth2AuthorizedClient(this.registration,
+				this.authentication.getName(), this.accessToken);
+		given(authorizedClientManager.authorize(any())).willReturn(authorizedClient);
+		this.function = new ServletOAuth2AuthorizedClientExchangeFilterFunction(authorizedClientManager);
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		verify(authorizedClientManager, times(2)).authorize(any());
+	}
+
+	@Test
+	public void filterWhenCachedAuthorizedClientExpiringThenAuthorizedClientManagerInvokedAgain() {
+		OAuth2AuthorizedClientManager authorizedClientManager = mock(OAuth2AuthorizedClientManager.class);
+		OAuth2AuthorizedClient authorizedClient = new OAuth2AuthorizedClient(this.registration,
+				this.authentication.getName(), this.accessToken);
+		given(authorizedClientManager.authorize(any())).willReturn(authorizedClient);
+		this.function = new ServletOAuth2AuthorizedClientExchangeFilterFunction(authorizedClientManager);
+		this.function.setCacheAuthorizedClients(true);
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		Instant expiring = this.accessToken.getExpiresAt().minusSeconds(30);
+		this.function.setClock(Clock.fixed(expiring, ZoneOffset.UTC));
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		verify(authorizedClientManager, times(2)).authorize(any());
+	}
+
+	@Test
+	public void filterWhenCachedAuthorizedClientUnauthorizedThenEvicted() {
+		OAuth2AuthorizedClientManager authorizedClientManager = mock(OAuth2AuthorizedClientManager.class);
+		OAuth2AuthorizedClient authorizedClient = new OAuth2AuthorizedClient(this.registration,
+				this.authentication.getName(), this.accessToken);
+		given(authorizedClientManager.authorize(any())).willReturn(authorizedClient);
+		given(this.exchange.getResponse().statusCode()).willReturn(HttpStatus.UNAUTHORIZED);
+		given(this.exchange.getResponse().headers()).willReturn(mock(ClientResponse.Headers.class));
+		this.function = new ServletOAuth2AuthorizedClientExchangeFilterFunction(authorizedClientManager);
+		this.function.setAuthorizationFailureHandler(this.authorizationFailureHandler);
+		this.function.setCacheAuthorizedClients(true);
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		verify(authorizedClientManager, times(2)).authorize(any());
+		verify(this.authorizationFailureHandler, times(2)).onAuthorizationFailure(any(), any(), any());
+	}
+
+	@Test
+	public void filterWhenCachedAuthorizedClientUnauthorizedAndNoFailureHandlerThenEvicted() {
+		OAuth2AuthorizedClientManager authorizedClientManager = mock(OAuth2AuthorizedClientManager.class);
+		OAuth2AuthorizedClient authorizedClient = new OAuth2AuthorizedClient(this.registration,
+				this.authentication.getName(), this.accessToken);
+		given(authorizedClientManager.authorize(any())).willReturn(authorizedClient);
+		given(this.exchange.getResponse().statusCode()).willReturn(HttpStatus.UNAUTHORIZED);
+		this.function = new ServletOAuth2AuthorizedClientExchangeFilterFunction(authorizedClientManager);
+		this.function.setCacheAuthorizedClients(true);
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		verify(authorizedClientManager, times(2)).authorize(any());
+	}
+
+	@Test
+	public void filterWhenCachedAuthorizedClientOkThenOtherCachedAuthorizedClientsKept() {
+		OAuth2AuthorizedClientManager authorizedClientManager = mock(OAuth2AuthorizedClientManager.class);
+		OAuth2AuthorizedClient authorizedClient = new OAuth2AuthorizedClient(this.registration,
+				this.authentication.getName(), this.accessToken);
+		given(authorizedClientManager.authorize(any())).willReturn(authorizedClient);
+		given(this.exchange.getResponse().statusCode()).willReturn(HttpStatus.INTERNAL_SERVER_ERROR);
+		this.function = new ServletOAuth2AuthorizedClientExchangeFilterFunction(authorizedClientManager);
+		this.function.setCacheAuthorizedClients(true);
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		this.function.filter(clientRegistrationIdRequest(), this.exchange).block();
+		verify(authorizedClientManager, times(1)).authorize(any());
+	}
+
+	private ClientRequest clientRegistrationIdRequest() {
+		return ClientRequest.create(HttpMethod.GET, URI.create("https://example.com"))
+			.attributes(ServletOAuth2AuthorizedClientExchangeFilterFunction
+				.clientRegistrationId(this.registration.getRegistrationId()))
+			.attributes(ServletOAuth2AuthorizedClientExchangeFilterFunction.authentication(this.authentication))
+			.attributes(ServletOAuth2AuthorizedClientExchangeFilterFunction
+				.httpServletRequest(new MockHttpServletRequest()))
+			.attributes(ServletOAuth2AuthorizedClientExchangeFilterFunction
+				.httpServletResponse(new MockHttpServletResponse()))
+			.build();
+	}
+
 	private Context context(HttpServletRequest servletRequest, HttpServletResponse servletResponse,
 			Authentication authentication) {
 		Map<Object, Object> contextAttributes = new HashMap<>();
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.web.server;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CookieOAuth2ServerAuthorizationRequestRepository}.
+ */
+public class CookieOAuth2ServerAuthorizationRequestRepositoryTests {
+
+	private static final String COOKIE_NAME = "OAUTH2_AUTHORIZATION_REQUEST";
+
+	private CookieOAuth2ServerAuthorizationRequestRepository repository = new CookieOAuth2ServerAuthorizationRequestRepository(
+			new SecretKeySpec(KeyGenerators.secureRandom(32).generateKey(), "AES"));
+
+	// @formatter:off
+	private OAuth2AuthorizationRequest authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+			.authorizationUri("https://example.com/oauth2/authorize")
+			.clientId("client-id")
+			.redirectUri("http://localhost/client-1")
+			.scope("openid")
+			.state("state")
+			.attributes((attributes) -> attributes.put("registration_id", "client-1"))
+			.build();
+	// @formatter:on
+
+	@Test
+	public void loadAuthorizationRequestWhenNullExchangeThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.loadAuthorizationRequest(null));
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenNoCookieThenEmpty() {
+		MockServerWebExchange exchange = MockServerWebExchange
+			.from(MockServerHttpRequest.get("/").queryParam(OAuth2ParameterNames.STATE, "state"));
+		StepVerifier.create(this.repository.loadAuthorizationRequest(exchange)).verifyComplete();
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenSavedThenAuthorizationRequest() {
+		MockServerWebExchange exchange = exchangeWithCookie(save(), "state");
+		StepVerifier.create(this.repository.loadAuthorizationRequest(exchange))
+			.expectNext(this.authorizationRequest)
+			.verifyComplete();
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenStateDoesNotMatchThenEmpty() {
+		MockServerWebExchange exchange = exchangeWithCookie(save(), "other");
+		StepVerifier.create(this.repository.loadAuthorizationRequest(exchange)).verifyComplete();
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenCookieInvalidThenEmpty() {
+		MockServerWebExchange exchange = exchangeWithCookie(new HttpCookie(COOKIE_NAME, "invalid"), "state");
+		StepVerifier.create(this.repository.loadAuthorizationRequest(exchange)).verifyComplete();
+	}
+
+	@Test
+	public void loadAuthorizationRequestWhenExpiredThenEmpty() {
+		Instant now = Instant.now();
+		this.repository.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		HttpCookie cookie = save();
+		this.repository.setClock(Clock.fixed(now.plus(Duration.ofMinutes(5)), ZoneOffset.UTC));
+		StepVerifier.create(this.repository.loadAuthorizationRequest(exchangeWithCookie(cookie, "state")))
+			.verifyComplete();
+	}
+
+	@Test
+	public void saveAuthorizationRequestWhenNullThenIllegalArgumentException() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.saveAuthorizationRequest(null, exchange));
+	}
+
+	@Test
+	public void saveAuthorizationRequestWhenAttributeNotStringThenIllegalArgumentException() {
+		OAuth2AuthorizationRequest authorizationRequest = OAuth2AuthorizationRequest.from(this.authorizationRequest)
+			.attributes((attributes) -> attributes.put("count", 1))
+			.build();
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		StepVerifier.create(this.repository.saveAuthorizationRequest(authorizationRequest, exchange))
+			.expectError(IllegalArgumentException.class)
+			.verify();
+		assertThat(exchange.getResponse().getCookies().getFirst(COOKIE_NAME)).isNull();
+	}
+
+	@Test
+	public void saveAuthorizationRequestWhenSavedThenCookieHttpOnlyAndSameSiteLax() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		this.repository.saveAuthorizationRequest(this.authorizationRequest, exchange).block();
+		ResponseCookie cookie = exchange.getResponse().getCookies().getFirst(COOKIE_NAME);
+		assertThat(cookie.isHttpOnly()).isTrue();
+		assertThat(cookie.getSameSite()).isEqualTo("Lax");
+		assertThat(cookie.getPath()).isEqualTo("/");
+		assertThat(cookie.getMaxAge()).isEqualTo(Duration.ofMinutes(5));
+	}
+
+	@Test
+	public void removeAuthorizationRequestWhenSavedThenRemovedAndCookieExpired() {
+		MockServerWebExchange exchange = exchangeWithCookie(save(), "state");
+		StepVerifier.create(this.repository.removeAuthorizationRequest(exchange))
+			.expectNext(this.authorizationRequest)
+			.verifyComplete();
+		ResponseCookie cookie = exchange.getResponse().getCookies().getFirst(COOKIE_NAME);
+		assertThat(cookie.getMaxAge()).isEqualTo(Duration.ZERO);
+	}
+
+	@Test
+	public void removeAuthorizationRequestWhenNotSavedThenEmpty() {
+		MockServerWebExchange exchange = MockServerWebExchange
+			.from(MockServerHttpRequest.get("/").queryParam(OAuth2ParameterNames.STATE, "state"));
+		StepVerifier.create(this.repository.removeAuthorizationRequest(exchange)).verifyComplete();
+		assertThat(exchange.getResponse().getCookies().getFirst(COOKIE_NAME)).isNull();
+	}
+
+	private HttpCookie save() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		this.repository.saveAuthorizationRequest(this.authorizationRequest, exchange).block();
+		ResponseCookie cookie = exchange.getResponse().getCookies().getFirst(COOKIE_NAME);
+		return new HttpCookie(cookie.getName(), cookie.getValue());
+	}
+
+	private static MockServerWebExchange exchangeWithCookie(HttpCookie cookie, String state) {
+		// @formatter:off
+		return MockServerWebExchange.from(MockServerHttpRequest.get("/")
+				.queryParam(OAuth2ParameterNames.STATE, state)
+				.cookie(cookie));
+		// @formatter:on
+	}
+
+}
@@ -23,14 +23,15 @@ import java.security.interfaces.ECPrivateKey;
 import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import javax.crypto.SecretKey;
@@ -65,6 +66,7 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.util.ExpiringLruCache;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -104,9 +106,14 @@ public final class NimbusJwtEncoder implements JwtEncoder {
 
 	private static final JWSSignerFactory JWS_SIGNER_FACTORY = new DefaultJWSSignerFactory();
 
+	private static final int MAX_CACHE_SIZE = 64;
+
 	private final JwsHeader defaultJwsHeader;
 
-	private final Map<JWK, JWSSigner> jwsSigners = new ConcurrentHashMap<>();
+	private final ExpiringLruCache<JWK, JWSSigner> jwsSigners = new ExpiringLruCache<>(MAX_CACHE_SIZE);
+
+	private final ExpiringLruCache<Map<String, Object>, JWSHeader> jwsHeaders = new ExpiringLruCache<>(
+			MAX_CACHE_SIZE);
 
 	private final JWKSource<SecurityContext> jwkSource;
 
@@ -207,7 +214,7 @@ public final class NimbusJwtEncoder implements JwtEncoder {
 	}
 
 	private String serialize(JwsHeader headers, JwtClaimsSet claims, JWK jwk) {
-		JWSHeader jwsHeader = convert(headers);
+		JWSHeader jwsHeader = convertIfNecessary(headers);
 		JWTClaimsSet jwtClaimsSet = convert(claims);
 
 		JWSSigner jwsSigner = this.jwsSigners.computeIfAbsent(jwk, NimbusJwtEncoder::createSigner);
@@ -223,6 +230,47 @@ public final class NimbusJwtEncoder implements JwtEncoder {
 		return signedJwt.serialize();
 	}
 
+	private JWSHeader convertIfNecessary(JwsHeader headers) {
+		if (!isCacheKey(headers.getHeaders())) {
+			return convert(headers);
+		}
+		return this.jwsHeaders.computeIfAbsent(headers.getHeaders(), (key) -> precompute(convert(headers)));
+	}
+
+	/**
+	 * Only headers made of JSON values are used as a cache key, since other values may
+	 * not implement {@code equals} or, like {@code java.net.URL#hashCode()}, may perform
+	 * name resolution.
+	 */
+	private static boolean isCacheKey(Object value) {
+		if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+			return true;
+		}
+		if (value instanceof Collection<?> collection) {
+			return collection.stream().allMatch(NimbusJwtEncoder::isCacheKey);
+		}
+		if (value instanceof Map<?, ?> map) {
+			return map.entrySet()
+				.stream()
+				.allMatch((entry) -> entry.getKey() instanceof String && isCacheKey(entry.getValue()));
+		}
+		return false;
+	}
+
+	/**
+	 * Re-parses the {@link JWSHeader} from its Base64URL encoding, so that the encoded
+	 * form is retained by the header and reused as the JWS signing input, rather than
+	 * re-serializing the header to JSON for every token.
+	 */
+	private static JWSHeader precompute(JWSHeader jwsHeader) {
+		try {
+			return JWSHeader.parse(jwsHeader.toBase64URL());
+		}
+		catch (ParseException ex) {
+			return jwsHeader;
+		}
+	}
+
 	private static JWKMatcher createJwkMatcher(JwsHeader headers) {
 		JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(headers.getAlgorithm().getName());
 
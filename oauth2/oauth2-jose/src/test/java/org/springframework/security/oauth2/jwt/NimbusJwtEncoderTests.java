@@ -16,6 +16,7 @@
 
 package org.springframework.security.oauth2.jwt;
 
+import java.net.URL;
 import java.security.interfaces.ECPrivateKey;
 import java.security.interfaces.ECPublicKey;
 import java.time.Instant;
@@ -273,6 +274,31 @@ public class NimbusJwtEncoderTests {
 		jwtDecoder.decode(encodedJws.getTokenValue());
 	}
 
+	@Test
+	public void encodeWhenCustomHeaderIsUrlThenEncoded() throws Exception {
+		RSAKey rsaJwk = TestJwks.jwk(TestKeys.DEFAULT_PUBLIC_KEY, TestKeys.DEFAULT_PRIVATE_KEY)
+			.keyID("rsa-jwk-1")
+			.build();
+		this.jwkList.add(rsaJwk);
+
+		JwsHeader jwsHeader1 = JwsHeader.with(SignatureAlgorithm.RS256)
+			.header("custom-url", new URL("https://provider.com/one"))
+			.build();
+		JwsHeader jwsHeader2 = JwsHeader.with(SignatureAlgorithm.RS256)
+			.header("custom-url", new URL("https://provider.com/two"))
+			.build();
+		Jwt encodedJws1 = this.jwtEncoder
+			.encode(JwtEncoderParameters.from(jwsHeader1, TestJwtClaimsSets.jwtClaimsSet().build()));
+		Jwt encodedJws2 = this.jwtEncoder
+			.encode(JwtEncoderParameters.from(jwsHeader2, TestJwtClaimsSets.jwtClaimsSet().build()));
+
+		NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withPublicKey(rsaJwk.toRSAPublicKey()).build();
+		assertThat(jwtDecoder.decode(encodedJws1.getTokenValue()).getHeaders()).containsEntry("custom-url",
+				"https://provider.com/one");
+		assertThat(jwtDecoder.decode(encodedJws2.getTokenValue()).getHeaders()).containsEntry("custom-url",
+				"https://provider.com/two");
+	}
+
 	@Test
 	public void encodeWhenKeysRotatedThenNewKeyUsed() throws Exception {
 		TestJWKSource jwkSource = new TestJWKSource();
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.authentication.password;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.core.io.Resource;
+import org.springframework.security.authentication.password.CompromisedPasswordChecker;
+import org.springframework.security.authentication.password.CompromisedPasswordDecision;
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.util.Assert;
+
+/**
+ * Checks if the provided password was leaked by looking up its SHA-1 hash in a local
+ * copy of the <a href="https://haveibeenpwned.com/Passwords">Pwned Passwords</a>
+ * dataset, so that no request is made to the Have I Been Pwned REST API.
+ *
+ * <p>
+ * The provided {@link Resource} contains one SHA-1 hash per line, in hexadecimal and
+ * optionally followed by {@code :} and the number of times it was seen, which is the
+ * format of the downloadable dataset. The hashes are kept in memory in a sorted array
+ * of 20 bytes per hash and each check is a binary search, so this is best suited to a
+ * subset of the dataset, for example the most common leaked passwords.
+ *
+ * @since 7.0
+ * @see HaveIBeenPwnedRestApiPasswordChecker
+ */
+public final class HaveIBeenPwnedFilePasswordChecker implements CompromisedPasswordChecker {
+
+	private static final int HASH_LENGTH = 20;
+
+	private final PackedHashes hashes;
+
+	/**
+	 * Constructs a {@code HaveIBeenPwnedFilePasswordChecker} using the provided
+	 * parameters.
+	 * @param hashes the {@link Resource} containing the SHA-1 hashes of the leaked
+	 * passwords
+	 */
+	public HaveIBeenPwnedFilePasswordChecker(Resource hashes) {
+		Assert.notNull(hashes, "hashes cannot be null");
+		this.hashes = loadHashes(hashes);
+	}
+
+	@Override
+	public CompromisedPasswordDecision check(@Nullable String password) {
+		if (password == null) {
+			return new CompromisedPasswordDecision(false);
+		}
+		byte[] hash = getSha1Digest().digest(password.getBytes(StandardCharsets.UTF_8));
+		return new CompromisedPasswordDecision(this.hashes.contains(hash));
+	}
+
+	private static PackedHashes loadHashes(Resource resource) {
+		PackedHashes.Builder hashes = PackedHashes.builder(HASH_LENGTH);
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int separator = line.indexOf(':');
+				String hash = ((separator != -1) ? line.substring(0, separator) : line).trim();
+				if (!hash.isEmpty()) {
+					Assert.isTrue(hash.length() == HASH_LENGTH * 2, () -> "Invalid SHA-1 hash " + hash);
+					hashes.add(Hex.decode(hash));
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to read leaked password hashes from " + resource, ex);
+		}
+		return hashes.build();
+	}
+
+	private static MessageDigest getSha1Digest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new RuntimeException(ex.getMessage());
+		}
+	}
+
+}
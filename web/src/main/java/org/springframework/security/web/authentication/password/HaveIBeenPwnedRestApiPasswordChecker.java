@@ -19,9 +19,12 @@ package org.springframework.security.web.authentication.password;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Collections;
-import java.util.List;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -30,8 +33,8 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.crypto.codec.Hex;
+import org.springframework.security.util.ExpiringLruCache;
 import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
@@ -41,8 +44,15 @@ import org.springframework.web.client.RestClientException;
  * API</a>. This implementation uses the Search by Range in order to protect the value of
  * the source password being searched for.
  *
+ * <p>
+ * The range responses can be cached by setting a
+ * {@link #setCacheTimeToLive(Duration) cache time to live}, so that passwords sharing
+ * the same SHA-1 prefix are checked without another request. Concurrent checks of
+ * passwords sharing the same SHA-1 prefix share a single request.
+ *
  * @author Marcus da Coregio
  * @since 6.3
+ * @see HaveIBeenPwnedFilePasswordChecker
  */
 public final class HaveIBeenPwnedRestApiPasswordChecker implements CompromisedPasswordChecker {
 
@@ -50,14 +60,23 @@ public final class HaveIBeenPwnedRestApiPasswordChecker implements CompromisedPa
 
 	private static final int PREFIX_LENGTH = 5;
 
-	private final Log logger = LogFactory.getLog(getClass());
+	private static final int DEFAULT_CACHE_MAX_SIZE = 1000;
 
-	private final MessageDigest sha1Digest;
+	private final Log logger = LogFactory.getLog(getClass());
 
 	private RestClient restClient = RestClient.builder().baseUrl(API_URL).build();
 
+	private @Nullable Duration cacheTimeToLive;
+
+	private int cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+
+	private @Nullable ExpiringLruCache<String, PwnedPasswordsRange> cache;
+
+	private final Map<String, CompletableFuture<PwnedPasswordsRange>> requests = new ConcurrentHashMap<>();
+
+	private Clock clock = Clock.systemUTC();
+
 	public HaveIBeenPwnedRestApiPasswordChecker() {
-		this.sha1Digest = getSha1Digest();
 	}
 
 	@Override
@@ -65,14 +84,13 @@ public final class HaveIBeenPwnedRestApiPasswordChecker implements CompromisedPa
 		if (password == null) {
 			return new CompromisedPasswordDecision(false);
 		}
-		byte[] hash = this.sha1Digest.digest(password.getBytes(StandardCharsets.UTF_8));
+		byte[] hash = getSha1Digest().digest(password.getBytes(StandardCharsets.UTF_8));
 		String encoded = new String(Hex.encode(hash)).toUpperCase(Locale.ROOT);
 		String prefix = encoded.substring(0, PREFIX_LENGTH);
 		String suffix = encoded.substring(PREFIX_LENGTH);
 
-		List<String> passwords = getLeakedPasswordsForPrefix(prefix);
-		boolean isLeaked = findLeakedPassword(passwords, suffix);
-		return new CompromisedPasswordDecision(isLeaked);
+		PwnedPasswordsRange passwords = getLeakedPasswordsForPrefix(prefix);
+		return new CompromisedPasswordDecision(passwords.contains(suffix));
 	}
 
 	/**
@@ -85,26 +103,90 @@ public final class HaveIBeenPwnedRestApiPasswordChecker implements CompromisedPa
 		this.restClient = restClient;
 	}
 
-	private boolean findLeakedPassword(List<String> passwords, String suffix) {
-		for (String pw : passwords) {
-			if (pw.startsWith(suffix)) {
-				return true;
-			}
+	/**
+	 * Sets how long the leaked passwords returned for a SHA-1 prefix are cached. By
+	 * default, the responses are not cached.
+	 * @param cacheTimeToLive the time to live of a cached response
+	 * @since 7.0
+	 */
+	public void setCacheTimeToLive(Duration cacheTimeToLive) {
+		Assert.notNull(cacheTimeToLive, "cacheTimeToLive cannot be null");
+		Assert.isTrue(!cacheTimeToLive.isNegative() && !cacheTimeToLive.isZero(),
+				"cacheTimeToLive must be greater than zero");
+		this.cacheTimeToLive = cacheTimeToLive;
+		this.cache = createCache(cacheTimeToLive, this.cacheMaxSize);
+	}
+
+	/**
+	 * Sets the maximum number of SHA-1 prefixes whose responses are cached, after which
+	 * the least recently used responses are evicted. The default is 1000. Each cached
+	 * response keeps 18 bytes per leaked password, typically about 16 KB. Only used
+	 * when a {@link #setCacheTimeToLive(Duration) cache time to live} is set.
+	 * @param cacheMaxSize the maximum number of cached responses
+	 * @since 7.0
+	 */
+	public void setCacheMaxSize(int cacheMaxSize) {
+		Assert.isTrue(cacheMaxSize > 0, "cacheMaxSize must be greater than zero");
+		this.cacheMaxSize = cacheMaxSize;
+		if (this.cacheTimeToLive != null) {
+			this.cache = createCache(this.cacheTimeToLive, cacheMaxSize);
+		}
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+		ExpiringLruCache<String, PwnedPasswordsRange> cache = this.cache;
+		if (cache != null) {
+			cache.setClock(clock);
+		}
+	}
+
+	private ExpiringLruCache<String, PwnedPasswordsRange> createCache(Duration timeToLive, int maxSize) {
+		ExpiringLruCache<String, PwnedPasswordsRange> cache = new ExpiringLruCache<>(maxSize);
+		cache.setTimeToLive(timeToLive);
+		cache.setClock(this.clock);
+		return cache;
+	}
+
+	private PwnedPasswordsRange getLeakedPasswordsForPrefix(String prefix) {
+		ExpiringLruCache<String, PwnedPasswordsRange> cache = this.cache;
+		PwnedPasswordsRange passwords = (cache != null) ? cache.get(prefix) : null;
+		if (passwords != null) {
+			return passwords;
+		}
+		CompletableFuture<PwnedPasswordsRange> request = new CompletableFuture<>();
+		CompletableFuture<PwnedPasswordsRange> inFlight = this.requests.putIfAbsent(prefix, request);
+		if (inFlight != null) {
+			return inFlight.join();
+		}
+		try {
+			passwords = requestLeakedPasswordsForPrefix(prefix, cache);
+			request.complete(passwords);
+			return passwords;
+		}
+		catch (RuntimeException ex) {
+			request.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.requests.remove(prefix, request);
 		}
-		return false;
 	}
 
-	private List<String> getLeakedPasswordsForPrefix(String prefix) {
+	private PwnedPasswordsRange requestLeakedPasswordsForPrefix(String prefix,
+			@Nullable ExpiringLruCache<String, PwnedPasswordsRange> cache) {
 		try {
 			String response = this.restClient.get().uri(prefix).retrieve().body(String.class);
-			if (!StringUtils.hasText(response)) {
-				return Collections.emptyList();
+			PwnedPasswordsRange passwords = PwnedPasswordsRange.parse(response);
+			if (cache != null) {
+				cache.put(prefix, passwords);
 			}
-			return response.lines().toList();
+			return passwords;
 		}
 		catch (RestClientException ex) {
 			this.logger.error("Request for leaked passwords failed", ex);
-			return Collections.emptyList();
+			return PwnedPasswordsRange.EMPTY;
 		}
 	}
 
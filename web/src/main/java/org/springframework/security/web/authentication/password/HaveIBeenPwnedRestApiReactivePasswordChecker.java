@@ -19,20 +19,23 @@ package org.springframework.security.web.authentication.password;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jspecify.annotations.Nullable;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
 import org.springframework.security.crypto.codec.Hex;
+import org.springframework.security.util.ExpiringLruCache;
 import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
@@ -42,6 +45,12 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
  * API</a>. This implementation uses the Search by Range in order to protect the value of
  * the source password being searched for.
  *
+ * <p>
+ * The range responses can be cached by setting a
+ * {@link #setCacheTimeToLive(Duration) cache time to live}, so that passwords sharing
+ * the same SHA-1 prefix are checked without another request. Concurrent checks of
+ * passwords sharing the same SHA-1 prefix share a single request.
+ *
  * @author Marcus da Coregio
  * @since 6.3
  */
@@ -51,14 +60,23 @@ public class HaveIBeenPwnedRestApiReactivePasswordChecker implements ReactiveCom
 
 	private static final int PREFIX_LENGTH = 5;
 
+	private static final int DEFAULT_CACHE_MAX_SIZE = 1000;
+
 	private final Log logger = LogFactory.getLog(getClass());
 
 	private WebClient webClient = WebClient.builder().baseUrl(API_URL).build();
 
-	private final MessageDigest sha1Digest;
+	private @Nullable Duration cacheTimeToLive;
+
+	private int cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+
+	private @Nullable ExpiringLruCache<String, PwnedPasswordsRange> cache;
+
+	private final Map<String, Mono<PwnedPasswordsRange>> requests = new ConcurrentHashMap<>();
+
+	private Clock clock = Clock.systemUTC();
 
 	public HaveIBeenPwnedRestApiReactivePasswordChecker() {
-		this.sha1Digest = getSha1Digest();
 	}
 
 	@Override
@@ -72,18 +90,37 @@ public class HaveIBeenPwnedRestApiReactivePasswordChecker implements ReactiveCom
 	private Mono<Boolean> findLeakedPassword(String encodedPassword) {
 		String prefix = encodedPassword.substring(0, PREFIX_LENGTH).toUpperCase(Locale.ROOT);
 		String suffix = encodedPassword.substring(PREFIX_LENGTH).toUpperCase(Locale.ROOT);
-		return getLeakedPasswordsForPrefix(prefix).any((leakedPw) -> leakedPw.startsWith(suffix));
+		return getLeakedPasswordsForPrefix(prefix).map((leakedPws) -> leakedPws.contains(suffix));
 	}
 
-	private Flux<String> getLeakedPasswordsForPrefix(String prefix) {
-		return this.webClient.get().uri(prefix).retrieve().bodyToMono(String.class).flatMapMany((body) -> {
-			if (StringUtils.hasText(body)) {
-				return Flux.fromStream(body.lines());
+	private Mono<PwnedPasswordsRange> getLeakedPasswordsForPrefix(String prefix) {
+		return Mono.defer(() -> {
+			ExpiringLruCache<String, PwnedPasswordsRange> cache = this.cache;
+			PwnedPasswordsRange leakedPws = (cache != null) ? cache.get(prefix) : null;
+			if (leakedPws != null) {
+				return Mono.just(leakedPws);
 			}
-			return Flux.empty();
-		})
+			// Concurrent checks of the same prefix share the request until it terminates
+			return this.requests.computeIfAbsent(prefix, (key) -> requestLeakedPasswordsForPrefix(key)
+				.doOnNext((range) -> {
+					if (cache != null) {
+						cache.put(key, range);
+					}
+				})
+				.doFinally((signal) -> this.requests.remove(key))
+				.cache());
+		});
+	}
+
+	private Mono<PwnedPasswordsRange> requestLeakedPasswordsForPrefix(String prefix) {
+		return this.webClient.get()
+			.uri(prefix)
+			.retrieve()
+			.bodyToMono(String.class)
+			.map(PwnedPasswordsRange::parse)
+			.defaultIfEmpty(PwnedPasswordsRange.EMPTY)
 			.doOnError((ex) -> this.logger.error("Request for leaked passwords failed", ex))
-			.onErrorResume(WebClientResponseException.class, (ex) -> Flux.empty());
+			.onErrorResume(WebClientResponseException.class, (ex) -> Mono.empty());
 	}
 
 	/**
@@ -96,9 +133,55 @@ public class HaveIBeenPwnedRestApiReactivePasswordChecker implements ReactiveCom
 		this.webClient = webClient;
 	}
 
+	/**
+	 * Sets how long the leaked passwords returned for a SHA-1 prefix are cached. By
+	 * default, the responses are not cached.
+	 * @param cacheTimeToLive the time to live of a cached response
+	 * @since 7.0
+	 */
+	public void setCacheTimeToLive(Duration cacheTimeToLive) {
+		Assert.notNull(cacheTimeToLive, "cacheTimeToLive cannot be null");
+		Assert.isTrue(!cacheTimeToLive.isNegative() && !cacheTimeToLive.isZero(),
+				"cacheTimeToLive must be greater than zero");
+		this.cacheTimeToLive = cacheTimeToLive;
+		this.cache = createCache(cacheTimeToLive, this.cacheMaxSize);
+	}
+
+	/**
+	 * Sets the maximum number of SHA-1 prefixes whose responses are cached, after which
+	 * the least recently used responses are evicted. The default is 1000. Each cached
+	 * response keeps 18 bytes per leaked password, typically about 16 KB. Only used
+	 * when a {@link #setCacheTimeToLive(Duration) cache time to live} is set.
+	 * @param cacheMaxSize the maximum number of cached responses
+	 * @since 7.0
+	 */
+	public void setCacheMaxSize(int cacheMaxSize) {
+		Assert.isTrue(cacheMaxSize > 0, "cacheMaxSize must be greater than zero");
+		this.cacheMaxSize = cacheMaxSize;
+		if (this.cacheTimeToLive != null) {
+			this.cache = createCache(this.cacheTimeToLive, cacheMaxSize);
+		}
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+		ExpiringLruCache<String, PwnedPasswordsRange> cache = this.cache;
+		if (cache != null) {
+			cache.setClock(clock);
+		}
+	}
+
+	private ExpiringLruCache<String, PwnedPasswordsRange> createCache(Duration timeToLive, int maxSize) {
+		ExpiringLruCache<String, PwnedPasswordsRange> cache = new ExpiringLruCache<>(maxSize);
+		cache.setTimeToLive(timeToLive);
+		cache.setClock(this.clock);
+		return cache;
+	}
+
 	private Mono<byte[]> getHash(@Nullable String rawPassword) {
 		return Mono.justOrEmpty(rawPassword)
-			.map((password) -> this.sha1Digest.digest(password.getBytes(StandardCharsets.UTF_8)))
+			.map((password) -> getSha1Digest().digest(password.getBytes(StandardCharsets.UTF_8)))
 			.subscribeOn(Schedulers.boundedElastic())
 			.publishOn(Schedulers.parallel());
 	}
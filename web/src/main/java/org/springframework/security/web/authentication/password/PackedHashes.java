@@ -0,0 +1,138 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.authentication.password;
+
+import java.util.Arrays;
+
+import org.springframework.util.Assert;
+
+/**
+ * A sorted set of fixed-length hashes that are packed into a single byte array, so that
+ * it takes no more memory than the hashes themselves. Each lookup is a binary search.
+ *
+ * @since 7.0
+ * @see HaveIBeenPwnedFilePasswordChecker
+ * @see PwnedPasswordsRange
+ */
+final class PackedHashes {
+
+	private final byte[] hashes;
+
+	private final int hashLength;
+
+	private PackedHashes(byte[] hashes, int hashLength) {
+		this.hashes = hashes;
+		this.hashLength = hashLength;
+	}
+
+	static Builder builder(int hashLength) {
+		return new Builder(hashLength);
+	}
+
+	boolean contains(byte[] hash) {
+		if (hash.length != this.hashLength) {
+			return false;
+		}
+		int low = 0;
+		int high = this.hashes.length / this.hashLength - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int comparison = Arrays.compareUnsigned(this.hashes, mid * this.hashLength,
+					(mid + 1) * this.hashLength, hash, 0, this.hashLength);
+			if (comparison < 0) {
+				low = mid + 1;
+			}
+			else if (comparison > 0) {
+				high = mid - 1;
+			}
+			else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Appends hashes to a growing byte array, which is then sorted in place with a heap
+	 * sort, so that no object is allocated per hash.
+	 */
+	static final class Builder {
+
+		private final int hashLength;
+
+		private byte[] hashes;
+
+		private int size;
+
+		private Builder(int hashLength) {
+			this.hashLength = hashLength;
+			this.hashes = new byte[hashLength * 16];
+		}
+
+		Builder add(byte[] hash) {
+			Assert.isTrue(hash.length == this.hashLength, () -> "hash must be " + this.hashLength + " bytes long");
+			int offset = this.size * this.hashLength;
+			if (offset == this.hashes.length) {
+				this.hashes = Arrays.copyOf(this.hashes, this.hashes.length * 2);
+			}
+			System.arraycopy(hash, 0, this.hashes, offset, this.hashLength);
+			this.size++;
+			return this;
+		}
+
+		PackedHashes build() {
+			byte[] hashes = Arrays.copyOf(this.hashes, this.size * this.hashLength);
+			byte[] swap = new byte[this.hashLength];
+			for (int i = this.size / 2 - 1; i >= 0; i--) {
+				siftDown(hashes, swap, i, this.size);
+			}
+			for (int end = this.size - 1; end > 0; end--) {
+				swap(hashes, swap, 0, end);
+				siftDown(hashes, swap, 0, end);
+			}
+			return new PackedHashes(hashes, this.hashLength);
+		}
+
+		private void siftDown(byte[] hashes, byte[] swap, int root, int size) {
+			int parent = root;
+			int child;
+			while ((child = 2 * parent + 1) < size) {
+				if (child + 1 < size && compare(hashes, child, child + 1) < 0) {
+					child++;
+				}
+				if (compare(hashes, parent, child) >= 0) {
+					return;
+				}
+				swap(hashes, swap, parent, child);
+				parent = child;
+			}
+		}
+
+		private int compare(byte[] hashes, int i, int j) {
+			return Arrays.compareUnsigned(hashes, i * this.hashLength, (i + 1) * this.hashLength, hashes,
+					j * this.hashLength, (j + 1) * this.hashLength);
+		}
+
+		private void swap(byte[] hashes, byte[] swap, int i, int j) {
+			System.arraycopy(hashes, i * this.hashLength, swap, 0, this.hashLength);
+			System.arraycopy(hashes, j * this.hashLength, hashes, i * this.hashLength, this.hashLength);
+			System.arraycopy(swap, 0, hashes, j * this.hashLength, this.hashLength);
+		}
+
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.authentication.password;
+
+import java.util.Objects;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.util.StringUtils;
+
+/**
+ * The SHA-1 suffixes returned by the Have I Been Pwned REST API for a SHA-1 prefix. The
+ * suffixes are kept as {@link PackedHashes} of 18 bytes per suffix, so that a cached
+ * response stays small.
+ *
+ * @since 7.0
+ * @see HaveIBeenPwnedRestApiPasswordChecker
+ * @see HaveIBeenPwnedRestApiReactivePasswordChecker
+ */
+final class PwnedPasswordsRange {
+
+	private static final int SUFFIX_LENGTH = 35;
+
+	// 35 hexadecimal characters, padded with a trailing zero
+	private static final int ENCODED_SUFFIX_LENGTH = 18;
+
+	static final PwnedPasswordsRange EMPTY = new PwnedPasswordsRange(
+			PackedHashes.builder(ENCODED_SUFFIX_LENGTH).build());
+
+	private final PackedHashes suffixes;
+
+	private PwnedPasswordsRange(PackedHashes suffixes) {
+		this.suffixes = suffixes;
+	}
+
+	/**
+	 * Parses a range response, which contains one suffix per line, optionally followed by
+	 * {@code :} and the number of times it was seen.
+	 */
+	static PwnedPasswordsRange parse(@Nullable String response) {
+		if (!StringUtils.hasText(response)) {
+			return EMPTY;
+		}
+		PackedHashes.Builder suffixes = PackedHashes.builder(ENCODED_SUFFIX_LENGTH);
+		response.lines().map(PwnedPasswordsRange::encodeSuffix).filter(Objects::nonNull).forEach(suffixes::add);
+		return new PwnedPasswordsRange(suffixes.build());
+	}
+
+	boolean contains(String suffix) {
+		byte[] encoded = encodeSuffix(suffix);
+		return encoded != null && this.suffixes.contains(encoded);
+	}
+
+	private static byte @Nullable [] encodeSuffix(String line) {
+		int separator = line.indexOf(':');
+		String suffix = ((separator != -1) ? line.substring(0, separator) : line).trim();
+		if (suffix.length() != SUFFIX_LENGTH) {
+			return null;
+		}
+		try {
+			return Hex.decode(suffix + "0");
+		}
+		catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+}
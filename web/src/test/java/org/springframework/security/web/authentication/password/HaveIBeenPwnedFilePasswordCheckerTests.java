@@ -0,0 +1,81 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.authentication.password;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class HaveIBeenPwnedFilePasswordCheckerTests {
+
+	private final String pwnedPasswords = """
+			7C4A8D09CA3762AF61E59520943DC26494F8941B:37359195
+			21BD12DC183F740EE76F27B78EB39C8AD972A757:300185
+			2CDE4CDCFA5AD7D223BD1800338FBEAA04E00001:1
+
+			5baa61e4c9b93f3f0682250b6cf8331b7ee68fd8
+			""";
+
+	private final HaveIBeenPwnedFilePasswordChecker passwordChecker = new HaveIBeenPwnedFilePasswordChecker(
+			resource(this.pwnedPasswords));
+
+	@Test
+	void constructorWhenNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new HaveIBeenPwnedFilePasswordChecker(null))
+			.withMessage("hashes cannot be null");
+	}
+
+	@Test
+	void constructorWhenInvalidHashThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new HaveIBeenPwnedFilePasswordChecker(resource("21BD12DC183F:1")));
+	}
+
+	@Test
+	void checkWhenPasswordIsLeakedThenIsCompromised() {
+		assertThat(this.passwordChecker.check("P@ssw0rd").isCompromised()).isTrue();
+		assertThat(this.passwordChecker.check("123456").isCompromised()).isTrue();
+		assertThat(this.passwordChecker.check("password").isCompromised()).isTrue();
+	}
+
+	@Test
+	void checkWhenPasswordNotLeakedThenNotCompromised() {
+		assertThat(this.passwordChecker.check("My1nCr3d!bL3P@SS0W0RD").isCompromised()).isFalse();
+	}
+
+	@Test
+	void checkWhenNoHashesThenNotCompromised() {
+		HaveIBeenPwnedFilePasswordChecker passwordChecker = new HaveIBeenPwnedFilePasswordChecker(resource(""));
+		assertThat(passwordChecker.check("P@ssw0rd").isCompromised()).isFalse();
+	}
+
+	@Test
+	void checkWhenNullThenNotCompromised() {
+		assertThat(this.passwordChecker.check(null).isCompromised()).isFalse();
+	}
+
+	private static Resource resource(String hashes) {
+		return new ByteArrayResource(hashes.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
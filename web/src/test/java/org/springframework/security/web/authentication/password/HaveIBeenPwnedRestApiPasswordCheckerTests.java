@@ -17,6 +17,12 @@
 package org.springframework.security.web.authentication.password;
 
 import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.HttpUrl;
 import okhttp3.mockwebserver.MockResponse;
@@ -29,6 +35,7 @@ import org.springframework.security.authentication.password.CompromisedPasswordD
 import org.springframework.web.client.RestClient;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 
 class HaveIBeenPwnedRestApiPasswordCheckerTests {
@@ -96,4 +103,75 @@ class HaveIBeenPwnedRestApiPasswordCheckerTests {
 		assertThatNoException().isThrownBy(() -> this.passwordChecker.check("123456"));
 	}
 
+	@Test
+	void checkWhenCacheTimeToLiveThenRangeRequestedOnce() {
+		this.passwordChecker.setCacheTimeToLive(Duration.ofMinutes(5));
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords).setResponseCode(200));
+		assertThat(this.passwordChecker.check("P@ssw0rd").isCompromised()).isTrue();
+		assertThat(this.passwordChecker.check("P@ssw0rd").isCompromised()).isTrue();
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
+	@Test
+	void checkWhenCachedRangeExpiredThenRangeRequestedAgain() {
+		Instant now = Instant.now();
+		this.passwordChecker.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.passwordChecker.setCacheTimeToLive(Duration.ofMinutes(5));
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords).setResponseCode(200));
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords).setResponseCode(200));
+		assertThat(this.passwordChecker.check("P@ssw0rd").isCompromised()).isTrue();
+		this.passwordChecker.setClock(Clock.fixed(now.plus(Duration.ofMinutes(5)), ZoneOffset.UTC));
+		assertThat(this.passwordChecker.check("P@ssw0rd").isCompromised()).isTrue();
+		assertThat(this.server.getRequestCount()).isEqualTo(2);
+	}
+
+	@Test
+	void checkWhenCacheMaxSizeReachedThenLeastRecentlyUsedRangeEvicted() {
+		this.passwordChecker.setCacheTimeToLive(Duration.ofMinutes(5));
+		this.passwordChecker.setCacheMaxSize(1);
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords).setResponseCode(200));
+		this.server.enqueue(new MockResponse().setResponseCode(200));
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords).setResponseCode(200));
+		assertThat(this.passwordChecker.check("P@ssw0rd").isCompromised()).isTrue();
+		assertThat(this.passwordChecker.check("123456").isCompromised()).isFalse();
+		assertThat(this.passwordChecker.check("P@ssw0rd").isCompromised()).isTrue();
+		assertThat(this.server.getRequestCount()).isEqualTo(3);
+	}
+
+	@Test
+	void checkWhenResponseStatusNot200ThenNotCached() {
+		this.passwordChecker.setCacheTimeToLive(Duration.ofMinutes(5));
+		this.server.enqueue(new MockResponse().setResponseCode(503));
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords).setResponseCode(200));
+		assertThat(this.passwordChecker.check("P@ssw0rd").isCompromised()).isFalse();
+		assertThat(this.passwordChecker.check("P@ssw0rd").isCompromised()).isTrue();
+	}
+
+	@Test
+	void checkWhenConcurrentChecksOfSamePrefixThenRangeRequestedOnce() {
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords)
+			.setBodyDelay(500, TimeUnit.MILLISECONDS)
+			.setResponseCode(200));
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords).setResponseCode(200));
+		CompletableFuture<CompromisedPasswordDecision> first = CompletableFuture
+			.supplyAsync(() -> this.passwordChecker.check("P@ssw0rd"));
+		CompletableFuture<CompromisedPasswordDecision> second = CompletableFuture
+			.supplyAsync(() -> this.passwordChecker.check("P@ssw0rd"));
+		assertThat(first.join().isCompromised()).isTrue();
+		assertThat(second.join().isCompromised()).isTrue();
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
+	@Test
+	void setCacheTimeToLiveWhenZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.passwordChecker.setCacheTimeToLive(Duration.ZERO))
+			.withMessage("cacheTimeToLive must be greater than zero");
+	}
+
+	@Test
+	void setCacheMaxSizeWhenZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.passwordChecker.setCacheMaxSize(0))
+			.withMessage("cacheMaxSize must be greater than zero");
+	}
+
 }
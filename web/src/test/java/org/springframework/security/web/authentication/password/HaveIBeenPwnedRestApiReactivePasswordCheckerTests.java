@@ -17,6 +17,8 @@
 package org.springframework.security.web.authentication.password;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.HttpUrl;
 import okhttp3.mockwebserver.MockResponse;
@@ -24,6 +26,7 @@ import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.web.reactive.function.client.WebClient;
@@ -109,4 +112,45 @@ class HaveIBeenPwnedRestApiReactivePasswordCheckerTests {
 			.verifyComplete();
 	}
 
+	@Test
+	void checkWhenCacheTimeToLiveThenRangeRequestedOnce() {
+		this.passwordChecker.setCacheTimeToLive(Duration.ofMinutes(5));
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords).setResponseCode(200));
+		StepVerifier.create(this.passwordChecker.check("P@ssw0rd"))
+			.assertNext((check) -> assertThat(check.isCompromised()).isTrue())
+			.verifyComplete();
+		StepVerifier.create(this.passwordChecker.check("P@ssw0rd"))
+			.assertNext((check) -> assertThat(check.isCompromised()).isTrue())
+			.verifyComplete();
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
+	@Test
+	void checkWhenConcurrentChecksOfSamePrefixThenRangeRequestedOnce() {
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords)
+			.setBodyDelay(500, TimeUnit.MILLISECONDS)
+			.setResponseCode(200));
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords).setResponseCode(200));
+		StepVerifier.create(Mono.zip(this.passwordChecker.check("P@ssw0rd"), this.passwordChecker.check("P@ssw0rd")))
+			.assertNext((checks) -> {
+				assertThat(checks.getT1().isCompromised()).isTrue();
+				assertThat(checks.getT2().isCompromised()).isTrue();
+			})
+			.verifyComplete();
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
+	@Test
+	void checkWhenResponseStatusNot200ThenNotCached() {
+		this.passwordChecker.setCacheTimeToLive(Duration.ofMinutes(5));
+		this.server.enqueue(new MockResponse().setResponseCode(503));
+		this.server.enqueue(new MockResponse().setBody(this.pwnedPasswords).setResponseCode(200));
+		StepVerifier.create(this.passwordChecker.check("P@ssw0rd"))
+			.assertNext((check) -> assertThat(check.isCompromised()).isFalse())
+			.verifyComplete();
+		StepVerifier.create(this.passwordChecker.check("P@ssw0rd"))
+			.assertNext((check) -> assertThat(check.isCompromised()).isTrue())
+			.verifyComplete();
+	}
+
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.authentication.password;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PackedHashesTests {
+
+	@Test
+	void containsWhenManyHashesAddedThenFindsEveryHash() {
+		Random random = new Random(42);
+		List<byte[]> added = new ArrayList<>();
+		PackedHashes.Builder builder = PackedHashes.builder(20);
+		for (int i = 0; i < 1000; i++) {
+			byte[] hash = new byte[20];
+			random.nextBytes(hash);
+			added.add(hash);
+			builder.add(hash);
+		}
+		PackedHashes hashes = builder.build();
+		assertThat(added).allSatisfy((hash) -> assertThat(hashes.contains(hash)).isTrue());
+		byte[] missing = new byte[20];
+		random.nextBytes(missing);
+		assertThat(hashes.contains(missing)).isFalse();
+	}
+
+	@Test
+	void containsWhenNoHashesThenFalse() {
+		assertThat(PackedHashes.builder(20).build().contains(new byte[20])).isFalse();
+	}
+
+	@Test
+	void containsWhenLengthDiffersThenFalse() {
+		PackedHashes hashes = PackedHashes.builder(2).add(new byte[] { 1, 2 }).build();
+		assertThat(hashes.contains(new byte[] { 1, 2 })).isTrue();
+		assertThat(hashes.contains(new byte[] { 1, 2, 3 })).isFalse();
+	}
+
+	@Test
+	void addWhenLengthDiffersThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> PackedHashes.builder(2).add(new byte[3]));
+	}
+
+}